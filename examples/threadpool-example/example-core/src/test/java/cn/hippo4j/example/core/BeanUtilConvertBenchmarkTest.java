@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.example.core;
+
+import cn.hippo4j.common.model.ThreadPoolRunStateInfo;
+import cn.hippo4j.common.monitor.RuntimeMessage;
+import cn.hippo4j.common.toolkit.BeanUtil;
+import com.github.dozermapper.core.DozerBeanMapperBuilder;
+import com.github.dozermapper.core.Mapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * benchmark test for converting the run state of a thread-pool to {@link RuntimeMessage} on every collection,
+ * dozer compared with {@link BeanUtil#convert(Object, Class)} that copies with generated accessors.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class BeanUtilConvertBenchmarkTest {
+
+    private final Mapper dozerMapper = DozerBeanMapperBuilder.buildDefault();
+
+    private ThreadPoolRunStateInfo runStateInfo;
+
+    @Setup
+    public void setup() {
+        runStateInfo = ThreadPoolRunStateInfo.builder()
+                .tpId("message-consume")
+                .currentLoad("10")
+                .peakLoad("20")
+                .activeCount(3)
+                .poolSize(5)
+                .activeSize(3)
+                .largestPoolSize(10)
+                .queueSize(4)
+                .queueRemainingCapacity(1020)
+                .completedTaskCount(123456L)
+                .rejectCount(2L)
+                .executeTimeP50(120L)
+                .executeTimeP99(3000L)
+                .executeTimeMax(10000L)
+                .queueWaitTimeP50(10L)
+                .queueWaitTimeP99(90L)
+                .timestamp(System.currentTimeMillis())
+                .build();
+        runStateInfo.setQueueCapacity(1024);
+    }
+
+    @Benchmark
+    public RuntimeMessage dozer() {
+        return dozerMapper.map(runStateInfo, RuntimeMessage.class);
+    }
+
+    @Benchmark
+    public RuntimeMessage generated_accessor() {
+        return BeanUtil.convert(runStateInfo, RuntimeMessage.class);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options opts = new OptionsBuilder()
+                .include(BeanUtilConvertBenchmarkTest.class.getSimpleName())
+                .resultFormat(ResultFormatType.JSON)
+                .build();
+        new Runner(opts).run();
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.example.core;
+
+import cn.hippo4j.common.executor.support.ResizableCapacityLinkedBlockingQueue;
+import cn.hippo4j.core.executor.DynamicThreadPoolExecutor;
+import cn.hippo4j.core.executor.ExtensibleThreadPoolExecutor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * benchmark test for submitting a batch of tasks by calling {@link ExtensibleThreadPoolExecutor#execute} for each task
+ * and by {@link ExtensibleThreadPoolExecutor#executeAll}, with the default plugins of {@link DynamicThreadPoolExecutor}.
+ * Each operation submits a batch of empty tasks and waits for them to complete.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class ExecuteAllBenchmarkTest {
+
+    @Param({"1", "16", "256"})
+    private int batchSize;
+
+    private DynamicThreadPoolExecutor executor;
+
+    private final Phaser phaser = new Phaser(1);
+
+    private List<Runnable> batch;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        int poolSize = Runtime.getRuntime().availableProcessors();
+        executor = new DynamicThreadPoolExecutor(
+                poolSize, poolSize, 1000L, TimeUnit.MILLISECONDS,
+                0L, false, 0L,
+                new ResizableCapacityLinkedBlockingQueue<>(4096), "benchmark",
+                Thread::new, new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.prestartAllCoreThreads();
+        batch = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            batch.add(phaser::arriveAndDeregister);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public void execute_each() {
+        phaser.bulkRegister(batchSize);
+        for (Runnable task : batch) {
+            executor.execute(task);
+        }
+        phaser.arriveAndAwaitAdvance();
+    }
+
+    @Benchmark
+    public void execute_all() {
+        phaser.bulkRegister(batchSize);
+        executor.executeAll(batch);
+        phaser.arriveAndAwaitAdvance();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options opts = new OptionsBuilder()
+                .include(ExecuteAllBenchmarkTest.class.getSimpleName())
+                .resultFormat(ResultFormatType.JSON)
+                .build();
+        new Runner(opts).run();
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.example.core;
+
+import cn.hippo4j.common.executor.ThreadPoolExecutorRegistry;
+import cn.hippo4j.common.model.PoolStatsSnapshot;
+import cn.hippo4j.core.executor.DynamicThreadPoolExecutor;
+import cn.hippo4j.core.executor.plugin.impl.TaskLatencyHistogramPlugin;
+import cn.hippo4j.core.executor.plugin.impl.TaskQueueWaitTimePlugin;
+import cn.hippo4j.core.executor.state.ThreadPoolRunStateHandler;
+import cn.hippo4j.core.executor.support.ThreadPoolBuilder;
+import cn.hippo4j.core.toolkit.LatencyHistogram;
+import cn.hippo4j.core.toolkit.inet.InetUtils;
+import cn.hippo4j.core.toolkit.inet.InetUtilsProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * benchmark test for collecting the running state of 500 thread-pools,
+ * creating the run state info with formatted strings like the monitors did before,
+ * and reading into a {@link PoolStatsSnapshot} reused per thread-pool.
+ * Run with the gc profiler to compare the allocation rate.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class PoolStatsSnapshotBenchmarkTest {
+
+    private static final int POOL_COUNT = 500;
+
+    private final String[] threadPoolIds = new String[POOL_COUNT];
+
+    private final ThreadPoolExecutor[] executors = new ThreadPoolExecutor[POOL_COUNT];
+
+    private final PoolStatsSnapshot[] snapshots = new PoolStatsSnapshot[POOL_COUNT];
+
+    private final LatencyHistogram.Snapshot[] latencies = new LatencyHistogram.Snapshot[POOL_COUNT];
+
+    private ThreadPoolRunStateHandler handler;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        handler = new ThreadPoolRunStateHandler(new InetUtils(new InetUtilsProperties()), new StandardEnvironment());
+        for (int i = 0; i < POOL_COUNT; i++) {
+            threadPoolIds[i] = "benchmark-" + i;
+            DynamicThreadPoolExecutor executor = (DynamicThreadPoolExecutor) ThreadPoolBuilder.builder()
+                    .threadPoolId(threadPoolIds[i])
+                    .threadFactory(threadPoolIds[i])
+                    .poolThreadSize(1, 1)
+                    .dynamicPool()
+                    .build();
+            executor.register(new TaskLatencyHistogramPlugin());
+            executor.register(new TaskQueueWaitTimePlugin());
+            ThreadPoolExecutorRegistry.putHolder(threadPoolIds[i], executor, null);
+            executors[i] = executor;
+            snapshots[i] = new PoolStatsSnapshot();
+            latencies[i] = new LatencyHistogram.Snapshot();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        Arrays.stream(executors).forEach(ThreadPoolExecutor::shutdownNow);
+    }
+
+    @Benchmark
+    public void run_state_info(Blackhole blackhole) {
+        for (int i = 0; i < POOL_COUNT; i++) {
+            blackhole.consume(handler.getPoolRunState(threadPoolIds[i], executors[i]));
+        }
+    }
+
+    @Benchmark
+    public void reused_snapshot(Blackhole blackhole) {
+        for (int i = 0; i < POOL_COUNT; i++) {
+            blackhole.consume(handler.snapshot(executors[i], snapshots[i], latencies[i]));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options opts = new OptionsBuilder()
+                .include(PoolStatsSnapshotBenchmarkTest.class.getSimpleName())
+                .resultFormat(ResultFormatType.JSON)
+                .build();
+        new Runner(opts).run();
+    }
+}
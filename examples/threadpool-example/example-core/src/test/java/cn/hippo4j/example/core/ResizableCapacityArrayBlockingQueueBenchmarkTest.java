@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.example.core;
+
+import cn.hippo4j.common.executor.support.BlockingQueueTypeEnum;
+import cn.hippo4j.common.executor.support.ResizableCapacityArrayBlockingQueue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * benchmark test for the work queues of thread-pool under producer contention,
+ * compares {@link ResizableCapacityArrayBlockingQueue} with {@code LinkedBlockingQueue},
+ * {@code ArrayBlockingQueue} and {@code ResizableCapacityLinkedBlockingQueue}.
+ * 8 producers offer tasks while 4 consumers poll them, as workers do when the pool is busy.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Group)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class ResizableCapacityArrayBlockingQueueBenchmarkTest {
+
+    @Param({"LinkedBlockingQueue", "ArrayBlockingQueue", "ResizableCapacityLinkedBlockingQueue", "ResizableCapacityArrayBlockingQueue"})
+    private String queueType;
+
+    private final Runnable task = () -> {
+    };
+
+    private BlockingQueue<Runnable> queue;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        queue = BlockingQueueTypeEnum.createBlockingQueue(queueType, 4096);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        queue.clear();
+    }
+
+    @Benchmark
+    @Group("queue")
+    @GroupThreads(8)
+    public boolean offer() {
+        return queue.offer(task);
+    }
+
+    @Benchmark
+    @Group("queue")
+    @GroupThreads(4)
+    public Runnable poll() {
+        return queue.poll();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options opts = new OptionsBuilder()
+                .include(ResizableCapacityArrayBlockingQueueBenchmarkTest.class.getSimpleName())
+                .resultFormat(ResultFormatType.JSON)
+                .build();
+        new Runner(opts).run();
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.example.core;
+
+import cn.hippo4j.common.model.ManyThreadPoolRunStateInfo;
+import cn.hippo4j.common.model.ThreadPoolParameterInfo;
+import cn.hippo4j.rpc.coder.CompactSerializer;
+import cn.hippo4j.rpc.coder.JdkSerializer;
+import cn.hippo4j.rpc.coder.Serializer;
+import cn.hippo4j.rpc.model.DefaultResponse;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import org.junit.jupiter.api.Assertions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * benchmark test for the serializers of the rpc module, {@link JdkSerializer} and {@link CompactSerializer},
+ * encoding to and decoding from a pooled direct buffer like the netty pipeline does.
+ * The payload is a response of one thread-pool parameter or the run states of many thread-pools.
+ * The compact serializer must encode and decode faster than the jdk one.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class RpcSerializerBenchmarkTest {
+
+    @Param({"jdk", "compact"})
+    private String serializerName;
+
+    @Param({"1", "100"})
+    private int poolCount;
+
+    private Serializer serializer;
+
+    private DefaultResponse response;
+
+    private ByteBuf encoded;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        serializer = "compact".equals(serializerName) ? new CompactSerializer() : new JdkSerializer();
+        response = new DefaultResponse("1", newPayload(poolCount));
+        encoded = PooledByteBufAllocator.DEFAULT.directBuffer();
+        serializer.serialize(response, encoded);
+        Object decoded = serializer.deserialize(encoded.duplicate());
+        Assertions.assertEquals(response, decoded);
+        Object payload = ((DefaultResponse) decoded).getObj();
+        Assertions.assertEquals(response.getObj().getClass(), payload.getClass());
+        if (payload instanceof List) {
+            Assertions.assertEquals(poolCount, ((List<?>) payload).size());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        encoded.release();
+    }
+
+    @Benchmark
+    public int encode() {
+        ByteBuf out = PooledByteBufAllocator.DEFAULT.directBuffer();
+        try {
+            serializer.serialize(response, out);
+            return out.readableBytes();
+        } finally {
+            out.release();
+        }
+    }
+
+    @Benchmark
+    public Object decode() {
+        return serializer.deserialize(encoded.duplicate());
+    }
+
+    private static Object newPayload(int poolCount) {
+        if (poolCount == 1) {
+            return new ThreadPoolParameterInfo()
+                    .setTenantId("prescription")
+                    .setItemId("dynamic-threadpool-example")
+                    .setTpId("message-consume")
+                    .setCorePoolSize(5)
+                    .setMaximumPoolSize(10)
+                    .setQueueType(9)
+                    .setCapacity(1024)
+                    .setKeepAliveTime(10000L)
+                    .setRejectedType(2)
+                    .setAllowCoreThreadTimeOut(0);
+        }
+        List<ManyThreadPoolRunStateInfo> states = new ArrayList<>(poolCount);
+        for (int i = 0; i < poolCount; i++) {
+            ManyThreadPoolRunStateInfo state = new ManyThreadPoolRunStateInfo();
+            state.setIdentify("192.168.1.10:8088_7f3a");
+            state.setActive("DEV");
+            state.setState("Running");
+            state.setTpId("message-consume-" + i);
+            state.setCurrentLoad(String.valueOf(i % 3));
+            state.setPeakLoad(String.valueOf(i % 5 * 10));
+            state.setActiveCount(i % 3);
+            state.setPoolSize(5);
+            state.setLargestPoolSize(10);
+            state.setQueueSize(i % 7);
+            state.setQueueRemainingCapacity(1024 - i % 7);
+            state.setCompletedTaskCount(123456L + i);
+            state.setRejectCount(0L);
+            state.setHost("192.168.1.10");
+            state.setTimestamp(System.currentTimeMillis());
+            states.add(state);
+        }
+        return states;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options opts = new OptionsBuilder()
+                .include(RpcSerializerBenchmarkTest.class.getSimpleName())
+                .resultFormat(ResultFormatType.JSON)
+                .build();
+        Map<String, Double> scores = new HashMap<>();
+        for (RunResult result : new Runner(opts).run()) {
+            BenchmarkParams params = result.getParams();
+            scores.put(params.getBenchmark() + "-" + params.getParam("serializerName") + "-" + params.getParam("poolCount"),
+                    result.getPrimaryResult().getScore());
+        }
+        String benchmark = RpcSerializerBenchmarkTest.class.getName();
+        for (String method : new String[]{"encode", "decode"}) {
+            for (String poolCount : new String[]{"1", "100"}) {
+                double jdkScore = scores.get(benchmark + "." + method + "-jdk-" + poolCount);
+                double compactScore = scores.get(benchmark + "." + method + "-compact-" + poolCount);
+                Assertions.assertTrue(compactScore < jdkScore,
+                        () -> method + " " + poolCount + " pools, compact: " + compactScore + "us, jdk: " + jdkScore + "us");
+            }
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.example.core;
+
+import cn.hippo4j.common.monitor.Message;
+import cn.hippo4j.common.monitor.MessageTypeEnum;
+import cn.hippo4j.common.monitor.MessageWrapper;
+import cn.hippo4j.common.monitor.RuntimeMessage;
+import cn.hippo4j.common.monitor.RuntimeMessageCodec;
+import cn.hippo4j.common.toolkit.MessageConvert;
+import org.junit.jupiter.api.Assertions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * benchmark test for decoding one monitor report of the server,
+ * java serialized {@link MessageWrapper} converted by {@link MessageConvert} and {@link RuntimeMessageCodec}.
+ * The binary report must be smaller than the java serialized one, and be decoded faster.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class RuntimeMessageCodecBenchmarkTest {
+
+    @Param({"20", "300"})
+    private int poolCount;
+
+    private byte[] javaBytes;
+
+    private byte[] binaryBytes;
+
+    @Setup
+    public void setup() throws IOException {
+        Message message = newMessage(poolCount);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ObjectOutputStream objectOut = new ObjectOutputStream(out)) {
+            objectOut.writeObject(MessageConvert.convert(message));
+        }
+        javaBytes = out.toByteArray();
+        binaryBytes = RuntimeMessageCodec.encode(message);
+        Assertions.assertTrue(binaryBytes.length < javaBytes.length,
+                () -> "binary: " + binaryBytes.length + " bytes, java serialization: " + javaBytes.length + " bytes");
+        Assertions.assertEquals(message.getMessages(), RuntimeMessageCodec.decode(binaryBytes).getMessages());
+    }
+
+    @Benchmark
+    public Message java_serialization() throws Exception {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(javaBytes))) {
+            return MessageConvert.convert((MessageWrapper) in.readObject());
+        }
+    }
+
+    @Benchmark
+    public Message binary_codec() {
+        return RuntimeMessageCodec.decode(binaryBytes);
+    }
+
+    private static Message newMessage(int poolCount) {
+        List<Message> rows = new ArrayList<>(poolCount);
+        for (int i = 0; i < poolCount; i++) {
+            RuntimeMessage row = new RuntimeMessage();
+            row.setMessageType(MessageTypeEnum.RUNTIME);
+            row.setGroupKey("message-consume-" + i + "+dynamic-threadpool-example+prescription+192.168.1.10:8088_7f3a");
+            row.setCurrentLoad(String.valueOf(i % 3));
+            row.setPeakLoad(String.valueOf(i % 5 * 10));
+            row.setPoolSize(5);
+            row.setLargestPoolSize(10);
+            row.setActiveSize(String.valueOf(i % 3));
+            row.setQueueCapacity(1024);
+            row.setQueueSize(i % 7);
+            row.setQueueRemainingCapacity(String.valueOf(1024 - i % 7));
+            row.setCompletedTaskCount(123456L + i);
+            row.setRejectCount(0);
+            row.setExecuteTimeP50(120L);
+            row.setExecuteTimeP99(3000L);
+            row.setExecuteTimeMax(10000L);
+            row.setQueueWaitTimeP50(10L);
+            row.setQueueWaitTimeP99(90L);
+            row.setTimestamp(System.currentTimeMillis());
+            rows.add(row);
+        }
+        RuntimeMessage message = new RuntimeMessage();
+        message.setMessageType(MessageTypeEnum.RUNTIME);
+        message.setMessages(rows);
+        return message;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options opts = new OptionsBuilder()
+                .include(RuntimeMessageCodecBenchmarkTest.class.getSimpleName())
+                .resultFormat(ResultFormatType.JSON)
+                .build();
+        Map<String, Double> scores = new HashMap<>();
+        for (RunResult result : new Runner(opts).run()) {
+            scores.put(result.getParams().getBenchmark() + "-" + result.getParams().getParam("poolCount"), result.getPrimaryResult().getScore());
+        }
+        String benchmark = RuntimeMessageCodecBenchmarkTest.class.getName();
+        for (String poolCount : new String[]{"20", "300"}) {
+            double javaScore = scores.get(benchmark + ".java_serialization-" + poolCount);
+            double binaryScore = scores.get(benchmark + ".binary_codec-" + poolCount);
+            Assertions.assertTrue(binaryScore < javaScore,
+                    () -> poolCount + " pools, binary: " + binaryScore + "us, java serialization: " + javaScore + "us");
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.example.core;
+
+import cn.hippo4j.common.executor.ThreadPoolMetrics;
+import cn.hippo4j.common.model.ThreadPoolRunStateInfo;
+import cn.hippo4j.common.support.AbstractThreadPoolRuntime;
+import cn.hippo4j.common.toolkit.ReflectUtil;
+import cn.hippo4j.core.executor.DynamicThreadPoolExecutor;
+import cn.hippo4j.core.executor.plugin.impl.TaskQueueWaitTimePlugin;
+import cn.hippo4j.core.executor.support.ThreadPoolBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * benchmark test for reading the reject count and queue wait time of 500 thread-pools in a collection of monitor,
+ * resolving the methods by name on every call like before, the cached method handles of {@link ReflectUtil},
+ * and the typed {@link ThreadPoolMetrics}. The whole collection of run states is measured as well.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class ThreadPoolMetricsBenchmarkTest {
+
+    private static final int POOL_COUNT = 500;
+
+    private static final String DYNAMIC_THREAD_POOL_CLASS_NAME = "cn.hippo4j.core.executor.DynamicThreadPoolExecutor";
+
+    private final ThreadPoolExecutor[] executors = new ThreadPoolExecutor[POOL_COUNT];
+
+    private final AbstractThreadPoolRuntime runtime = new AbstractThreadPoolRuntime() {
+
+        @Override
+        public ThreadPoolRunStateInfo supplement(ThreadPoolRunStateInfo threadPoolRunStateInfo) {
+            return threadPoolRunStateInfo;
+        }
+    };
+
+    @Setup(Level.Trial)
+    public void setup() {
+        for (int i = 0; i < POOL_COUNT; i++) {
+            DynamicThreadPoolExecutor executor = (DynamicThreadPoolExecutor) ThreadPoolBuilder.builder()
+                    .threadPoolId("benchmark-" + i)
+                    .threadFactory("benchmark-" + i)
+                    .poolThreadSize(1, 1)
+                    .dynamicPool()
+                    .build();
+            executor.register(new TaskQueueWaitTimePlugin());
+            executors[i] = executor;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        Arrays.stream(executors).forEach(ThreadPoolExecutor::shutdownNow);
+    }
+
+    @Benchmark
+    public void reflect_by_name(Blackhole blackhole) throws Exception {
+        for (ThreadPoolExecutor executor : executors) {
+            if (Objects.equals(executor.getClass().getName(), DYNAMIC_THREAD_POOL_CLASS_NAME)) {
+                blackhole.consume(invokeByName(executor, "getRejectCountNum"));
+                blackhole.consume(invokeByName(executor, "getQueueWaitTimeP99"));
+            }
+        }
+    }
+
+    @Benchmark
+    public void cached_method_handle(Blackhole blackhole) {
+        for (ThreadPoolExecutor executor : executors) {
+            if (Objects.equals(executor.getClass().getName(), DYNAMIC_THREAD_POOL_CLASS_NAME)) {
+                blackhole.consume((Object) ReflectUtil.invoke(executor, "getRejectCountNum"));
+                blackhole.consume((Object) ReflectUtil.invoke(executor, "getQueueWaitTimeP99"));
+            }
+        }
+    }
+
+    @Benchmark
+    public void typed_metrics(Blackhole blackhole) {
+        for (ThreadPoolExecutor executor : executors) {
+            if (executor instanceof ThreadPoolMetrics) {
+                ThreadPoolMetrics metrics = (ThreadPoolMetrics) executor;
+                blackhole.consume(metrics.getRejectedTaskCount());
+                blackhole.consume(metrics.getQueueWaitTimeP99());
+            }
+        }
+    }
+
+    @Benchmark
+    public void run_state_collect(Blackhole blackhole) {
+        for (int i = 0; i < POOL_COUNT; i++) {
+            blackhole.consume(runtime.getPoolRunState("benchmark-" + i, executors[i]));
+        }
+    }
+
+    /**
+     * The way of {@link ReflectUtil#invoke(Object, String, Object...)} before the method handles are cached
+     */
+    private static Object invokeByName(Object obj, String methodName) throws Exception {
+        Method method = ReflectUtil.getMethodByName(obj.getClass(), methodName);
+        ReflectUtil.setAccessible(method);
+        return method.invoke(obj);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options opts = new OptionsBuilder()
+                .include(ThreadPoolMetricsBenchmarkTest.class.getSimpleName())
+                .resultFormat(ResultFormatType.JSON)
+                .build();
+        new Runner(opts).run();
+    }
+}
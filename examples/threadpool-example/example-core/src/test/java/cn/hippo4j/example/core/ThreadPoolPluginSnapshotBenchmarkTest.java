@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.example.core;
+
+import cn.hippo4j.core.executor.plugin.ExecuteAwarePlugin;
+import cn.hippo4j.core.executor.plugin.TaskAwarePlugin;
+import cn.hippo4j.core.executor.plugin.impl.TaskDecoratorPlugin;
+import cn.hippo4j.core.executor.plugin.impl.TaskRejectCountRecordPlugin;
+import cn.hippo4j.core.executor.plugin.impl.TaskTimeRecordPlugin;
+import cn.hippo4j.core.executor.plugin.manager.DefaultThreadPoolPluginManager;
+import cn.hippo4j.core.executor.plugin.manager.ThreadPoolPluginSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * benchmark test for obtaining plugins through the locked plugin list
+ * and the lock-free {@link ThreadPoolPluginSnapshot} of {@link DefaultThreadPoolPluginManager},
+ * simulates the plugin lookups of {@code execute}, {@code beforeExecute} and {@code afterExecute} for one task.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+@Threads(64)
+public class ThreadPoolPluginSnapshotBenchmarkTest {
+
+    private final DefaultThreadPoolPluginManager manager = new DefaultThreadPoolPluginManager();
+
+    private final Runnable task = () -> {
+    };
+
+    @Setup
+    public void setup() {
+        manager.register(new TaskDecoratorPlugin());
+        manager.register(new TaskTimeRecordPlugin());
+        manager.register(new TaskRejectCountRecordPlugin());
+    }
+
+    @Benchmark
+    public void plugin_list(Blackhole blackhole) {
+        Collection<TaskAwarePlugin> taskAwarePlugins = manager.getTaskAwarePluginList();
+        for (TaskAwarePlugin plugin : taskAwarePlugins) {
+            blackhole.consume(plugin);
+        }
+        Collection<ExecuteAwarePlugin> beforeExecutePlugins = manager.getExecuteAwarePluginList();
+        for (ExecuteAwarePlugin plugin : beforeExecutePlugins) {
+            blackhole.consume(plugin);
+        }
+        Collection<ExecuteAwarePlugin> afterExecutePlugins = manager.getExecuteAwarePluginList();
+        for (ExecuteAwarePlugin plugin : afterExecutePlugins) {
+            blackhole.consume(plugin);
+        }
+        blackhole.consume(task);
+    }
+
+    @Benchmark
+    public void plugin_snapshot(Blackhole blackhole) {
+        TaskAwarePlugin[] taskAwarePlugins = manager.getPluginSnapshot().getTaskAwarePlugins();
+        for (TaskAwarePlugin plugin : taskAwarePlugins) {
+            blackhole.consume(plugin);
+        }
+        ExecuteAwarePlugin[] beforeExecutePlugins = manager.getPluginSnapshot().getExecuteAwarePlugins();
+        for (ExecuteAwarePlugin plugin : beforeExecutePlugins) {
+            blackhole.consume(plugin);
+        }
+        ExecuteAwarePlugin[] afterExecutePlugins = manager.getPluginSnapshot().getExecuteAwarePlugins();
+        for (ExecuteAwarePlugin plugin : afterExecutePlugins) {
+            blackhole.consume(plugin);
+        }
+        blackhole.consume(task);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options opts = new OptionsBuilder()
+                .include(ThreadPoolPluginSnapshotBenchmarkTest.class.getSimpleName())
+                .resultFormat(ResultFormatType.JSON)
+                .build();
+        new Runner(opts).run();
+    }
+}
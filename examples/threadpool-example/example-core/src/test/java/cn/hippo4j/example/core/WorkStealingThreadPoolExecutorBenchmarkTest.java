@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.example.core;
+
+import cn.hippo4j.core.executor.DynamicThreadPoolExecutor;
+import cn.hippo4j.core.executor.WorkStealingThreadPoolExecutor;
+import cn.hippo4j.core.executor.support.ThreadPoolBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * benchmark test for CPU-bound fan-out workloads, compares {@link WorkStealingThreadPoolExecutor}
+ * with {@link DynamicThreadPoolExecutor} on a shared {@code LinkedBlockingQueue}.
+ * Each operation submits a root task, which forks small tasks into the same thread-pool.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class WorkStealingThreadPoolExecutorBenchmarkTest {
+
+    private static final int FORKS = 256;
+
+    @Param({"DynamicThreadPoolExecutor", "WorkStealingThreadPoolExecutor"})
+    private String executorType;
+
+    private ThreadPoolExecutor executor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        ThreadPoolBuilder builder = ThreadPoolBuilder.builder()
+                .threadPoolId("benchmark")
+                .threadFactory("benchmark")
+                .poolThreadSize(parallelism, parallelism)
+                .capacity(FORKS * 4);
+        executor = "WorkStealingThreadPoolExecutor".equals(executorType) ? builder.workStealing().build() : builder.dynamicPool().build();
+        executor.prestartAllCoreThreads();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public void fan_out() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(FORKS);
+        executor.execute(() -> {
+            for (int i = 0; i < FORKS; i++) {
+                executor.execute(() -> {
+                    Blackhole.consumeCPU(200L);
+                    latch.countDown();
+                });
+            }
+        });
+        latch.await();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options opts = new OptionsBuilder()
+                .include(WorkStealingThreadPoolExecutorBenchmarkTest.class.getSimpleName())
+                .resultFormat(ResultFormatType.JSON)
+                .build();
+        new Runner(opts).run();
+    }
+}
@@ -66,6 +66,8 @@ public class Constants {
 
     public static final String LISTENER_PATH = CONFIG_CONTROLLER_PATH + "/listener";
 
+    public static final String BATCH_CONFIG_PATH = CONFIG_CONTROLLER_PATH + "/batch";
+
     public static final String VERIFY_PATH = CONFIG_CONTROLLER_PATH + "/verify";
 
     public static final String MONITOR_PATH = BASE_PATH + "/monitor";
@@ -133,4 +135,6 @@ public class Constants {
     public static final String CONFIGURATION_PROPERTIES_PREFIX = "spring.dynamic.thread-pool";
 
     public static final long NO_REJECT_COUNT_NUM = -1L;
+
+    public static final long NO_QUEUE_WAIT_TIME = -1L;
 }
@@ -18,21 +18,27 @@
 package cn.hippo4j.common.executor;
 
 import cn.hippo4j.common.model.executor.ExecutorProperties;
+import cn.hippo4j.common.toolkit.StringUtil;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ThreadPoolExecutor;
 
+@Slf4j
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class ThreadPoolExecutorRegistry {
 
     private static final Map<String, ThreadPoolExecutorHolder> HOLDER_MAP = new ConcurrentHashMap<>();
 
+    private static final Map<String, ThreadPoolGroup> GROUP_MAP = new ConcurrentHashMap<>();
+
     public static final Map<ThreadPoolExecutor, Class<?>> REFERENCED_CLASS_MAP = new ConcurrentHashMap<>();
 
     public static Map<String, ThreadPoolExecutorHolder> getHolderMap() {
@@ -70,4 +76,78 @@ public class ThreadPoolExecutorRegistry {
     public static Integer getThreadPoolExecutorSize() {
         return listThreadPoolExecutorId().size();
     }
+
+    public static Map<String, ThreadPoolGroup> getGroupMap() {
+        return GROUP_MAP;
+    }
+
+    public static Optional<ThreadPoolGroup> getGroup(String groupName) {
+        return Optional.ofNullable(GROUP_MAP.get(groupName));
+    }
+
+    /**
+     * Get the group that the thread-pool is a member of.
+     *
+     * @param threadPoolId thread-pool id
+     * @return thread-pool group
+     */
+    public static Optional<ThreadPoolGroup> getGroupOf(String threadPoolId) {
+        return GROUP_MAP.values().stream()
+                .filter(group -> group.getMember(threadPoolId) != null)
+                .findFirst();
+    }
+
+    /**
+     * Create or update the budgets of thread-pool groups.
+     *
+     * @param budgets budgets of thread-pool groups, the key is group name
+     */
+    public static void setGroupBudgets(Map<String, Integer> budgets) {
+        if (budgets == null) {
+            return;
+        }
+        budgets.forEach((groupName, budget) -> {
+            if (budget == null || budget <= 0) {
+                log.warn("The budget of thread-pool group [{}] must be greater than 0.", groupName);
+                return;
+            }
+            ThreadPoolGroup group = GROUP_MAP.computeIfAbsent(groupName, each -> new ThreadPoolGroup(each, budget));
+            if (group.getBudget() != budget) {
+                group.setBudget(budget);
+            }
+        });
+    }
+
+    /**
+     * Join the thread-pool into the group named by {@code poolGroup} of the properties,
+     * or leave its current group if the properties specify another group or no group.
+     * A group without configured budget is created with an unlimited budget,
+     * and the default guaranteed threads are used if {@code groupMinThreads} is not greater than 0. <br />
+     * Groups are only configured in the config mode, the config of thread-pool kept by the server has no group.
+     *
+     * @param threadPoolId thread-pool id
+     * @param executor     thread-pool
+     * @param properties   executor properties
+     */
+    public static void joinGroup(String threadPoolId, ThreadPoolExecutor executor, ExecutorProperties properties) {
+        String groupName = properties.getPoolGroup();
+        getGroupOf(threadPoolId)
+                .filter(group -> !Objects.equals(group.getName(), groupName))
+                .ifPresent(group -> group.leave(threadPoolId));
+        if (StringUtil.isBlank(groupName)) {
+            return;
+        }
+        ThreadPoolGroup group = GROUP_MAP.computeIfAbsent(groupName, each -> {
+            log.warn("The budget of thread-pool group [{}] is not configured, the budget is unlimited.", each);
+            return new ThreadPoolGroup(each, Integer.MAX_VALUE);
+        });
+        int minThreads = Optional.ofNullable(properties.getGroupMinThreads()).orElse(ThreadPoolGroup.DEFAULT_MIN_THREADS);
+        if (minThreads <= 0) {
+            log.warn("The guaranteed threads of thread-pool [{}] in group [{}] must be greater than 0, use {} instead.",
+                    threadPoolId, groupName, ThreadPoolGroup.DEFAULT_MIN_THREADS);
+            minThreads = ThreadPoolGroup.DEFAULT_MIN_THREADS;
+        }
+        int maxThreads = Optional.ofNullable(properties.getGroupMaxThreads()).orElse(0);
+        group.join(threadPoolId, executor, minThreads, maxThreads);
+    }
 }
@@ -0,0 +1,387 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.common.executor;
+
+import cn.hippo4j.common.toolkit.Assert;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>Group of thread-pools sharing a budget of threads. <br />
+ * Each member pool is guaranteed its minimum threads, and borrows the other threads from the shared part of the budget,
+ * which is the budget minus the sum of the minimum threads of all members, up to the burst ceiling of the member.
+ *
+ * <p>The budget is enforced by the {@link ThreadFactory} of member pools. When the member can neither use its guaranteed
+ * threads nor borrow one, the factory returns null, the pool fails to add a worker as if its maximum pool size was reached,
+ * so the task is queued or passed to the rejected handler. The accounting is lock-free and only happens when a thread
+ * is created or terminated, nothing is added to the task submission path.
+ *
+ * <p>Threads created before the pool joins the group are not counted, so a pool should join the group before it starts threads.
+ * Every member is guaranteed at least one thread, otherwise it could be left without threads while the budget is exhausted,
+ * and its queued tasks would wait until a thread can be created on a later submission.
+ *
+ * @see ThreadPoolExecutorRegistry#joinGroup
+ */
+public class ThreadPoolGroup {
+
+    /**
+     * Default guaranteed threads of member, so that every member can make progress
+     */
+    public static final int DEFAULT_MIN_THREADS = 1;
+
+    /**
+     * Group name
+     */
+    @Getter
+    private final String name;
+
+    /**
+     * Max number of threads of all members
+     */
+    @Getter
+    private volatile int budget;
+
+    /**
+     * Sum of guaranteed threads of all members
+     */
+    @Getter
+    private volatile int reservedThreads;
+
+    /**
+     * Number of threads borrowed from the shared part of budget
+     */
+    private final AtomicInteger borrowedThreads = new AtomicInteger();
+
+    private final Map<String, Member> members = new ConcurrentHashMap<>();
+
+    public ThreadPoolGroup(@NonNull String name, int budget) {
+        Assert.isTrue(budget > 0, "The budget of thread-pool group must be greater than 0.");
+        this.name = name;
+        this.budget = budget;
+    }
+
+    /**
+     * Change the budget, the threads already created are kept when the budget decreases.
+     *
+     * @param budget max number of threads of all members
+     */
+    public void setBudget(int budget) {
+        Assert.isTrue(budget > 0, "The budget of thread-pool group must be greater than 0.");
+        this.budget = budget;
+    }
+
+    /**
+     * Get the number of threads borrowed from the shared part of budget.
+     *
+     * @return borrowed threads
+     */
+    public int getBorrowedThreads() {
+        return borrowedThreads.get();
+    }
+
+    /**
+     * Get the number of threads of all members.
+     *
+     * @return active threads
+     */
+    public int getActiveThreads() {
+        int result = 0;
+        for (Member member : members.values()) {
+            result += member.getThreads();
+        }
+        return result;
+    }
+
+    /**
+     * Get member of the group.
+     *
+     * @param threadPoolId thread-pool id
+     * @return member, or null if the thread-pool is not a member
+     */
+    public Member getMember(String threadPoolId) {
+        return members.get(threadPoolId);
+    }
+
+    /**
+     * Get all members of the group.
+     *
+     * @return members
+     */
+    public Collection<Member> getMembers() {
+        return Collections.unmodifiableCollection(members.values());
+    }
+
+    /**
+     * Add the thread-pool into the group, or update the limits if it's already a member.
+     *
+     * @param threadPoolId thread-pool id
+     * @param executor     thread-pool
+     * @param minThreads   guaranteed threads, at least 1
+     * @param maxThreads   burst ceiling, not limited except by the maximum pool size if it's not greater than 0
+     * @return member
+     * @throws IllegalArgumentException if {@code minThreads} is not greater than 0
+     */
+    public synchronized Member join(@NonNull String threadPoolId, @NonNull ThreadPoolExecutor executor, int minThreads, int maxThreads) {
+        Assert.isTrue(minThreads > 0, "The guaranteed threads of thread-pool group member must be greater than 0.");
+        Member member = members.get(threadPoolId);
+        if (member != null && member.executor != executor) {
+            leave(threadPoolId);
+            member = null;
+        }
+        if (member == null) {
+            member = new Member(threadPoolId, executor);
+            members.put(threadPoolId, member);
+            executor.setThreadFactory(new GroupThreadFactory(member, member.originalThreadFactory));
+        }
+        member.minThreads = minThreads;
+        member.maxThreads = maxThreads;
+        updateReservedThreads();
+        return member;
+    }
+
+    /**
+     * Remove the thread-pool from the group and restore its thread factory.
+     *
+     * @param threadPoolId thread-pool id
+     */
+    public synchronized void leave(String threadPoolId) {
+        Member member = members.remove(threadPoolId);
+        if (member == null) {
+            return;
+        }
+        member.left = true;
+        if (member.executor.getThreadFactory() instanceof GroupThreadFactory) {
+            member.executor.setThreadFactory(member.originalThreadFactory);
+        }
+        borrowedThreads.addAndGet(-member.borrowed.getAndSet(0));
+        updateReservedThreads();
+    }
+
+    private void updateReservedThreads() {
+        int result = 0;
+        for (Member member : members.values()) {
+            result += member.minThreads;
+        }
+        reservedThreads = result;
+    }
+
+    private boolean borrow() {
+        for (;;) {
+            int current = borrowedThreads.get();
+            if (current >= budget - reservedThreads) {
+                return false;
+            }
+            if (borrowedThreads.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Member of thread-pool group.
+     */
+    public final class Member {
+
+        /**
+         * Thread-pool id
+         */
+        @Getter
+        private final String threadPoolId;
+
+        private final ThreadPoolExecutor executor;
+
+        private final ThreadFactory originalThreadFactory;
+
+        /**
+         * Guaranteed threads
+         */
+        @Getter
+        private volatile int minThreads;
+
+        /**
+         * Burst ceiling, not limited if it's not greater than 0
+         */
+        @Getter
+        private volatile int maxThreads;
+
+        private final AtomicInteger threads = new AtomicInteger();
+
+        private final AtomicInteger borrowed = new AtomicInteger();
+
+        private volatile boolean left;
+
+        Member(String threadPoolId, ThreadPoolExecutor executor) {
+            this.threadPoolId = threadPoolId;
+            this.executor = executor;
+            ThreadFactory threadFactory = executor.getThreadFactory();
+            this.originalThreadFactory = threadFactory instanceof GroupThreadFactory ? ((GroupThreadFactory) threadFactory).delegate : threadFactory;
+        }
+
+        /**
+         * Get the number of threads created through the group.
+         *
+         * @return threads
+         */
+        public int getThreads() {
+            return threads.get();
+        }
+
+        /**
+         * Get the number of threads borrowed from the shared part of budget.
+         *
+         * @return borrowed threads
+         */
+        public int getBorrowedThreads() {
+            return borrowed.get();
+        }
+
+        boolean tryAcquire() {
+            for (;;) {
+                int current = threads.get();
+                int max = maxThreads;
+                if (left || (max > 0 && current >= max)) {
+                    return false;
+                }
+                if (current < minThreads) {
+                    if (threads.compareAndSet(current, current + 1)) {
+                        return true;
+                    }
+                    continue;
+                }
+                if (!borrow()) {
+                    return false;
+                }
+                if (threads.compareAndSet(current, current + 1)) {
+                    borrowed.incrementAndGet();
+                    return true;
+                }
+                borrowedThreads.decrementAndGet();
+            }
+        }
+
+        void release() {
+            threads.decrementAndGet();
+            // borrowed threads are returned first
+            for (;;) {
+                int current = borrowed.get();
+                if (current == 0) {
+                    return;
+                }
+                if (borrowed.compareAndSet(current, current - 1)) {
+                    borrowedThreads.decrementAndGet();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Remove the members of which the thread-pool is terminated, a terminated thread-pool never starts a thread,
+     * so its threads dropped without being started, for example when it's shut down while adding a worker, are returned.
+     */
+    private void leaveTerminatedMembers() {
+        for (Member member : members.values()) {
+            if (member.executor.isTerminated()) {
+                leave(member.threadPoolId);
+            }
+        }
+    }
+
+    /**
+     * Thread factory that creates a thread only if the member is allowed by the budget,
+     * and returns the thread to the budget when its worker exits, or when the thread fails to start. <br />
+     * A thread dropped by the pool without being started is returned when the pool terminates and leaves the group.
+     */
+    private final class GroupThreadFactory implements ThreadFactory {
+
+        private final Member member;
+
+        private final ThreadFactory delegate;
+
+        GroupThreadFactory(Member member, ThreadFactory delegate) {
+            this.member = member;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            leaveTerminatedMembers();
+            if (!member.tryAcquire()) {
+                return null;
+            }
+            Thread thread;
+            try {
+                thread = delegate.newThread(() -> {
+                    try {
+                        runnable.run();
+                    } finally {
+                        member.release();
+                    }
+                });
+            } catch (RuntimeException | Error ex) {
+                member.release();
+                throw ex;
+            }
+            if (thread == null) {
+                member.release();
+                return null;
+            }
+            return new GroupThread(thread, member);
+        }
+    }
+
+    /**
+     * Thread that runs the thread created by the original thread factory, with the same attributes,
+     * to return the thread to the budget if it fails to start.
+     */
+    private static final class GroupThread extends Thread {
+
+        private final Member member;
+
+        GroupThread(Thread thread, Member member) {
+            super(thread.getThreadGroup(), thread, thread.getName());
+            this.member = member;
+            setDaemon(thread.isDaemon());
+            setPriority(thread.getPriority());
+            setContextClassLoader(thread.getContextClassLoader());
+            setUncaughtExceptionHandler(thread.getUncaughtExceptionHandler());
+        }
+
+        @Override
+        public synchronized void start() {
+            boolean started = false;
+            try {
+                super.start();
+                started = true;
+            } finally {
+                // a thread started already is released by its worker
+                if (!started && getState() == State.NEW) {
+                    member.release();
+                }
+            }
+        }
+    }
+}
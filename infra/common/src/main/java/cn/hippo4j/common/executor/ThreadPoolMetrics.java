@@ -0,0 +1,41 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.common.executor;
+
+import cn.hippo4j.common.constant.Constants;
+
+/**
+ * Metrics of a thread-pool that are not exposed by {@link java.util.concurrent.ThreadPoolExecutor},
+ * implemented by the executors so that the monitor and alarm read them without reflection.
+ */
+public interface ThreadPoolMetrics {
+
+    /**
+     * Get the number of rejected tasks.
+     *
+     * @return number of rejected tasks, or {@link Constants#NO_REJECT_COUNT_NUM} if it is not recorded
+     */
+    long getRejectedTaskCount();
+
+    /**
+     * Get the 99th percentile of task queue wait time in the latest sliding window.
+     *
+     * @return queue wait time in nanoseconds, or {@link Constants#NO_QUEUE_WAIT_TIME} if it is not recorded
+     */
+    long getQueueWaitTimeP99();
+}
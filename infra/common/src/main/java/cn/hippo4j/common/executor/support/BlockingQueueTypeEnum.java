@@ -149,6 +149,54 @@ public enum BlockingQueueTypeEnum {
         <T> BlockingQueue<T> of() {
             return new ResizableCapacityLinkedBlockingQueue<>();
         }
+    },
+
+    /**
+     * {@link ResizableCapacityArrayBlockingQueue}
+     */
+    RESIZABLE_ARRAY_BLOCKING_QUEUE(10, "ResizableCapacityArrayBlockingQueue") {
+
+        @Override
+        <T> BlockingQueue<T> of(Integer capacity) {
+            return new ResizableCapacityArrayBlockingQueue<>(capacity);
+        }
+
+        @Override
+        <T> BlockingQueue<T> of() {
+            return new ResizableCapacityArrayBlockingQueue<>();
+        }
+    },
+
+    /**
+     * {@link PriorityLaneBlockingQueue}
+     */
+    PRIORITY_LANE_BLOCKING_QUEUE(11, "PriorityLaneBlockingQueue") {
+
+        @Override
+        <T> BlockingQueue<T> of(Integer capacity) {
+            return new PriorityLaneBlockingQueue<>(capacity);
+        }
+
+        @Override
+        <T> BlockingQueue<T> of() {
+            return new PriorityLaneBlockingQueue<>();
+        }
+    },
+
+    /**
+     * {@link WorkStealingBlockingQueue}
+     */
+    WORK_STEALING_BLOCKING_QUEUE(12, "WorkStealingBlockingQueue") {
+
+        @Override
+        <T> BlockingQueue<T> of(Integer capacity) {
+            return new WorkStealingBlockingQueue<>(capacity);
+        }
+
+        @Override
+        <T> BlockingQueue<T> of() {
+            return new WorkStealingBlockingQueue<>();
+        }
     };
 
     @Getter
@@ -304,6 +352,20 @@ public enum BlockingQueueTypeEnum {
                 .orElse("");
     }
 
+    /**
+     * Whether the capacity of the queue created by {@link BlockingQueueTypeEnum#type BlockingQueueTypeEnum.type}
+     * can be changed at runtime.
+     *
+     * @param type {@link BlockingQueueTypeEnum#type BlockingQueueTypeEnum.type}
+     * @return true if the queue is {@link ResizableCapacityQueue}
+     */
+    public static boolean isResizableCapacity(Integer type) {
+        return Objects.equals(RESIZABLE_LINKED_BLOCKING_QUEUE.getType(), type)
+                || Objects.equals(RESIZABLE_ARRAY_BLOCKING_QUEUE.getType(), type)
+                || Objects.equals(PRIORITY_LANE_BLOCKING_QUEUE.getType(), type)
+                || Objects.equals(WORK_STEALING_BLOCKING_QUEUE.getType(), type);
+    }
+
     /**
      * find {@link BlockingQueueTypeEnum} by {@link BlockingQueueTypeEnum#name BlockingQueueTypeEnum.name }
      * or {@link BlockingQueueTypeEnum#LINKED_BLOCKING_QUEUE} if can't mapping.
@@ -0,0 +1,38 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.common.executor.support;
+
+import java.util.List;
+
+/**
+ * Blocking queue that can insert a batch of elements with a single acquisition of its lock.
+ *
+ * @param <E> the type of elements held in the queue
+ * @see ResizableCapacityLinkedBlockingQueue
+ */
+public interface BulkOfferQueue<E> {
+
+    /**
+     * Insert as many elements as the remaining capacity allows, in the order of the list, without blocking.
+     *
+     * @param elements elements to insert
+     * @return number of elements inserted, they are always the first elements of the list
+     * @throws NullPointerException if any of the elements is null
+     */
+    int offerAll(List<? extends E> elements);
+}
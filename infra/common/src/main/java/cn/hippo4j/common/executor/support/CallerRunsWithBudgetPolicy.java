@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.common.executor.support;
+
+import cn.hippo4j.common.toolkit.Assert;
+import lombok.Getter;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>Run the rejected task in the caller thread, like {@link ThreadPoolExecutor.CallerRunsPolicy},
+ * but only while the number of callers running rejected tasks is within a budget. <br />
+ * When the thread-pool is overloaded, an unbounded caller-runs policy turns every submitting thread into a worker,
+ * which may exhaust the threads of the caller, e.g. the request threads of a web container.
+ * Once the budget is used up, the rejected task is shed by throwing {@link ShedException},
+ * and counted separately from the rejected tasks run by the callers. <br />
+ * A caller admitted by {@link #tryAdmit} takes its place in the budget until the task is run.
+ */
+public class CallerRunsWithBudgetPolicy implements SheddingRejectedExecutionHandler {
+
+    /**
+     * Default budget of callers running rejected tasks
+     */
+    public static final int DEFAULT_BUDGET = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Budget of callers running rejected tasks
+     */
+    @Getter
+    private volatile int budget;
+
+    /**
+     * Number of callers running rejected tasks
+     */
+    private final AtomicInteger runningCallers = new AtomicInteger();
+
+    /**
+     * Number of shed tasks
+     */
+    private final LongAdder shedCount = new LongAdder();
+
+    public CallerRunsWithBudgetPolicy() {
+        this(DEFAULT_BUDGET);
+    }
+
+    public CallerRunsWithBudgetPolicy(int budget) {
+        setBudget(budget);
+    }
+
+    /**
+     * Set the budget, it takes effect for the next rejected task.
+     *
+     * @param budget budget of callers running rejected tasks
+     */
+    public void setBudget(int budget) {
+        Assert.isTrue(budget >= 0, "The caller-runs budget must not be less than 0.");
+        this.budget = budget;
+    }
+
+    @Override
+    public boolean tryAdmit(Runnable r, ThreadPoolExecutor executor) {
+        if (runningCallers.incrementAndGet() > budget) {
+            runningCallers.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public void release(Runnable r, ThreadPoolExecutor executor) {
+        runningCallers.decrementAndGet();
+    }
+
+    @Override
+    public void rejectedExecution(Runnable r, ThreadPoolExecutor executor, boolean admitted) {
+        if (!admitted) {
+            if (executor.isShutdown()) {
+                return;
+            }
+            shedCount.increment();
+            throw new ShedException("Task " + r.toString() + " rejected from " + executor.toString()
+                    + ", the caller-runs budget " + budget + " is used up");
+        }
+        try {
+            if (!executor.isShutdown()) {
+                r.run();
+            }
+        } finally {
+            runningCallers.decrementAndGet();
+        }
+    }
+
+    /**
+     * Get the number of callers running rejected tasks.
+     *
+     * @return number of callers running rejected tasks
+     */
+    public int getRunningCallers() {
+        return runningCallers.get();
+    }
+
+    /**
+     * Get the number of tasks shed because the budget is used up.
+     *
+     * @return number of shed tasks
+     */
+    public long getShedCount() {
+        return shedCount.sum();
+    }
+
+    /**
+     * Thrown when the rejected task is shed because the caller-runs budget is used up,
+     * to tell it from the rejected exception thrown by the task run in the caller.
+     */
+    public static class ShedException extends RejectedExecutionException {
+
+        private static final long serialVersionUID = 1L;
+
+        public ShedException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.common.executor.support;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Task with a priority and an optional deadline, used by {@link PriorityLaneBlockingQueue} to choose the lane
+ * and to drop the task if it is still waiting in the queue after the deadline.
+ *
+ * @see PrioritizedTask
+ */
+public interface PrioritizedRunnable extends Runnable {
+
+    /**
+     * The task has no deadline.
+     */
+    long NO_DEADLINE = Long.MAX_VALUE;
+
+    /**
+     * Get the priority of task, {@code 0} is the highest, negative if not specified.
+     *
+     * @return priority
+     */
+    int getPriority();
+
+    /**
+     * Get the deadline of task, compared with {@link System#nanoTime()}.
+     *
+     * @return deadline in nanoseconds, or {@link #NO_DEADLINE}
+     */
+    default long getDeadlineNanos() {
+        return NO_DEADLINE;
+    }
+
+    /**
+     * Create a task with the given priority.
+     *
+     * @param task     task
+     * @param priority priority, {@code 0} is the highest
+     * @return prioritized task
+     */
+    static PrioritizedRunnable of(Runnable task, int priority) {
+        return new PrioritizedTask(task, priority, NO_DEADLINE);
+    }
+
+    /**
+     * Create a task with the given priority, which is dropped if it does not start within the timeout.
+     *
+     * @param task     task
+     * @param priority priority, {@code 0} is the highest
+     * @param timeout  max time to wait in the queue
+     * @param unit     time unit of timeout
+     * @return prioritized task
+     */
+    static PrioritizedRunnable of(Runnable task, int priority, long timeout, TimeUnit unit) {
+        return new PrioritizedTask(task, priority, System.nanoTime() + unit.toNanos(timeout));
+    }
+}
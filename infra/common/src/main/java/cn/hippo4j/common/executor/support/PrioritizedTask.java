@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.common.executor.support;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * Default implementation of {@link PrioritizedRunnable} which delegates to a task.
+ */
+public class PrioritizedTask implements PrioritizedRunnable {
+
+    /**
+     * Task to run
+     */
+    @Getter
+    private final Runnable task;
+
+    /**
+     * Task submitted by the caller, which may be wrapped in {@link #task} by the plugins,
+     * and is the one to cancel if the task is dropped
+     */
+    @Getter
+    private final Runnable source;
+
+    @Getter
+    private final int priority;
+
+    @Getter
+    private final long deadlineNanos;
+
+    public PrioritizedTask(@NonNull Runnable task, int priority, long deadlineNanos) {
+        this(task, priority, deadlineNanos, task);
+    }
+
+    public PrioritizedTask(@NonNull Runnable task, int priority, long deadlineNanos, @NonNull Runnable source) {
+        this.task = task;
+        this.priority = priority;
+        this.deadlineNanos = deadlineNanos;
+        this.source = source;
+    }
+
+    /**
+     * Get the task submitted by the caller, unwrapping nested {@link PrioritizedTask}.
+     *
+     * @param task task
+     * @return task submitted by the caller
+     */
+    public static Runnable unwrap(Runnable task) {
+        Runnable current = task;
+        while (current instanceof PrioritizedTask) {
+            current = ((PrioritizedTask) current).source;
+        }
+        return current;
+    }
+
+    @Override
+    public void run() {
+        task.run();
+    }
+}
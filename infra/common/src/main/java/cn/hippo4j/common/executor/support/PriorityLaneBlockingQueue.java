@@ -0,0 +1,690 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.common.executor.support;
+
+import java.util.AbstractQueue;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * <p>A bounded blocking queue made of several FIFO lanes, lane {@code 0} has the highest priority. <br />
+ * The lane of an element is {@link PrioritizedRunnable#getPriority()}, other elements and elements whose priority
+ * is out of range go to the lowest lane. Unlike {@link java.util.concurrent.PriorityBlockingQueue},
+ * the queue is bounded, elements need not be comparable, and an element is added in constant time.
+ *
+ * <p><b>Lane weights</b><br />
+ * The lanes are selected by weights such as {@code 4,2,1}, in smooth weighted round-robin among non-empty lanes,
+ * so that low lanes are never starved; or strictly by priority with {@code strict:3}, where a lane is selected
+ * only if all higher lanes are empty. The weights can be changed at runtime by {@link #setLaneWeights(String)}
+ * as long as the number of lanes is unchanged.
+ *
+ * <p><b>Deadline</b><br />
+ * An element whose {@link PrioritizedRunnable#getDeadlineNanos()} has passed is dropped when it is dequeued,
+ * and passed to the expired handler, which cancels the element by default if it's a {@link Future},
+ * or a {@link PrioritizedTask} whose submitted task is a {@link Future}.
+ *
+ * <p>The capacity is shared by all lanes and can be changed at runtime like {@link ResizableCapacityLinkedBlockingQueue}.
+ *
+ * @param <E> the type of elements held in this collection
+ * @see PrioritizedRunnable
+ */
+public class PriorityLaneBlockingQueue<E> extends AbstractQueue<E> implements BlockingQueue<E>, ResizableCapacityQueue {
+
+    /**
+     * Default capacity
+     */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    /**
+     * Default lane weights
+     */
+    public static final String DEFAULT_LANE_WEIGHTS = "4,2,1";
+
+    /**
+     * Prefix of lane weights for strict selection, followed by the number of lanes
+     */
+    public static final String STRICT_PREFIX = "strict:";
+
+    private final ArrayDeque<E>[] lanes;
+
+    /**
+     * Current weights of smooth weighted round-robin, guarded by {@link #lock}
+     */
+    private final long[] currentWeights;
+
+    /**
+     * Lane weights, null for strict selection, guarded by {@link #lock}
+     */
+    private int[] weights;
+
+    private volatile int capacity;
+
+    /**
+     * Number of elements in all lanes, guarded by {@link #lock}
+     */
+    private int count;
+
+    private final AtomicLong expiredCount = new AtomicLong();
+
+    private volatile Consumer<? super E> expiredHandler = PriorityLaneBlockingQueue::cancelIfFuture;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition notEmpty = lock.newCondition();
+
+    private final Condition notFull = lock.newCondition();
+
+    /**
+     * Creates a queue with a capacity of {@link #DEFAULT_CAPACITY} and {@link #DEFAULT_LANE_WEIGHTS}.
+     */
+    public PriorityLaneBlockingQueue() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a queue with the given capacity and {@link #DEFAULT_LANE_WEIGHTS}.
+     *
+     * @param capacity the capacity of this queue
+     */
+    public PriorityLaneBlockingQueue(int capacity) {
+        this(capacity, DEFAULT_LANE_WEIGHTS);
+    }
+
+    /**
+     * Creates a queue with the given capacity and lane weights.
+     *
+     * @param capacity    the capacity of this queue
+     * @param laneWeights weights such as {@code 4,2,1}, or {@code strict:3} for strict selection of 3 lanes
+     * @throws IllegalArgumentException if {@code capacity} is not greater than zero or {@code laneWeights} is illegal
+     */
+    @SuppressWarnings("unchecked")
+    public PriorityLaneBlockingQueue(int capacity, String laneWeights) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException();
+        }
+        int[] parsed = parseLaneWeights(laneWeights);
+        int laneCount = parsed.length;
+        this.capacity = capacity;
+        this.lanes = new ArrayDeque[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            lanes[i] = new ArrayDeque<>();
+        }
+        this.currentWeights = new long[laneCount];
+        this.weights = isStrict(parsed) ? null : parsed;
+    }
+
+    /**
+     * Parse lane weights.
+     *
+     * @param laneWeights weights such as {@code 4,2,1}, or {@code strict:3} for strict selection of 3 lanes
+     * @return weights of each lane, all zero for strict selection
+     * @throws IllegalArgumentException if {@code laneWeights} is illegal
+     */
+    public static int[] parseLaneWeights(String laneWeights) {
+        if (laneWeights == null || laneWeights.trim().isEmpty()) {
+            throw new IllegalArgumentException("Lane weights is empty.");
+        }
+        String value = laneWeights.trim();
+        try {
+            if (value.startsWith(STRICT_PREFIX)) {
+                int laneCount = Integer.parseInt(value.substring(STRICT_PREFIX.length()).trim());
+                if (laneCount <= 0) {
+                    throw new IllegalArgumentException("Illegal lane weights: " + laneWeights);
+                }
+                return new int[laneCount];
+            }
+            int[] weights = Arrays.stream(value.split(",")).map(String::trim).mapToInt(Integer::parseInt).toArray();
+            if (Arrays.stream(weights).anyMatch(weight -> weight <= 0)) {
+                throw new IllegalArgumentException("Illegal lane weights: " + laneWeights);
+            }
+            return weights;
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Illegal lane weights: " + laneWeights, ex);
+        }
+    }
+
+    private static boolean isStrict(int[] weights) {
+        return Arrays.stream(weights).allMatch(weight -> weight == 0);
+    }
+
+    private static void cancelIfFuture(Object element) {
+        Object task = element instanceof PrioritizedTask ? PrioritizedTask.unwrap((PrioritizedTask) element) : element;
+        if (task instanceof Future) {
+            ((Future<?>) task).cancel(false);
+        }
+    }
+
+    /**
+     * Get the capacity of queue.
+     *
+     * @return capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public void setCapacity(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException();
+        }
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            int oldCapacity = this.capacity;
+            this.capacity = capacity;
+            if (capacity > oldCapacity) {
+                notFull.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Get the number of lanes.
+     *
+     * @return number of lanes
+     */
+    public int getLaneCount() {
+        return lanes.length;
+    }
+
+    /**
+     * Get the lane weights.
+     *
+     * @return weights such as {@code 4,2,1}, or {@code strict:3} for strict selection
+     */
+    public String getLaneWeights() {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            return weights == null
+                    ? STRICT_PREFIX + lanes.length
+                    : Arrays.stream(weights).mapToObj(String::valueOf).collect(Collectors.joining(","));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Change the lane weights, the number of lanes can not be changed.
+     *
+     * @param laneWeights weights such as {@code 4,2,1}, or {@code strict:3} for strict selection
+     * @throws IllegalArgumentException if {@code laneWeights} is illegal or the number of lanes is changed
+     */
+    public void setLaneWeights(String laneWeights) {
+        int[] parsed = parseLaneWeights(laneWeights);
+        if (parsed.length != lanes.length) {
+            throw new IllegalArgumentException(String.format("The number of lanes can not be changed from %d to %d.", lanes.length, parsed.length));
+        }
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            this.weights = isStrict(parsed) ? null : parsed;
+            Arrays.fill(currentWeights, 0L);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Get the number of elements in each lane.
+     *
+     * @return number of elements in each lane
+     */
+    public int[] getLaneSizes() {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            int[] sizes = new int[lanes.length];
+            for (int i = 0; i < lanes.length; i++) {
+                sizes[i] = lanes[i].size();
+            }
+            return sizes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Get the number of elements dropped after the deadline.
+     *
+     * @return number of expired elements
+     */
+    public long getExpiredCount() {
+        return expiredCount.get();
+    }
+
+    /**
+     * Set the handler of elements dropped after the deadline, it's invoked without holding the lock of queue.
+     *
+     * @param expiredHandler expired handler
+     */
+    public void setExpiredHandler(Consumer<? super E> expiredHandler) {
+        this.expiredHandler = expiredHandler == null ? PriorityLaneBlockingQueue::cancelIfFuture : expiredHandler;
+    }
+
+    @Override
+    public int size() {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return Math.max(capacity - size(), 0);
+    }
+
+    @Override
+    public boolean offer(E e) {
+        checkNotNull(e);
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            if (count >= capacity) {
+                return false;
+            }
+            enqueue(e);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void put(E e) throws InterruptedException {
+        checkNotNull(e);
+        final ReentrantLock lock = this.lock;
+        lock.lockInterruptibly();
+        try {
+            while (count >= capacity) {
+                notFull.await();
+            }
+            enqueue(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean offer(E e, long timeout, TimeUnit unit) throws InterruptedException {
+        checkNotNull(e);
+        long nanos = unit.toNanos(timeout);
+        final ReentrantLock lock = this.lock;
+        lock.lockInterruptibly();
+        try {
+            while (count >= capacity) {
+                if (nanos <= 0) {
+                    return false;
+                }
+                nanos = notFull.awaitNanos(nanos);
+            }
+            enqueue(e);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public E poll() {
+        List<E> expired = null;
+        E e;
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            while ((e = dequeue()) != null && isExpired(e)) {
+                expired = addExpired(expired, e);
+            }
+        } finally {
+            lock.unlock();
+            handleExpired(expired);
+        }
+        return e;
+    }
+
+    @Override
+    public E take() throws InterruptedException {
+        final ReentrantLock lock = this.lock;
+        for (;;) {
+            List<E> expired = null;
+            lock.lockInterruptibly();
+            try {
+                while (count == 0) {
+                    notEmpty.await();
+                }
+                while (count > 0) {
+                    E e = dequeue();
+                    if (!isExpired(e)) {
+                        return e;
+                    }
+                    expired = addExpired(expired, e);
+                }
+            } finally {
+                lock.unlock();
+                // handle the expired elements before waiting again, the callers may be waiting on them
+                handleExpired(expired);
+            }
+        }
+    }
+
+    @Override
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        final ReentrantLock lock = this.lock;
+        for (;;) {
+            List<E> expired = null;
+            lock.lockInterruptibly();
+            try {
+                while (count == 0) {
+                    if (nanos <= 0) {
+                        return null;
+                    }
+                    nanos = notEmpty.awaitNanos(nanos);
+                }
+                while (count > 0) {
+                    E e = dequeue();
+                    if (!isExpired(e)) {
+                        return e;
+                    }
+                    expired = addExpired(expired, e);
+                }
+            } finally {
+                lock.unlock();
+                handleExpired(expired);
+            }
+        }
+    }
+
+    @Override
+    public E peek() {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            int lane = selectLane(false);
+            return lane < 0 ? null : lanes[lane].peekFirst();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (o == null) {
+            return false;
+        }
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            for (ArrayDeque<E> lane : lanes) {
+                if (lane.remove(o)) {
+                    count--;
+                    notFull.signal();
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (o == null) {
+            return false;
+        }
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            for (ArrayDeque<E> lane : lanes) {
+                if (lane.contains(o)) {
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            for (ArrayDeque<E> lane : lanes) {
+                lane.clear();
+            }
+            count = 0;
+            Arrays.fill(currentWeights, 0L);
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> c, int maxElements) {
+        if (c == null) {
+            throw new NullPointerException();
+        }
+        if (c == this) {
+            throw new IllegalArgumentException();
+        }
+        List<E> expired = null;
+        int n = 0;
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            E e;
+            while (n < maxElements && (e = dequeue()) != null) {
+                if (isExpired(e)) {
+                    expired = addExpired(expired, e);
+                } else {
+                    c.add(e);
+                    n++;
+                }
+            }
+        } finally {
+            lock.unlock();
+            handleExpired(expired);
+        }
+        return n;
+    }
+
+    /**
+     * Returns an iterator over a snapshot of the elements in this queue, from the highest lane to the lowest.
+     * {@link Iterator#remove()} removes the element from this queue if it is still there.
+     *
+     * @return an iterator over the elements in this queue
+     */
+    @Override
+    public Iterator<E> iterator() {
+        List<E> elements = new ArrayList<>();
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            for (ArrayDeque<E> lane : lanes) {
+                elements.addAll(lane);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return new Itr(elements);
+    }
+
+    private void enqueue(E e) {
+        lanes[laneOf(e)].addLast(e);
+        count++;
+        notEmpty.signal();
+    }
+
+    private E dequeue() {
+        int lane = selectLane(true);
+        if (lane < 0) {
+            return null;
+        }
+        E e = lanes[lane].pollFirst();
+        if (lanes[lane].isEmpty()) {
+            currentWeights[lane] = 0L;
+        }
+        count--;
+        notFull.signal();
+        return e;
+    }
+
+    private int laneOf(E e) {
+        int lowest = lanes.length - 1;
+        if (e instanceof PrioritizedRunnable) {
+            int priority = ((PrioritizedRunnable) e).getPriority();
+            return priority < 0 || priority > lowest ? lowest : priority;
+        }
+        return lowest;
+    }
+
+    /**
+     * Select the next lane among non-empty lanes.
+     *
+     * @param commit whether to update the current weights of smooth weighted round-robin
+     * @return index of lane, or {@code -1} if all lanes are empty
+     */
+    private int selectLane(boolean commit) {
+        int[] weights = this.weights;
+        if (weights == null) {
+            for (int i = 0; i < lanes.length; i++) {
+                if (!lanes[i].isEmpty()) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        int selected = -1;
+        long selectedWeight = Long.MIN_VALUE;
+        long totalWeight = 0L;
+        for (int i = 0; i < lanes.length; i++) {
+            if (lanes[i].isEmpty()) {
+                continue;
+            }
+            long currentWeight = currentWeights[i] + weights[i];
+            if (commit) {
+                currentWeights[i] = currentWeight;
+            }
+            totalWeight += weights[i];
+            if (currentWeight > selectedWeight) {
+                selected = i;
+                selectedWeight = currentWeight;
+            }
+        }
+        if (commit && selected >= 0) {
+            currentWeights[selected] -= totalWeight;
+        }
+        return selected;
+    }
+
+    private static boolean isExpired(Object e) {
+        if (!(e instanceof PrioritizedRunnable)) {
+            return false;
+        }
+        long deadline = ((PrioritizedRunnable) e).getDeadlineNanos();
+        return deadline != PrioritizedRunnable.NO_DEADLINE && System.nanoTime() - deadline > 0;
+    }
+
+    private List<E> addExpired(List<E> expired, E e) {
+        if (expired == null) {
+            expired = new ArrayList<>();
+        }
+        expired.add(e);
+        return expired;
+    }
+
+    private void handleExpired(List<E> expired) {
+        if (expired == null) {
+            return;
+        }
+        expiredCount.addAndGet(expired.size());
+        Consumer<? super E> handler = expiredHandler;
+        expired.forEach(handler);
+    }
+
+    private static void checkNotNull(Object e) {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+    }
+
+    private class Itr implements Iterator<E> {
+
+        private final List<E> elements;
+
+        private int cursor;
+
+        private E lastRet;
+
+        Itr(List<E> elements) {
+            this.elements = elements;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return cursor < elements.size();
+        }
+
+        @Override
+        public E next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            lastRet = elements.get(cursor++);
+            return lastRet;
+        }
+
+        @Override
+        public void remove() {
+            if (lastRet == null) {
+                throw new IllegalStateException();
+            }
+            PriorityLaneBlockingQueue.this.remove(lastRet);
+            lastRet = null;
+        }
+    }
+}
@@ -25,6 +25,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 /**
@@ -42,7 +43,9 @@ public enum RejectedPolicyTypeEnum {
 
     RUNS_OLDEST_TASK_POLICY(5, "RunsOldestTaskPolicy", new RunsOldestTaskPolicy()),
 
-    SYNC_PUT_QUEUE_POLICY(6, "SyncPutQueuePolicy", new SyncPutQueuePolicy());
+    SYNC_PUT_QUEUE_POLICY(6, "SyncPutQueuePolicy", new SyncPutQueuePolicy()),
+
+    CALLER_RUNS_WITH_BUDGET_POLICY(7, "CallerRunsWithBudgetPolicy", () -> new CallerRunsWithBudgetPolicy());
 
     @Getter
     private Integer type;
@@ -50,9 +53,17 @@ public enum RejectedPolicyTypeEnum {
     @Getter
     private String name;
 
-    private RejectedExecutionHandler rejectedHandler;
+    /**
+     * Supplier of the rejected handler, a stateless handler is shared by all thread-pools,
+     * a handler that keeps state of the thread-pool is created for each thread-pool
+     */
+    private Supplier<RejectedExecutionHandler> rejectedHandler;
 
     RejectedPolicyTypeEnum(Integer type, String name, RejectedExecutionHandler rejectedHandler) {
+        this(type, name, () -> rejectedHandler);
+    }
+
+    RejectedPolicyTypeEnum(Integer type, String name, Supplier<RejectedExecutionHandler> rejectedHandler) {
         this.type = type;
         this.name = name;
         this.rejectedHandler = rejectedHandler;
@@ -68,7 +79,7 @@ public enum RejectedPolicyTypeEnum {
                 .findFirst()
                 .orElse(null);
         if (rejectedTypeEnum != null) {
-            return rejectedTypeEnum.rejectedHandler;
+            return rejectedTypeEnum.rejectedHandler.get();
         }
         Collection<CustomRejectedExecutionHandler> customRejectedExecutionHandlers = ServiceLoaderRegistry
                 .getSingletonServiceInstances(CustomRejectedExecutionHandler.class);
@@ -76,13 +87,13 @@ public enum RejectedPolicyTypeEnum {
                 .filter(each -> Objects.equals(name, each.getName()))
                 .map(each -> each.generateRejected())
                 .findFirst();
-        return customRejected.orElse(ABORT_POLICY.rejectedHandler);
+        return customRejected.orElse(ABORT_POLICY.rejectedHandler.get());
     }
 
     public static RejectedExecutionHandler createPolicy(int type) {
         Optional<RejectedExecutionHandler> rejectedTypeEnum = Stream.of(RejectedPolicyTypeEnum.values())
                 .filter(each -> Objects.equals(type, each.type))
-                .map(each -> each.rejectedHandler)
+                .map(each -> each.rejectedHandler.get())
                 .findFirst();
         RejectedExecutionHandler resultRejected = rejectedTypeEnum.orElseGet(() -> {
             Collection<CustomRejectedExecutionHandler> customRejectedExecutionHandlers = ServiceLoaderRegistry
@@ -91,7 +102,7 @@ public enum RejectedPolicyTypeEnum {
                     .filter(each -> Objects.equals(type, each.getType()))
                     .map(each -> each.generateRejected())
                     .findFirst();
-            return customRejected.orElse(ABORT_POLICY.rejectedHandler);
+            return customRejected.orElse(ABORT_POLICY.rejectedHandler.get());
         });
         return resultRejected;
     }
@@ -0,0 +1,622 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.common.executor.support;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <p>A bounded multi-producer multi-consumer blocking queue backed by ring buffers,
+ * with the addition of a {@link #setCapacity(int)} method like {@link ResizableCapacityLinkedBlockingQueue}. <br />
+ * Unlike {@link ResizableCapacityLinkedBlockingQueue}, {@code offer} and {@code poll} hold no lock and allocate nothing,
+ * a lock is only acquired to park or unpark threads when the queue is empty or full.
+ *
+ * <p><b>Ring buffer</b><br />
+ * Each slot of the ring has a sequence number (D. Vyukov's bounded MPMC queue):
+ * <ul>
+ *     <li>a producer may claim index {@code i} by CAS on tail when the sequence of its slot is {@code i},
+ *     after the element is written the sequence is set to {@code i + 1};</li>
+ *     <li>a consumer may claim index {@code i} by CAS on head when the sequence of its slot is {@code i + 1},
+ *     after the element is taken the sequence is set to {@code i + length}, which is the next round for producers.</li>
+ * </ul>
+ * Head and tail are padded to avoid sharing a cache line between producers and consumers.
+ *
+ * <p><b>Capacity</b><br />
+ * The capacity is a logical bound checked against the head and tail before claiming a slot,
+ * so it can be changed at any time, and the ring is allocated lazily up to the capacity. <br />
+ * When the ring is too small for the capacity, a ring of double length is linked after it and the tail of the old ring is closed,
+ * producers continue with the new ring, while consumers drain the old ring before moving to the new one,
+ * thus no element is lost or reordered when the capacity increases.
+ *
+ * <p><b>Removal</b><br />
+ * {@link #remove(Object)} replaces the element with a tombstone which is skipped by consumers,
+ * the slot is counted in {@link #size()} until a consumer passes it.
+ *
+ * @param <E> the type of elements held in this collection
+ * @see ResizableCapacityLinkedBlockingQueue
+ */
+public class ResizableCapacityArrayBlockingQueue<E> extends AbstractQueue<E> implements BlockingQueue<E>, ResizableCapacityQueue {
+
+    /**
+     * Default capacity
+     */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    /**
+     * Maximum length of a ring
+     */
+    static final int MAXIMUM_RING_LENGTH = 1 << 30;
+
+    /**
+     * Maximum length of the ring allocated on construction, longer rings are allocated when needed
+     */
+    static final int MAXIMUM_INITIAL_RING_LENGTH = 1 << 14;
+
+    /**
+     * Mark on tail of a ring after which no element will be added to the ring
+     */
+    private static final long CLOSED = Long.MIN_VALUE;
+
+    /**
+     * Placeholder of removed elements
+     */
+    private static final Object TOMBSTONE = new Object();
+
+    /**
+     * The capacity bound
+     */
+    private volatile int capacity;
+
+    /**
+     * Ring to which producers add elements
+     */
+    private final AtomicReference<Ring> producerRing;
+
+    /**
+     * Ring from which consumers take elements
+     */
+    private final AtomicReference<Ring> consumerRing;
+
+    /**
+     * Monitor used when a longer ring is linked
+     */
+    private final Object growMonitor = new Object();
+
+    /**
+     * Lock held only by threads which wait or signal
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Wait queue for waiting takes
+     */
+    private final Condition notEmpty = lock.newCondition();
+
+    /**
+     * Wait queue for waiting puts
+     */
+    private final Condition notFull = lock.newCondition();
+
+    /**
+     * Number of consumers which may be waiting on {@link #notEmpty}
+     */
+    private final AtomicInteger waitingTakers = new AtomicInteger();
+
+    /**
+     * Number of producers which may be waiting on {@link #notFull}
+     */
+    private final AtomicInteger waitingPutters = new AtomicInteger();
+
+    /**
+     * Creates a queue with a capacity of {@link #DEFAULT_CAPACITY}.
+     */
+    public ResizableCapacityArrayBlockingQueue() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a queue with the given capacity.
+     *
+     * @param capacity the capacity of this queue
+     * @throws IllegalArgumentException if {@code capacity} is not greater than zero
+     */
+    public ResizableCapacityArrayBlockingQueue(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException();
+        }
+        this.capacity = capacity;
+        Ring ring = new Ring(Math.min(ringLengthFor(capacity), MAXIMUM_INITIAL_RING_LENGTH));
+        this.producerRing = new AtomicReference<>(ring);
+        this.consumerRing = new AtomicReference<>(ring);
+    }
+
+    /**
+     * Get the capacity of queue.
+     *
+     * @return capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Set a new capacity for the queue. Increasing the capacity can
+     * cause any waiting {@link #put(Object)} invocations to succeed if the new
+     * capacity is larger than the queue.
+     *
+     * @param capacity the new capacity for the queue, all offers fail if it's zero
+     * @throws IllegalArgumentException if {@code capacity} is negative
+     */
+    @Override
+    public void setCapacity(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException();
+        }
+        int oldCapacity = this.capacity;
+        this.capacity = capacity;
+        if (capacity > oldCapacity) {
+            signalAllNotFull();
+        }
+    }
+
+    @Override
+    public int size() {
+        long size = 0L;
+        for (Ring ring = consumerRing.get(); ring != null; ring = ring.next) {
+            long head = ring.head.get();
+            size += (ring.tail.get() & ~CLOSED) - head;
+        }
+        return (int) Math.min(Math.max(size, 0L), Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return Math.max(capacity - size(), 0);
+    }
+
+    @Override
+    public boolean offer(E e) {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+        if (!tryOffer(e)) {
+            return false;
+        }
+        if (waitingTakers.get() > 0) {
+            signalNotEmpty();
+        }
+        return true;
+    }
+
+    @Override
+    public void put(E e) throws InterruptedException {
+        if (offer(e)) {
+            return;
+        }
+        final ReentrantLock lock = this.lock;
+        lock.lockInterruptibly();
+        waitingPutters.incrementAndGet();
+        try {
+            while (!offer(e)) {
+                notFull.await();
+            }
+        } finally {
+            waitingPutters.decrementAndGet();
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean offer(E e, long timeout, TimeUnit unit) throws InterruptedException {
+        if (offer(e)) {
+            return true;
+        }
+        long nanos = unit.toNanos(timeout);
+        final ReentrantLock lock = this.lock;
+        lock.lockInterruptibly();
+        waitingPutters.incrementAndGet();
+        try {
+            while (!offer(e)) {
+                if (nanos <= 0) {
+                    return false;
+                }
+                nanos = notFull.awaitNanos(nanos);
+            }
+            return true;
+        } finally {
+            waitingPutters.decrementAndGet();
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public E poll() {
+        E e = tryPoll();
+        if (e != null && waitingPutters.get() > 0) {
+            signalNotFull();
+        }
+        return e;
+    }
+
+    @Override
+    public E take() throws InterruptedException {
+        E e = poll();
+        if (e != null) {
+            return e;
+        }
+        final ReentrantLock lock = this.lock;
+        lock.lockInterruptibly();
+        waitingTakers.incrementAndGet();
+        try {
+            while ((e = poll()) == null) {
+                notEmpty.await();
+            }
+            return e;
+        } finally {
+            waitingTakers.decrementAndGet();
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        E e = poll();
+        if (e != null) {
+            return e;
+        }
+        long nanos = unit.toNanos(timeout);
+        final ReentrantLock lock = this.lock;
+        lock.lockInterruptibly();
+        waitingTakers.incrementAndGet();
+        try {
+            while ((e = poll()) == null) {
+                if (nanos <= 0) {
+                    return null;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            return e;
+        } finally {
+            waitingTakers.decrementAndGet();
+            lock.unlock();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E peek() {
+        for (Ring ring = consumerRing.get(); ring != null; ring = ring.next) {
+            long tail = ring.tail.get() & ~CLOSED;
+            for (long i = ring.head.get(); i < tail; i++) {
+                int index = ring.indexOf(i);
+                Object item = ring.elements.get(index);
+                if (ring.sequences.get(index) == i + 1 && item != null && item != TOMBSTONE) {
+                    return (E) item;
+                }
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (o == null) {
+            return false;
+        }
+        for (Ring ring = consumerRing.get(); ring != null; ring = ring.next) {
+            long tail = ring.tail.get() & ~CLOSED;
+            for (long i = ring.head.get(); i < tail; i++) {
+                int index = ring.indexOf(i);
+                Object item = ring.elements.get(index);
+                if (ring.sequences.get(index) == i + 1 && item != TOMBSTONE && o.equals(item)
+                        && ring.elements.compareAndSet(index, item, TOMBSTONE)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> c, int maxElements) {
+        if (c == null) {
+            throw new NullPointerException();
+        }
+        if (c == this) {
+            throw new IllegalArgumentException();
+        }
+        int n = 0;
+        E e;
+        while (n < maxElements && (e = poll()) != null) {
+            c.add(e);
+            n++;
+        }
+        return n;
+    }
+
+    /**
+     * Returns an iterator over a snapshot of the elements in this queue in proper sequence.
+     * The iterator does not reflect any modification after it is created,
+     * {@link Iterator#remove()} removes the element from this queue if it is still there.
+     *
+     * @return an iterator over the elements in this queue in proper sequence
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Itr(snapshot());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<E> snapshot() {
+        List<E> elements = new ArrayList<>();
+        for (Ring ring = consumerRing.get(); ring != null; ring = ring.next) {
+            long tail = ring.tail.get() & ~CLOSED;
+            for (long i = ring.head.get(); i < tail; i++) {
+                int index = ring.indexOf(i);
+                Object item = ring.elements.get(index);
+                if (ring.sequences.get(index) == i + 1 && item != null && item != TOMBSTONE) {
+                    elements.add((E) item);
+                }
+            }
+        }
+        return elements;
+    }
+
+    private boolean tryOffer(E e) {
+        for (;;) {
+            Ring ring = producerRing.get();
+            long tail = ring.tail.get();
+            if ((tail & CLOSED) != 0) {
+                producerRing.compareAndSet(ring, ring.next);
+                continue;
+            }
+            int index = ring.indexOf(tail);
+            long sequence = ring.sequences.get(index);
+            if (sequence == tail) {
+                if (tail - ring.head.get() + sizeBefore(ring) >= capacity) {
+                    return false;
+                }
+                if (ring.tail.compareAndSet(tail, tail + 1)) {
+                    ring.elements.lazySet(index, e);
+                    ring.sequences.set(index, tail + 1);
+                    return true;
+                }
+            } else if (sequence < tail) {
+                long ringSize = tail - ring.head.get();
+                if (ringSize + sizeBefore(ring) >= capacity) {
+                    return false;
+                }
+                if (ringSize >= ring.length() && !growRing(ring)) {
+                    return false;
+                }
+                // a consumer has claimed the slot but not released it yet
+                Thread.yield();
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private E tryPoll() {
+        for (;;) {
+            Ring ring = consumerRing.get();
+            long head = ring.head.get();
+            int index = ring.indexOf(head);
+            long sequence = ring.sequences.get(index);
+            if (sequence == head + 1) {
+                if (ring.head.compareAndSet(head, head + 1)) {
+                    Object item = ring.elements.getAndSet(index, null);
+                    ring.sequences.set(index, head + ring.length());
+                    if (item != TOMBSTONE) {
+                        return (E) item;
+                    }
+                }
+            } else if (sequence < head + 1) {
+                long tail = ring.tail.get();
+                if (head == (tail & ~CLOSED)) {
+                    if ((tail & CLOSED) == 0) {
+                        return null;
+                    }
+                    consumerRing.compareAndSet(ring, ring.next);
+                    continue;
+                }
+                // a producer has claimed the slot but not published it yet
+                Thread.yield();
+            }
+        }
+    }
+
+    /**
+     * Get the number of elements in rings before the given ring.
+     */
+    private long sizeBefore(Ring ring) {
+        long size = 0L;
+        for (Ring each = consumerRing.get(); each != ring && each != null; each = each.next) {
+            long head = each.head.get();
+            size += (each.tail.get() & ~CLOSED) - head;
+        }
+        return size;
+    }
+
+    /**
+     * Link a ring of double length after the given ring, and close the given ring.
+     *
+     * @param ring ring which is full
+     * @return false if the given ring has reached {@link #MAXIMUM_RING_LENGTH}
+     */
+    private boolean growRing(Ring ring) {
+        synchronized (growMonitor) {
+            if (producerRing.get() != ring) {
+                return true;
+            }
+            if (ring.length() >= MAXIMUM_RING_LENGTH) {
+                return false;
+            }
+            ring.next = new Ring(ring.length() << 1);
+            long tail;
+            do {
+                tail = ring.tail.get();
+            } while (!ring.tail.compareAndSet(tail, tail | CLOSED));
+            producerRing.compareAndSet(ring, ring.next);
+            return true;
+        }
+    }
+
+    private void signalNotEmpty() {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void signalNotFull() {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            notFull.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void signalAllNotFull() {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Get the length of ring for the capacity, which is a power of 2 and at least 2,
+     * because the sequence of a published slot would be taken as free in a ring of length 1.
+     */
+    static int ringLengthFor(int capacity) {
+        if (capacity >= MAXIMUM_RING_LENGTH) {
+            return MAXIMUM_RING_LENGTH;
+        }
+        return capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+    }
+
+    /**
+     * Ring buffer with sequence slots.
+     */
+    private static final class Ring {
+
+        private final AtomicReferenceArray<Object> elements;
+
+        private final AtomicLongArray sequences;
+
+        private final int mask;
+
+        private final PaddedAtomicLong head = new PaddedAtomicLong();
+
+        private final PaddedAtomicLong tail = new PaddedAtomicLong();
+
+        /**
+         * Ring linked after this ring, set before the tail of this ring is closed
+         */
+        private volatile Ring next;
+
+        Ring(int length) {
+            this.elements = new AtomicReferenceArray<>(length);
+            this.sequences = new AtomicLongArray(length);
+            this.mask = length - 1;
+            for (int i = 0; i < length; i++) {
+                sequences.lazySet(i, i);
+            }
+        }
+
+        int length() {
+            return mask + 1;
+        }
+
+        int indexOf(long position) {
+            return (int) position & mask;
+        }
+    }
+
+    /**
+     * {@link AtomicLong} padded to occupy a whole cache line.
+     */
+    @SuppressWarnings("unused")
+    private static final class PaddedAtomicLong extends AtomicLong {
+
+        private static final long serialVersionUID = 1L;
+
+        private long p1, p2, p3, p4, p5, p6, p7;
+    }
+
+    private class Itr implements Iterator<E> {
+
+        private final List<E> elements;
+
+        private int cursor;
+
+        private E lastRet;
+
+        Itr(List<E> elements) {
+            this.elements = elements;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return cursor < elements.size();
+        }
+
+        @Override
+        public E next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            lastRet = elements.get(cursor++);
+            return lastRet;
+        }
+
+        @Override
+        public void remove() {
+            if (lastRet == null) {
+                throw new IllegalStateException();
+            }
+            ResizableCapacityArrayBlockingQueue.this.remove(lastRet);
+            lastRet = null;
+        }
+    }
+}
@@ -20,6 +20,7 @@ package cn.hippo4j.common.executor.support;
 import java.util.AbstractQueue;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.TimeUnit;
@@ -66,6 +67,8 @@ import java.util.concurrent.locks.ReentrantLock;
 public class ResizableCapacityLinkedBlockingQueue<E> extends AbstractQueue<E>
         implements
             BlockingQueue<E>,
+            ResizableCapacityQueue,
+            BulkOfferQueue<E>,
             java.io.Serializable {
 
     private static final long serialVersionUID = -6903933977591709194L;
@@ -258,6 +261,7 @@ public class ResizableCapacityLinkedBlockingQueue<E> extends AbstractQueue<E>
      *
      * @param capacity the new capacity for the queue
      */
+    @Override
     public void setCapacity(int capacity) {
         final int oldCapacity = this.capacity;
         this.capacity = capacity;
@@ -423,6 +427,50 @@ public class ResizableCapacityLinkedBlockingQueue<E> extends AbstractQueue<E>
         return c >= 0;
     }
 
+    /**
+     * Inserts the elements at the tail of this queue while there is remaining capacity,
+     * holding the put lock only once for the whole batch.
+     *
+     * @param elements the elements to add.
+     * @return the number of elements added, they are the first elements of the list
+     * @throws NullPointerException if any of the elements is <tt>null</tt>
+     */
+    @Override
+    public int offerAll(List<? extends E> elements) {
+        for (E o : elements) {
+            if (o == null) {
+                throw new NullPointerException();
+            }
+        }
+        final AtomicInteger count = this.count;
+        if (elements.isEmpty() || count.get() >= capacity) {
+            return 0;
+        }
+        int c = -1;
+        int added = 0;
+        final ReentrantLock putLock = this.putLock;
+        putLock.lock();
+        try {
+            int n = Math.min(elements.size(), capacity - count.get());
+            if (n > 0) {
+                for (; added < n; added++) {
+                    insert(elements.get(added));
+                }
+                c = count.getAndAdd(added);
+                if (c + added < capacity) {
+                    notFull.signal();
+                }
+            }
+        } finally {
+            putLock.unlock();
+        }
+        if (c == 0) {
+            // takers cascade the signal while there are more elements
+            signalNotEmpty();
+        }
+        return added;
+    }
+
     @Override
     public E take() throws InterruptedException {
         E x;
@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.common.executor.support;
+
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Rejected handler that may shed the rejected task instead of handling it. <br />
+ * Whether the task is shed is decided by {@link #tryAdmit} before the task is handled,
+ * so the callers, such as the rejected-aware plugins of thread-pool, can tell a shed task from a rejected one.
+ */
+public interface SheddingRejectedExecutionHandler extends RejectedExecutionHandler {
+
+    /**
+     * Decide whether the rejected task is admitted or shed. <br />
+     * An admitted task holds its admission until it's handled by {@link #rejectedExecution(Runnable, ThreadPoolExecutor, boolean)},
+     * or released by {@link #release} if it's not going to be handled.
+     *
+     * @param r        the rejected task
+     * @param executor the executor attempting to execute the task
+     * @return false if the task is shed
+     */
+    boolean tryAdmit(Runnable r, ThreadPoolExecutor executor);
+
+    /**
+     * Release the admission of the task which is not going to be handled.
+     *
+     * @param r        the admitted task
+     * @param executor the executor attempting to execute the task
+     */
+    void release(Runnable r, ThreadPoolExecutor executor);
+
+    /**
+     * Handle the rejected task as decided by {@link #tryAdmit}.
+     *
+     * @param r        the rejected task
+     * @param executor the executor attempting to execute the task
+     * @param admitted whether the task is admitted
+     */
+    void rejectedExecution(Runnable r, ThreadPoolExecutor executor, boolean admitted);
+
+    @Override
+    default void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
+        rejectedExecution(r, executor, tryAdmit(r, executor));
+    }
+}
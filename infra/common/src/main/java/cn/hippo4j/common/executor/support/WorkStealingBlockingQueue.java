@@ -0,0 +1,565 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.common.executor.support;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <p>A bounded blocking queue with a deque for each consumer thread, consumers steal from each other when idle. <br />
+ * A thread becomes a worker of the queue by {@link #registerWorker()}, or the first time it calls {@link #take()}
+ * or {@link #poll(long, TimeUnit)}, which are the methods used by the workers of {@link java.util.concurrent.ThreadPoolExecutor}.
+ * Elements offered by a worker go to its own deque, so the tasks forked by a running task stay on the same worker
+ * without contending on a shared queue; elements offered by other threads go to a shared submission queue.
+ *
+ * <p>A worker takes elements from its own deque first, then from the submission queue,
+ * and finally steals the newest element of the deque of another worker. The deque of a worker that has died
+ * is still visible to the others until it is empty, so no element is lost when the thread-pool shrinks.
+ *
+ * <p>Elements are added and taken without holding a lock, the lock is only used to park and wake up idle threads.
+ * The capacity is shared by all deques and can be changed at runtime like {@link ResizableCapacityLinkedBlockingQueue}.
+ *
+ * @param <E> the type of elements held in this collection
+ */
+public class WorkStealingBlockingQueue<E> extends AbstractQueue<E> implements BlockingQueue<E>, ResizableCapacityQueue {
+
+    /**
+     * Default capacity
+     */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private static final WorkerDeque<?>[] EMPTY_DEQUES = new WorkerDeque<?>[0];
+
+    private final ConcurrentLinkedQueue<E> submissionQueue = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Deques of workers, copied on write under {@link #dequesLock}
+     */
+    @SuppressWarnings("unchecked")
+    private volatile WorkerDeque<E>[] deques = (WorkerDeque<E>[]) EMPTY_DEQUES;
+
+    private final ThreadLocal<WorkerDeque<E>> localDeque = new ThreadLocal<>();
+
+    private final Object dequesLock = new Object();
+
+    private volatile int capacity;
+
+    /**
+     * Number of elements reserved or held by all deques and the submission queue
+     */
+    private final AtomicInteger count = new AtomicInteger();
+
+    private final LongAdder stealCount = new LongAdder();
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition notEmpty = lock.newCondition();
+
+    private final Condition notFull = lock.newCondition();
+
+    /**
+     * Number of threads waiting on {@link #notEmpty}, modified under {@link #lock}
+     */
+    private volatile int takeWaiters;
+
+    /**
+     * Number of threads waiting on {@link #notFull}, modified under {@link #lock}
+     */
+    private volatile int putWaiters;
+
+    /**
+     * Creates a queue with a capacity of {@link #DEFAULT_CAPACITY}.
+     */
+    public WorkStealingBlockingQueue() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a queue with the given capacity.
+     *
+     * @param capacity the capacity of this queue
+     * @throws IllegalArgumentException if {@code capacity} is not greater than zero
+     */
+    public WorkStealingBlockingQueue(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException();
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Get the capacity of this queue.
+     *
+     * @return capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public void setCapacity(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException();
+        }
+        int oldCapacity = this.capacity;
+        this.capacity = capacity;
+        if (capacity > oldCapacity && putWaiters > 0) {
+            final ReentrantLock lock = this.lock;
+            lock.lock();
+            try {
+                notFull.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Get the number of elements stolen from the deque of another worker.
+     *
+     * @return steal count
+     */
+    public long getStealCount() {
+        return stealCount.sum();
+    }
+
+    /**
+     * Get the number of elements in the deque of each worker.
+     *
+     * @return sizes of worker deques
+     */
+    public int[] getWorkerQueueSizes() {
+        pruneDeadDeques();
+        WorkerDeque<E>[] deques = this.deques;
+        int[] sizes = new int[deques.length];
+        for (int i = 0; i < deques.length; i++) {
+            sizes[i] = deques[i].deque.size();
+        }
+        return sizes;
+    }
+
+    /**
+     * Get the number of elements in the submission queue, which are offered by threads other than workers.
+     *
+     * @return size of submission queue
+     */
+    public int getSubmissionQueueSize() {
+        return submissionQueue.size();
+    }
+
+    @Override
+    public int size() {
+        return count.get();
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return Math.max(0, capacity - count.get());
+    }
+
+    @Override
+    public boolean offer(E e) {
+        Objects.requireNonNull(e);
+        if (!tryReserve()) {
+            return false;
+        }
+        enqueue(e);
+        return true;
+    }
+
+    @Override
+    public void put(E e) throws InterruptedException {
+        Objects.requireNonNull(e);
+        while (!tryReserve()) {
+            final ReentrantLock lock = this.lock;
+            lock.lockInterruptibly();
+            try {
+                putWaiters++;
+                try {
+                    if (count.get() >= capacity) {
+                        notFull.await();
+                    }
+                } finally {
+                    putWaiters--;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        enqueue(e);
+    }
+
+    @Override
+    public boolean offer(E e, long timeout, TimeUnit unit) throws InterruptedException {
+        Objects.requireNonNull(e);
+        long nanos = unit.toNanos(timeout);
+        while (!tryReserve()) {
+            if (nanos <= 0L) {
+                return false;
+            }
+            final ReentrantLock lock = this.lock;
+            lock.lockInterruptibly();
+            try {
+                putWaiters++;
+                try {
+                    if (count.get() >= capacity) {
+                        nanos = notFull.awaitNanos(nanos);
+                    }
+                } finally {
+                    putWaiters--;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        enqueue(e);
+        return true;
+    }
+
+    @Override
+    public E poll() {
+        return dequeue(localDeque.get(), true);
+    }
+
+    @Override
+    public E take() throws InterruptedException {
+        WorkerDeque<E> local = localOrRegister();
+        for (;;) {
+            E e = dequeue(local, true);
+            if (e != null) {
+                return e;
+            }
+            final ReentrantLock lock = this.lock;
+            lock.lockInterruptibly();
+            try {
+                takeWaiters++;
+                try {
+                    if (count.get() == 0) {
+                        notEmpty.await();
+                    }
+                } finally {
+                    takeWaiters--;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        WorkerDeque<E> local = localOrRegister();
+        long nanos = unit.toNanos(timeout);
+        for (;;) {
+            E e = dequeue(local, true);
+            if (e != null) {
+                return e;
+            }
+            if (nanos <= 0L) {
+                return null;
+            }
+            final ReentrantLock lock = this.lock;
+            lock.lockInterruptibly();
+            try {
+                takeWaiters++;
+                try {
+                    if (count.get() == 0) {
+                        nanos = notEmpty.awaitNanos(nanos);
+                    }
+                } finally {
+                    takeWaiters--;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public E peek() {
+        WorkerDeque<E> local = localDeque.get();
+        E e;
+        if (local != null && (e = local.deque.peekFirst()) != null) {
+            return e;
+        }
+        if ((e = submissionQueue.peek()) != null) {
+            return e;
+        }
+        for (WorkerDeque<E> each : deques) {
+            if ((e = each.deque.peekLast()) != null) {
+                return e;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (o == null) {
+            return false;
+        }
+        boolean removed = submissionQueue.remove(o);
+        if (!removed) {
+            for (WorkerDeque<E> each : deques) {
+                if (each.deque.removeFirstOccurrence(o)) {
+                    removed = true;
+                    break;
+                }
+            }
+        }
+        if (removed) {
+            afterDequeue();
+        }
+        return removed;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (o == null) {
+            return false;
+        }
+        if (submissionQueue.contains(o)) {
+            return true;
+        }
+        for (WorkerDeque<E> each : deques) {
+            if (each.deque.contains(o)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> c, int maxElements) {
+        Objects.requireNonNull(c);
+        if (c == this) {
+            throw new IllegalArgumentException();
+        }
+        int n = 0;
+        E e;
+        while (n < maxElements && (e = dequeue(localDeque.get(), false)) != null) {
+            c.add(e);
+            n++;
+        }
+        return n;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        List<E> elements = new ArrayList<>(submissionQueue);
+        for (WorkerDeque<E> each : deques) {
+            elements.addAll(each.deque);
+        }
+        return new Itr(elements);
+    }
+
+    private boolean tryReserve() {
+        for (;;) {
+            int c = count.get();
+            if (c >= capacity) {
+                return false;
+            }
+            if (count.compareAndSet(c, c + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private void enqueue(E e) {
+        WorkerDeque<E> local = localDeque.get();
+        if (local != null) {
+            local.deque.offerLast(e);
+        } else {
+            submissionQueue.offer(e);
+        }
+        if (takeWaiters > 0) {
+            final ReentrantLock lock = this.lock;
+            lock.lock();
+            try {
+                notEmpty.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private E dequeue(WorkerDeque<E> local, boolean countSteal) {
+        E e;
+        if (local != null && (e = local.deque.pollFirst()) != null) {
+            afterDequeue();
+            return e;
+        }
+        if ((e = submissionQueue.poll()) != null) {
+            afterDequeue();
+            return e;
+        }
+        if (count.get() == 0) {
+            return null;
+        }
+        WorkerDeque<E>[] deques = this.deques;
+        int n = deques.length;
+        if (n == 0) {
+            return null;
+        }
+        int start = ThreadLocalRandom.current().nextInt(n);
+        for (int i = 0; i < n; i++) {
+            WorkerDeque<E> victim = deques[(start + i) % n];
+            if (victim != local && (e = victim.deque.pollLast()) != null) {
+                if (countSteal) {
+                    stealCount.increment();
+                }
+                afterDequeue();
+                return e;
+            }
+        }
+        return null;
+    }
+
+    private void afterDequeue() {
+        count.decrementAndGet();
+        if (putWaiters > 0) {
+            final ReentrantLock lock = this.lock;
+            lock.lock();
+            try {
+                notFull.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Register the current thread as a worker of the queue, so that the elements it offers go to its own deque.
+     * It's needed by a thread that offers elements before it takes any, such as the worker of
+     * {@link java.util.concurrent.ThreadPoolExecutor} that runs its first task without taking it from the queue.
+     */
+    public void registerWorker() {
+        localOrRegister();
+    }
+
+    private WorkerDeque<E> localOrRegister() {
+        WorkerDeque<E> local = localDeque.get();
+        if (local == null) {
+            local = new WorkerDeque<>(Thread.currentThread());
+            synchronized (dequesLock) {
+                WorkerDeque<E>[] newDeques = withoutDeadDeques(deques, 1);
+                newDeques[newDeques.length - 1] = local;
+                deques = newDeques;
+            }
+            localDeque.set(local);
+        }
+        return local;
+    }
+
+    private void pruneDeadDeques() {
+        for (WorkerDeque<E> each : deques) {
+            if (each.isDead()) {
+                synchronized (dequesLock) {
+                    deques = withoutDeadDeques(deques, 0);
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Copy the deques without the dead and empty ones, with some extra slots at the end.
+     */
+    @SuppressWarnings("unchecked")
+    private static <E> WorkerDeque<E>[] withoutDeadDeques(WorkerDeque<E>[] deques, int extra) {
+        WorkerDeque<E>[] result = (WorkerDeque<E>[]) new WorkerDeque<?>[deques.length + extra];
+        int n = 0;
+        for (WorkerDeque<E> each : deques) {
+            if (!each.isDead()) {
+                result[n++] = each;
+            }
+        }
+        return n == deques.length ? result : Arrays.copyOf(result, n + extra);
+    }
+
+    private static final class WorkerDeque<E> {
+
+        private final Thread owner;
+
+        private final ConcurrentLinkedDeque<E> deque = new ConcurrentLinkedDeque<>();
+
+        WorkerDeque(Thread owner) {
+            this.owner = owner;
+        }
+
+        boolean isDead() {
+            return !owner.isAlive() && deque.isEmpty();
+        }
+    }
+
+    private class Itr implements Iterator<E> {
+
+        private final List<E> elements;
+
+        private int cursor;
+
+        private E lastRet;
+
+        Itr(List<E> elements) {
+            this.elements = elements;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return cursor < elements.size();
+        }
+
+        @Override
+        public E next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            lastRet = elements.get(cursor++);
+            return lastRet;
+        }
+
+        @Override
+        public void remove() {
+            if (lastRet == null) {
+                throw new IllegalStateException();
+            }
+            WorkStealingBlockingQueue.this.remove(lastRet);
+            lastRet = null;
+        }
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.common.model;
+
+import cn.hippo4j.common.toolkit.CalculateUtil;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * <p>Running state of a thread-pool held in primitive fields. <br />
+ * An instance is meant to be kept per thread-pool and refilled on every collection,
+ * so collectors and monitors can read the state without creating any objects.
+ * Strings are only formatted when the state is exposed as {@link ThreadPoolRunStateInfo}.
+ *
+ * <p>Optional values are {@link #ABSENT} if the plugin that provides them is not registered.
+ */
+@Getter
+@Setter
+@ToString
+public class PoolStatsSnapshot {
+
+    /**
+     * Value of optional fields that are not provided, same as {@link cn.hippo4j.common.monitor.RuntimeMessageDelta#ABSENT}
+     */
+    public static final long ABSENT = Long.MIN_VALUE;
+
+    /**
+     * Time of collection in milliseconds
+     */
+    private long timestamp;
+
+    /**
+     * corePoolSize
+     */
+    private int corePoolSize;
+
+    /**
+     * maximumPoolSize
+     */
+    private int maximumPoolSize;
+
+    /**
+     * poolSize
+     */
+    private int poolSize;
+
+    /**
+     * activeCount
+     */
+    private int activeCount;
+
+    /**
+     * The maximum number of threads that enter the thread pool at the same time
+     */
+    private int largestPoolSize;
+
+    /**
+     * queueSize
+     */
+    private int queueSize;
+
+    /**
+     * queueRemainingCapacity
+     */
+    private int queueRemainingCapacity;
+
+    /**
+     * completedTaskCount
+     */
+    private long completedTaskCount;
+
+    /**
+     * rejectCount
+     */
+    private long rejectCount;
+
+    /**
+     * Number of tasks shed by the load-shedding plugins and the caller-runs budget
+     */
+    private long shedCount = ABSENT;
+
+    /**
+     * Percentiles of task execution time in nanoseconds
+     */
+    private long executeTimeP50 = ABSENT;
+
+    private long executeTimeP90 = ABSENT;
+
+    private long executeTimeP99 = ABSENT;
+
+    private long executeTimeP999 = ABSENT;
+
+    private long executeTimeMax = ABSENT;
+
+    /**
+     * Percentiles of task queue wait time in nanoseconds
+     */
+    private long queueWaitTimeP50 = ABSENT;
+
+    private long queueWaitTimeP90 = ABSENT;
+
+    private long queueWaitTimeP99 = ABSENT;
+
+    private long queueWaitTimeP999 = ABSENT;
+
+    private long queueWaitTimeMax = ABSENT;
+
+    /**
+     * Get the percentage of active threads in maximum pool size.
+     *
+     * @return current load
+     */
+    public int getCurrentLoad() {
+        return CalculateUtil.divide(activeCount, maximumPoolSize);
+    }
+
+    /**
+     * Get the percentage of largest pool size in maximum pool size.
+     *
+     * @return peak load
+     */
+    public int getPeakLoad() {
+        return CalculateUtil.divide(largestPoolSize, maximumPoolSize);
+    }
+
+    /**
+     * Get the capacity of the work queue.
+     *
+     * @return queue capacity
+     */
+    public int getQueueCapacity() {
+        return queueSize + queueRemainingCapacity;
+    }
+
+    /**
+     * Set the percentiles of task execution time.
+     *
+     * @param p50  median
+     * @param p90  90th percentile
+     * @param p99  99th percentile
+     * @param p999 99.9th percentile
+     * @param max  maximum
+     */
+    public void setExecuteTime(long p50, long p90, long p99, long p999, long max) {
+        this.executeTimeP50 = p50;
+        this.executeTimeP90 = p90;
+        this.executeTimeP99 = p99;
+        this.executeTimeP999 = p999;
+        this.executeTimeMax = max;
+    }
+
+    /**
+     * Set the percentiles of task queue wait time.
+     *
+     * @param p50  median
+     * @param p90  90th percentile
+     * @param p99  99th percentile
+     * @param p999 99.9th percentile
+     * @param max  maximum
+     */
+    public void setQueueWaitTime(long p50, long p90, long p99, long p999, long max) {
+        this.queueWaitTimeP50 = p50;
+        this.queueWaitTimeP90 = p90;
+        this.queueWaitTimeP99 = p99;
+        this.queueWaitTimeP999 = p999;
+        this.queueWaitTimeMax = max;
+    }
+
+    /**
+     * Mark all optional values as {@link #ABSENT} before they are supplemented.
+     */
+    public void clearOptionalValues() {
+        shedCount = ABSENT;
+        setExecuteTime(ABSENT, ABSENT, ABSENT, ABSENT, ABSENT);
+        setQueueWaitTime(ABSENT, ABSENT, ABSENT, ABSENT, ABSENT);
+    }
+
+    /**
+     * Convert an optional value to its boxed form for {@link ThreadPoolRunStateInfo}.
+     *
+     * @param value optional value
+     * @return null if the value is {@link #ABSENT}
+     */
+    public static Long boxOptional(long value) {
+        return value == ABSENT ? null : value;
+    }
+}
@@ -71,6 +71,13 @@ public interface ThreadPoolParameter {
      */
     Integer getCapacity();
 
+    /**
+     * Get queue lane weights
+     *
+     * @return
+     */
+    String getQueueLaneWeights();
+
     /**
      * Get keep alive time
      *
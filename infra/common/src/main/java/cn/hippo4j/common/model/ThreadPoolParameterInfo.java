@@ -91,6 +91,11 @@ public class ThreadPoolParameterInfo implements ThreadPoolParameter, Serializabl
      */
     private Integer capacity;
 
+    /**
+     * Queue lane weights
+     */
+    private String queueLaneWeights;
+
     /**
      * Keep alive time
      */
@@ -81,6 +81,41 @@ public class ThreadPoolRunStateInfo extends ThreadPoolBaseInfo implements Serial
      */
     private Integer queueRemainingCapacity;
 
+    /**
+     * Number of tasks in each lane of the priority lane queue, separated by commas, from the highest lane
+     */
+    private String queueLaneSizes;
+
+    /**
+     * Lane weights of the priority lane queue
+     */
+    private String queueLaneWeights;
+
+    /**
+     * Number of tasks in the deque of each worker of the work-stealing queue, separated by commas
+     */
+    private String workerQueueSizes;
+
+    /**
+     * Number of tasks stolen from the deque of another worker of the work-stealing queue
+     */
+    private Long stealCount;
+
+    /**
+     * Name of the thread-pool group sharing a budget of threads
+     */
+    private String poolGroup;
+
+    /**
+     * Budget of threads of the thread-pool group
+     */
+    private Integer groupBudget;
+
+    /**
+     * Number of threads of all members of the thread-pool group
+     */
+    private Integer groupActiveThreads;
+
     /**
      * completedTaskCount
      */
@@ -91,6 +126,61 @@ public class ThreadPoolRunStateInfo extends ThreadPoolBaseInfo implements Serial
      */
     private Long rejectCount;
 
+    /**
+     * Number of tasks shed by the load-shedding plugins and the caller-runs budget, counted separately from rejectCount
+     */
+    private Long shedCount;
+
+    /**
+     * Median of task execution time in nanoseconds
+     */
+    private Long executeTimeP50;
+
+    /**
+     * 90th percentile of task execution time in nanoseconds
+     */
+    private Long executeTimeP90;
+
+    /**
+     * 99th percentile of task execution time in nanoseconds
+     */
+    private Long executeTimeP99;
+
+    /**
+     * 99.9th percentile of task execution time in nanoseconds
+     */
+    private Long executeTimeP999;
+
+    /**
+     * Maximum task execution time in nanoseconds
+     */
+    private Long executeTimeMax;
+
+    /**
+     * Median of task queue wait time in nanoseconds
+     */
+    private Long queueWaitTimeP50;
+
+    /**
+     * 90th percentile of task queue wait time in nanoseconds
+     */
+    private Long queueWaitTimeP90;
+
+    /**
+     * 99th percentile of task queue wait time in nanoseconds
+     */
+    private Long queueWaitTimeP99;
+
+    /**
+     * 99.9th percentile of task queue wait time in nanoseconds
+     */
+    private Long queueWaitTimeP999;
+
+    /**
+     * Maximum task queue wait time in nanoseconds
+     */
+    private Long queueWaitTimeMax;
+
     /**
      * host
      */
@@ -54,6 +54,11 @@ public class ExecutorProperties implements IExecutorProperties {
      */
     private Integer queueCapacity;
 
+    /**
+     * Queue lane weights, only for {@code PriorityLaneBlockingQueue}
+     */
+    private String queueLaneWeights;
+
     /**
      * Blocking queue
      */
@@ -99,6 +104,43 @@ public class ExecutorProperties implements IExecutorProperties {
      */
     private Integer capacityAlarm;
 
+    /**
+     * Queue wait alarm, the threshold of 99th percentile task queue wait time in milliseconds,
+     * only takes effect when TaskQueueWaitTimePlugin is registered
+     */
+    private Long queueWaitAlarm;
+
+    /**
+     * Name of the thread-pool group sharing a budget of threads
+     */
+    private String poolGroup;
+
+    /**
+     * Threads guaranteed by the thread-pool group
+     */
+    private Integer groupMinThreads;
+
+    /**
+     * Max threads in the thread-pool group, including the threads borrowed from other members
+     */
+    private Integer groupMaxThreads;
+
+    /**
+     * Target of task queue delay in milliseconds, tasks are shed in the manner of CoDel
+     * while the queue delay stays above the target, disabled if it's not greater than 0
+     */
+    private Long shedQueueDelay;
+
+    /**
+     * Max number of tasks submitted per second, the tasks exceeding the rate are shed, disabled if it's not greater than 0
+     */
+    private Integer rateLimit;
+
+    /**
+     * Budget of callers running rejected tasks, only takes effect when the rejected handler is CallerRunsWithBudgetPolicy
+     */
+    private Integer callerRunsBudget;
+
     /**
      * Notify
      */
@@ -77,8 +77,70 @@ public class RuntimeMessage extends AbstractMessage {
      */
     private Integer rejectCount;
 
+    /**
+     * Median of task execution time in nanoseconds
+     */
+    private Long executeTimeP50;
+
+    /**
+     * 90th percentile of task execution time in nanoseconds
+     */
+    private Long executeTimeP90;
+
+    /**
+     * 99th percentile of task execution time in nanoseconds
+     */
+    private Long executeTimeP99;
+
+    /**
+     * 99.9th percentile of task execution time in nanoseconds
+     */
+    private Long executeTimeP999;
+
+    /**
+     * Maximum task execution time in nanoseconds
+     */
+    private Long executeTimeMax;
+
+    /**
+     * Median of task queue wait time in nanoseconds
+     */
+    private Long queueWaitTimeP50;
+
+    /**
+     * 90th percentile of task queue wait time in nanoseconds
+     */
+    private Long queueWaitTimeP90;
+
+    /**
+     * 99th percentile of task queue wait time in nanoseconds
+     */
+    private Long queueWaitTimeP99;
+
+    /**
+     * 99.9th percentile of task queue wait time in nanoseconds
+     */
+    private Long queueWaitTimeP999;
+
+    /**
+     * Maximum task queue wait time in nanoseconds
+     */
+    private Long queueWaitTimeMax;
+
     /**
      * timestamp
      */
     private Long timestamp;
+
+    /**
+     * Whether only the changed fields are reported, the unchanged fields are null and should be
+     * taken from the last reported row of the same group key, see {@link RuntimeMessageDelta}
+     */
+    private Boolean delta;
+
+    /**
+     * Bits of {@link RuntimeMessageDelta.Field#mask()} of which the value changed to absent since the last reported row,
+     * only set in delta rows
+     */
+    private Long absentFields;
 }
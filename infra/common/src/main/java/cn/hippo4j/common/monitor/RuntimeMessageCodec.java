@@ -0,0 +1,434 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.common.monitor;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * <p>Compact binary codec of {@link RuntimeMessage} batch, used by the netty report channel instead of java serialization. <br />
+ * Layout of a batch, all integers are unsigned varint unless otherwise stated:
+ * <pre>
+ * byte    magic, {@link #MAGIC}
+ * byte    version, {@link #VERSION}
+ * byte    ordinal of {@link MessageTypeEnum}
+ * varint  size of string table, followed by each string as varint length and UTF-8 bytes
+ * varint  number of rows, followed by each row
+ * </pre>
+ * Each row is a sequence of tagged fields terminated by tag {@code 0},
+ * tag is {@code fieldId << 3 | wireType}, the value of {@link #WIRE_VARINT} is a zigzag varint,
+ * the value of {@link #WIRE_STRING} is the index of string table, and the value of {@link #WIRE_GROUP_KEY}
+ * is the indexes of its segments, so item, tenant and instance of group keys and repeated load strings
+ * are written once per batch, null fields are not written at all.
+ * Fields with unknown id are skipped, so new fields can be added without breaking old servers.
+ *
+ * <p>The codec is independent of the transport, the caller is responsible for framing the bytes.
+ */
+public final class RuntimeMessageCodec {
+
+    /**
+     * First byte of the encoded batch, different from the first byte of java serialization stream
+     */
+    public static final byte MAGIC = (byte) 0xB4;
+
+    /**
+     * Current version of the layout
+     */
+    public static final byte VERSION = 1;
+
+    /**
+     * Wire type of zigzag varint
+     */
+    static final int WIRE_VARINT = 0;
+
+    /**
+     * Wire type of string table index
+     */
+    static final int WIRE_STRING = 1;
+
+    /**
+     * Wire type of varint length followed by bytes, reserved for new fields
+     */
+    static final int WIRE_BYTES = 2;
+
+    /**
+     * Wire type of group key, varint number of segments separated by {@code +},
+     * followed by the string table index of each segment
+     */
+    static final int WIRE_GROUP_KEY = 3;
+
+    private static final int WIRE_TYPE_BITS = 3;
+
+    private static final int WIRE_TYPE_MASK = (1 << WIRE_TYPE_BITS) - 1;
+
+    private static final char GROUP_KEY_DELIMITER = '+';
+
+    private static final Field[] FIELDS = new Field[32];
+
+    static {
+        FIELDS[1] = new Field(1, WIRE_GROUP_KEY, RuntimeMessage::getGroupKey, (row, value) -> row.setGroupKey((String) value));
+        stringField(2, RuntimeMessage::getCurrentLoad, RuntimeMessage::setCurrentLoad);
+        stringField(3, RuntimeMessage::getPeakLoad, RuntimeMessage::setPeakLoad);
+        intField(4, RuntimeMessage::getPoolSize, RuntimeMessage::setPoolSize);
+        intField(5, RuntimeMessage::getLargestPoolSize, RuntimeMessage::setLargestPoolSize);
+        stringField(6, RuntimeMessage::getActiveSize, RuntimeMessage::setActiveSize);
+        intField(7, RuntimeMessage::getQueueCapacity, RuntimeMessage::setQueueCapacity);
+        intField(8, RuntimeMessage::getQueueSize, RuntimeMessage::setQueueSize);
+        stringField(9, RuntimeMessage::getQueueRemainingCapacity, RuntimeMessage::setQueueRemainingCapacity);
+        longField(10, RuntimeMessage::getCompletedTaskCount, RuntimeMessage::setCompletedTaskCount);
+        intField(11, RuntimeMessage::getRejectCount, RuntimeMessage::setRejectCount);
+        longField(12, RuntimeMessage::getExecuteTimeP50, RuntimeMessage::setExecuteTimeP50);
+        longField(13, RuntimeMessage::getExecuteTimeP90, RuntimeMessage::setExecuteTimeP90);
+        longField(14, RuntimeMessage::getExecuteTimeP99, RuntimeMessage::setExecuteTimeP99);
+        longField(15, RuntimeMessage::getExecuteTimeP999, RuntimeMessage::setExecuteTimeP999);
+        longField(16, RuntimeMessage::getExecuteTimeMax, RuntimeMessage::setExecuteTimeMax);
+        longField(17, RuntimeMessage::getQueueWaitTimeP50, RuntimeMessage::setQueueWaitTimeP50);
+        longField(18, RuntimeMessage::getQueueWaitTimeP90, RuntimeMessage::setQueueWaitTimeP90);
+        longField(19, RuntimeMessage::getQueueWaitTimeP99, RuntimeMessage::setQueueWaitTimeP99);
+        longField(20, RuntimeMessage::getQueueWaitTimeP999, RuntimeMessage::setQueueWaitTimeP999);
+        longField(21, RuntimeMessage::getQueueWaitTimeMax, RuntimeMessage::setQueueWaitTimeMax);
+        longField(22, RuntimeMessage::getTimestamp, RuntimeMessage::setTimestamp);
+        FIELDS[23] = new Field(23, WIRE_VARINT, row -> row.getDelta() == null ? null : row.getDelta() ? 1L : 0L,
+                (row, value) -> row.setDelta((Long) value != 0L));
+        longField(24, RuntimeMessage::getAbsentFields, RuntimeMessage::setAbsentFields);
+    }
+
+    private RuntimeMessageCodec() {
+    }
+
+    /**
+     * Whether the message can be encoded by this codec.
+     *
+     * @param message message
+     * @return true if it is a batch of {@link RuntimeMessage}
+     */
+    public static boolean supports(Message<?> message) {
+        if (message == null || message.getMessageType() != MessageTypeEnum.RUNTIME || message.getMessages() == null) {
+            return false;
+        }
+        for (Object each : message.getMessages()) {
+            if (!(each instanceof RuntimeMessage)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Encode a batch of {@link RuntimeMessage}.
+     *
+     * @param message batch of runtime message
+     * @return encoded bytes
+     * @throws IllegalArgumentException if the message is not {@link #supports supported}
+     */
+    @SuppressWarnings("unchecked")
+    public static byte[] encode(Message<?> message) {
+        if (!supports(message)) {
+            throw new IllegalArgumentException("Unsupported message: " + (message == null ? null : message.getMessageType()));
+        }
+        List<RuntimeMessage> rows = (List<RuntimeMessage>) message.getMessages();
+        Map<String, Integer> stringTable = new HashMap<>();
+        List<String> strings = new ArrayList<>();
+        Output body = new Output(rows.size() * 64);
+        body.writeVarint(rows.size());
+        for (RuntimeMessage row : rows) {
+            for (Field field : FIELDS) {
+                if (field != null) {
+                    field.write(row, body, stringTable, strings);
+                }
+            }
+            body.writeVarint(0);
+        }
+        Output out = new Output(body.size + strings.size() * 32 + 8);
+        out.writeByte(MAGIC);
+        out.writeByte(VERSION);
+        out.writeByte(message.getMessageType().ordinal());
+        out.writeVarint(strings.size());
+        for (String each : strings) {
+            byte[] bytes = each.getBytes(StandardCharsets.UTF_8);
+            out.writeVarint(bytes.length);
+            out.writeBytes(bytes, 0, bytes.length);
+        }
+        out.writeBytes(body.buf, 0, body.size);
+        return out.toByteArray();
+    }
+
+    /**
+     * Decode a batch of {@link RuntimeMessage}.
+     *
+     * @param bytes encoded bytes
+     * @return batch of runtime message
+     */
+    public static Message<RuntimeMessage> decode(byte[] bytes) {
+        return decode(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * Decode a batch of {@link RuntimeMessage} from the remaining bytes of buffer.
+     *
+     * @param buffer buffer positioned at the first byte of the batch
+     * @return batch of runtime message
+     * @throws IllegalArgumentException if the bytes are not a valid batch
+     */
+    @SuppressWarnings("unchecked")
+    public static Message<RuntimeMessage> decode(ByteBuffer buffer) {
+        try {
+            if (buffer.get() != MAGIC) {
+                throw new IllegalArgumentException("Not a runtime message batch.");
+            }
+            byte version = buffer.get();
+            if (version > VERSION) {
+                throw new IllegalArgumentException("Unsupported runtime message codec version: " + version);
+            }
+            MessageTypeEnum messageType = MessageTypeEnum.values()[buffer.get()];
+            String[] strings = new String[readLength(buffer)];
+            for (int i = 0; i < strings.length; i++) {
+                strings[i] = readString(buffer);
+            }
+            int rowCount = readLength(buffer);
+            List<Message> rows = new ArrayList<>(rowCount);
+            for (int i = 0; i < rowCount; i++) {
+                rows.add(readRow(buffer, strings));
+            }
+            RuntimeMessage message = new RuntimeMessage();
+            message.setMessageType(messageType);
+            message.setMessages(rows);
+            return message;
+        } catch (RuntimeException ex) {
+            if (ex instanceof IllegalArgumentException) {
+                throw ex;
+            }
+            throw new IllegalArgumentException("Malformed runtime message batch.", ex);
+        }
+    }
+
+    private static RuntimeMessage readRow(ByteBuffer buffer, String[] strings) {
+        RuntimeMessage row = new RuntimeMessage();
+        row.setMessageType(MessageTypeEnum.RUNTIME);
+        int tag;
+        while ((tag = (int) readVarint(buffer)) != 0) {
+            int fieldId = tag >>> WIRE_TYPE_BITS;
+            int wireType = tag & WIRE_TYPE_MASK;
+            Field field = fieldId < FIELDS.length ? FIELDS[fieldId] : null;
+            if (field == null || field.wireType != wireType) {
+                skip(buffer, wireType);
+                continue;
+            }
+            if (wireType == WIRE_GROUP_KEY) {
+                field.setter.accept(row, readGroupKey(buffer, strings));
+                continue;
+            }
+            long value = readVarint(buffer);
+            if (wireType == WIRE_STRING) {
+                field.setter.accept(row, strings[(int) value]);
+            } else {
+                field.setter.accept(row, (value >>> 1) ^ -(value & 1));
+            }
+        }
+        return row;
+    }
+
+    private static String readGroupKey(ByteBuffer buffer, String[] strings) {
+        int segments = readLength(buffer);
+        StringBuilder groupKey = new StringBuilder(segments << 4);
+        for (int i = 0; i < segments; i++) {
+            if (i > 0) {
+                groupKey.append(GROUP_KEY_DELIMITER);
+            }
+            groupKey.append(strings[(int) readVarint(buffer)]);
+        }
+        return groupKey.toString();
+    }
+
+    private static void skip(ByteBuffer buffer, int wireType) {
+        switch (wireType) {
+            case WIRE_VARINT:
+            case WIRE_STRING:
+                readVarint(buffer);
+                break;
+            case WIRE_BYTES:
+                int length = readLength(buffer);
+                buffer.position(buffer.position() + length);
+                break;
+            case WIRE_GROUP_KEY:
+                int segments = readLength(buffer);
+                for (int i = 0; i < segments; i++) {
+                    readVarint(buffer);
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown wire type: " + wireType);
+        }
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = readLength(buffer);
+        String value;
+        if (buffer.hasArray()) {
+            value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + length);
+        } else {
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return value;
+    }
+
+    private static int readLength(ByteBuffer buffer) {
+        long length = readVarint(buffer);
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalArgumentException("Malformed runtime message batch, length: " + length);
+        }
+        return (int) length;
+    }
+
+    private static long readVarint(ByteBuffer buffer) {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            result |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return result;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint.");
+    }
+
+    private static void stringField(int id, Function<RuntimeMessage, String> getter, BiConsumer<RuntimeMessage, String> setter) {
+        FIELDS[id] = new Field(id, WIRE_STRING, getter::apply, (row, value) -> setter.accept(row, (String) value));
+    }
+
+    private static void intField(int id, Function<RuntimeMessage, Integer> getter, BiConsumer<RuntimeMessage, Integer> setter) {
+        FIELDS[id] = new Field(id, WIRE_VARINT, getter::apply, (row, value) -> setter.accept(row, ((Long) value).intValue()));
+    }
+
+    private static void longField(int id, Function<RuntimeMessage, Long> getter, BiConsumer<RuntimeMessage, Long> setter) {
+        FIELDS[id] = new Field(id, WIRE_VARINT, getter::apply, (row, value) -> setter.accept(row, (Long) value));
+    }
+
+    /**
+     * Field of {@link RuntimeMessage}.
+     */
+    private static final class Field {
+
+        private final int tag;
+
+        private final int wireType;
+
+        private final Function<RuntimeMessage, Object> getter;
+
+        private final BiConsumer<RuntimeMessage, Object> setter;
+
+        Field(int id, int wireType, Function<RuntimeMessage, Object> getter, BiConsumer<RuntimeMessage, Object> setter) {
+            this.tag = id << WIRE_TYPE_BITS | wireType;
+            this.wireType = wireType;
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        void write(RuntimeMessage row, Output out, Map<String, Integer> stringTable, List<String> strings) {
+            Object value = getter.apply(row);
+            if (value == null) {
+                return;
+            }
+            out.writeVarint(tag);
+            if (wireType == WIRE_GROUP_KEY) {
+                String groupKey = (String) value;
+                int segments = 1;
+                for (int i = 0; i < groupKey.length(); i++) {
+                    if (groupKey.charAt(i) == GROUP_KEY_DELIMITER) {
+                        segments++;
+                    }
+                }
+                out.writeVarint(segments);
+                int start = 0;
+                for (int end; (end = groupKey.indexOf(GROUP_KEY_DELIMITER, start)) >= 0; start = end + 1) {
+                    out.writeVarint(indexOf(groupKey.substring(start, end), stringTable, strings));
+                }
+                out.writeVarint(indexOf(groupKey.substring(start), stringTable, strings));
+            } else if (wireType == WIRE_STRING) {
+                out.writeVarint(indexOf((String) value, stringTable, strings));
+            } else {
+                long longValue = ((Number) value).longValue();
+                out.writeVarint((longValue << 1) ^ (longValue >> 63));
+            }
+        }
+
+        private static int indexOf(String value, Map<String, Integer> stringTable, List<String> strings) {
+            Integer index = stringTable.get(value);
+            if (index == null) {
+                index = strings.size();
+                stringTable.put(value, index);
+                strings.add(value);
+            }
+            return index;
+        }
+    }
+
+    /**
+     * Growable byte array.
+     */
+    private static final class Output {
+
+        private byte[] buf;
+
+        private int size;
+
+        Output(int initialCapacity) {
+            this.buf = new byte[Math.max(initialCapacity, 16)];
+        }
+
+        void writeByte(int b) {
+            ensureCapacity(1);
+            buf[size++] = (byte) b;
+        }
+
+        void writeBytes(byte[] bytes, int offset, int length) {
+            ensureCapacity(length);
+            System.arraycopy(bytes, offset, buf, size, length);
+            size += length;
+        }
+
+        void writeVarint(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buf[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buf[size++] = (byte) value;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buf, size);
+        }
+
+        private void ensureCapacity(int length) {
+            if (size + length > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(buf.length << 1, size + length));
+            }
+        }
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.common.monitor;
+
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+
+/**
+ * <p>Delta report of {@link RuntimeMessage}. <br />
+ * The client keeps the last reported values of each thread-pool as a {@code long[]} indexed by {@link Field#ordinal()},
+ * and reports only the fields that have changed since then, with a full row (keyframe) periodically.
+ * The server keeps the last full row of each group key and {@link #merge merges} the delta rows into it before persisting.
+ *
+ * <p>Values are absolute instead of counter increments, so a lost or reordered delta row is repaired
+ * by the next change of the field or the next keyframe. A field that becomes {@link #ABSENT}, e.g. the percentiles
+ * after the histogram plugin is unregistered, is marked in the {@code absentFields} of the delta row
+ * and cleared by {@link #merge}, instead of keeping the last reported value.
+ */
+public final class RuntimeMessageDelta {
+
+    /**
+     * Value of field which is not available, such as the execute time without the histogram plugin
+     */
+    public static final long ABSENT = Long.MIN_VALUE;
+
+    private static final Field[] FIELDS = Field.values();
+
+    private RuntimeMessageDelta() {
+    }
+
+    /**
+     * Create an array to hold the values of all fields.
+     *
+     * @return array filled with {@link #ABSENT}
+     */
+    public static long[] newValues() {
+        long[] values = new long[FIELDS.length];
+        Arrays.fill(values, ABSENT);
+        return values;
+    }
+
+    /**
+     * Create a row from values.
+     *
+     * @param groupKey  group key of thread-pool
+     * @param timestamp collect time
+     * @param values    current values
+     * @param previous  values of last reported row, null to create a full row
+     * @return full row, or delta row with only changed fields if previous is not null
+     */
+    public static RuntimeMessage diff(String groupKey, long timestamp, long[] values, long[] previous) {
+        RuntimeMessage row = new RuntimeMessage();
+        row.setGroupKey(groupKey);
+        row.setTimestamp(timestamp);
+        if (previous != null) {
+            row.setDelta(Boolean.TRUE);
+        }
+        long absentFields = 0L;
+        for (Field field : FIELDS) {
+            long value = values[field.ordinal()];
+            if (value == ABSENT) {
+                if (previous != null && previous[field.ordinal()] != ABSENT) {
+                    absentFields |= field.mask();
+                }
+            } else if (previous == null || value != previous[field.ordinal()]) {
+                field.setter.accept(row, field.boxer.apply(value));
+            }
+        }
+        if (absentFields != 0L) {
+            row.setAbsentFields(absentFields);
+        }
+        return row;
+    }
+
+    /**
+     * Reconstruct a full row from the last full row and a delta row.
+     *
+     * @param base  last full row of the same group key
+     * @param delta delta row
+     * @return new full row, neither of the arguments is modified
+     */
+    public static RuntimeMessage merge(RuntimeMessage base, RuntimeMessage delta) {
+        RuntimeMessage row = new RuntimeMessage();
+        row.setGroupKey(delta.getGroupKey());
+        row.setMessageType(delta.getMessageType());
+        row.setTimestamp(delta.getTimestamp());
+        long absentFields = delta.getAbsentFields() == null ? 0L : delta.getAbsentFields();
+        for (Field field : FIELDS) {
+            if ((absentFields & field.mask()) != 0L) {
+                continue;
+            }
+            Object value = field.getter.apply(delta);
+            field.setter.accept(row, value != null ? value : field.getter.apply(base));
+        }
+        return row;
+    }
+
+    /**
+     * Fields of {@link RuntimeMessage} in delta report, except group key and timestamp which are always reported.
+     */
+    public enum Field {
+
+        CURRENT_LOAD(RuntimeMessage::getCurrentLoad, RuntimeMessage::setCurrentLoad, String.class, String::valueOf),
+
+        PEAK_LOAD(RuntimeMessage::getPeakLoad, RuntimeMessage::setPeakLoad, String.class, String::valueOf),
+
+        POOL_SIZE(RuntimeMessage::getPoolSize, RuntimeMessage::setPoolSize, Integer.class, value -> (int) value),
+
+        LARGEST_POOL_SIZE(RuntimeMessage::getLargestPoolSize, RuntimeMessage::setLargestPoolSize, Integer.class, value -> (int) value),
+
+        ACTIVE_SIZE(RuntimeMessage::getActiveSize, RuntimeMessage::setActiveSize, String.class, String::valueOf),
+
+        QUEUE_CAPACITY(RuntimeMessage::getQueueCapacity, RuntimeMessage::setQueueCapacity, Integer.class, value -> (int) value),
+
+        QUEUE_SIZE(RuntimeMessage::getQueueSize, RuntimeMessage::setQueueSize, Integer.class, value -> (int) value),
+
+        QUEUE_REMAINING_CAPACITY(RuntimeMessage::getQueueRemainingCapacity, RuntimeMessage::setQueueRemainingCapacity, String.class, String::valueOf),
+
+        COMPLETED_TASK_COUNT(RuntimeMessage::getCompletedTaskCount, RuntimeMessage::setCompletedTaskCount, Long.class, Long::valueOf),
+
+        REJECT_COUNT(RuntimeMessage::getRejectCount, RuntimeMessage::setRejectCount, Integer.class, value -> (int) value),
+
+        EXECUTE_TIME_P50(RuntimeMessage::getExecuteTimeP50, RuntimeMessage::setExecuteTimeP50, Long.class, Long::valueOf),
+
+        EXECUTE_TIME_P90(RuntimeMessage::getExecuteTimeP90, RuntimeMessage::setExecuteTimeP90, Long.class, Long::valueOf),
+
+        EXECUTE_TIME_P99(RuntimeMessage::getExecuteTimeP99, RuntimeMessage::setExecuteTimeP99, Long.class, Long::valueOf),
+
+        EXECUTE_TIME_P999(RuntimeMessage::getExecuteTimeP999, RuntimeMessage::setExecuteTimeP999, Long.class, Long::valueOf),
+
+        EXECUTE_TIME_MAX(RuntimeMessage::getExecuteTimeMax, RuntimeMessage::setExecuteTimeMax, Long.class, Long::valueOf),
+
+        QUEUE_WAIT_TIME_P50(RuntimeMessage::getQueueWaitTimeP50, RuntimeMessage::setQueueWaitTimeP50, Long.class, Long::valueOf),
+
+        QUEUE_WAIT_TIME_P90(RuntimeMessage::getQueueWaitTimeP90, RuntimeMessage::setQueueWaitTimeP90, Long.class, Long::valueOf),
+
+        QUEUE_WAIT_TIME_P99(RuntimeMessage::getQueueWaitTimeP99, RuntimeMessage::setQueueWaitTimeP99, Long.class, Long::valueOf),
+
+        QUEUE_WAIT_TIME_P999(RuntimeMessage::getQueueWaitTimeP999, RuntimeMessage::setQueueWaitTimeP999, Long.class, Long::valueOf),
+
+        QUEUE_WAIT_TIME_MAX(RuntimeMessage::getQueueWaitTimeMax, RuntimeMessage::setQueueWaitTimeMax, Long.class, Long::valueOf);
+
+        private final Function<RuntimeMessage, Object> getter;
+
+        private final BiConsumer<RuntimeMessage, Object> setter;
+
+        private final LongFunction<Object> boxer;
+
+        <T> Field(Function<RuntimeMessage, T> getter, BiConsumer<RuntimeMessage, T> setter, Class<T> type, LongFunction<T> boxer) {
+            this.getter = getter::apply;
+            this.setter = (row, value) -> setter.accept(row, type.cast(value));
+            this.boxer = boxer::apply;
+        }
+
+        /**
+         * Get the bit of field in the {@code absentFields} of {@link RuntimeMessage}.
+         *
+         * @return bit mask
+         */
+        public long mask() {
+            return 1L << ordinal();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.common.push;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Sent by the server on the config push channel with the changed config of a thread-pool.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConfigPushMessage implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Thread-pool id
+     */
+    private String threadPoolId;
+
+    /**
+     * Item id
+     */
+    private String itemId;
+
+    /**
+     * Tenant id
+     */
+    private String tenantId;
+
+    /**
+     * Config content in json, the same as the response of config query
+     */
+    private String content;
+}
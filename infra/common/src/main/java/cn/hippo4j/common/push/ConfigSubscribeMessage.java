@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.common.push;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * <p>Sent by the client on the config push channel to listen on the config of thread-pools. <br />
+ * It's sent with all the thread-pools when the channel is connected, and with the new thread-pools when they're added,
+ * the server pushes the config of which the md5 differs from the server, so a reconnected client only receives the changes it missed.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConfigSubscribeMessage implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Client instance unique identifier
+     */
+    private String identify;
+
+    /**
+     * Client version
+     */
+    private String version;
+
+    /**
+     * Listened thread-pools
+     */
+    private List<Item> items;
+
+    /**
+     * Access token applied by the client, validated in the same way as the http requests
+     */
+    private String accessToken;
+
+    /**
+     * Listened thread-pool and the md5 of its config on the client.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Thread-pool id
+         */
+        private String threadPoolId;
+
+        /**
+         * Item id
+         */
+        private String itemId;
+
+        /**
+         * Tenant id
+         */
+        private String tenantId;
+
+        /**
+         * Md5 of the config on the client
+         */
+        private String md5;
+    }
+}
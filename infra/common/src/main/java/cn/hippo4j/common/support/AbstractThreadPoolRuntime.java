@@ -19,24 +19,30 @@ package cn.hippo4j.common.support;
 
 import cn.hippo4j.common.executor.ThreadPoolExecutorHolder;
 import cn.hippo4j.common.executor.ThreadPoolExecutorRegistry;
+import cn.hippo4j.common.executor.ThreadPoolMetrics;
+import cn.hippo4j.common.executor.support.PriorityLaneBlockingQueue;
+import cn.hippo4j.common.executor.support.WorkStealingBlockingQueue;
+import cn.hippo4j.common.model.PoolStatsSnapshot;
 import cn.hippo4j.common.model.ThreadPoolRunStateInfo;
-import cn.hippo4j.common.toolkit.CalculateUtil;
-import cn.hippo4j.common.toolkit.ReflectUtil;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.Objects;
+import java.util.Arrays;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.stream.Collectors;
 
 import static cn.hippo4j.common.constant.Constants.NO_REJECT_COUNT_NUM;
+import static cn.hippo4j.common.model.PoolStatsSnapshot.boxOptional;
 
 /**
  * Abstract threadPool runtime info.
  */
 public abstract class AbstractThreadPoolRuntime {
 
+    private static final DateTimeFormatter REFRESH_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
     /**
      * Supplemental thread pool runtime information.
      *
@@ -65,35 +71,94 @@ public abstract class AbstractThreadPoolRuntime {
      * @return thread-pool run state info
      */
     public ThreadPoolRunStateInfo getPoolRunState(String threadPoolId, Executor executor) {
-        ThreadPoolExecutor actualExecutor = (ThreadPoolExecutor) executor;
-        int activeCount = actualExecutor.getActiveCount();
-        int largestPoolSize = actualExecutor.getLargestPoolSize();
-        BlockingQueue<Runnable> blockingQueue = actualExecutor.getQueue();
-        long rejectCount = NO_REJECT_COUNT_NUM;
-        if (Objects.equals(actualExecutor.getClass().getName(), "cn.hippo4j.core.executor.DynamicThreadPoolExecutor")) {
-            Object actualRejectCountNum = ReflectUtil.invoke(actualExecutor, "getRejectCountNum");
-            if (actualRejectCountNum != null) {
-                rejectCount = (long) actualRejectCountNum;
-            }
-        }
-        ThreadPoolRunStateInfo stateInfo = ThreadPoolRunStateInfo.builder()
-                .tpId(threadPoolId)
-                .activeSize(activeCount)
-                .poolSize(actualExecutor.getPoolSize())
-                .completedTaskCount(actualExecutor.getCompletedTaskCount())
-                .largestPoolSize(largestPoolSize)
-                .currentLoad(CalculateUtil.divide(activeCount, actualExecutor.getMaximumPoolSize()) + "")
-                .clientLastRefreshTime(LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")))
-                .peakLoad(CalculateUtil.divide(largestPoolSize, actualExecutor.getMaximumPoolSize()) + "")
-                .queueSize(blockingQueue.size())
-                .queueRemainingCapacity(blockingQueue.remainingCapacity())
-                .rejectCount(rejectCount)
-                .timestamp(System.currentTimeMillis())
-                .build();
-        stateInfo.setCoreSize(actualExecutor.getCorePoolSize());
-        stateInfo.setMaximumSize(actualExecutor.getMaximumPoolSize());
+        PoolStatsSnapshot snapshot = snapshot(executor, new PoolStatsSnapshot());
+        ThreadPoolRunStateInfo stateInfo = newRunStateInfo();
+        stateInfo.setTpId(threadPoolId);
+        stateInfo.setActiveSize(snapshot.getActiveCount());
+        stateInfo.setPoolSize(snapshot.getPoolSize());
+        stateInfo.setCompletedTaskCount(snapshot.getCompletedTaskCount());
+        stateInfo.setLargestPoolSize(snapshot.getLargestPoolSize());
+        stateInfo.setCurrentLoad(String.valueOf(snapshot.getCurrentLoad()));
+        stateInfo.setPeakLoad(String.valueOf(snapshot.getPeakLoad()));
+        stateInfo.setClientLastRefreshTime(LocalDateTime.now().format(REFRESH_TIME_FORMATTER));
+        stateInfo.setQueueSize(snapshot.getQueueSize());
+        stateInfo.setQueueRemainingCapacity(snapshot.getQueueRemainingCapacity());
+        stateInfo.setRejectCount(snapshot.getRejectCount());
+        stateInfo.setShedCount(boxOptional(snapshot.getShedCount()));
+        stateInfo.setExecuteTimeP50(boxOptional(snapshot.getExecuteTimeP50()));
+        stateInfo.setExecuteTimeP90(boxOptional(snapshot.getExecuteTimeP90()));
+        stateInfo.setExecuteTimeP99(boxOptional(snapshot.getExecuteTimeP99()));
+        stateInfo.setExecuteTimeP999(boxOptional(snapshot.getExecuteTimeP999()));
+        stateInfo.setExecuteTimeMax(boxOptional(snapshot.getExecuteTimeMax()));
+        stateInfo.setQueueWaitTimeP50(boxOptional(snapshot.getQueueWaitTimeP50()));
+        stateInfo.setQueueWaitTimeP90(boxOptional(snapshot.getQueueWaitTimeP90()));
+        stateInfo.setQueueWaitTimeP99(boxOptional(snapshot.getQueueWaitTimeP99()));
+        stateInfo.setQueueWaitTimeP999(boxOptional(snapshot.getQueueWaitTimeP999()));
+        stateInfo.setQueueWaitTimeMax(boxOptional(snapshot.getQueueWaitTimeMax()));
+        stateInfo.setTimestamp(snapshot.getTimestamp());
+        stateInfo.setCoreSize(snapshot.getCorePoolSize());
+        stateInfo.setMaximumSize(snapshot.getMaximumPoolSize());
+        stateInfo.setQueueCapacity(snapshot.getQueueCapacity());
+        BlockingQueue<Runnable> blockingQueue = ((ThreadPoolExecutor) executor).getQueue();
         stateInfo.setQueueType(blockingQueue.getClass().getSimpleName());
-        stateInfo.setQueueCapacity(blockingQueue.size() + blockingQueue.remainingCapacity());
+        if (blockingQueue instanceof PriorityLaneBlockingQueue) {
+            PriorityLaneBlockingQueue<Runnable> laneQueue = (PriorityLaneBlockingQueue<Runnable>) blockingQueue;
+            stateInfo.setQueueLaneSizes(Arrays.stream(laneQueue.getLaneSizes()).mapToObj(String::valueOf).collect(Collectors.joining(",")));
+            stateInfo.setQueueLaneWeights(laneQueue.getLaneWeights());
+        }
+        if (blockingQueue instanceof WorkStealingBlockingQueue) {
+            WorkStealingBlockingQueue<Runnable> workStealingQueue = (WorkStealingBlockingQueue<Runnable>) blockingQueue;
+            stateInfo.setWorkerQueueSizes(Arrays.stream(workStealingQueue.getWorkerQueueSizes()).mapToObj(String::valueOf).collect(Collectors.joining(",")));
+            stateInfo.setStealCount(workStealingQueue.getStealCount());
+        }
+        ThreadPoolExecutorRegistry.getGroupOf(threadPoolId).ifPresent(group -> {
+            stateInfo.setPoolGroup(group.getName());
+            stateInfo.setGroupBudget(group.getBudget());
+            stateInfo.setGroupActiveThreads(group.getActiveThreads());
+        });
         return supplement(stateInfo);
     }
+
+    /**
+     * Read the running state of executor into a reusable snapshot, without creating any strings.
+     *
+     * @param executor executor
+     * @param snapshot snapshot to fill, usually kept per thread-pool by the caller
+     * @return the given snapshot
+     */
+    public PoolStatsSnapshot snapshot(Executor executor, PoolStatsSnapshot snapshot) {
+        ThreadPoolExecutor actualExecutor = (ThreadPoolExecutor) executor;
+        BlockingQueue<Runnable> blockingQueue = actualExecutor.getQueue();
+        snapshot.setTimestamp(System.currentTimeMillis());
+        snapshot.setCorePoolSize(actualExecutor.getCorePoolSize());
+        snapshot.setMaximumPoolSize(actualExecutor.getMaximumPoolSize());
+        snapshot.setPoolSize(actualExecutor.getPoolSize());
+        snapshot.setActiveCount(actualExecutor.getActiveCount());
+        snapshot.setLargestPoolSize(actualExecutor.getLargestPoolSize());
+        snapshot.setQueueSize(blockingQueue.size());
+        snapshot.setQueueRemainingCapacity(blockingQueue.remainingCapacity());
+        snapshot.setCompletedTaskCount(actualExecutor.getCompletedTaskCount());
+        snapshot.setRejectCount(actualExecutor instanceof ThreadPoolMetrics ? ((ThreadPoolMetrics) actualExecutor).getRejectedTaskCount() : NO_REJECT_COUNT_NUM);
+        snapshot.clearOptionalValues();
+        supplementSnapshot(actualExecutor, snapshot);
+        return snapshot;
+    }
+
+    /**
+     * Supplement the optional values of snapshot, such as the percentiles provided by plugins.
+     *
+     * @param executor executor
+     * @param snapshot snapshot
+     */
+    protected void supplementSnapshot(ThreadPoolExecutor executor, PoolStatsSnapshot snapshot) {
+    }
+
+    /**
+     * Create the run state info to be filled by {@link #getPoolRunState(String, Executor)}.
+     *
+     * @return thread-pool run state info
+     */
+    protected ThreadPoolRunStateInfo newRunStateInfo() {
+        return new ThreadPoolRunStateInfo();
+    }
 }
@@ -0,0 +1,334 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.common.toolkit;
+
+import java.beans.BeanInfo;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Copy the properties between two bean classes with accessors generated once per pair of classes,
+ * used by {@link BeanUtil} instead of dozer on the hot paths.<br>
+ * Properties are matched in the same way as dozer: by name, read by the getter of source and written by the void setter of target.
+ * Only the pairs that dozer would map without deep copying are supported, that is every matched property is immutable,
+ * e.g. primitives, wrappers, {@link String} and enums, and is assigned directly, converted to {@link String},
+ * or converted between integral types with the range checked. Null is not written to a primitive property.
+ * {@link #of} returns null for the other pairs, which are still mapped by dozer.
+ * <p>
+ * The accessors are generated by {@link LambdaMetafactory} so that they can be inlined like direct calls,
+ * and are invoked through {@link MethodHandle} if the classes are not visible to the class loader of this class.
+ */
+final class BeanCopier {
+
+    private static final Map<Class<?>, Map<Class<?>, Object>> COPIERS = new ConcurrentHashMap<>();
+
+    private static final Object UNSUPPORTED = new Object();
+
+    private static final List<Class<?>> IMMUTABLE_TYPES = Arrays.asList(
+            String.class, Boolean.class, Character.class, Byte.class, Short.class, Integer.class, Long.class,
+            Float.class, Double.class, BigDecimal.class, BigInteger.class);
+
+    private static final List<Class<?>> INTEGRAL_TYPES = Arrays.asList(Byte.class, Short.class, Integer.class, Long.class);
+
+    private static final long[] INTEGRAL_MIN = {Byte.MIN_VALUE, Short.MIN_VALUE, Integer.MIN_VALUE, Long.MIN_VALUE};
+
+    private static final long[] INTEGRAL_MAX = {Byte.MAX_VALUE, Short.MAX_VALUE, Integer.MAX_VALUE, Long.MAX_VALUE};
+
+    private static final Map<Class<?>, Class<?>> WRAPPERS = new HashMap<>();
+
+    static {
+        WRAPPERS.put(boolean.class, Boolean.class);
+        WRAPPERS.put(char.class, Character.class);
+        WRAPPERS.put(byte.class, Byte.class);
+        WRAPPERS.put(short.class, Short.class);
+        WRAPPERS.put(int.class, Integer.class);
+        WRAPPERS.put(long.class, Long.class);
+        WRAPPERS.put(float.class, Float.class);
+        WRAPPERS.put(double.class, Double.class);
+    }
+
+    private final Supplier<Object> constructor;
+
+    private final Property[] properties;
+
+    private BeanCopier(Supplier<Object> constructor, Property[] properties) {
+        this.constructor = constructor;
+        this.properties = properties;
+    }
+
+    /**
+     * Get the copier of two classes, it's generated at the first time.
+     *
+     * @param sourceClass class of source
+     * @param targetClass class of target
+     * @return copier, or null if the pair is not supported
+     */
+    static BeanCopier of(Class<?> sourceClass, Class<?> targetClass) {
+        Map<Class<?>, Object> copiers = COPIERS.get(sourceClass);
+        if (copiers == null) {
+            copiers = COPIERS.computeIfAbsent(sourceClass, each -> new ConcurrentHashMap<>());
+        }
+        Object copier = copiers.get(targetClass);
+        if (copier == null) {
+            copier = copiers.computeIfAbsent(targetClass, each -> create(sourceClass, each));
+        }
+        return copier == UNSUPPORTED ? null : (BeanCopier) copier;
+    }
+
+    /**
+     * Create an instance of target and copy the properties of source into it.
+     *
+     * @param source source
+     * @return target
+     */
+    Object convert(Object source) {
+        return copy(source, constructor.get());
+    }
+
+    /**
+     * Copy the properties of source into target.
+     *
+     * @param source source
+     * @param target target
+     * @return target
+     */
+    Object copy(Object source, Object target) {
+        for (Property property : properties) {
+            property.copy(source, target);
+        }
+        return target;
+    }
+
+    private static Object create(Class<?> sourceClass, Class<?> targetClass) {
+        if (!isBean(sourceClass) || !isBean(targetClass)) {
+            return UNSUPPORTED;
+        }
+        try {
+            Constructor<?> constructor = targetClass.getConstructor();
+            Map<String, Method> getters = new HashMap<>();
+            for (PropertyDescriptor descriptor : beanInfo(sourceClass).getPropertyDescriptors()) {
+                if (descriptor.getReadMethod() != null) {
+                    getters.put(descriptor.getName(), descriptor.getReadMethod());
+                }
+            }
+            List<Property> properties = new ArrayList<>();
+            for (PropertyDescriptor descriptor : beanInfo(targetClass).getPropertyDescriptors()) {
+                Method getter = getters.get(descriptor.getName());
+                Method setter = descriptor.getWriteMethod();
+                if (getter == null || setter == null) {
+                    continue;
+                }
+                Function<Object, Object> converter = converter(getter.getReturnType(), setter.getParameterTypes()[0]);
+                if (converter == null) {
+                    return UNSUPPORTED;
+                }
+                properties.add(new Property(getter(getter), setter(setter), converter, setter.getParameterTypes()[0].isPrimitive()));
+            }
+            return new BeanCopier(constructor(constructor), properties.toArray(new Property[0]));
+        } catch (Throwable ex) {
+            return UNSUPPORTED;
+        }
+    }
+
+    private static boolean isBean(Class<?> cls) {
+        int modifiers = cls.getModifiers();
+        return Modifier.isPublic(modifiers) && !Modifier.isAbstract(modifiers) && !cls.isArray() && !cls.isEnum()
+                && !Map.class.isAssignableFrom(cls) && !Collection.class.isAssignableFrom(cls)
+                && !cls.getName().startsWith("java.");
+    }
+
+    private static BeanInfo beanInfo(Class<?> cls) throws Exception {
+        return Introspector.getBeanInfo(cls, Object.class);
+    }
+
+    /**
+     * Converter of property value in the same way as dozer, {@link Function#identity()} if it's assigned directly.
+     *
+     * @return converter, or null if it's not supported
+     */
+    private static Function<Object, Object> converter(Class<?> sourceType, Class<?> targetType) {
+        Class<?> source = wrap(sourceType);
+        Class<?> target = wrap(targetType);
+        boolean immutable = IMMUTABLE_TYPES.contains(source) || source.isEnum();
+        if (immutable && source == target) {
+            return Function.identity();
+        }
+        if (immutable && target == String.class && !source.isEnum()) {
+            return Object::toString;
+        }
+        int sourceIndex = INTEGRAL_TYPES.indexOf(source);
+        int targetIndex = INTEGRAL_TYPES.indexOf(target);
+        if (sourceIndex < 0 || targetIndex < 0) {
+            return null;
+        }
+        if (sourceIndex < targetIndex) {
+            return value -> toIntegral((Number) value, targetIndex);
+        }
+        long min = INTEGRAL_MIN[targetIndex];
+        long max = INTEGRAL_MAX[targetIndex];
+        return value -> {
+            long longValue = ((Number) value).longValue();
+            if (longValue < min || longValue > max) {
+                throw new IllegalArgumentException(String.format("%s value '%s' is too %s for %s",
+                        source.getSimpleName(), value, longValue < min ? "small" : "large", target.getSimpleName()));
+            }
+            return toIntegral((Number) value, targetIndex);
+        };
+    }
+
+    private static Object toIntegral(Number value, int targetIndex) {
+        switch (targetIndex) {
+            case 0:
+                return value.byteValue();
+            case 1:
+                return value.shortValue();
+            case 2:
+                return value.intValue();
+            default:
+                return value.longValue();
+        }
+    }
+
+    private static Class<?> wrap(Class<?> cls) {
+        return cls.isPrimitive() ? WRAPPERS.get(cls) : cls;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Supplier<Object> constructor(Constructor<?> constructor) throws Throwable {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodHandle handle = lookup.unreflectConstructor(constructor);
+        Class<?> cls = constructor.getDeclaringClass();
+        if (!isVisible(cls)) {
+            MethodHandle generic = handle.asType(MethodType.methodType(Object.class));
+            return () -> invoke(() -> generic.invokeExact());
+        }
+        CallSite site = LambdaMetafactory.metafactory(lookup, "get", MethodType.methodType(Supplier.class),
+                MethodType.methodType(Object.class), handle, MethodType.methodType(cls));
+        return (Supplier<Object>) site.getTarget().invokeExact();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object> getter(Method method) throws Throwable {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodHandle handle = lookup.unreflect(method);
+        Class<?> cls = method.getDeclaringClass();
+        Class<?> type = wrap(method.getReturnType());
+        if (!isVisible(cls) || !isVisible(type)) {
+            MethodHandle generic = handle.asType(MethodType.methodType(Object.class, Object.class));
+            return source -> invoke(() -> generic.invokeExact(source));
+        }
+        CallSite site = LambdaMetafactory.metafactory(lookup, "apply", MethodType.methodType(Function.class),
+                MethodType.methodType(Object.class, Object.class), handle, MethodType.methodType(type, cls));
+        return (Function<Object, Object>) site.getTarget().invokeExact();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static BiConsumer<Object, Object> setter(Method method) throws Throwable {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodHandle handle = lookup.unreflect(method);
+        Class<?> cls = method.getDeclaringClass();
+        Class<?> type = wrap(method.getParameterTypes()[0]);
+        if (!isVisible(cls) || !isVisible(type)) {
+            MethodHandle generic = handle.asType(MethodType.methodType(void.class, Object.class, Object.class));
+            return (target, value) -> invoke(() -> {
+                generic.invokeExact(target, value);
+                return null;
+            });
+        }
+        CallSite site = LambdaMetafactory.metafactory(lookup, "accept", MethodType.methodType(BiConsumer.class),
+                MethodType.methodType(void.class, Object.class, Object.class), handle, MethodType.methodType(void.class, cls, type));
+        return (BiConsumer<Object, Object>) site.getTarget().invokeExact();
+    }
+
+    /**
+     * The class generated by {@link LambdaMetafactory} resolves the classes by the class loader of this class.
+     */
+    private static boolean isVisible(Class<?> cls) {
+        try {
+            return Class.forName(cls.getName(), false, BeanCopier.class.getClassLoader()) == cls;
+        } catch (ClassNotFoundException ex) {
+            return false;
+        }
+    }
+
+    private static Object invoke(ThrowableSupplier supplier) {
+        try {
+            return supplier.get();
+        } catch (RuntimeException | Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ThrowableSupplier {
+
+        Object get() throws Throwable;
+    }
+
+    /**
+     * Property matched between source and target.
+     */
+    private static final class Property {
+
+        private final Function<Object, Object> getter;
+
+        private final BiConsumer<Object, Object> setter;
+
+        private final Function<Object, Object> converter;
+
+        private final boolean primitive;
+
+        Property(Function<Object, Object> getter, BiConsumer<Object, Object> setter, Function<Object, Object> converter, boolean primitive) {
+            this.getter = getter;
+            this.setter = setter;
+            this.converter = converter;
+            this.primitive = primitive;
+        }
+
+        void copy(Object source, Object target) {
+            Object value = getter.apply(source);
+            if (value != null) {
+                setter.accept(target, converter.apply(value));
+            } else if (!primitive) {
+                setter.accept(target, null);
+            }
+        }
+    }
+}
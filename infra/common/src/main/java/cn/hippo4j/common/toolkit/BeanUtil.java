@@ -34,7 +34,7 @@ import java.util.Set;
 
 /**
  * Bean util.<br>
- * use com.github.dozermapper
+ * use com.github.dozermapper, the pairs of beans supported by {@link BeanCopier} are copied without dozer.
  */
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class BeanUtil {
@@ -47,13 +47,19 @@ public class BeanUtil {
 
     public static <T, S> T convert(S source, Class<T> clazz) {
         return Optional.ofNullable(source)
-                .map(each -> BEAN_MAPPER_BUILDER.map(each, clazz))
+                .map(each -> map(each, clazz))
                 .orElse(null);
     }
 
     public static <T, S> T convert(S source, T target) {
-        Optional.ofNullable(source)
-                .ifPresent(each -> BEAN_MAPPER_BUILDER.map(each, target));
+        if (source != null) {
+            BeanCopier copier = BeanCopier.of(source.getClass(), target.getClass());
+            if (copier != null) {
+                copier.copy(source, target);
+            } else {
+                BEAN_MAPPER_BUILDER.map(source, target);
+            }
+        }
         return target;
     }
 
@@ -61,7 +67,7 @@ public class BeanUtil {
         return Optional.ofNullable(sources)
                 .map(each -> {
                     List<T> targetList = new ArrayList<T>(each.size());
-                    each.forEach(item -> targetList.add(BEAN_MAPPER_BUILDER.map(item, clazz)));
+                    each.forEach(item -> targetList.add(map(item, clazz)));
                     return targetList;
                 })
                 .orElse(null);
@@ -71,12 +77,17 @@ public class BeanUtil {
         return Optional.ofNullable(sources)
                 .map(each -> {
                     Set<T> targetSize = new HashSet<T>(each.size());
-                    each.forEach(item -> targetSize.add(BEAN_MAPPER_BUILDER.map(item, clazz)));
+                    each.forEach(item -> targetSize.add(map(item, clazz)));
                     return targetSize;
                 })
                 .orElse(null);
     }
 
+    private static <T> T map(Object source, Class<T> clazz) {
+        BeanCopier copier = BeanCopier.of(source.getClass(), clazz);
+        return copier != null ? clazz.cast(copier.convert(source)) : BEAN_MAPPER_BUILDER.map(source, clazz);
+    }
+
     /**
      * map to bean
      *
@@ -41,6 +41,7 @@ public class ContentUtil {
                 .setMaxSize(parameter.getMaxSize())
                 .setQueueType(parameter.getQueueType())
                 .setCapacity(parameter.getCapacity())
+                .setQueueLaneWeights(parameter.getQueueLaneWeights())
                 .setKeepAliveTime(parameter.getKeepAliveTime())
                 .setExecuteTimeOut(parameter.getExecuteTimeOut())
                 .setIsAlarm(parameter.getIsAlarm())
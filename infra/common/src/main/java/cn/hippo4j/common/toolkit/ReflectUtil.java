@@ -20,10 +20,14 @@ package cn.hippo4j.common.toolkit;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.Arrays;
 import java.util.Map;
 import java.util.Objects;
@@ -41,12 +45,64 @@ public class ReflectUtil {
 
     private static final Map<Class<?>, Field[]> FIELDS_CACHE = new ConcurrentHashMap<>();
 
+    /**
+     * Getters of fields resolved by name, the type is (Object)Object
+     */
+    private static final Map<Class<?>, Map<String, MethodHandle>> FIELD_GETTER_CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * Methods resolved by name, the type is (Object, Object[])Object
+     */
+    private static final Map<Class<?>, Map<String, MethodHandle>> METHOD_CACHE = new ConcurrentHashMap<>();
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    /**
+     * Get the value of field by name, the getter of field is resolved once for each class.
+     *
+     * @param obj       the obj, or the class for static field
+     * @param fieldName the field name
+     * @return value of field, or null if the field does not exist
+     */
     public static Object getFieldValue(Object obj, String fieldName) {
         if (null == obj || StringUtil.isBlank(fieldName)) {
             return null;
         }
-        Field field = getField(obj instanceof Class ? (Class<?>) obj : obj.getClass(), fieldName);
-        return getFieldValue(obj, field);
+        MethodHandle getter = getFieldGetter(obj instanceof Class ? (Class<?>) obj : obj.getClass(), fieldName);
+        if (getter == null) {
+            return null;
+        }
+        try {
+            return getter.invokeExact(obj);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static MethodHandle getFieldGetter(Class<?> beanClass, String fieldName) {
+        Map<String, MethodHandle> getters = FIELD_GETTER_CACHE.computeIfAbsent(beanClass, each -> new ConcurrentHashMap<>());
+        MethodHandle getter = getters.get(fieldName);
+        if (getter != null) {
+            return getter;
+        }
+        Field field = getField(beanClass, fieldName);
+        if (field == null) {
+            return null;
+        }
+        setAccessible(field);
+        try {
+            getter = LOOKUP.unreflectGetter(field);
+        } catch (IllegalAccessException e) {
+            String exceptionMsg = String.format("IllegalAccess for %s.%s", field.getDeclaringClass(), field.getName());
+            throw new RuntimeException(exceptionMsg, e);
+        }
+        // the static field is read whatever the obj is
+        getter = Modifier.isStatic(field.getModifiers()) ? MethodHandles.dropArguments(getter, 0, Object.class) : getter;
+        getter = getter.asType(MethodType.methodType(Object.class, Object.class));
+        getters.putIfAbsent(fieldName, getter);
+        return getter;
     }
 
     public static Object getFieldValue(Object obj, Field field) {
@@ -243,16 +299,45 @@ public class ReflectUtil {
      */
     @SuppressWarnings("unchecked")
     public static <T> T invoke(Object obj, String methodName, Object... arguments) {
+        MethodHandle handle = getMethodHandle(obj.getClass(), methodName);
         try {
-            Method method = ReflectUtil.getMethodByName(obj.getClass(), methodName);
-            if (method == null) {
-                throw new RuntimeException(methodName + "method not exists");
-            }
-            ReflectUtil.setAccessible(method);
-            return (T) method.invoke(obj, arguments);
-        } catch (IllegalAccessException | InvocationTargetException e) {
+            return (T) handle.invokeExact(obj, arguments);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Get the method handle by name, it's resolved by {@link #getMethodByName(Class, String)} once for each class.
+     *
+     * @param clazz      the class
+     * @param methodName the method name
+     * @return method handle of type (Object, Object[])Object
+     */
+    private static MethodHandle getMethodHandle(Class<?> clazz, String methodName) {
+        Map<String, MethodHandle> handles = METHOD_CACHE.computeIfAbsent(clazz, each -> new ConcurrentHashMap<>());
+        MethodHandle handle = handles.get(methodName);
+        if (handle != null) {
+            return handle;
+        }
+        Method method = ReflectUtil.getMethodByName(clazz, methodName);
+        if (method == null) {
+            throw new RuntimeException(methodName + "method not exists");
+        }
+        ReflectUtil.setAccessible(method);
+        try {
+            handle = LOOKUP.unreflect(method);
+        } catch (IllegalAccessException e) {
             throw new RuntimeException(e);
         }
+        int parameterCount = method.getParameterCount();
+        handle = Modifier.isStatic(method.getModifiers()) ? MethodHandles.dropArguments(handle, 0, Object.class) : handle;
+        handle = handle.asType(MethodType.genericMethodType(parameterCount + 1))
+                .asSpreader(Object[].class, parameterCount);
+        handles.putIfAbsent(methodName, handle);
+        return handle;
     }
 
     /**
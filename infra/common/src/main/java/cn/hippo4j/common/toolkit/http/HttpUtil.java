@@ -233,7 +233,7 @@ public class HttpUtil {
         if (CollectionUtil.isEmpty(queryParams)) {
             return url;
         }
-        boolean isFirst = true;
+        boolean isFirst = url.indexOf('?') < 0;
         StringBuilder builder = new StringBuilder(url);
         for (Map.Entry<String, String> entry : queryParams.entrySet()) {
             String key = entry.getKey();
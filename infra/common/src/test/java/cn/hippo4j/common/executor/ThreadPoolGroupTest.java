@@ -0,0 +1,227 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.common.executor;
+
+import cn.hippo4j.common.model.executor.ExecutorProperties;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * test for {@link ThreadPoolGroup}
+ */
+public class ThreadPoolGroupTest {
+
+    @Test
+    public void testBorrowFromSharedBudget() throws InterruptedException {
+        ThreadPoolGroup group = new ThreadPoolGroup("group", 3);
+        ThreadPoolExecutor first = newExecutor();
+        ThreadPoolExecutor second = newExecutor();
+        group.join("first", first, 1, 0);
+        group.join("second", second, 1, 0);
+        Assert.assertEquals(2, group.getReservedThreads());
+
+        CountDownLatch latch = new CountDownLatch(1);
+        submitBlockingTasks(first, latch, 5);
+        // 1 guaranteed thread and 1 thread borrowed from the shared budget
+        Assert.assertEquals(2, first.getPoolSize());
+        Assert.assertEquals(5, first.getQueue().size() + first.getActiveCount());
+        submitBlockingTasks(second, latch, 5);
+        // only the guaranteed thread
+        Assert.assertEquals(1, second.getPoolSize());
+        Assert.assertEquals(3, group.getActiveThreads());
+        Assert.assertEquals(1, group.getBorrowedThreads());
+
+        // the budget can be changed at runtime
+        group.setBudget(4);
+        submitBlockingTasks(second, latch, 1);
+        Assert.assertEquals(2, second.getPoolSize());
+        Assert.assertEquals(1, group.getMember("second").getBorrowedThreads());
+
+        // threads are returned to the budget when they terminate
+        latch.countDown();
+        first.shutdown();
+        Assert.assertTrue(first.awaitTermination(1, TimeUnit.SECONDS));
+        // the thread is returned right after the worker exits
+        awaitThreads(group.getMember("first"), 0);
+        Assert.assertEquals(1, group.getBorrowedThreads());
+        second.shutdown();
+        Assert.assertTrue(second.awaitTermination(1, TimeUnit.SECONDS));
+        awaitThreads(group.getMember("second"), 0);
+        Assert.assertEquals(0, group.getActiveThreads());
+        Assert.assertEquals(0, group.getBorrowedThreads());
+    }
+
+    @Test
+    public void testBurstCeiling() throws InterruptedException {
+        ThreadPoolGroup group = new ThreadPoolGroup("group", 10);
+        ThreadPoolExecutor executor = newExecutor();
+        group.join("pool", executor, 1, 2);
+        CountDownLatch latch = new CountDownLatch(1);
+        submitBlockingTasks(executor, latch, 5);
+        Assert.assertEquals(2, executor.getPoolSize());
+        latch.countDown();
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testReclaimThreadNeverStarted() throws InterruptedException {
+        ThreadPoolGroup group = new ThreadPoolGroup("group", 3);
+        ThreadPoolExecutor first = newExecutor();
+        ThreadPoolExecutor second = newExecutor();
+        group.join("first", first, 1, 0);
+        group.join("second", second, 1, 0);
+        // the pool drops the threads without starting them, such as when it is shut down meanwhile
+        Assert.assertNotNull(first.getThreadFactory().newThread(() -> {
+        }));
+        Assert.assertNotNull(first.getThreadFactory().newThread(() -> {
+        }));
+        Assert.assertEquals(1, group.getBorrowedThreads());
+        ThreadFactory threadFactory = second.getThreadFactory();
+        Assert.assertNotNull(threadFactory.newThread(() -> {
+        }));
+        Assert.assertNull(threadFactory.newThread(() -> {
+        }));
+
+        // the threads are returned once the pool terminates
+        first.shutdown();
+        Assert.assertTrue(first.awaitTermination(1, TimeUnit.SECONDS));
+        Thread thread = threadFactory.newThread(() -> {
+        });
+        Assert.assertNotNull(thread);
+        Assert.assertNull(group.getMember("first"));
+        Assert.assertEquals(2, group.getActiveThreads());
+        thread.start();
+        thread.join();
+        Assert.assertEquals(1, group.getActiveThreads());
+    }
+
+    @Test
+    public void testKeepThreadAttributes() throws InterruptedException {
+        ThreadPoolGroup group = new ThreadPoolGroup("group", 1);
+        ThreadPoolExecutor executor = newExecutor();
+        executor.setThreadFactory(runnable -> {
+            Thread thread = new Thread(runnable, "group-test");
+            thread.setDaemon(true);
+            return thread;
+        });
+        group.join("pool", executor, 1, 0);
+        Thread thread = executor.getThreadFactory().newThread(() -> {
+        });
+        Assert.assertEquals("group-test", thread.getName());
+        Assert.assertTrue(thread.isDaemon());
+        thread.start();
+        // a thread started twice is still returned only once by its worker
+        Assert.assertThrows(IllegalThreadStateException.class, thread::start);
+        thread.join();
+        Assert.assertEquals(0, group.getActiveThreads());
+    }
+
+    @Test
+    public void testLeave() {
+        ThreadPoolGroup group = new ThreadPoolGroup("group", 10);
+        ThreadPoolExecutor executor = newExecutor();
+        ThreadFactory threadFactory = executor.getThreadFactory();
+        group.join("pool", executor, 1, 0);
+        Assert.assertNotSame(threadFactory, executor.getThreadFactory());
+        group.leave("pool");
+        Assert.assertSame(threadFactory, executor.getThreadFactory());
+        Assert.assertNull(group.getMember("pool"));
+        Assert.assertEquals(0, group.getReservedThreads());
+        Assert.assertThrows(IllegalArgumentException.class, () -> group.setBudget(0));
+    }
+
+    @Test
+    public void testRequireGuaranteedThread() {
+        ThreadPoolGroup group = new ThreadPoolGroup("group", 10);
+        ThreadPoolExecutor executor = newExecutor();
+        ThreadFactory threadFactory = executor.getThreadFactory();
+        Assert.assertThrows(IllegalArgumentException.class, () -> group.join("pool", executor, 0, 0));
+        Assert.assertNull(group.getMember("pool"));
+        Assert.assertSame(threadFactory, executor.getThreadFactory());
+
+        // the properties fall back to the default guaranteed threads
+        ExecutorProperties properties = ExecutorProperties.builder()
+                .threadPoolId("zero-min-pool")
+                .poolGroup("zero-min-group")
+                .groupMinThreads(0)
+                .build();
+        ThreadPoolExecutorRegistry.joinGroup("zero-min-pool", executor, properties);
+        ThreadPoolGroup registered = ThreadPoolExecutorRegistry.getGroupOf("zero-min-pool").orElseThrow(AssertionError::new);
+        Assert.assertEquals(ThreadPoolGroup.DEFAULT_MIN_THREADS, registered.getMember("zero-min-pool").getMinThreads());
+        properties.setPoolGroup(null);
+        ThreadPoolExecutorRegistry.joinGroup("zero-min-pool", executor, properties);
+    }
+
+    @Test
+    public void testJoinGroupByProperties() {
+        ThreadPoolExecutor executor = newExecutor();
+        ThreadPoolExecutorRegistry.setGroupBudgets(Collections.singletonMap("registry-group", 8));
+        ExecutorProperties properties = ExecutorProperties.builder()
+                .threadPoolId("registry-pool")
+                .poolGroup("registry-group")
+                .groupMinThreads(2)
+                .groupMaxThreads(4)
+                .build();
+        ThreadPoolExecutorRegistry.joinGroup("registry-pool", executor, properties);
+        ThreadPoolGroup group = ThreadPoolExecutorRegistry.getGroupOf("registry-pool").orElseThrow(AssertionError::new);
+        Assert.assertEquals("registry-group", group.getName());
+        Assert.assertEquals(8, group.getBudget());
+        Assert.assertEquals(2, group.getMember("registry-pool").getMinThreads());
+        Assert.assertEquals(4, group.getMember("registry-pool").getMaxThreads());
+
+        ThreadPoolExecutorRegistry.setGroupBudgets(Collections.singletonMap("registry-group", 16));
+        Assert.assertEquals(16, group.getBudget());
+
+        properties.setPoolGroup(null);
+        ThreadPoolExecutorRegistry.joinGroup("registry-pool", executor, properties);
+        Assert.assertFalse(ThreadPoolExecutorRegistry.getGroupOf("registry-pool").isPresent());
+    }
+
+    private static ThreadPoolExecutor newExecutor() {
+        return new ThreadPoolExecutor(5, 5, 1000L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(100), Executors.defaultThreadFactory());
+    }
+
+    private static void awaitThreads(ThreadPoolGroup.Member member, int threads) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 1000L;
+        while (member.getThreads() != threads && System.currentTimeMillis() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(1L);
+        }
+        Assert.assertEquals(threads, member.getThreads());
+    }
+
+    private static void submitBlockingTasks(ThreadPoolExecutor executor, CountDownLatch latch, int count) {
+        for (int i = 0; i < count; i++) {
+            executor.execute(() -> {
+                try {
+                    latch.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+    }
+}
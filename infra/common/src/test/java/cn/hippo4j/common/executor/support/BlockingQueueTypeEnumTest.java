@@ -78,6 +78,9 @@ public final class BlockingQueueTypeEnumTest {
 
         final String resizableLinkedBlockingQueueName = BlockingQueueTypeEnum.RESIZABLE_LINKED_BLOCKING_QUEUE.getName();
         Assert.assertThrows(IllegalArgumentException.class, () -> BlockingQueueTypeEnum.createBlockingQueue(resizableLinkedBlockingQueueName, -100));
+
+        final String resizableArrayBlockingQueueName = BlockingQueueTypeEnum.RESIZABLE_ARRAY_BLOCKING_QUEUE.getName();
+        Assert.assertThrows(IllegalArgumentException.class, () -> BlockingQueueTypeEnum.createBlockingQueue(resizableArrayBlockingQueueName, -100));
     }
 
     @Test
@@ -96,6 +99,7 @@ public final class BlockingQueueTypeEnumTest {
         Assert.assertNotNull(BlockingQueueTypeEnum.createBlockingQueue(5, null));
         Assert.assertNotNull(BlockingQueueTypeEnum.createBlockingQueue(6, null));
         Assert.assertNotNull(BlockingQueueTypeEnum.createBlockingQueue(9, null));
+        Assert.assertNotNull(BlockingQueueTypeEnum.createBlockingQueue(10, null));
         Assert.assertNotNull(BlockingQueueTypeEnum.createBlockingQueue(100, null));
         Assert.assertNotNull(BlockingQueueTypeEnum.createBlockingQueue(-1, null));
         Assert.assertNotNull(BlockingQueueTypeEnum.createBlockingQueue(0, null));
@@ -111,12 +115,25 @@ public final class BlockingQueueTypeEnumTest {
         Assert.assertEquals("LinkedTransferQueue", BlockingQueueTypeEnum.getBlockingQueueNameByType(5));
         Assert.assertEquals("PriorityBlockingQueue", BlockingQueueTypeEnum.getBlockingQueueNameByType(6));
         Assert.assertEquals("ResizableCapacityLinkedBlockingQueue", BlockingQueueTypeEnum.getBlockingQueueNameByType(9));
+        Assert.assertEquals("ResizableCapacityArrayBlockingQueue", BlockingQueueTypeEnum.getBlockingQueueNameByType(10));
+        Assert.assertEquals("PriorityLaneBlockingQueue", BlockingQueueTypeEnum.getBlockingQueueNameByType(11));
+        Assert.assertEquals("WorkStealingBlockingQueue", BlockingQueueTypeEnum.getBlockingQueueNameByType(12));
         // check illegal range of type
         Assert.assertEquals("", BlockingQueueTypeEnum.getBlockingQueueNameByType(0));
         Assert.assertEquals("", BlockingQueueTypeEnum.getBlockingQueueNameByType(-1));
         Assert.assertEquals("", BlockingQueueTypeEnum.getBlockingQueueNameByType(100));
     }
 
+    @Test
+    public void testIsResizableCapacity() {
+        Assert.assertTrue(BlockingQueueTypeEnum.isResizableCapacity(9));
+        Assert.assertTrue(BlockingQueueTypeEnum.isResizableCapacity(10));
+        Assert.assertTrue(BlockingQueueTypeEnum.isResizableCapacity(11));
+        Assert.assertTrue(BlockingQueueTypeEnum.isResizableCapacity(12));
+        Assert.assertFalse(BlockingQueueTypeEnum.isResizableCapacity(1));
+        Assert.assertFalse(BlockingQueueTypeEnum.isResizableCapacity(null));
+    }
+
     @Test
     public void testAssertGetBlockingQueueTypeEnumByName() {
         // check legal range of name
@@ -127,6 +144,9 @@ public final class BlockingQueueTypeEnumTest {
         Assert.assertEquals(BlockingQueueTypeEnum.LINKED_TRANSFER_QUEUE, BlockingQueueTypeEnum.getBlockingQueueTypeEnumByName("LinkedTransferQueue"));
         Assert.assertEquals(BlockingQueueTypeEnum.PRIORITY_BLOCKING_QUEUE, BlockingQueueTypeEnum.getBlockingQueueTypeEnumByName("PriorityBlockingQueue"));
         Assert.assertEquals(BlockingQueueTypeEnum.RESIZABLE_LINKED_BLOCKING_QUEUE, BlockingQueueTypeEnum.getBlockingQueueTypeEnumByName("ResizableCapacityLinkedBlockingQueue"));
+        Assert.assertEquals(BlockingQueueTypeEnum.RESIZABLE_ARRAY_BLOCKING_QUEUE, BlockingQueueTypeEnum.getBlockingQueueTypeEnumByName("ResizableCapacityArrayBlockingQueue"));
+        Assert.assertEquals(BlockingQueueTypeEnum.PRIORITY_LANE_BLOCKING_QUEUE, BlockingQueueTypeEnum.getBlockingQueueTypeEnumByName("PriorityLaneBlockingQueue"));
+        Assert.assertEquals(BlockingQueueTypeEnum.WORK_STEALING_BLOCKING_QUEUE, BlockingQueueTypeEnum.getBlockingQueueTypeEnumByName("WorkStealingBlockingQueue"));
         // check illegal range of name
         Assert.assertEquals(BlockingQueueTypeEnum.LINKED_BLOCKING_QUEUE, BlockingQueueTypeEnum.getBlockingQueueTypeEnumByName("Hello"));
         Assert.assertEquals(BlockingQueueTypeEnum.LINKED_BLOCKING_QUEUE, BlockingQueueTypeEnum.getBlockingQueueTypeEnumByName(null));
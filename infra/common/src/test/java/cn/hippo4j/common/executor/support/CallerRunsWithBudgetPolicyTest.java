@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.common.executor.support;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CallerRunsWithBudgetPolicyTest {
+
+    @Mock
+    private Runnable runnable;
+
+    @Mock
+    private ThreadPoolExecutor threadPoolExecutor;
+
+    @Test
+    public void testRejectedExecutionWhenExecutorIsShutDown() {
+        CallerRunsWithBudgetPolicy policy = new CallerRunsWithBudgetPolicy(1);
+        when(threadPoolExecutor.isShutdown()).thenReturn(true);
+
+        policy.rejectedExecution(runnable, threadPoolExecutor);
+
+        verify(runnable, never()).run();
+        Assert.assertEquals(0L, policy.getShedCount());
+    }
+
+    @Test
+    public void testRejectedExecutionWithinBudget() {
+        CallerRunsWithBudgetPolicy policy = new CallerRunsWithBudgetPolicy(1);
+        when(threadPoolExecutor.isShutdown()).thenReturn(false);
+
+        policy.rejectedExecution(runnable, threadPoolExecutor);
+        policy.rejectedExecution(runnable, threadPoolExecutor);
+
+        verify(runnable, times(2)).run();
+        Assert.assertEquals(0, policy.getRunningCallers());
+        Assert.assertEquals(0L, policy.getShedCount());
+    }
+
+    @Test
+    public void testRejectedExecutionWhenBudgetIsUsedUp() {
+        CallerRunsWithBudgetPolicy policy = new CallerRunsWithBudgetPolicy(1);
+        when(threadPoolExecutor.isShutdown()).thenReturn(false);
+        AtomicReference<Throwable> nested = new AtomicReference<>();
+        // the caller running a rejected task holds the only budget while the nested task is rejected
+        policy.rejectedExecution(() -> {
+            try {
+                policy.rejectedExecution(runnable, threadPoolExecutor);
+            } catch (Throwable ex) {
+                nested.set(ex);
+            }
+        }, threadPoolExecutor);
+
+        Assert.assertTrue(nested.get() instanceof RejectedExecutionException);
+        verify(runnable, never()).run();
+        Assert.assertEquals(1L, policy.getShedCount());
+        Assert.assertEquals(0, policy.getRunningCallers());
+
+        policy.setBudget(0);
+        Assert.assertThrows(RejectedExecutionException.class, () -> policy.rejectedExecution(runnable, threadPoolExecutor));
+        Assert.assertEquals(2L, policy.getShedCount());
+        Assert.assertThrows(IllegalArgumentException.class, () -> policy.setBudget(-1));
+    }
+}
@@ -0,0 +1,272 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.common.executor.support;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class PriorityLaneBlockingQueueTest {
+
+    @Test
+    public void testConstructWithIllegalArguments() {
+        Assert.assertThrows(IllegalArgumentException.class, () -> new PriorityLaneBlockingQueue<>(0));
+        Assert.assertThrows(IllegalArgumentException.class, () -> new PriorityLaneBlockingQueue<>(1, ""));
+        Assert.assertThrows(IllegalArgumentException.class, () -> new PriorityLaneBlockingQueue<>(1, "4,0,1"));
+        Assert.assertThrows(IllegalArgumentException.class, () -> new PriorityLaneBlockingQueue<>(1, "4,a"));
+        Assert.assertThrows(IllegalArgumentException.class, () -> new PriorityLaneBlockingQueue<>(1, "strict:0"));
+        Assert.assertThrows(IllegalArgumentException.class, () -> new PriorityLaneBlockingQueue<>(1).setCapacity(-1));
+    }
+
+    @Test
+    public void testStrictSelection() {
+        PriorityLaneBlockingQueue<Runnable> queue = new PriorityLaneBlockingQueue<>(16, "strict:3");
+        Runnable low = task(2);
+        Runnable untagged = () -> {
+        };
+        Runnable high = task(0);
+        Runnable middle = task(1);
+        Runnable outOfRange = task(5);
+        queue.offer(low);
+        queue.offer(untagged);
+        queue.offer(high);
+        queue.offer(middle);
+        queue.offer(outOfRange);
+        Assert.assertArrayEquals(new int[]{1, 1, 3}, queue.getLaneSizes());
+        Assert.assertSame(high, queue.peek());
+        Assert.assertSame(high, queue.poll());
+        Assert.assertSame(middle, queue.poll());
+        Assert.assertSame(low, queue.poll());
+        Assert.assertSame(untagged, queue.poll());
+        Assert.assertSame(outOfRange, queue.poll());
+        Assert.assertNull(queue.poll());
+    }
+
+    @Test
+    public void testWeightedSelection() {
+        PriorityLaneBlockingQueue<Runnable> queue = new PriorityLaneBlockingQueue<>(1024, "4,2,1");
+        for (int i = 0; i < 100; i++) {
+            queue.offer(task(0));
+            queue.offer(task(1));
+            queue.offer(task(2));
+        }
+        int[] polled = new int[3];
+        for (int i = 0; i < 70; i++) {
+            polled[((PrioritizedRunnable) queue.poll()).getPriority()]++;
+        }
+        Assert.assertArrayEquals(new int[]{40, 20, 10}, polled);
+        // weights only apply among non-empty lanes
+        queue.clear();
+        queue.offer(task(2));
+        queue.offer(task(2));
+        Assert.assertEquals(2, ((PrioritizedRunnable) queue.poll()).getPriority());
+        Assert.assertEquals(2, ((PrioritizedRunnable) queue.poll()).getPriority());
+    }
+
+    @Test
+    public void testChangeLaneWeights() {
+        PriorityLaneBlockingQueue<Runnable> queue = new PriorityLaneBlockingQueue<>(16);
+        Assert.assertEquals(PriorityLaneBlockingQueue.DEFAULT_LANE_WEIGHTS, queue.getLaneWeights());
+        queue.setLaneWeights("strict:3");
+        Assert.assertEquals("strict:3", queue.getLaneWeights());
+        queue.setLaneWeights(" 1, 1, 1 ");
+        Assert.assertEquals("1,1,1", queue.getLaneWeights());
+        Assert.assertThrows(IllegalArgumentException.class, () -> queue.setLaneWeights("1,1"));
+        Assert.assertThrows(IllegalArgumentException.class, () -> queue.setLaneWeights("strict:2"));
+        Assert.assertEquals("1,1,1", queue.getLaneWeights());
+    }
+
+    @Test
+    public void testCapacity() throws InterruptedException {
+        PriorityLaneBlockingQueue<Runnable> queue = new PriorityLaneBlockingQueue<>(2);
+        Assert.assertTrue(queue.offer(task(0)));
+        Assert.assertTrue(queue.offer(task(2)));
+        Assert.assertFalse(queue.offer(task(1)));
+        Assert.assertFalse(queue.offer(task(1), 10, TimeUnit.MILLISECONDS));
+        Assert.assertEquals(0, queue.remainingCapacity());
+        queue.setCapacity(3);
+        Assert.assertTrue(queue.offer(task(1)));
+        Assert.assertEquals(3, queue.size());
+        queue.setCapacity(1);
+        Assert.assertFalse(queue.offer(task(1)));
+        Assert.assertEquals(0, queue.remainingCapacity());
+    }
+
+    @Test
+    public void testDropExpiredTask() throws InterruptedException {
+        PriorityLaneBlockingQueue<Runnable> queue = new PriorityLaneBlockingQueue<>(16);
+        List<Runnable> expired = new ArrayList<>();
+        queue.setExpiredHandler(expired::add);
+        Runnable stale = PrioritizedRunnable.of(() -> {
+        }, 0, 1, TimeUnit.MILLISECONDS);
+        Runnable fresh = PrioritizedRunnable.of(() -> {
+        }, 0, 1, TimeUnit.MINUTES);
+        queue.offer(stale);
+        queue.offer(fresh);
+        Thread.sleep(5L);
+        Assert.assertSame(fresh, queue.take());
+        Assert.assertEquals(1L, queue.getExpiredCount());
+        Assert.assertEquals(1, expired.size());
+        Assert.assertSame(stale, expired.get(0));
+        queue.offer(PrioritizedRunnable.of(() -> {
+        }, 1, 1, TimeUnit.MILLISECONDS));
+        Thread.sleep(5L);
+        Assert.assertNull(queue.poll(10, TimeUnit.MILLISECONDS));
+        Assert.assertEquals(2L, queue.getExpiredCount());
+    }
+
+    @Test
+    public void testCancelExpiredFuture() throws InterruptedException {
+        PriorityLaneBlockingQueue<Runnable> queue = new PriorityLaneBlockingQueue<>(16);
+        ExpiredFuture future = new ExpiredFuture();
+        queue.offer(future);
+        Assert.assertNull(queue.poll());
+        Assert.assertTrue(future.isCancelled());
+    }
+
+    @Test
+    public void testCancelWrappedExpiredFuture() {
+        PriorityLaneBlockingQueue<Runnable> queue = new PriorityLaneBlockingQueue<>(16);
+        FutureTask<Void> future = new FutureTask<>(() -> {
+        }, null);
+        Runnable decorated = future::run;
+        queue.offer(new PrioritizedTask(PrioritizedRunnable.of(decorated, 0), 0, System.nanoTime() - 1L, future));
+        Assert.assertNull(queue.poll());
+        Assert.assertTrue(future.isCancelled());
+    }
+
+    @Test
+    public void testCancelExpiredFutureWhileWaiting() throws InterruptedException {
+        PriorityLaneBlockingQueue<Runnable> queue = new PriorityLaneBlockingQueue<>(16);
+        Thread taker = new Thread(() -> {
+            try {
+                queue.take();
+            } catch (InterruptedException ignored) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        taker.start();
+        ExpiredFuture future = new ExpiredFuture();
+        queue.offer(future);
+        // the future is cancelled although the taker keeps waiting for the next element
+        long deadline = System.currentTimeMillis() + 5000L;
+        while (!future.isCancelled() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5L);
+        }
+        Assert.assertTrue(future.isCancelled());
+        Assert.assertTrue(taker.isAlive());
+        taker.interrupt();
+        taker.join();
+    }
+
+    @Test
+    public void testRemoveAndIterate() {
+        PriorityLaneBlockingQueue<Runnable> queue = new PriorityLaneBlockingQueue<>(16);
+        Runnable low = task(2);
+        Runnable high = task(0);
+        queue.offer(low);
+        queue.offer(high);
+        List<Runnable> elements = new ArrayList<>(queue);
+        Assert.assertSame(high, elements.get(0));
+        Assert.assertSame(low, elements.get(1));
+        Assert.assertTrue(queue.contains(low));
+        Assert.assertTrue(queue.remove(low));
+        Assert.assertFalse(queue.contains(low));
+        Assert.assertEquals(1, queue.size());
+        List<Runnable> drained = new ArrayList<>();
+        Assert.assertEquals(1, queue.drainTo(drained));
+        Assert.assertSame(high, drained.get(0));
+    }
+
+    @Test
+    public void testPutAndTake() throws InterruptedException {
+        PriorityLaneBlockingQueue<Runnable> queue = new PriorityLaneBlockingQueue<>(1);
+        queue.put(task(1));
+        CountDownLatch putDone = new CountDownLatch(1);
+        Thread producer = new Thread(() -> {
+            try {
+                queue.put(task(0));
+                putDone.countDown();
+            } catch (InterruptedException ignored) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+        Assert.assertFalse(putDone.await(20, TimeUnit.MILLISECONDS));
+        Assert.assertEquals(1, ((PrioritizedRunnable) queue.take()).getPriority());
+        Assert.assertTrue(putDone.await(1, TimeUnit.SECONDS));
+        Assert.assertEquals(0, ((PrioritizedRunnable) queue.take()).getPriority());
+    }
+
+    @Test
+    public void testWorkQueueOfThreadPool() throws InterruptedException {
+        PriorityLaneBlockingQueue<Runnable> queue = new PriorityLaneBlockingQueue<>(16, "strict:3");
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, queue);
+        CountDownLatch blocker = new CountDownLatch(1);
+        executor.execute(() -> {
+            try {
+                blocker.await();
+            } catch (InterruptedException ignored) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        List<Integer> order = new ArrayList<>();
+        AtomicInteger finished = new AtomicInteger();
+        for (int priority : new int[]{2, 1, 0, 2, 0}) {
+            executor.execute(PrioritizedRunnable.of(() -> {
+                order.add(priority);
+                finished.incrementAndGet();
+            }, priority));
+        }
+        blocker.countDown();
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS));
+        Assert.assertEquals(5, finished.get());
+        Assert.assertEquals("[0, 0, 1, 2, 2]", order.toString());
+    }
+
+    private static Runnable task(int priority) {
+        return PrioritizedRunnable.of(() -> {
+        }, priority);
+    }
+
+    private static class ExpiredFuture extends FutureTask<Void> implements PrioritizedRunnable {
+
+        ExpiredFuture() {
+            super(() -> {
+            }, null);
+        }
+
+        @Override
+        public int getPriority() {
+            return 0;
+        }
+
+        @Override
+        public long getDeadlineNanos() {
+            return System.nanoTime() - 1L;
+        }
+    }
+}
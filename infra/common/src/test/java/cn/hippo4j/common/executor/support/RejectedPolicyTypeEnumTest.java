@@ -35,6 +35,7 @@ public class RejectedPolicyTypeEnumTest {
         Assertions.assertEquals(4, RejectedPolicyTypeEnum.DISCARD_OLDEST_POLICY.getType());
         Assertions.assertEquals(5, RejectedPolicyTypeEnum.RUNS_OLDEST_TASK_POLICY.getType());
         Assertions.assertEquals(6, RejectedPolicyTypeEnum.SYNC_PUT_QUEUE_POLICY.getType());
+        Assertions.assertEquals(7, RejectedPolicyTypeEnum.CALLER_RUNS_WITH_BUDGET_POLICY.getType());
     }
 
     @Test
@@ -45,6 +46,7 @@ public class RejectedPolicyTypeEnumTest {
         Assertions.assertEquals("DiscardOldestPolicy", RejectedPolicyTypeEnum.DISCARD_OLDEST_POLICY.getName());
         Assertions.assertEquals("RunsOldestTaskPolicy", RejectedPolicyTypeEnum.RUNS_OLDEST_TASK_POLICY.getName());
         Assertions.assertEquals("SyncPutQueuePolicy", RejectedPolicyTypeEnum.SYNC_PUT_QUEUE_POLICY.getName());
+        Assertions.assertEquals("CallerRunsWithBudgetPolicy", RejectedPolicyTypeEnum.CALLER_RUNS_WITH_BUDGET_POLICY.getName());
     }
 
     @Test
@@ -60,6 +62,7 @@ public class RejectedPolicyTypeEnumTest {
         Assertions.assertEquals(RejectedPolicyTypeEnum.DISCARD_OLDEST_POLICY, RejectedPolicyTypeEnum.valueOf("DISCARD_OLDEST_POLICY"));
         Assertions.assertEquals(RejectedPolicyTypeEnum.RUNS_OLDEST_TASK_POLICY, RejectedPolicyTypeEnum.valueOf("RUNS_OLDEST_TASK_POLICY"));
         Assertions.assertEquals(RejectedPolicyTypeEnum.SYNC_PUT_QUEUE_POLICY, RejectedPolicyTypeEnum.valueOf("SYNC_PUT_QUEUE_POLICY"));
+        Assertions.assertEquals(RejectedPolicyTypeEnum.CALLER_RUNS_WITH_BUDGET_POLICY, RejectedPolicyTypeEnum.valueOf("CALLER_RUNS_WITH_BUDGET_POLICY"));
     }
 
     @Test
@@ -75,6 +78,9 @@ public class RejectedPolicyTypeEnumTest {
         Assertions.assertNotNull(RejectedPolicyTypeEnum.createPolicy("ABC"));
         // check nonexistent type
         Assertions.assertNotNull(RejectedPolicyTypeEnum.createPolicy(-1));
+        // check stateless handler is shared and stateful handler is created for each thread-pool
+        Assertions.assertSame(RejectedPolicyTypeEnum.createPolicy(2), RejectedPolicyTypeEnum.createPolicy(2));
+        Assertions.assertNotSame(RejectedPolicyTypeEnum.createPolicy(7), RejectedPolicyTypeEnum.createPolicy(7));
     }
 
     @Test
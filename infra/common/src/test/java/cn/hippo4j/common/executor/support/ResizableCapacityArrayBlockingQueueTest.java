@@ -0,0 +1,225 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.common.executor.support;
+
+import cn.hippo4j.common.toolkit.ThreadUtil;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+public class ResizableCapacityArrayBlockingQueueTest {
+
+    @Test
+    public void testConstructWithIllegalCapacity() {
+        Assert.assertThrows(IllegalArgumentException.class, () -> new ResizableCapacityArrayBlockingQueue<>(0));
+        Assert.assertThrows(IllegalArgumentException.class, () -> new ResizableCapacityArrayBlockingQueue<>(-1));
+        Assert.assertThrows(IllegalArgumentException.class, () -> new ResizableCapacityArrayBlockingQueue<>(1).setCapacity(-1));
+    }
+
+    @Test
+    public void testRingLengthFor() {
+        Assert.assertEquals(2, ResizableCapacityArrayBlockingQueue.ringLengthFor(1));
+        Assert.assertEquals(2, ResizableCapacityArrayBlockingQueue.ringLengthFor(2));
+        Assert.assertEquals(4, ResizableCapacityArrayBlockingQueue.ringLengthFor(3));
+        Assert.assertEquals(1024, ResizableCapacityArrayBlockingQueue.ringLengthFor(1024));
+        Assert.assertEquals(ResizableCapacityArrayBlockingQueue.MAXIMUM_RING_LENGTH, ResizableCapacityArrayBlockingQueue.ringLengthFor(Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void testOfferAndPoll() {
+        ResizableCapacityArrayBlockingQueue<Integer> queue = new ResizableCapacityArrayBlockingQueue<>(3);
+        Assert.assertTrue(queue.offer(1));
+        Assert.assertTrue(queue.offer(2));
+        Assert.assertTrue(queue.offer(3));
+        Assert.assertFalse(queue.offer(4));
+        Assert.assertEquals(3, queue.size());
+        Assert.assertEquals(0, queue.remainingCapacity());
+        Assert.assertEquals(Integer.valueOf(1), queue.peek());
+        Assert.assertEquals(Integer.valueOf(1), queue.poll());
+        Assert.assertTrue(queue.offer(4));
+        Assert.assertEquals(Integer.valueOf(2), queue.poll());
+        Assert.assertEquals(Integer.valueOf(3), queue.poll());
+        Assert.assertEquals(Integer.valueOf(4), queue.poll());
+        Assert.assertNull(queue.poll());
+        Assert.assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testIncreaseCapacityWithoutLosingElements() {
+        ResizableCapacityArrayBlockingQueue<Integer> queue = new ResizableCapacityArrayBlockingQueue<>(2);
+        queue.offer(0);
+        queue.poll();
+        queue.offer(1);
+        queue.offer(2);
+        Assert.assertFalse(queue.offer(3));
+        queue.setCapacity(10);
+        Assert.assertEquals(8, queue.remainingCapacity());
+        IntStream.range(3, 11).forEach(each -> Assert.assertTrue(queue.offer(each)));
+        Assert.assertFalse(queue.offer(11));
+        Assert.assertEquals(10, queue.size());
+        for (int i = 1; i <= 10; i++) {
+            Assert.assertEquals(Integer.valueOf(i), queue.poll());
+        }
+        Assert.assertNull(queue.poll());
+    }
+
+    @Test
+    public void testDecreaseCapacity() {
+        ResizableCapacityArrayBlockingQueue<Integer> queue = new ResizableCapacityArrayBlockingQueue<>(4);
+        IntStream.range(0, 4).forEach(queue::offer);
+        queue.setCapacity(2);
+        Assert.assertEquals(4, queue.size());
+        Assert.assertEquals(0, queue.remainingCapacity());
+        Assert.assertFalse(queue.offer(4));
+        queue.poll();
+        queue.poll();
+        Assert.assertFalse(queue.offer(4));
+        queue.poll();
+        Assert.assertTrue(queue.offer(4));
+    }
+
+    @Test
+    public void testRemoveAndIterator() {
+        ResizableCapacityArrayBlockingQueue<Integer> queue = new ResizableCapacityArrayBlockingQueue<>(8);
+        IntStream.range(0, 5).forEach(queue::offer);
+        Assert.assertTrue(queue.remove(0));
+        Assert.assertTrue(queue.remove(2));
+        Assert.assertFalse(queue.remove(2));
+        Assert.assertEquals(Integer.valueOf(1), queue.peek());
+        Iterator<Integer> iterator = queue.iterator();
+        Assert.assertEquals(Integer.valueOf(1), iterator.next());
+        iterator.remove();
+        List<Integer> elements = new ArrayList<>();
+        queue.drainTo(elements);
+        Assert.assertEquals(2, elements.size());
+        Assert.assertEquals(Integer.valueOf(3), elements.get(0));
+        Assert.assertEquals(Integer.valueOf(4), elements.get(1));
+        Assert.assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void testBlockingTakeAndPut() throws InterruptedException {
+        ResizableCapacityArrayBlockingQueue<Integer> queue = new ResizableCapacityArrayBlockingQueue<>(1);
+        Assert.assertNull(queue.poll(10L, TimeUnit.MILLISECONDS));
+        Assert.assertTrue(queue.offer(1, 10L, TimeUnit.MILLISECONDS));
+        Assert.assertFalse(queue.offer(2, 10L, TimeUnit.MILLISECONDS));
+        Thread producer = new Thread(() -> {
+            try {
+                queue.put(2);
+            } catch (InterruptedException ignored) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+        ThreadUtil.sleep(50L);
+        Assert.assertEquals(Integer.valueOf(1), queue.take());
+        Assert.assertEquals(Integer.valueOf(2), queue.take());
+        producer.join();
+    }
+
+    @Test
+    public void testConcurrentProducersAndConsumersWhileResizing() throws InterruptedException {
+        int producers = 4;
+        int consumers = 4;
+        int perProducer = 50000;
+        ResizableCapacityArrayBlockingQueue<Long> queue = new ResizableCapacityArrayBlockingQueue<>(4);
+        ExecutorService executor = Executors.newFixedThreadPool(producers + consumers);
+        CountDownLatch finished = new CountDownLatch(producers + consumers);
+        AtomicLong sum = new AtomicLong();
+        AtomicLong count = new AtomicLong();
+        for (int i = 0; i < producers; i++) {
+            executor.execute(() -> {
+                try {
+                    for (long j = 1; j <= perProducer; j++) {
+                        queue.put(j);
+                    }
+                } catch (InterruptedException ignored) {
+                    Thread.currentThread().interrupt();
+                }
+                finished.countDown();
+            });
+        }
+        for (int i = 0; i < consumers; i++) {
+            executor.execute(() -> {
+                try {
+                    while (count.get() < (long) producers * perProducer) {
+                        Long each = queue.poll(1L, TimeUnit.MILLISECONDS);
+                        if (each != null) {
+                            sum.addAndGet(each);
+                            count.incrementAndGet();
+                        }
+                    }
+                } catch (InterruptedException ignored) {
+                    Thread.currentThread().interrupt();
+                }
+                finished.countDown();
+            });
+        }
+        for (int capacity = 8; capacity <= 4096; capacity <<= 1) {
+            queue.setCapacity(capacity);
+            ThreadUtil.sleep(5L);
+        }
+        Assert.assertTrue(finished.await(30L, TimeUnit.SECONDS));
+        executor.shutdown();
+        Assert.assertEquals((long) producers * perProducer, count.get());
+        Assert.assertEquals((long) producers * perProducer * (perProducer + 1) / 2, sum.get());
+        Assert.assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testIncreaseCapacityOfThreadPool() {
+        MyRejectedExecutionHandler myRejectedExecutionHandler = new MyRejectedExecutionHandler();
+        ResizableCapacityArrayBlockingQueue<Runnable> queue = new ResizableCapacityArrayBlockingQueue<>(1);
+        ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(1, 1,
+                60, TimeUnit.SECONDS, queue, myRejectedExecutionHandler);
+        threadPoolExecutor.prestartAllCoreThreads();
+        queue.setCapacity(6);
+        IntStream.range(0, 4).forEach(s -> threadPoolExecutor.execute(() -> ThreadUtil.sleep(10L)));
+        threadPoolExecutor.shutdown();
+        while (!threadPoolExecutor.isTerminated()) {
+        }
+        Assert.assertEquals(4, threadPoolExecutor.getCompletedTaskCount());
+        Assert.assertEquals(0, myRejectedExecutionHandler.getCount());
+    }
+
+    @Test
+    public void testDecreaseCapacityOfThreadPool() {
+        MyRejectedExecutionHandler myRejectedExecutionHandler = new MyRejectedExecutionHandler();
+        ResizableCapacityArrayBlockingQueue<Runnable> queue = new ResizableCapacityArrayBlockingQueue<>(4);
+        ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(1, 1,
+                60, TimeUnit.SECONDS, queue, myRejectedExecutionHandler);
+        threadPoolExecutor.prestartAllCoreThreads();
+        queue.setCapacity(0);
+        IntStream.range(0, 4).forEach(s -> threadPoolExecutor.execute(() -> ThreadUtil.sleep(0L)));
+        threadPoolExecutor.shutdown();
+        while (!threadPoolExecutor.isTerminated()) {
+        }
+        Assert.assertEquals(0, threadPoolExecutor.getCompletedTaskCount());
+        Assert.assertEquals(4, myRejectedExecutionHandler.getCount());
+    }
+}
@@ -44,6 +44,20 @@ public class ResizableCapacityLinkedBlockingQueueTest {
         Assert.assertEquals(1, queue2.remainingCapacity());
     }
 
+    @Test
+    public void testOfferAll() throws InterruptedException {
+        ResizableCapacityLinkedBlockingQueue<Integer> queue = new ResizableCapacityLinkedBlockingQueue<>(5);
+        queue.offer(0);
+        Assert.assertEquals(3, queue.offerAll(Arrays.asList(1, 2, 3)));
+        Assert.assertEquals(1, queue.offerAll(Arrays.asList(4, 5, 6)));
+        Assert.assertEquals(0, queue.offerAll(Arrays.asList(7, 8)));
+        Assert.assertThrows(NullPointerException.class, () -> queue.offerAll(Arrays.asList(9, null)));
+        for (int i = 0; i < 5; i++) {
+            Assert.assertEquals(i, queue.take().intValue());
+        }
+        Assert.assertTrue(queue.isEmpty());
+    }
+
     @Test
     public void testIncreaseResizableCapacityLinkedBlockingQueue() throws InterruptedException {
         MyRejectedExecutionHandler myRejectedExecutionHandler = new MyRejectedExecutionHandler();
@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.common.executor.support;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class WorkStealingBlockingQueueTest {
+
+    @Test
+    public void testConstructWithIllegalArguments() {
+        Assert.assertThrows(IllegalArgumentException.class, () -> new WorkStealingBlockingQueue<>(0));
+        Assert.assertThrows(IllegalArgumentException.class, () -> new WorkStealingBlockingQueue<>(1).setCapacity(0));
+    }
+
+    @Test
+    public void testCapacity() throws InterruptedException {
+        WorkStealingBlockingQueue<Integer> queue = new WorkStealingBlockingQueue<>(2);
+        Assert.assertTrue(queue.offer(1));
+        Assert.assertTrue(queue.offer(2));
+        Assert.assertFalse(queue.offer(3));
+        Assert.assertFalse(queue.offer(3, 10L, TimeUnit.MILLISECONDS));
+        Assert.assertEquals(0, queue.remainingCapacity());
+        queue.setCapacity(3);
+        Assert.assertTrue(queue.offer(3));
+        Assert.assertEquals(3, queue.size());
+        Assert.assertEquals(3, queue.getSubmissionQueueSize());
+        Assert.assertEquals(Integer.valueOf(1), queue.peek());
+        Assert.assertEquals(Integer.valueOf(1), queue.poll());
+        Assert.assertEquals(Integer.valueOf(2), queue.poll());
+        Assert.assertEquals(Integer.valueOf(3), queue.poll());
+        Assert.assertNull(queue.poll());
+        Assert.assertEquals(0L, queue.getStealCount());
+    }
+
+    @Test
+    public void testWorkerOffersToOwnDeque() throws InterruptedException {
+        WorkStealingBlockingQueue<Integer> queue = new WorkStealingBlockingQueue<>(16);
+        Thread worker = new Thread(() -> {
+            try {
+                // register as a worker of the queue
+                queue.poll(1L, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException ignored) {
+            }
+            for (int i = 0; i < 4; i++) {
+                queue.offer(i);
+            }
+            Assert.assertEquals(Integer.valueOf(0), queue.poll());
+        });
+        worker.start();
+        worker.join();
+        Assert.assertEquals(0, queue.getSubmissionQueueSize());
+        Assert.assertEquals(3, queue.size());
+
+        // the deque of a dead worker is still visible until it is empty
+        Assert.assertArrayEquals(new int[]{3}, queue.getWorkerQueueSizes());
+        Assert.assertEquals(Integer.valueOf(3), queue.poll(1L, TimeUnit.MILLISECONDS));
+        Assert.assertEquals(Integer.valueOf(2), queue.take());
+        Assert.assertEquals(Integer.valueOf(1), queue.poll());
+        Assert.assertEquals(3L, queue.getStealCount());
+        Assert.assertArrayEquals(new int[]{0}, queue.getWorkerQueueSizes());
+    }
+
+    @Test
+    public void testIdleWorkersStealForkedTasks() throws InterruptedException {
+        int workers = 4;
+        int forks = 1000;
+        WorkStealingBlockingQueue<Runnable> queue = new WorkStealingBlockingQueue<>(forks * 2);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(workers, workers, 1L, TimeUnit.MINUTES, queue);
+        executor.prestartAllCoreThreads();
+        CountDownLatch latch = new CountDownLatch(forks);
+        AtomicInteger executed = new AtomicInteger();
+        executor.execute(() -> {
+            for (int i = 0; i < forks; i++) {
+                executor.execute(() -> {
+                    executed.incrementAndGet();
+                    latch.countDown();
+                });
+            }
+        });
+        Assert.assertTrue(latch.await(10L, TimeUnit.SECONDS));
+        Assert.assertEquals(forks, executed.get());
+        Assert.assertTrue(queue.getStealCount() > 0L);
+        Assert.assertEquals(workers, queue.getWorkerQueueSizes().length);
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(5L, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testTakeAndPutBlock() throws InterruptedException {
+        WorkStealingBlockingQueue<Integer> queue = new WorkStealingBlockingQueue<>(1);
+        Assert.assertNull(queue.poll(10L, TimeUnit.MILLISECONDS));
+        Thread producer = new Thread(() -> {
+            try {
+                queue.put(1);
+                queue.put(2);
+            } catch (InterruptedException ignored) {
+            }
+        });
+        producer.start();
+        Assert.assertEquals(Integer.valueOf(1), queue.take());
+        Assert.assertEquals(Integer.valueOf(2), queue.take());
+        producer.join(1000L);
+        Assert.assertFalse(producer.isAlive());
+        Assert.assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testRemoveAndDrain() {
+        WorkStealingBlockingQueue<Integer> queue = new WorkStealingBlockingQueue<>(8);
+        for (int i = 0; i < 5; i++) {
+            queue.offer(i);
+        }
+        Assert.assertTrue(queue.contains(2));
+        Assert.assertTrue(queue.remove(2));
+        Assert.assertFalse(queue.remove(2));
+        Assert.assertFalse(queue.contains(2));
+        Iterator<Integer> iterator = queue.iterator();
+        Assert.assertEquals(Integer.valueOf(0), iterator.next());
+        iterator.remove();
+        Assert.assertEquals(3, queue.size());
+        List<Integer> drained = new ArrayList<>();
+        Assert.assertEquals(2, queue.drainTo(drained, 2));
+        Assert.assertEquals(1, queue.drainTo(drained));
+        Assert.assertEquals(3, drained.size());
+        Assert.assertEquals(8, queue.remainingCapacity());
+        Assert.assertEquals(0L, queue.getStealCount());
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.common.monitor;
+
+import cn.hippo4j.common.toolkit.MessageConvert;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * test for {@link RuntimeMessageCodec}
+ */
+public class RuntimeMessageCodecTest {
+
+    @Test
+    public void testRoundTrip() {
+        Message<RuntimeMessage> message = newMessage(50);
+        Message<RuntimeMessage> decoded = RuntimeMessageCodec.decode(RuntimeMessageCodec.encode(message));
+        Assert.assertEquals(MessageTypeEnum.RUNTIME, decoded.getMessageType());
+        Assert.assertEquals(message.getMessages(), decoded.getMessages());
+    }
+
+    @Test
+    public void testNullAndNegativeFields() {
+        RuntimeMessage row = new RuntimeMessage();
+        row.setMessageType(MessageTypeEnum.RUNTIME);
+        row.setGroupKey("tp+item+tenant+127.0.0.1:8080_1");
+        row.setExecuteTimeP50(-1L);
+        row.setRejectCount(Integer.MIN_VALUE);
+        row.setCompletedTaskCount(Long.MAX_VALUE);
+        row.setDelta(Boolean.TRUE);
+        RuntimeMessage message = new RuntimeMessage();
+        message.setMessageType(MessageTypeEnum.RUNTIME);
+        List<Message> rows = new ArrayList<>();
+        rows.add(row);
+        message.setMessages(rows);
+        Message<RuntimeMessage> decoded = RuntimeMessageCodec.decode(RuntimeMessageCodec.encode(message));
+        RuntimeMessage decodedRow = decoded.getMessages().get(0);
+        Assert.assertEquals(row, decodedRow);
+        Assert.assertNull(decodedRow.getPoolSize());
+        Assert.assertNull(decodedRow.getCurrentLoad());
+    }
+
+    @Test
+    public void testSkipUnknownField() {
+        byte[] bytes = RuntimeMessageCodec.encode(newMessage(1));
+        // append an unknown bytes field (id 30) and an unknown varint field (id 31) before the end of row
+        byte[] extended = new byte[bytes.length + 8];
+        System.arraycopy(bytes, 0, extended, 0, bytes.length - 1);
+        int i = bytes.length - 1;
+        int bytesTag = 30 << 3 | RuntimeMessageCodec.WIRE_BYTES;
+        extended[i++] = (byte) (bytesTag | 0x80);
+        extended[i++] = (byte) (bytesTag >>> 7);
+        extended[i++] = 2;
+        extended[i++] = 7;
+        extended[i++] = 7;
+        int varintTag = 31 << 3 | RuntimeMessageCodec.WIRE_VARINT;
+        extended[i++] = (byte) (varintTag | 0x80);
+        extended[i++] = (byte) (varintTag >>> 7);
+        extended[i++] = 1;
+        extended[i] = 0;
+        Message<RuntimeMessage> decoded = RuntimeMessageCodec.decode(extended);
+        Assert.assertEquals(newMessage(1).getMessages(), decoded.getMessages());
+    }
+
+    @Test
+    public void testMalformed() {
+        byte[] bytes = RuntimeMessageCodec.encode(newMessage(3));
+        Assert.assertThrows(IllegalArgumentException.class, () -> RuntimeMessageCodec.decode(Arrays.copyOf(bytes, bytes.length - 5)));
+        bytes[0] = 5;
+        Assert.assertThrows(IllegalArgumentException.class, () -> RuntimeMessageCodec.decode(bytes));
+        bytes[0] = RuntimeMessageCodec.MAGIC;
+        bytes[1] = RuntimeMessageCodec.VERSION + 1;
+        Assert.assertThrows(IllegalArgumentException.class, () -> RuntimeMessageCodec.decode(ByteBuffer.wrap(bytes)));
+    }
+
+    @Test
+    public void testSupports() {
+        Assert.assertTrue(RuntimeMessageCodec.supports(newMessage(1)));
+        RuntimeMessage message = new RuntimeMessage();
+        message.setMessageType(MessageTypeEnum.DEFAULT);
+        List<Message> rows = new ArrayList<>();
+        message.setMessages(rows);
+        Assert.assertFalse(RuntimeMessageCodec.supports(message));
+        Assert.assertFalse(RuntimeMessageCodec.supports(null));
+        Assert.assertThrows(IllegalArgumentException.class, () -> RuntimeMessageCodec.encode(message));
+    }
+
+    @Test
+    public void testSmallerThanJavaSerialization() throws IOException {
+        Message<RuntimeMessage> message = newMessage(100);
+        ByteArrayOutputStream javaBytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(javaBytes)) {
+            out.writeObject(MessageConvert.convert(message));
+        }
+        int binarySize = RuntimeMessageCodec.encode(message).length;
+        Assert.assertTrue(binarySize * 4 < javaBytes.size());
+    }
+
+    /**
+     * Create a report like the one of a client with {@code size} thread-pools.
+     */
+    @SuppressWarnings("unchecked")
+    public static Message<RuntimeMessage> newMessage(int size) {
+        List<Message> rows = new ArrayList<>(size);
+        long timestamp = 1700000000000L;
+        for (int i = 0; i < size; i++) {
+            RuntimeMessage row = new RuntimeMessage();
+            row.setMessageType(MessageTypeEnum.RUNTIME);
+            row.setGroupKey("message-consume-" + i + "+dynamic-threadpool-example+prescription+192.168.1.10:8088_7f3a");
+            row.setCurrentLoad(String.valueOf(i % 3));
+            row.setPeakLoad(String.valueOf(i % 5 * 10));
+            row.setPoolSize(5 + i % 3);
+            row.setLargestPoolSize(10);
+            row.setActiveSize(String.valueOf(i % 3));
+            row.setQueueCapacity(1024);
+            row.setQueueSize(i % 7);
+            row.setQueueRemainingCapacity(String.valueOf(1024 - i % 7));
+            row.setCompletedTaskCount(123456L + i);
+            row.setRejectCount(0);
+            row.setExecuteTimeP50(120L);
+            row.setExecuteTimeP90(800L);
+            row.setExecuteTimeP99(3000L);
+            row.setExecuteTimeP999(5000L);
+            row.setExecuteTimeMax(10000L);
+            row.setQueueWaitTimeP50(10L);
+            row.setQueueWaitTimeP90(40L);
+            row.setQueueWaitTimeP99(90L);
+            row.setQueueWaitTimeP999(100L);
+            row.setQueueWaitTimeMax(200L);
+            row.setTimestamp(timestamp);
+            rows.add(row);
+        }
+        RuntimeMessage message = new RuntimeMessage();
+        message.setMessageType(MessageTypeEnum.RUNTIME);
+        message.setMessages(rows);
+        return message;
+    }
+}
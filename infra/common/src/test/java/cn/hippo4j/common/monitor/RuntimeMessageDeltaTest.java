@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.common.monitor;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * test for {@link RuntimeMessageDelta}
+ */
+public class RuntimeMessageDeltaTest {
+
+    private static final String GROUP_KEY = "tp+item+tenant+127.0.0.1:8080_1";
+
+    @Test
+    public void testFullRow() {
+        long[] values = newValues(5, 100L);
+        RuntimeMessage row = RuntimeMessageDelta.diff(GROUP_KEY, 1L, values, null);
+        Assert.assertNull(row.getDelta());
+        Assert.assertEquals(GROUP_KEY, row.getGroupKey());
+        Assert.assertEquals(Long.valueOf(1L), row.getTimestamp());
+        Assert.assertEquals(Integer.valueOf(5), row.getPoolSize());
+        Assert.assertEquals("50", row.getCurrentLoad());
+        Assert.assertEquals(Long.valueOf(100L), row.getCompletedTaskCount());
+        Assert.assertNull(row.getExecuteTimeP99());
+    }
+
+    @Test
+    public void testDiffAndMerge() {
+        long[] previous = newValues(5, 100L);
+        long[] values = newValues(5, 120L);
+        RuntimeMessage base = RuntimeMessageDelta.diff(GROUP_KEY, 1L, previous, null);
+        RuntimeMessage delta = RuntimeMessageDelta.diff(GROUP_KEY, 2L, values, previous);
+        Assert.assertTrue(delta.getDelta());
+        Assert.assertNull(delta.getPoolSize());
+        Assert.assertNull(delta.getCurrentLoad());
+        Assert.assertEquals(Long.valueOf(120L), delta.getCompletedTaskCount());
+
+        RuntimeMessage merged = RuntimeMessageDelta.merge(base, delta);
+        Assert.assertEquals(RuntimeMessageDelta.diff(GROUP_KEY, 2L, values, null), merged);
+        Assert.assertEquals(Long.valueOf(100L), base.getCompletedTaskCount());
+    }
+
+    @Test
+    public void testFieldChangedToAbsent() {
+        long[] previous = newValues(5, 100L);
+        previous[RuntimeMessageDelta.Field.EXECUTE_TIME_P99.ordinal()] = 2000L;
+        long[] values = newValues(5, 100L);
+        RuntimeMessage base = RuntimeMessageDelta.diff(GROUP_KEY, 1L, previous, null);
+        RuntimeMessage delta = RuntimeMessageDelta.diff(GROUP_KEY, 2L, values, previous);
+        Assert.assertEquals(Long.valueOf(RuntimeMessageDelta.Field.EXECUTE_TIME_P99.mask()), delta.getAbsentFields());
+        Assert.assertNull(delta.getExecuteTimeP99());
+
+        RuntimeMessage merged = RuntimeMessageDelta.merge(base, delta);
+        Assert.assertNull(merged.getExecuteTimeP99());
+        Assert.assertNull(merged.getAbsentFields());
+        Assert.assertEquals(RuntimeMessageDelta.diff(GROUP_KEY, 2L, values, null), merged);
+        Assert.assertEquals(Long.valueOf(2000L), base.getExecuteTimeP99());
+
+        // unchanged absent fields are not marked again
+        Assert.assertNull(RuntimeMessageDelta.diff(GROUP_KEY, 3L, values, values).getAbsentFields());
+    }
+
+    private static long[] newValues(int poolSize, long completedTaskCount) {
+        long[] values = RuntimeMessageDelta.newValues();
+        values[RuntimeMessageDelta.Field.POOL_SIZE.ordinal()] = poolSize;
+        values[RuntimeMessageDelta.Field.CURRENT_LOAD.ordinal()] = 50;
+        values[RuntimeMessageDelta.Field.COMPLETED_TASK_COUNT.ordinal()] = completedTaskCount;
+        return values;
+    }
+}
@@ -17,6 +17,8 @@
 
 package cn.hippo4j.common.toolkit;
 
+import cn.hippo4j.common.model.ThreadPoolRunStateInfo;
+import cn.hippo4j.common.monitor.RuntimeMessage;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -27,6 +29,7 @@ import org.junit.Test;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -110,6 +113,67 @@ public class BeanUtilTest {
         BeanUtil.convert(map, Person.class);
     }
 
+    @Test
+    public void copierConvertTest() {
+        ThreadPoolRunStateInfo runStateInfo = ThreadPoolRunStateInfo.builder()
+                .tpId("message-consume")
+                .currentLoad("10")
+                .peakLoad("20")
+                .poolSize(5)
+                .activeSize(3)
+                .queueRemainingCapacity(1020)
+                .completedTaskCount(100L)
+                .rejectCount(2L)
+                .executeTimeP99(3000L)
+                .timestamp(System.currentTimeMillis())
+                .build();
+        runStateInfo.setQueueCapacity(1024);
+        Assert.assertNotNull(BeanCopier.of(ThreadPoolRunStateInfo.class, RuntimeMessage.class));
+        RuntimeMessage expected = BeanUtil.BEAN_MAPPER_BUILDER.map(runStateInfo, RuntimeMessage.class);
+        RuntimeMessage actual = BeanUtil.convert(runStateInfo, RuntimeMessage.class);
+        Assert.assertEquals(expected, actual);
+        Assert.assertEquals("3", actual.getActiveSize());
+        Assert.assertEquals(Integer.valueOf(2), actual.getRejectCount());
+        Assert.assertEquals(Integer.valueOf(1024), actual.getQueueCapacity());
+    }
+
+    @Test
+    public void copierInPlaceTest() {
+        Person person = Person.builder().name("one").age(1).build();
+        PersonVo personVo = new PersonVo();
+        personVo.setAge(9);
+        personVo.setName("nine");
+        Assert.assertSame(personVo, BeanUtil.convert(person, personVo));
+        Assert.assertEquals("one", personVo.name);
+        Assert.assertEquals(1, personVo.age);
+        // null is written to the wrapper, but not to the primitive
+        Person target = Person.builder().name("two").age(2).size(2).build();
+        BeanUtil.convert(new PersonBox(), target);
+        Assert.assertNull(target.getName());
+        Assert.assertNull(target.getSize());
+        Assert.assertEquals(2, target.getAge());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void copierOverflowTest() {
+        ThreadPoolRunStateInfo runStateInfo = new ThreadPoolRunStateInfo();
+        runStateInfo.setRejectCount(Long.MAX_VALUE);
+        BeanUtil.convert(runStateInfo, RuntimeMessage.class);
+    }
+
+    @Test
+    public void copierUnsupportedTest() {
+        Assert.assertNull(BeanCopier.of(Person.class, Map.class));
+        Assert.assertNull(BeanCopier.of(Person.class, Customer.class));
+        Assert.assertNull(BeanCopier.of(DateHolder.class, DateHolder.class));
+        // dozer makes a copy of date
+        DateHolder holder = new DateHolder();
+        holder.setDate(new Date());
+        DateHolder copy = BeanUtil.convert(holder, DateHolder.class);
+        Assert.assertEquals(holder.getDate(), copy.getDate());
+        Assert.assertNotSame(holder.getDate(), copy.getDate());
+    }
+
     // -----------------------------------------------------------------------------------------------------------------
 
     @Test
@@ -156,6 +220,22 @@ public class BeanUtilTest {
         private int age;
     }
 
+    @Getter
+    @Setter
+    public static class PersonBox {
+
+        private String name;
+        private Integer age;
+        private Integer size;
+    }
+
+    @Getter
+    @Setter
+    public static class DateHolder {
+
+        private Date date;
+    }
+
     @Getter
     @Setter
     static class Customer {
@@ -143,10 +143,41 @@ public class ReflectUtilTest {
         Assert.assertEquals(invoke, "privateField");
     }
 
+    @Test
+    public void invokeByNameTest() {
+        TestClass testClass = new TestClass();
+        // resolved at the first time and cached after
+        for (int i = 0; i < 2; i++) {
+            Assert.assertNull(ReflectUtil.invoke(testClass, "setPrivateField", "value" + i));
+            Assert.assertEquals("value" + i, ReflectUtil.invoke(testClass, "getPrivateField"));
+        }
+        Assert.assertEquals("a-b", ReflectUtil.invoke(testClass, "join", "a", "b"));
+        Assert.assertEquals("static", ReflectUtil.invoke(testClass, "staticMethod"));
+        try {
+            ReflectUtil.invoke(testClass, "notExists");
+            Assert.fail();
+        } catch (RuntimeException e) {
+            Assert.assertTrue(e.getMessage().contains("notExists"));
+        }
+    }
+
+    @Test
+    public void getCachedFieldValueTest() {
+        TestClass testClass = new TestClass();
+        Assert.assertEquals("privateField", ReflectUtil.getFieldValue(testClass, "privateField"));
+        testClass.setPrivateField("changed");
+        Assert.assertEquals("changed", ReflectUtil.getFieldValue(testClass, "privateField"));
+        Assert.assertNull(ReflectUtil.getFieldValue(testClass, "notExists"));
+        Assert.assertEquals("static", ReflectUtil.getFieldValue(TestClass.class, "STATIC_FIELD"));
+        Assert.assertEquals("static", ReflectUtil.getFieldValue(testClass, "STATIC_FIELD"));
+    }
+
     @Getter
     @Setter
     static class TestClass {
 
+        private static final String STATIC_FIELD = "static";
+
         private String privateField;
         protected String field;
 
@@ -154,6 +185,14 @@ public class ReflectUtilTest {
             this.privateField = "privateField";
             this.field = "field";
         }
+
+        private String join(String first, String second) {
+            return first + "-" + second;
+        }
+
+        static String staticMethod() {
+            return STATIC_FIELD;
+        }
     }
 
     class TestSubClass extends TestClass {
@@ -176,6 +176,14 @@ public class HttpUtilsTest {
         Assert.assertEquals(url + PORT + suffix, s);
     }
 
+    @Test
+    public void buildUrlWithQuery() {
+        Map<String, String> map = new HashMap<>();
+        map.put(username, usernameValue);
+        String s = HttpUtil.buildUrl(url + PORT + "?" + password + "=" + passwordValue, map);
+        Assert.assertEquals(url + PORT + suffix, s);
+    }
+
     @Getter
     @Setter
     protected static class LoginInfo {
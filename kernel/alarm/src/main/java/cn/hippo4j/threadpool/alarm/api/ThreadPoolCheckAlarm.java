@@ -63,6 +63,15 @@ public interface ThreadPoolCheckAlarm {
      */
     void checkPoolActivityAlarm(String threadPoolId, ThreadPoolExecutor threadPoolExecutor);
 
+    /**
+     * Check pool queue wait alarm.
+     *
+     * @param threadPoolId       thread-pool id
+     * @param threadPoolExecutor thread-pool executor
+     */
+    default void checkPoolQueueWaitAlarm(String threadPoolId, ThreadPoolExecutor threadPoolExecutor) {
+    }
+
     /**
      * Async send rejected alarm.
      *
@@ -74,8 +83,8 @@ public interface ThreadPoolCheckAlarm {
      * Async send execute time-out alarm.
      *
      * @param threadPoolId       thread-pool id
-     * @param executeTime        execute time
-     * @param executeTimeOut     execute time-out
+     * @param executeTime        execute time in nanoseconds
+     * @param executeTimeOut     execute time-out in nanoseconds
      * @param threadPoolExecutor thread-pool executor
      */
     void asyncSendExecuteTimeOutAlarm(String threadPoolId, long executeTime, long executeTimeOut, ThreadPoolExecutor threadPoolExecutor);
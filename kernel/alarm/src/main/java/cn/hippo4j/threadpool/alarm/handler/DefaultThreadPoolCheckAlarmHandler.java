@@ -19,8 +19,8 @@ package cn.hippo4j.threadpool.alarm.handler;
 
 import cn.hippo4j.common.executor.ThreadPoolExecutorHolder;
 import cn.hippo4j.common.executor.ThreadPoolExecutorRegistry;
+import cn.hippo4j.common.executor.ThreadPoolMetrics;
 import cn.hippo4j.common.toolkit.CalculateUtil;
-import cn.hippo4j.common.toolkit.ReflectUtil;
 import cn.hippo4j.common.toolkit.StringUtil;
 import cn.hippo4j.threadpool.alarm.api.ThreadPoolCheckAlarm;
 import cn.hippo4j.threadpool.alarm.toolkit.ExecutorTraceContextUtil;
@@ -45,6 +45,8 @@ import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import static cn.hippo4j.common.constant.Constants.NO_QUEUE_WAIT_TIME;
+import static cn.hippo4j.common.constant.Constants.NO_REJECT_COUNT_NUM;
 import static cn.hippo4j.common.propertie.EnvironmentProperties.active;
 import static cn.hippo4j.common.propertie.EnvironmentProperties.applicationName;
 import static cn.hippo4j.common.propertie.EnvironmentProperties.checkStateInterval;
@@ -98,6 +100,7 @@ public class DefaultThreadPoolCheckAlarmHandler implements Runnable, ThreadPoolC
                 ThreadPoolExecutor executor = executorHolder.getExecutor();
                 checkPoolCapacityAlarm(threadPoolId, executor);
                 checkPoolActivityAlarm(threadPoolId, executor);
+                checkPoolQueueWaitAlarm(threadPoolId, executor);
             }
         });
     }
@@ -149,6 +152,35 @@ public class DefaultThreadPoolCheckAlarmHandler implements Runnable, ThreadPoolC
         }
     }
 
+    /**
+     * Check thread pool queue wait alarm.
+     *
+     * @param threadPoolId       thread-pool id
+     * @param threadPoolExecutor thread-pool executor
+     */
+    @Override
+    public void checkPoolQueueWaitAlarm(String threadPoolId, ThreadPoolExecutor threadPoolExecutor) {
+        ThreadPoolNotifyAlarm alarmConfig = GlobalNotifyAlarmManage.get(threadPoolId);
+        if (Objects.isNull(alarmConfig) || !alarmConfig.getAlarm() || alarmConfig.getQueueWaitAlarm() == null || alarmConfig.getQueueWaitAlarm() <= 0) {
+            return;
+        }
+        if (!(threadPoolExecutor instanceof ThreadPoolMetrics)) {
+            return;
+        }
+        long queueWaitTimeP99 = ((ThreadPoolMetrics) threadPoolExecutor).getQueueWaitTimeP99();
+        if (queueWaitTimeP99 == NO_QUEUE_WAIT_TIME) {
+            return;
+        }
+        long queueWaitTimeMillis = TimeUnit.NANOSECONDS.toMillis(queueWaitTimeP99);
+        if (queueWaitTimeMillis > alarmConfig.getQueueWaitAlarm()) {
+            AlarmNotifyRequest alarmNotifyRequest = buildAlarmNotifyRequest(threadPoolExecutor);
+            alarmNotifyRequest.setThreadPoolId(threadPoolId);
+            alarmNotifyRequest.setQueueWaitTime(queueWaitTimeMillis);
+            alarmNotifyRequest.setQueueWaitAlarm(alarmConfig.getQueueWaitAlarm());
+            threadPoolSendMessageService.sendAlarmMessage(NotifyTypeEnum.QUEUE_WAIT, alarmNotifyRequest);
+        }
+    }
+
     /**
      * Async send rejected alarm.
      *
@@ -162,7 +194,7 @@ public class DefaultThreadPoolCheckAlarmHandler implements Runnable, ThreadPoolC
                 return;
             }
             ThreadPoolExecutor threadPoolExecutor = ThreadPoolExecutorRegistry.getHolder(threadPoolId).getExecutor();
-            if (Objects.equals(threadPoolExecutor.getClass().getName(), "cn.hippo4j.core.executor.DynamicThreadPoolExecutor")) {
+            if (threadPoolExecutor instanceof ThreadPoolMetrics) {
                 AlarmNotifyRequest alarmNotifyRequest = buildAlarmNotifyRequest(threadPoolExecutor);
                 alarmNotifyRequest.setThreadPoolId(threadPoolId);
                 threadPoolSendMessageService.sendAlarmMessage(NotifyTypeEnum.REJECT, alarmNotifyRequest);
@@ -175,8 +207,8 @@ public class DefaultThreadPoolCheckAlarmHandler implements Runnable, ThreadPoolC
      * Async send execute time out alarm.
      *
      * @param threadPoolId       thread-pool id
-     * @param executeTime        execute time
-     * @param executeTimeOut     execute time-out
+     * @param executeTime        execute time in nanoseconds
+     * @param executeTimeOut     execute time-out in nanoseconds
      * @param threadPoolExecutor thread-pool executor
      */
     @Override
@@ -210,13 +242,7 @@ public class DefaultThreadPoolCheckAlarmHandler implements Runnable, ThreadPoolC
     public AlarmNotifyRequest buildAlarmNotifyRequest(ThreadPoolExecutor threadPoolExecutor) {
         BlockingQueue<Runnable> blockingQueue = threadPoolExecutor.getQueue();
         RejectedExecutionHandler rejectedExecutionHandler = threadPoolExecutor.getRejectedExecutionHandler();
-        long rejectCount = -1L;
-        if (Objects.equals(threadPoolExecutor.getClass().getName(), "cn.hippo4j.core.executor.DynamicThreadPoolExecutor")) {
-            Object actualRejectCountNum = ReflectUtil.invoke(threadPoolExecutor, "getRejectCountNum");
-            if (actualRejectCountNum != null) {
-                rejectCount = (long) actualRejectCountNum;
-            }
-        }
+        long rejectCount = threadPoolExecutor instanceof ThreadPoolMetrics ? ((ThreadPoolMetrics) threadPoolExecutor).getRejectedTaskCount() : NO_REJECT_COUNT_NUM;
         return AlarmNotifyRequest.builder()
                 .appName(StringUtil.isBlank(itemId) ? applicationName : itemId)
                 .active(active.toUpperCase())
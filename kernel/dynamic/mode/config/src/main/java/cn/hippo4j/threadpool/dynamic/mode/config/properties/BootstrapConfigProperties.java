@@ -103,6 +103,11 @@ public class BootstrapConfigProperties implements BootstrapPropertiesInterface {
      */
     private List<ExecutorProperties> executors;
 
+    /**
+     * Budgets of threads of thread-pool groups, the key is group name.
+     */
+    private Map<String, Integer> poolGroups;
+
     /**
      * Tripartite framework thread pool adaptation set.
      */
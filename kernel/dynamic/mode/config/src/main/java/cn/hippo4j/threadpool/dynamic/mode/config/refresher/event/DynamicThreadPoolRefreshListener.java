@@ -19,9 +19,9 @@ package cn.hippo4j.threadpool.dynamic.mode.config.refresher.event;
 
 import cn.hippo4j.common.executor.ThreadPoolExecutorHolder;
 import cn.hippo4j.common.executor.ThreadPoolExecutorRegistry;
-import cn.hippo4j.common.executor.support.BlockingQueueTypeEnum;
+import cn.hippo4j.common.executor.support.PriorityLaneBlockingQueue;
 import cn.hippo4j.common.executor.support.RejectedPolicyTypeEnum;
-import cn.hippo4j.common.executor.support.ResizableCapacityLinkedBlockingQueue;
+import cn.hippo4j.common.executor.support.ResizableCapacityQueue;
 import cn.hippo4j.common.extension.design.Observer;
 import cn.hippo4j.common.extension.design.ObserverMessage;
 import cn.hippo4j.common.model.executor.ExecutorProperties;
@@ -52,11 +52,21 @@ public class DynamicThreadPoolRefreshListener implements Observer<BootstrapConfi
     public void accept(ObserverMessage<BootstrapConfigProperties> observerMessage) {
         BootstrapConfigProperties bindableConfigProperties = observerMessage.message();
         List<ExecutorProperties> executors = bindableConfigProperties.getExecutors();
+        ThreadPoolExecutorRegistry.setGroupBudgets(bindableConfigProperties.getPoolGroups());
         for (ExecutorProperties properties : executors) {
             String threadPoolId = properties.getThreadPoolId();
             // Check whether the thread pool configuration is empty and whether the parameters have changed
             ThreadPoolExecutorHolder executorHolder = ThreadPoolExecutorRegistry.getHolder(threadPoolId);
-            if (executorHolder.isEmpty() || !checkPropertiesConsistency(executorHolder, properties)) {
+            if (executorHolder.isEmpty()) {
+                continue;
+            }
+            // the thread-pool group membership is declared by the properties
+            try {
+                ThreadPoolExecutorRegistry.joinGroup(threadPoolId, executorHolder.getExecutor(), properties);
+            } catch (IllegalArgumentException ex) {
+                LOGGER.warn("The thread pool group cannot be modified. {}", ex.getMessage());
+            }
+            if (!checkPropertiesConsistency(executorHolder, properties)) {
                 continue;
             }
             dynamicRefreshThreadPool(executorHolder, properties);
@@ -82,7 +92,10 @@ public class DynamicThreadPoolRefreshListener implements Observer<BootstrapConfi
                 || (properties.getRejectedHandler() != null && !Objects.equals(beforeProperties.getRejectedHandler(), properties.getRejectedHandler()))
                 ||
                 ((properties.getQueueCapacity() != null && !Objects.equals(beforeProperties.getQueueCapacity(), properties.getQueueCapacity())
-                        && Objects.equals(BlockingQueueTypeEnum.RESIZABLE_LINKED_BLOCKING_QUEUE.getName(), executor.getQueue().getClass().getSimpleName())));
+                        && executor.getQueue() instanceof ResizableCapacityQueue))
+                ||
+                ((properties.getQueueLaneWeights() != null && !Objects.equals(beforeProperties.getQueueLaneWeights(), properties.getQueueLaneWeights())
+                        && executor.getQueue() instanceof PriorityLaneBlockingQueue));
         return result;
     }
 
@@ -122,12 +135,16 @@ public class DynamicThreadPoolRefreshListener implements Observer<BootstrapConfi
             executor.setKeepAliveTime(properties.getKeepAliveTime(), TimeUnit.SECONDS);
         }
         if (properties.getQueueCapacity() != null && !Objects.equals(beforeProperties.getQueueCapacity(), properties.getQueueCapacity())
-                && Objects.equals(BlockingQueueTypeEnum.RESIZABLE_LINKED_BLOCKING_QUEUE.getName(), executor.getQueue().getClass().getSimpleName())) {
-            if (executor.getQueue() instanceof ResizableCapacityLinkedBlockingQueue) {
-                ResizableCapacityLinkedBlockingQueue<?> queue = (ResizableCapacityLinkedBlockingQueue<?>) executor.getQueue();
-                queue.setCapacity(properties.getQueueCapacity());
-            } else {
-                LOGGER.warn("The queue length cannot be modified. Queue type mismatch. Current queue type: {}", executor.getQueue().getClass().getSimpleName());
+                && executor.getQueue() instanceof ResizableCapacityQueue) {
+            ResizableCapacityQueue queue = (ResizableCapacityQueue) executor.getQueue();
+            queue.setCapacity(properties.getQueueCapacity());
+        }
+        if (properties.getQueueLaneWeights() != null && !Objects.equals(beforeProperties.getQueueLaneWeights(), properties.getQueueLaneWeights())
+                && executor.getQueue() instanceof PriorityLaneBlockingQueue) {
+            try {
+                ((PriorityLaneBlockingQueue<?>) executor.getQueue()).setLaneWeights(properties.getQueueLaneWeights());
+            } catch (IllegalArgumentException ex) {
+                LOGGER.warn("The queue lane weights cannot be modified. {}", ex.getMessage());
             }
         }
     }
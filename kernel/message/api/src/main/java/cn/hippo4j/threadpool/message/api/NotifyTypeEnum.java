@@ -45,5 +45,10 @@ public enum NotifyTypeEnum {
     /**
      * TIMEOUT
      */
-    TIMEOUT
+    TIMEOUT,
+
+    /**
+     * QUEUE_WAIT
+     */
+    QUEUE_WAIT
 }
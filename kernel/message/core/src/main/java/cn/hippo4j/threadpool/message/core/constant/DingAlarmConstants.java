@@ -50,4 +50,12 @@ public class DingAlarmConstants {
                     + "<font color=#708090 size=2>超时时间：%d / ms</font> \n\n "
                     + DING_ALARM_TIMEOUT_TRACE_REPLACE_TXT
                     + " --- \n\n ";
+
+    /**
+     * Replace queue wait template
+     */
+    public static final String DING_ALARM_QUEUE_WAIT_REPLACE_TXT =
+            "<font color=#708090 size=2>队列等待时间 P99：%d / ms </font> \n\n "
+                    + "<font color=#708090 size=2>告警阈值：%d / ms</font> \n\n "
+                    + " --- \n\n ";
 }
@@ -39,4 +39,11 @@ public class WeChatAlarmConstants {
             "\n> 任务执行时间：%s / ms \n"
                     + "> 超时时间：%s / ms "
                     + WE_CHAT_ALARM_TIMOUT_TRACE_REPLACE_TXT;
+
+    /**
+     * Replace queue wait template
+     */
+    public static final String WE_CHAT_ALARM_QUEUE_WAIT_REPLACE_TXT =
+            "\n> 队列等待时间 P99：%s / ms \n"
+                    + "> 告警阈值：%s / ms ";
 }
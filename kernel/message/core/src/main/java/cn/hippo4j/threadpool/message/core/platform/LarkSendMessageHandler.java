@@ -44,6 +44,7 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
@@ -77,8 +78,14 @@ public class LarkSendMessageHandler implements SendMessageHandler {
             } else {
                 larkAlarmTimeoutReplaceTxt = StringUtil.replace(larkAlarmTimeoutReplaceJson, larkAlarmTimoutTraceReplaceJson, "");
             }
-            larkAlarmTimeoutReplaceTxt = String.format(larkAlarmTimeoutReplaceTxt, alarmNotifyRequest.getExecuteTime(), alarmNotifyRequest.getExecuteTimeOut());
+            larkAlarmTimeoutReplaceTxt = String.format(larkAlarmTimeoutReplaceTxt, TimeUnit.NANOSECONDS.toMillis(alarmNotifyRequest.getExecuteTime()),
+                    TimeUnit.NANOSECONDS.toMillis(alarmNotifyRequest.getExecuteTimeOut()));
             larkAlarmTxt = StringUtil.replace(larkAlarmTxt, larkAlarmTimeoutReplaceJson, larkAlarmTimeoutReplaceTxt);
+        } else if (Objects.equals(alarmNotifyRequest.getNotifyTypeEnum(), NotifyTypeEnum.QUEUE_WAIT)) {
+            String larkAlarmQueueWaitReplaceJsonKey = "message/robot/dynamic-thread-pool/lark-alarm-queue-wait-replace.json";
+            String larkAlarmQueueWaitReplaceJson = Singleton.get(larkAlarmQueueWaitReplaceJsonKey, () -> readUtf8String(larkAlarmQueueWaitReplaceJsonKey));
+            String larkAlarmQueueWaitReplaceTxt = String.format(larkAlarmQueueWaitReplaceJson, alarmNotifyRequest.getQueueWaitTime(), alarmNotifyRequest.getQueueWaitAlarm());
+            larkAlarmTxt = StringUtil.replace(larkAlarmTxt, larkAlarmTimeoutReplaceJson, larkAlarmQueueWaitReplaceTxt);
         } else {
             larkAlarmTxt = StringUtil.replace(larkAlarmTxt, larkAlarmTimeoutReplaceJson, "");
         }
@@ -50,6 +50,7 @@ public class WeChatSendMessageHandler extends AbstractRobotSendMessageHandler {
                 .changeSeparator("  ➲  ")
                 .replaceTxt(WeChatAlarmConstants.WE_CHAT_ALARM_TIMOUT_REPLACE_TXT)
                 .traceReplaceTxt(WeChatAlarmConstants.WE_CHAT_ALARM_TIMOUT_TRACE_REPLACE_TXT)
+                .queueWaitReplaceTxt(WeChatAlarmConstants.WE_CHAT_ALARM_QUEUE_WAIT_REPLACE_TXT)
                 .alarmMessageContent(Singleton.get(weChatAlarmTxtKey, () -> readUtf8String(weChatAlarmTxtKey)))
                 .configMessageContent(Singleton.get(weChatConfigTxtKey, () -> readUtf8String(weChatConfigTxtKey)))
                 .build();
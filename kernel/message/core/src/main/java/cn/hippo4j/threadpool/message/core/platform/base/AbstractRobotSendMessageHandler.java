@@ -28,6 +28,7 @@ import cn.hippo4j.threadpool.message.core.service.SendMessageHandler;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Abstract robot send message handler.
@@ -68,7 +69,11 @@ public abstract class AbstractRobotSendMessageHandler implements SendMessageHand
             } else {
                 alarmTimoutReplaceTxt = StringUtil.replace(replaceTxt, traceReplaceTxt, "");
             }
-            replaceTxt = String.format(alarmTimoutReplaceTxt, alarmNotifyRequest.getExecuteTime(), alarmNotifyRequest.getExecuteTimeOut());
+            replaceTxt = String.format(alarmTimoutReplaceTxt, TimeUnit.NANOSECONDS.toMillis(alarmNotifyRequest.getExecuteTime()),
+                    TimeUnit.NANOSECONDS.toMillis(alarmNotifyRequest.getExecuteTimeOut()));
+        } else if (Objects.equals(alarmNotifyRequest.getNotifyTypeEnum(), NotifyTypeEnum.QUEUE_WAIT)
+                && StringUtil.isNotBlank(robotMessageActualContent.getQueueWaitReplaceTxt())) {
+            replaceTxt = String.format(robotMessageActualContent.getQueueWaitReplaceTxt(), alarmNotifyRequest.getQueueWaitTime(), alarmNotifyRequest.getQueueWaitAlarm());
         } else {
             replaceTxt = "";
         }
@@ -51,6 +51,11 @@ public class RobotMessageActualContent {
      */
     private String traceReplaceTxt;
 
+    /**
+     * Queue wait replace txt
+     */
+    private String queueWaitReplaceTxt;
+
     /**
      * Receive separator
      */
@@ -121,12 +121,12 @@ public class AlarmNotifyRequest extends BaseNotifyRequest {
     private Long rejectCountNum;
 
     /**
-     * Execute time
+     * Execute time, in nanoseconds
      */
     private Long executeTime;
 
     /**
-     * Execute timeout
+     * Execute timeout, in nanoseconds
      */
     private Long executeTimeOut;
 
@@ -134,4 +134,14 @@ public class AlarmNotifyRequest extends BaseNotifyRequest {
      * Execute timeout trace
      */
     private String executeTimeoutTrace;
+
+    /**
+     * 99th percentile of queue wait time, in milliseconds
+     */
+    private Long queueWaitTime;
+
+    /**
+     * Queue wait alarm threshold, in milliseconds
+     */
+    private Long queueWaitAlarm;
 }
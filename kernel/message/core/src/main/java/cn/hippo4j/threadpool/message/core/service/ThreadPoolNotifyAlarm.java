@@ -48,6 +48,11 @@ public class ThreadPoolNotifyAlarm {
     @NonNull
     private Integer capacityAlarm;
 
+    /**
+     * Queue wait alarm, in milliseconds
+     */
+    private Long queueWaitAlarm;
+
     /**
      * Interval
      */
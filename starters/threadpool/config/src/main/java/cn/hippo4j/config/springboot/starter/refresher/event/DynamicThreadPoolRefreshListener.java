@@ -20,14 +20,15 @@ package cn.hippo4j.config.springboot.starter.refresher.event;
 import cn.hippo4j.common.api.ThreadPoolConfigChange;
 import cn.hippo4j.common.executor.ThreadPoolExecutorHolder;
 import cn.hippo4j.common.executor.ThreadPoolExecutorRegistry;
-import cn.hippo4j.common.executor.support.BlockingQueueTypeEnum;
+import cn.hippo4j.common.executor.support.PriorityLaneBlockingQueue;
 import cn.hippo4j.common.executor.support.RejectedPolicyTypeEnum;
-import cn.hippo4j.common.executor.support.ResizableCapacityLinkedBlockingQueue;
+import cn.hippo4j.common.executor.support.ResizableCapacityQueue;
 import cn.hippo4j.common.model.executor.ExecutorProperties;
 import cn.hippo4j.common.toolkit.CollectionUtil;
 import cn.hippo4j.common.toolkit.ThreadPoolExecutorUtil;
 import cn.hippo4j.config.springboot.starter.notify.ConfigModeNotifyConfigBuilder;
 import cn.hippo4j.core.executor.DynamicThreadPoolExecutor;
+import cn.hippo4j.core.executor.support.LoadSheddingSupport;
 import cn.hippo4j.threadpool.dynamic.mode.config.properties.BootstrapConfigProperties;
 import cn.hippo4j.threadpool.message.api.NotifyConfigDTO;
 import cn.hippo4j.threadpool.message.core.request.ChangeParameterNotifyRequest;
@@ -74,11 +75,14 @@ public class DynamicThreadPoolRefreshListener extends AbstractRefreshListener<Ex
     public void onApplicationEvent(ThreadPoolConfigDynamicRefreshEvent event) {
         BootstrapConfigProperties bindableConfigProperties = event.getBootstrapConfigProperties();
         List<ExecutorProperties> executors = bindableConfigProperties.getExecutors();
+        ThreadPoolExecutorRegistry.setGroupBudgets(bindableConfigProperties.getPoolGroups());
         for (ExecutorProperties properties : executors) {
             String threadPoolId = properties.getThreadPoolId();
             if (!match(properties)) {
                 continue;
             }
+            refreshPoolGroup(threadPoolId, properties);
+            refreshLoadShedding(threadPoolId, properties);
             /*
              * Check whether the notification configuration is consistent, this operation will not trigger the notification.
              */
@@ -121,10 +125,17 @@ public class DynamicThreadPoolRefreshListener extends AbstractRefreshListener<Ex
                 .maximumPoolSize(Optional.ofNullable(properties.getMaximumPoolSize()).orElse(beforeProperties.getMaximumPoolSize()))
                 .blockingQueue(properties.getBlockingQueue())
                 .queueCapacity(Optional.ofNullable(properties.getQueueCapacity()).orElse(beforeProperties.getQueueCapacity()))
+                .queueLaneWeights(Optional.ofNullable(properties.getQueueLaneWeights()).orElse(beforeProperties.getQueueLaneWeights()))
                 .keepAliveTime(Optional.ofNullable(properties.getKeepAliveTime()).orElse(beforeProperties.getKeepAliveTime()))
                 .executeTimeOut(Optional.ofNullable(properties.getExecuteTimeOut()).orElse(beforeProperties.getExecuteTimeOut()))
                 .rejectedHandler(Optional.ofNullable(properties.getRejectedHandler()).orElse(beforeProperties.getRejectedHandler()))
                 .allowCoreThreadTimeOut(Optional.ofNullable(properties.getAllowCoreThreadTimeOut()).orElse(beforeProperties.getAllowCoreThreadTimeOut()))
+                .poolGroup(properties.getPoolGroup())
+                .groupMinThreads(properties.getGroupMinThreads())
+                .groupMaxThreads(properties.getGroupMaxThreads())
+                .shedQueueDelay(properties.getShedQueueDelay())
+                .rateLimit(properties.getRateLimit())
+                .callerRunsBudget(properties.getCallerRunsBudget())
                 .threadPoolId(beforeProperties.getThreadPoolId())
                 .build();
     }
@@ -194,14 +205,17 @@ public class DynamicThreadPoolRefreshListener extends AbstractRefreshListener<Ex
             Boolean isAlarm = executorProperties.getAlarm();
             Integer activeAlarm = executorProperties.getActiveAlarm();
             Integer capacityAlarm = executorProperties.getCapacityAlarm();
+            Long queueWaitAlarm = executorProperties.getQueueWaitAlarm();
             // FIXME Compare using Objects.equals
             if ((isAlarm != null && isAlarm != threadPoolNotifyAlarm.getAlarm())
                     || (activeAlarm != null && activeAlarm != threadPoolNotifyAlarm.getActiveAlarm())
-                    || (capacityAlarm != null && capacityAlarm != threadPoolNotifyAlarm.getCapacityAlarm())) {
+                    || (capacityAlarm != null && capacityAlarm != threadPoolNotifyAlarm.getCapacityAlarm())
+                    || (queueWaitAlarm != null && !Objects.equals(queueWaitAlarm, threadPoolNotifyAlarm.getQueueWaitAlarm()))) {
                 checkNotifyAlarm = true;
                 threadPoolNotifyAlarm.setAlarm(Optional.ofNullable(isAlarm).orElse(threadPoolNotifyAlarm.getAlarm()));
                 threadPoolNotifyAlarm.setActiveAlarm(Optional.ofNullable(activeAlarm).orElse(threadPoolNotifyAlarm.getActiveAlarm()));
                 threadPoolNotifyAlarm.setCapacityAlarm(Optional.ofNullable(capacityAlarm).orElse(threadPoolNotifyAlarm.getCapacityAlarm()));
+                threadPoolNotifyAlarm.setQueueWaitAlarm(Optional.ofNullable(queueWaitAlarm).orElse(threadPoolNotifyAlarm.getQueueWaitAlarm()));
             }
         }
         if (checkNotifyConfig || checkNotifyAlarm) {
@@ -209,6 +223,43 @@ public class DynamicThreadPoolRefreshListener extends AbstractRefreshListener<Ex
         }
     }
 
+    /**
+     * Refresh the thread-pool group membership, it's declared by the properties and applied even if no other parameter changes.
+     *
+     * @param threadPoolId thread-pool id
+     * @param properties   new properties
+     */
+    private void refreshPoolGroup(String threadPoolId, ExecutorProperties properties) {
+        ThreadPoolExecutorHolder executorHolder = ThreadPoolExecutorRegistry.getHolder(threadPoolId);
+        if (executorHolder.getExecutor() == null) {
+            return;
+        }
+        try {
+            ThreadPoolExecutorRegistry.joinGroup(threadPoolId, executorHolder.getExecutor(), properties);
+        } catch (IllegalArgumentException ex) {
+            log.warn("The thread pool group cannot be modified. {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Refresh the load-shedding plugins and the caller-runs budget, they're declared by the properties
+     * and applied even if no other parameter changes.
+     *
+     * @param threadPoolId thread-pool id
+     * @param properties   new properties
+     */
+    private void refreshLoadShedding(String threadPoolId, ExecutorProperties properties) {
+        ThreadPoolExecutorHolder executorHolder = ThreadPoolExecutorRegistry.getHolder(threadPoolId);
+        if (executorHolder.getExecutor() == null) {
+            return;
+        }
+        try {
+            LoadSheddingSupport.refresh(executorHolder.getExecutor(), properties);
+        } catch (IllegalArgumentException ex) {
+            log.warn("The load-shedding parameters cannot be modified. {}", ex.getMessage());
+        }
+    }
+
     /**
      * Check consistency.
      *
@@ -230,7 +281,10 @@ public class DynamicThreadPoolRefreshListener extends AbstractRefreshListener<Ex
                 || (properties.getRejectedHandler() != null && !Objects.equals(beforeProperties.getRejectedHandler(), properties.getRejectedHandler()))
                 ||
                 ((properties.getQueueCapacity() != null && !Objects.equals(beforeProperties.getQueueCapacity(), properties.getQueueCapacity())
-                        && Objects.equals(BlockingQueueTypeEnum.RESIZABLE_LINKED_BLOCKING_QUEUE.getName(), executor.getQueue().getClass().getSimpleName())));
+                        && executor.getQueue() instanceof ResizableCapacityQueue))
+                ||
+                ((properties.getQueueLaneWeights() != null && !Objects.equals(beforeProperties.getQueueLaneWeights(), properties.getQueueLaneWeights())
+                        && executor.getQueue() instanceof PriorityLaneBlockingQueue));
         return result;
     }
 
@@ -263,18 +317,27 @@ public class DynamicThreadPoolRefreshListener extends AbstractRefreshListener<Ex
         }
         if (properties.getRejectedHandler() != null && !Objects.equals(beforeProperties.getRejectedHandler(), properties.getRejectedHandler())) {
             RejectedExecutionHandler rejectedExecutionHandler = RejectedPolicyTypeEnum.createPolicy(properties.getRejectedHandler());
+            try {
+                LoadSheddingSupport.refreshCallerRunsBudget(rejectedExecutionHandler, properties.getCallerRunsBudget());
+            } catch (IllegalArgumentException ex) {
+                log.warn("The caller-runs budget cannot be modified. {}", ex.getMessage());
+            }
             executor.setRejectedExecutionHandler(rejectedExecutionHandler);
         }
         if (properties.getKeepAliveTime() != null && !Objects.equals(beforeProperties.getKeepAliveTime(), properties.getKeepAliveTime())) {
             executor.setKeepAliveTime(properties.getKeepAliveTime(), TimeUnit.SECONDS);
         }
         if (properties.getQueueCapacity() != null && !Objects.equals(beforeProperties.getQueueCapacity(), properties.getQueueCapacity())
-                && Objects.equals(BlockingQueueTypeEnum.RESIZABLE_LINKED_BLOCKING_QUEUE.getName(), executor.getQueue().getClass().getSimpleName())) {
-            if (executor.getQueue() instanceof ResizableCapacityLinkedBlockingQueue) {
-                ResizableCapacityLinkedBlockingQueue<?> queue = (ResizableCapacityLinkedBlockingQueue<?>) executor.getQueue();
-                queue.setCapacity(properties.getQueueCapacity());
-            } else {
-                log.warn("The queue length cannot be modified. Queue type mismatch. Current queue type: {}", executor.getQueue().getClass().getSimpleName());
+                && executor.getQueue() instanceof ResizableCapacityQueue) {
+            ResizableCapacityQueue queue = (ResizableCapacityQueue) executor.getQueue();
+            queue.setCapacity(properties.getQueueCapacity());
+        }
+        if (properties.getQueueLaneWeights() != null && !Objects.equals(beforeProperties.getQueueLaneWeights(), properties.getQueueLaneWeights())
+                && executor.getQueue() instanceof PriorityLaneBlockingQueue) {
+            try {
+                ((PriorityLaneBlockingQueue<?>) executor.getQueue()).setLaneWeights(properties.getQueueLaneWeights());
+            } catch (IllegalArgumentException ex) {
+                log.warn("The queue lane weights cannot be modified. {}", ex.getMessage());
             }
         }
     }
@@ -20,6 +20,7 @@ package cn.hippo4j.config.springboot.starter.support;
 import cn.hippo4j.common.constant.Constants;
 import cn.hippo4j.common.executor.ThreadPoolExecutorRegistry;
 import cn.hippo4j.common.executor.support.BlockingQueueTypeEnum;
+import cn.hippo4j.common.executor.support.PriorityLaneBlockingQueue;
 import cn.hippo4j.common.executor.support.RejectedPolicyTypeEnum;
 import cn.hippo4j.common.model.executor.ExecutorNotifyProperties;
 import cn.hippo4j.common.model.executor.ExecutorProperties;
@@ -29,6 +30,7 @@ import cn.hippo4j.common.toolkit.ThreadPoolExecutorUtil;
 import cn.hippo4j.core.config.ApplicationContextHolder;
 import cn.hippo4j.core.executor.DynamicThreadPool;
 import cn.hippo4j.core.executor.DynamicThreadPoolExecutor;
+import cn.hippo4j.core.executor.support.LoadSheddingSupport;
 import cn.hippo4j.core.executor.support.adpter.DynamicThreadPoolAdapterChoose;
 import cn.hippo4j.core.toolkit.DynamicThreadPoolAnnotationUtil;
 import cn.hippo4j.threadpool.dynamic.mode.config.properties.BootstrapConfigProperties;
@@ -115,6 +117,12 @@ public final class DynamicThreadPoolPostProcessor implements BeanPostProcessor {
             } catch (Exception ex) {
                 log.error("Failed to initialize thread pool configuration.", ex);
             }
+            try {
+                ThreadPoolExecutorRegistry.setGroupBudgets(configProperties.getPoolGroups());
+                ThreadPoolExecutorRegistry.joinGroup(threadPoolId, executor, executorProperties);
+            } catch (Exception ex) {
+                log.error("Failed to join thread pool group.", ex);
+            }
             ThreadPoolNotifyAlarm threadPoolNotifyAlarm = buildThreadPoolNotifyAlarm(executorProperties);
             GlobalNotifyAlarmManage.put(threadPoolId, threadPoolNotifyAlarm);
         }
@@ -175,6 +183,9 @@ public final class DynamicThreadPoolPostProcessor implements BeanPostProcessor {
      */
     private void threadPoolParamReplace(ThreadPoolExecutor executor, ExecutorProperties executorProperties) {
         BlockingQueue workQueue = BlockingQueueTypeEnum.createBlockingQueue(executorProperties.getBlockingQueue(), executorProperties.getQueueCapacity());
+        if (workQueue instanceof PriorityLaneBlockingQueue && executorProperties.getQueueLaneWeights() != null) {
+            workQueue = new PriorityLaneBlockingQueue<>(workQueue.remainingCapacity(), executorProperties.getQueueLaneWeights());
+        }
         ReflectUtil.setFieldValue(executor, "workQueue", workQueue);
         // fix https://github.com/opengoofy/hippo4j/issues/1063
         ThreadPoolExecutorUtil.safeSetPoolSize(executor, executorProperties.getCorePoolSize(), executorProperties.getMaximumPoolSize());
@@ -185,6 +196,7 @@ public final class DynamicThreadPoolPostProcessor implements BeanPostProcessor {
             Optional.ofNullable(executorProperties.getExecuteTimeOut())
                     .ifPresent(executeTimeOut -> ((DynamicThreadPoolExecutor) executor).setExecuteTimeOut(executeTimeOut));
         }
+        LoadSheddingSupport.refresh(executor, executorProperties);
     }
 
     /**
@@ -209,8 +221,22 @@ public final class DynamicThreadPoolPostProcessor implements BeanPostProcessor {
                         .orElseGet(() -> Optional.ofNullable(configProperties.getDefaultExecutor()).map(ExecutorProperties::getExecuteTimeOut).orElse(0L)))
                 .queueCapacity(Optional.ofNullable(executorProperties.getQueueCapacity())
                         .orElseGet(() -> Optional.ofNullable(configProperties.getDefaultExecutor()).map(ExecutorProperties::getQueueCapacity).get()))
+                .queueLaneWeights(Optional.ofNullable(executorProperties.getQueueLaneWeights())
+                        .orElseGet(() -> Optional.ofNullable(configProperties.getDefaultExecutor()).map(ExecutorProperties::getQueueLaneWeights).orElse(null)))
                 .rejectedHandler(Optional.ofNullable(executorProperties.getRejectedHandler())
                         .orElseGet(() -> Optional.ofNullable(configProperties.getDefaultExecutor()).map(ExecutorProperties::getRejectedHandler).get()))
+                .poolGroup(Optional.ofNullable(executorProperties.getPoolGroup())
+                        .orElseGet(() -> Optional.ofNullable(configProperties.getDefaultExecutor()).map(ExecutorProperties::getPoolGroup).orElse(null)))
+                .groupMinThreads(Optional.ofNullable(executorProperties.getGroupMinThreads())
+                        .orElseGet(() -> Optional.ofNullable(configProperties.getDefaultExecutor()).map(ExecutorProperties::getGroupMinThreads).orElse(null)))
+                .groupMaxThreads(Optional.ofNullable(executorProperties.getGroupMaxThreads())
+                        .orElseGet(() -> Optional.ofNullable(configProperties.getDefaultExecutor()).map(ExecutorProperties::getGroupMaxThreads).orElse(null)))
+                .shedQueueDelay(Optional.ofNullable(executorProperties.getShedQueueDelay())
+                        .orElseGet(() -> Optional.ofNullable(configProperties.getDefaultExecutor()).map(ExecutorProperties::getShedQueueDelay).orElse(null)))
+                .rateLimit(Optional.ofNullable(executorProperties.getRateLimit())
+                        .orElseGet(() -> Optional.ofNullable(configProperties.getDefaultExecutor()).map(ExecutorProperties::getRateLimit).orElse(null)))
+                .callerRunsBudget(Optional.ofNullable(executorProperties.getCallerRunsBudget())
+                        .orElseGet(() -> Optional.ofNullable(configProperties.getDefaultExecutor()).map(ExecutorProperties::getCallerRunsBudget).orElse(null)))
                 .threadNamePrefix(StringUtil.isBlank(executorProperties.getThreadNamePrefix()) ? executorProperties.getThreadPoolId() : executorProperties.getThreadNamePrefix())
                 .threadPoolId(executorProperties.getThreadPoolId())
                 .alarm(Optional.ofNullable(executorProperties.getAlarm())
@@ -219,6 +245,8 @@ public final class DynamicThreadPoolPostProcessor implements BeanPostProcessor {
                         .orElseGet(() -> Optional.ofNullable(configProperties.getDefaultExecutor()).map(ExecutorProperties::getActiveAlarm).orElse(null)))
                 .capacityAlarm(Optional.ofNullable(executorProperties.getCapacityAlarm())
                         .orElseGet(() -> Optional.ofNullable(configProperties.getDefaultExecutor()).map(ExecutorProperties::getCapacityAlarm).orElse(null)))
+                .queueWaitAlarm(Optional.ofNullable(executorProperties.getQueueWaitAlarm())
+                        .orElseGet(() -> Optional.ofNullable(configProperties.getDefaultExecutor()).map(ExecutorProperties::getQueueWaitAlarm).orElse(null)))
                 .notify(Optional.ofNullable(executorProperties.getNotify())
                         .orElseGet(() -> Optional.ofNullable(configProperties.getDefaultExecutor()).map(ExecutorProperties::getNotify).orElse(null)))
                 .nodes(Optional.ofNullable(executorProperties.getNodes())
@@ -240,6 +268,8 @@ public final class DynamicThreadPoolPostProcessor implements BeanPostProcessor {
                 .orElseGet(() -> Optional.ofNullable(configProperties.getDefaultExecutor()).map(ExecutorProperties::getActiveAlarm).orElse(DEFAULT_ACTIVE_ALARM));
         int capacityAlarm = Optional.ofNullable(executorProperties.getCapacityAlarm())
                 .orElseGet(() -> Optional.ofNullable(configProperties.getDefaultExecutor()).map(ExecutorProperties::getCapacityAlarm).orElse(DEFAULT_CAPACITY_ALARM));
+        Long queueWaitAlarm = Optional.ofNullable(executorProperties.getQueueWaitAlarm())
+                .orElseGet(() -> Optional.ofNullable(configProperties.getDefaultExecutor()).map(ExecutorProperties::getQueueWaitAlarm).orElse(null));
         int interval = Optional.ofNullable(notify)
                 .map(ExecutorNotifyProperties::getInterval)
                 .orElseGet(() -> Optional.ofNullable(configProperties.getDefaultExecutor()).map(ExecutorProperties::getNotify).map(ExecutorNotifyProperties::getInterval).orElse(DEFAULT_INTERVAL));
@@ -247,6 +277,7 @@ public final class DynamicThreadPoolPostProcessor implements BeanPostProcessor {
                 .map(ExecutorNotifyProperties::getReceives)
                 .orElseGet(() -> Optional.ofNullable(configProperties.getDefaultExecutor()).map(ExecutorProperties::getNotify).map(ExecutorNotifyProperties::getReceives).orElse(DEFAULT_RECEIVES));
         ThreadPoolNotifyAlarm threadPoolNotifyAlarm = new ThreadPoolNotifyAlarm(isAlarm, activeAlarm, capacityAlarm);
+        threadPoolNotifyAlarm.setQueueWaitAlarm(queueWaitAlarm);
         threadPoolNotifyAlarm.setInterval(interval);
         threadPoolNotifyAlarm.setReceives(receive);
         return threadPoolNotifyAlarm;
@@ -18,6 +18,7 @@
 package cn.hippo4j.springboot.starter.config;
 
 import cn.hippo4j.common.constant.Constants;
+import cn.hippo4j.core.executor.tuning.AutoTuningProperties;
 import cn.hippo4j.threadpool.dynamic.api.BootstrapPropertiesInterface;
 import lombok.Getter;
 import lombok.Setter;
@@ -53,11 +54,22 @@ public class BootstrapProperties implements BootstrapPropertiesInterface {
      */
     private String nettyServerPort;
 
+    /**
+     * Receive config changes through a persistent channel to the netty server port instead of long polling,
+     * long polling is still used while the channel is broken. It requires config-push-enable on the server
+     */
+    private Boolean configPush = Boolean.FALSE;
+
     /**
      * Report type
      */
     private String reportType;
 
+    /**
+     * Codec of netty report, java or binary, binary is supported by server since the same version
+     */
+    private String reportCodec = "java";
+
     /**
      * Namespace
      */
@@ -83,6 +95,11 @@ public class BootstrapProperties implements BootstrapPropertiesInterface {
      */
     private MonitorProperties monitor = new MonitorProperties();
 
+    /**
+     * Thread pool auto tuning related configuration.
+     */
+    private AutoTuningProperties autoTuning = new AutoTuningProperties();
+
     /***
      * Latest use {@link MonitorProperties#getEnable()}
      */
@@ -39,6 +39,7 @@ import cn.hippo4j.springboot.starter.controller.WebThreadPoolRunStateController;
 import cn.hippo4j.springboot.starter.core.BaseThreadDetailStateHandler;
 import cn.hippo4j.springboot.starter.core.ClientShutdown;
 import cn.hippo4j.springboot.starter.core.ClientWorker;
+import cn.hippo4j.springboot.starter.core.DynamicThreadPoolAutoTuner;
 import cn.hippo4j.springboot.starter.core.DynamicThreadPoolSubscribeConfig;
 import cn.hippo4j.springboot.starter.core.ServerThreadPoolDynamicRefresh;
 import cn.hippo4j.springboot.starter.core.ThreadPoolAdapterRegister;
@@ -48,10 +49,12 @@ import cn.hippo4j.springboot.starter.monitor.collect.RunTimeInfoCollector;
 import cn.hippo4j.springboot.starter.monitor.send.MessageSender;
 import cn.hippo4j.springboot.starter.monitor.send.http.HttpConnectSender;
 import cn.hippo4j.springboot.starter.notify.ServerModeNotifyConfigBuilder;
+import cn.hippo4j.springboot.starter.remote.ConfigPushClient;
 import cn.hippo4j.springboot.starter.remote.HttpAgent;
 import cn.hippo4j.springboot.starter.remote.HttpScheduledHealthCheck;
 import cn.hippo4j.springboot.starter.remote.ServerHealthCheck;
 import cn.hippo4j.springboot.starter.remote.ServerHttpAgent;
+import cn.hippo4j.springboot.starter.remote.ServerNettyAgent;
 import cn.hippo4j.springboot.starter.support.AdaptedThreadPoolDestroyPostProcessor;
 import cn.hippo4j.springboot.starter.support.DynamicThreadPoolConfigService;
 import cn.hippo4j.springboot.starter.support.DynamicThreadPoolPostProcessor;
@@ -122,6 +125,12 @@ public class DynamicThreadPoolAutoConfiguration {
         return new ClientWorker(httpAgent, identify, serverHealthCheck, dynamicThreadPoolBannerHandlers.getVersion(), hippo4jClientShutdown);
     }
 
+    @Bean
+    @ConditionalOnProperty(prefix = Constants.CONFIGURATION_PROPERTIES_PREFIX, value = "config-push", havingValue = "true")
+    public ConfigPushClient hippo4jConfigPushClient(ClientWorker hippo4jClientWorker, HttpAgent httpAgent) {
+        return new ConfigPushClient(new ServerNettyAgent(properties), hippo4jClientWorker, httpAgent);
+    }
+
     @Bean
     @SuppressWarnings("all")
     public DynamicThreadPoolService dynamicThreadPoolConfigService(HttpAgent httpAgent,
@@ -236,6 +245,12 @@ public class DynamicThreadPoolAutoConfiguration {
         return new ServerThreadPoolDynamicRefresh(threadPoolConfigChange);
     }
 
+    @Bean
+    public DynamicThreadPoolAutoTuner dynamicThreadPoolAutoTuner(ThreadPoolDynamicRefresh threadPoolDynamicRefresh,
+                                                                 ClientWorker clientWorker) {
+        return new DynamicThreadPoolAutoTuner(properties, threadPoolDynamicRefresh, clientWorker);
+    }
+
     @Bean
     public DynamicThreadPoolSubscribeConfig dynamicThreadPoolSubscribeConfig(ThreadPoolDynamicRefresh threadPoolDynamicRefresh,
                                                                              ClientWorker clientWorker) {
@@ -56,4 +56,16 @@ public class MonitorProperties {
      * Task buffer container capacity
      */
     private Integer taskBufferSize = 4096;
+
+    /**
+     * Report only the changed fields of thread pool runtime data, requires server of the same version.
+     * The server keeps the last full row of each thread pool in memory, so it's turned off when more than one
+     * server address is configured, and a load balancer in front of several servers must use sticky routing.
+     */
+    private Boolean deltaReport = Boolean.FALSE;
+
+    /**
+     * Report full runtime data every this many collections when {@link #deltaReport} is enabled.
+     */
+    private Integer deltaKeyframeInterval = 12;
 }
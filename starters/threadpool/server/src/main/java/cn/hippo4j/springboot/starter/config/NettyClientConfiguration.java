@@ -37,7 +37,7 @@ public class NettyClientConfiguration {
     }
 
     @Bean
-    public MessageSender messageSender(ServerNettyAgent serverNettyAgent) {
-        return new NettyConnectSender(serverNettyAgent);
+    public MessageSender messageSender(ServerNettyAgent serverNettyAgent, BootstrapProperties properties) {
+        return new NettyConnectSender(serverNettyAgent, properties);
     }
 }
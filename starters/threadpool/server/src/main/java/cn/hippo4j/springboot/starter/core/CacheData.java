@@ -38,6 +38,7 @@ public class CacheData {
     @Getter
     private volatile String md5;
 
+    @Getter
     private volatile String content;
 
     @Getter
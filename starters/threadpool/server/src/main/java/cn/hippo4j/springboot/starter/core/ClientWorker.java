@@ -24,8 +24,12 @@ import cn.hippo4j.common.toolkit.ContentUtil;
 import cn.hippo4j.common.toolkit.GroupKey;
 import cn.hippo4j.common.toolkit.IdUtil;
 import cn.hippo4j.common.toolkit.JSONUtil;
+import cn.hippo4j.common.toolkit.http.HttpUtil;
+import cn.hippo4j.springboot.starter.remote.ConfigPushClient;
 import cn.hippo4j.springboot.starter.remote.HttpAgent;
 import cn.hippo4j.springboot.starter.remote.ServerHealthCheck;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.DisposableBean;
@@ -33,6 +37,7 @@ import org.springframework.util.StringUtils;
 
 import java.net.URLDecoder;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedList;
@@ -43,7 +48,11 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import static cn.hippo4j.common.constant.Constants.BATCH_CONFIG_PATH;
 import static cn.hippo4j.common.constant.Constants.CONFIG_LONG_POLL_TIMEOUT;
 import static cn.hippo4j.common.constant.Constants.GROUP_KEY_DELIMITER_TRANSLATION;
 import static cn.hippo4j.common.constant.Constants.WORD_SEPARATOR;
@@ -67,12 +76,18 @@ import static cn.hippo4j.common.constant.Constants.NULL;
 public class ClientWorker implements DisposableBean {
 
     private final long timeout;
+    @Getter
     private final String identify;
+    @Getter
     private final String version;
 
     private final HttpAgent agent;
     private final ServerHealthCheck serverHealthCheck;
     private final ScheduledExecutorService executorService;
+    /**
+     * Worker executor, it also applies the config pushed by server, so the netty event loop is never blocked by listeners
+     */
+    private final ScheduledExecutorService workerExecutor;
     private final ClientShutdown hippo4jClientShutdown;
 
     private final CountDownLatch awaitApplicationComplete = new CountDownLatch(1);
@@ -81,6 +96,22 @@ public class ClientWorker implements DisposableBean {
 
     private final long defaultTimedOut = 3000L;
 
+    /**
+     * Minimum number of thread-pool config got in batch to be parsed in parallel
+     */
+    private static final int PARALLEL_PARSE_THRESHOLD = 16;
+
+    /**
+     * Interval to check the config push channel while it's active, instead of long polling
+     */
+    private final long pushStandbyInterval = 1000L;
+
+    /**
+     * Config push channel, long polling is used when it's null or inactive
+     */
+    @Setter
+    private volatile ConfigPushClient configPushClient;
+
     @SuppressWarnings("all")
     public ClientWorker(HttpAgent httpAgent,
                         String identify,
@@ -93,7 +124,7 @@ public class ClientWorker implements DisposableBean {
         this.version = version;
         this.serverHealthCheck = serverHealthCheck;
         this.hippo4jClientShutdown = hippo4jClientShutdown;
-        ScheduledExecutorService executor = Executors.newScheduledThreadPool(1, runnable -> {
+        this.workerExecutor = Executors.newScheduledThreadPool(1, runnable -> {
             Thread thread = new Thread(runnable);
             thread.setName("client.worker.executor");
             thread.setDaemon(true);
@@ -102,7 +133,7 @@ public class ClientWorker implements DisposableBean {
         this.executorService = Executors.newSingleThreadScheduledExecutor(
                 ThreadFactoryBuilder.builder().prefix("client.long.polling.executor").daemon(true).build());
         log.info("Client identify: {}", identify);
-        executor.schedule(() -> {
+        workerExecutor.schedule(() -> {
             try {
                 awaitApplicationComplete.await();
                 executorService.execute(new LongPollingRunnable(cacheMap.isEmpty(), cacheCondition));
@@ -115,6 +146,7 @@ public class ClientWorker implements DisposableBean {
     @Override
     public void destroy() throws Exception {
         executorService.shutdownNow();
+        workerExecutor.shutdownNow();
     }
 
     /**
@@ -143,11 +175,26 @@ public class ClientWorker implements DisposableBean {
                 cacheCondition.await();
                 cacheMapInitEmptyFlag = false;
             }
+            ConfigPushClient pushClient = configPushClient;
+            if (pushClient != null && pushClient.isActive()) {
+                // changes are pushed through the channel, only the new cache data need to notify their listeners
+                cacheMap.forEach((key, val) -> {
+                    if (val.isInitializing()) {
+                        val.checkListenerMd5();
+                        val.setInitializing(false);
+                    }
+                });
+                executorService.schedule(this, pushStandbyInterval, TimeUnit.MILLISECONDS);
+                return;
+            }
             serverHealthCheck.isHealthStatus();
             List<CacheData> cacheDataList = new ArrayList<>();
             List<String> inInitializingCacheList = new ArrayList<>();
             cacheMap.forEach((key, val) -> cacheDataList.add(val));
             List<String> changedTpIds = checkUpdateDataIds(cacheDataList, inInitializingCacheList);
+            if (!changedTpIds.isEmpty() && refreshServerConfigs(changedTpIds)) {
+                changedTpIds = Collections.emptyList();
+            }
             for (String groupKey : changedTpIds) {
                 String[] keys = groupKey.split(GROUP_KEY_DELIMITER_TRANSLATION);
                 String tpId = keys[0];
@@ -233,6 +280,50 @@ public class ClientWorker implements DisposableBean {
         return NULL;
     }
 
+    /**
+     * Get the config of all the changed thread-pools in one request, and set them to the cache data.
+     *
+     * @param changedGroupKeys tpId+itemId+tenantId of changed thread-pools
+     * @return false if the server failed, e.g. the server is older than the batch config path,
+     * then the config should be got one by one
+     */
+    @SuppressWarnings("unchecked")
+    private boolean refreshServerConfigs(List<String> changedGroupKeys) {
+        StringBuilder groupKeys = new StringBuilder();
+        for (String groupKey : changedGroupKeys) {
+            String[] keys = groupKey.split(GROUP_KEY_DELIMITER_TRANSLATION);
+            groupKeys.append(keys[0]).append(WORD_SEPARATOR)
+                    .append(keys[1]).append(WORD_SEPARATOR)
+                    .append(keys[2]).append(LINE_SEPARATOR);
+        }
+        Map<String, String> params = new HashMap<>(INITIAL_CAPACITY);
+        params.put("groupKeys", groupKeys.toString());
+        params.put("instanceId", identify);
+        List<String> poolContents;
+        try {
+            Result result = agent.httpPostByConfig(BATCH_CONFIG_PATH, null, params, defaultTimedOut);
+            if (result == null || !result.isSuccess() || !(result.getData() instanceof List)) {
+                return false;
+            }
+            poolContents = (List<String>) result.getData();
+        } catch (Exception ex) {
+            log.warn("Failed to get the latest thread pool configuration in batch, get them one by one. error message: {}", ex.getMessage());
+            return false;
+        }
+        // parse on the common pool when many thread-pools are changed at once, e.g. by a tenant-wide change
+        Stream<String> stream = poolContents.size() >= PARALLEL_PARSE_THRESHOLD ? poolContents.parallelStream() : poolContents.stream();
+        List<ThreadPoolParameterInfo> parameters = stream
+                .map(each -> JSONUtil.parseObject(each, ThreadPoolParameterInfo.class))
+                .collect(Collectors.toList());
+        for (ThreadPoolParameterInfo parameter : parameters) {
+            CacheData cacheData = cacheMap.get(parameter.getTpId());
+            if (cacheData != null) {
+                cacheData.setContent(ContentUtil.getPoolContent(parameter));
+            }
+        }
+        return true;
+    }
+
     public List<String> parseUpdateDataIdResponse(String response) {
         if (StringUtils.isEmpty(response)) {
             return Collections.emptyList();
@@ -260,6 +351,79 @@ public class ClientWorker implements DisposableBean {
         return updateList;
     }
 
+    /**
+     * Apply the config pushed by server in the worker executor, in the order they are pushed.
+     *
+     * @param threadPoolId thread-pool id
+     * @param content      config content in json, the same as the response of {@link #getServerConfig}
+     * @param ackCallback  called with the md5 of the applied config, not called if the thread-pool is not listened
+     */
+    public void applyPushedConfig(String threadPoolId, String content, Consumer<String> ackCallback) {
+        workerExecutor.execute(() -> {
+            try {
+                String md5 = applyPushedConfig(threadPoolId, content);
+                if (md5 != null) {
+                    ackCallback.accept(md5);
+                }
+            } catch (Throwable ex) {
+                log.error("[{}] Failed to apply the pushed thread pool configuration.", threadPoolId, ex);
+            }
+        });
+    }
+
+    private String applyPushedConfig(String threadPoolId, String content) {
+        CacheData cacheData = cacheMap.get(threadPoolId);
+        if (cacheData == null) {
+            return null;
+        }
+        log.info("[{}] Refresh thread pool changed by push.", threadPoolId);
+        cacheData.setContent(ContentUtil.getPoolContent(JSONUtil.parseObject(content, ThreadPoolParameterInfo.class)));
+        cacheData.checkListenerMd5();
+        cacheData.setInitializing(false);
+        return cacheData.getMd5();
+    }
+
+    /**
+     * Get the cache data of thread-pool listened, i.e. of which the config is managed by the server.
+     *
+     * @param threadPoolId thread-pool id
+     * @return cache data, or null if not listened
+     */
+    public CacheData getCacheData(String threadPoolId) {
+        return cacheMap.get(threadPoolId);
+    }
+
+    /**
+     * Publish the config of thread-pool changed by this instance to the server, in the same way as it is changed in the console.
+     * The server records the change for this instance, so the following long polling delivers it instead of reverting it.
+     *
+     * @param parameter full config of thread-pool
+     * @return true if published
+     */
+    public boolean publishConfig(ThreadPoolParameterInfo parameter) {
+        Map<String, String> params = new HashMap<>(INITIAL_CAPACITY);
+        params.put("identify", identify);
+        try {
+            Result result = agent.httpPost(HttpUtil.buildUrl(CONFIG_CONTROLLER_PATH, params), parameter);
+            if (result != null && result.isSuccess()) {
+                return true;
+            }
+            log.error("Publish config of thread pool: [{}] failed, result: {}", parameter.getTpId(), result);
+        } catch (Exception ex) {
+            log.error("Publish config of thread pool: [{}] failed, error message: {}", parameter.getTpId(), ex.getMessage());
+        }
+        return false;
+    }
+
+    /**
+     * Get all listened cache data.
+     *
+     * @return cache data
+     */
+    public Collection<CacheData> getCacheDataList() {
+        return cacheMap.values();
+    }
+
     public void addTenantListeners(String namespace, String itemId, String threadPoolId, List<? extends Listener> listeners) {
         CacheData cacheData = addCacheDataIfAbsent(namespace, itemId, threadPoolId);
         for (Listener listener : listeners) {
@@ -287,6 +451,10 @@ public class ClientWorker implements DisposableBean {
             } catch (Exception ex) {
                 log.error("Cache Data Error. Service Unavailable: {}", ex.getMessage());
             }
+            ConfigPushClient pushClient = configPushClient;
+            if (pushClient != null) {
+                pushClient.subscribe(Collections.singletonList(cacheData));
+            }
             lastCacheData = cacheData;
         }
         return lastCacheData;
@@ -0,0 +1,187 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.springboot.starter.core;
+
+import cn.hippo4j.common.executor.ThreadFactoryBuilder;
+import cn.hippo4j.common.executor.ThreadPoolExecutorHolder;
+import cn.hippo4j.common.executor.ThreadPoolExecutorRegistry;
+import cn.hippo4j.common.executor.support.BlockingQueueTypeEnum;
+import cn.hippo4j.common.extension.enums.EnableEnum;
+import cn.hippo4j.common.model.ThreadPoolParameterInfo;
+import cn.hippo4j.common.toolkit.JSONUtil;
+import cn.hippo4j.common.toolkit.StringUtil;
+import cn.hippo4j.core.executor.DynamicThreadPoolExecutor;
+import cn.hippo4j.core.executor.tuning.AimdThreadPoolTuner;
+import cn.hippo4j.core.executor.tuning.AutoTuningProperties;
+import cn.hippo4j.core.executor.tuning.ThreadPoolTuningDecision;
+import cn.hippo4j.core.executor.tuning.ThreadPoolTuningSampler;
+import cn.hippo4j.springboot.starter.config.BootstrapProperties;
+import cn.hippo4j.threadpool.dynamic.api.ThreadPoolDynamicRefresh;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.CommandLineRunner;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Auto tuning of the dynamic thread-pools listed in {@link AutoTuningProperties#getThreadPoolIds()}.
+ *
+ * <p>The decisions of {@link AimdThreadPoolTuner} are applied through {@link ThreadPoolDynamicRefresh},
+ * so each change is logged and notified in the same way as the changes made in the console.
+ *
+ * <p>The config of the thread-pools listened by {@link ClientWorker} is managed by the server, so the decision is published
+ * to the server for this instance first, the same way as a change in the console, and only applied when it is accepted.
+ * The change is then recorded by the server, and the following long polling does not revert it.
+ * The user of the client should be an admin, or the change waits for approval in the console and is not applied.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class DynamicThreadPoolAutoTuner implements CommandLineRunner, DisposableBean {
+
+    @NonNull
+    private final BootstrapProperties properties;
+
+    @NonNull
+    private final ThreadPoolDynamicRefresh threadPoolDynamicRefresh;
+
+    @NonNull
+    private final ClientWorker clientWorker;
+
+    /**
+     * Tuner and sampler of each thread-pool, only accessed by the tuning thread.
+     */
+    private final Map<String, TuningContext> tuningContexts = new ConcurrentHashMap<>();
+
+    private ScheduledThreadPoolExecutor tuningExecutor;
+
+    @Override
+    public void run(String... args) {
+        AutoTuningProperties autoTuning = properties.getAutoTuning();
+        if (autoTuning == null
+                || !Boolean.TRUE.equals(autoTuning.getEnable())
+                || StringUtil.isBlank(autoTuning.getThreadPoolIds())) {
+            return;
+        }
+        tuningExecutor = new ScheduledThreadPoolExecutor(1,
+                ThreadFactoryBuilder.builder().daemon(true).prefix("client.scheduled.auto.tuning").build());
+        tuningExecutor.scheduleWithFixedDelay(
+                () -> tune(autoTuning),
+                autoTuning.getSampleInterval(),
+                autoTuning.getSampleInterval(),
+                TimeUnit.MILLISECONDS);
+        log.info("Dynamic thread pool auto tuning is enabled for: [{}].", autoTuning.getThreadPoolIds());
+    }
+
+    @Override
+    public void destroy() {
+        Optional.ofNullable(tuningExecutor).ifPresent(each -> each.shutdown());
+    }
+
+    private void tune(AutoTuningProperties autoTuning) {
+        for (String threadPoolId : autoTuning.getThreadPoolIds().split(",")) {
+            threadPoolId = threadPoolId.trim();
+            try {
+                tune(autoTuning, threadPoolId);
+            } catch (Throwable ex) {
+                log.error("Failed to auto tune thread pool: [{}].", threadPoolId, ex);
+            }
+        }
+    }
+
+    private void tune(AutoTuningProperties autoTuning, String threadPoolId) {
+        ThreadPoolExecutorHolder holder = ThreadPoolExecutorRegistry.getHolder(threadPoolId);
+        if (holder == null || holder.getExecutor() == null) {
+            return;
+        }
+        ThreadPoolExecutor executor = holder.getExecutor();
+        TuningContext context = tuningContexts.get(threadPoolId);
+        if (context == null || context.executor != executor) {
+            context = new TuningContext(executor, new AimdThreadPoolTuner(autoTuning), new ThreadPoolTuningSampler(executor));
+            tuningContexts.put(threadPoolId, context);
+        }
+        ThreadPoolTuningDecision decision = context.tuner.tune(context.sampler.sample(), System.currentTimeMillis());
+        if (decision == null) {
+            return;
+        }
+        log.info("Auto tuning thread pool: [{}], reason: {}.", threadPoolId, decision.getReason());
+        CacheData cacheData = clientWorker.getCacheData(threadPoolId);
+        if (cacheData != null && !clientWorker.publishConfig(buildServerParameter(cacheData, decision))) {
+            log.warn("Auto tuning of thread pool: [{}] is not applied, failed to publish it to the server.", threadPoolId);
+            return;
+        }
+        threadPoolDynamicRefresh.dynamicRefresh(JSONUtil.toJSONString(buildParameter(threadPoolId, executor, decision)));
+    }
+
+    /**
+     * Build the config to be published to the server from the latest config delivered by the server,
+     * only the pool size and the queue capacity are changed.
+     */
+    private ThreadPoolParameterInfo buildServerParameter(CacheData cacheData, ThreadPoolTuningDecision decision) {
+        ThreadPoolParameterInfo parameter = JSONUtil.parseObject(cacheData.getContent(), ThreadPoolParameterInfo.class);
+        parameter.setTenantId(cacheData.getTenantId())
+                .setItemId(cacheData.getItemId())
+                .setTpId(cacheData.getThreadPoolId())
+                .setCoreSize(decision.getCorePoolSize())
+                .setMaxSize(decision.getMaximumPoolSize())
+                .setCorePoolSize(null)
+                .setMaximumPoolSize(null);
+        if (decision.getQueueCapacity() != null) {
+            parameter.setCapacity(decision.getQueueCapacity());
+        }
+        return parameter;
+    }
+
+    /**
+     * Build the full parameter of thread-pool, only the pool size and the queue capacity are changed,
+     * the rejected handler is left as it is.
+     */
+    private ThreadPoolParameterInfo buildParameter(String threadPoolId, ThreadPoolExecutor executor, ThreadPoolTuningDecision decision) {
+        ThreadPoolParameterInfo parameter = new ThreadPoolParameterInfo()
+                .setTpId(threadPoolId)
+                .setCoreSize(decision.getCorePoolSize())
+                .setMaxSize(decision.getMaximumPoolSize())
+                .setKeepAliveTime(executor.getKeepAliveTime(TimeUnit.SECONDS))
+                .setAllowCoreThreadTimeOut(executor.allowsCoreThreadTimeOut() ? EnableEnum.YES.getIntCode() : EnableEnum.NO.getIntCode());
+        if (executor instanceof DynamicThreadPoolExecutor) {
+            parameter.setExecuteTimeOut(((DynamicThreadPoolExecutor) executor).getExecuteTimeOut());
+        }
+        if (decision.getQueueCapacity() != null) {
+            String queueName = executor.getQueue().getClass().getSimpleName();
+            parameter.setQueueType(BlockingQueueTypeEnum.getBlockingQueueTypeEnumByName(queueName).getType());
+            parameter.setCapacity(decision.getQueueCapacity());
+        }
+        return parameter;
+    }
+
+    @RequiredArgsConstructor
+    private static class TuningContext {
+
+        private final ThreadPoolExecutor executor;
+
+        private final AimdThreadPoolTuner tuner;
+
+        private final ThreadPoolTuningSampler sampler;
+    }
+}
@@ -20,8 +20,9 @@ package cn.hippo4j.springboot.starter.core;
 import cn.hippo4j.common.api.ThreadPoolConfigChange;
 import cn.hippo4j.common.executor.ThreadPoolExecutorRegistry;
 import cn.hippo4j.common.executor.support.BlockingQueueTypeEnum;
+import cn.hippo4j.common.executor.support.PriorityLaneBlockingQueue;
 import cn.hippo4j.common.executor.support.RejectedPolicyTypeEnum;
-import cn.hippo4j.common.executor.support.ResizableCapacityLinkedBlockingQueue;
+import cn.hippo4j.common.executor.support.ResizableCapacityQueue;
 import cn.hippo4j.common.extension.enums.EnableEnum;
 import cn.hippo4j.common.model.ThreadPoolParameter;
 import cn.hippo4j.common.model.ThreadPoolParameterInfo;
@@ -77,6 +78,9 @@ public class ServerThreadPoolDynamicRefresh implements ThreadPoolDynamicRefresh
         changePoolInfo(executor, parameter);
         ThreadPoolExecutor afterExecutor = ThreadPoolExecutorRegistry.getHolder(threadPoolId).getExecutor();
         String originalRejected = rejectedExecutionHandler.getClass().getSimpleName();
+        String nowRejected = parameter.getRejectedType() != null
+                ? RejectedPolicyTypeEnum.getRejectedNameByType(parameter.getRejectedType())
+                : originalRejected;
         Long executeTimeOut = Optional.ofNullable(parameter.getExecuteTimeOut()).orElse(0L);
         ChangeParameterNotifyRequest changeNotifyRequest = ChangeParameterNotifyRequest.builder()
                 .beforeCorePoolSize(originalCoreSize)
@@ -92,7 +96,7 @@ public class ServerThreadPoolDynamicRefresh implements ThreadPoolDynamicRefresh
                 .nowAllowsCoreThreadTimeOut(EnableEnum.getBool(parameter.getAllowCoreThreadTimeOut()))
                 .nowKeepAliveTime(afterExecutor.getKeepAliveTime(TimeUnit.SECONDS))
                 .nowQueueCapacity((afterExecutor.getQueue().remainingCapacity() + afterExecutor.getQueue().size()))
-                .nowRejectedName(RejectedPolicyTypeEnum.getRejectedNameByType(parameter.getRejectedType()))
+                .nowRejectedName(nowRejected)
                 .nowExecuteTimeOut(executeTimeOut)
                 .build();
         changeNotifyRequest.setThreadPoolId(threadPoolId);
@@ -104,7 +108,7 @@ public class ServerThreadPoolDynamicRefresh implements ThreadPoolDynamicRefresh
                 String.format(CHANGE_DELIMITER, originalCapacity, (afterExecutor.getQueue().remainingCapacity() + afterExecutor.getQueue().size())),
                 String.format(CHANGE_DELIMITER, originalKeepAliveTime, afterExecutor.getKeepAliveTime(TimeUnit.SECONDS)),
                 String.format(CHANGE_DELIMITER, originalExecuteTimeOut, executeTimeOut),
-                String.format(CHANGE_DELIMITER, originalRejected, RejectedPolicyTypeEnum.getRejectedNameByType(parameter.getRejectedType())),
+                String.format(CHANGE_DELIMITER, originalRejected, nowRejected),
                 String.format(CHANGE_DELIMITER, originalAllowCoreThreadTimeOut, EnableEnum.getBool(parameter.getAllowCoreThreadTimeOut())));
     }
 
@@ -120,14 +124,21 @@ public class ServerThreadPoolDynamicRefresh implements ThreadPoolDynamicRefresh
             }
         }
         if (parameter.getCapacity() != null
-                && Objects.equals(BlockingQueueTypeEnum.RESIZABLE_LINKED_BLOCKING_QUEUE.getType(), parameter.getQueueType())) {
-            if (executor.getQueue() instanceof ResizableCapacityLinkedBlockingQueue) {
-                ResizableCapacityLinkedBlockingQueue queue = (ResizableCapacityLinkedBlockingQueue) executor.getQueue();
+                && BlockingQueueTypeEnum.isResizableCapacity(parameter.getQueueType())) {
+            if (executor.getQueue() instanceof ResizableCapacityQueue) {
+                ResizableCapacityQueue queue = (ResizableCapacityQueue) executor.getQueue();
                 queue.setCapacity(parameter.getCapacity());
             } else {
                 log.warn("The queue length cannot be modified. Queue type mismatch. Current queue type: {}", executor.getQueue().getClass().getSimpleName());
             }
         }
+        if (parameter.getQueueLaneWeights() != null && executor.getQueue() instanceof PriorityLaneBlockingQueue) {
+            try {
+                ((PriorityLaneBlockingQueue<?>) executor.getQueue()).setLaneWeights(parameter.getQueueLaneWeights());
+            } catch (IllegalArgumentException ex) {
+                log.warn("The queue lane weights cannot be modified. {}", ex.getMessage());
+            }
+        }
         if (parameter.getKeepAliveTime() != null) {
             executor.setKeepAliveTime(parameter.getKeepAliveTime(), TimeUnit.SECONDS);
         }
@@ -18,47 +18,189 @@
 package cn.hippo4j.springboot.starter.monitor.collect;
 
 import cn.hippo4j.common.executor.ThreadPoolExecutorRegistry;
+import cn.hippo4j.common.model.PoolStatsSnapshot;
 import cn.hippo4j.common.model.ThreadPoolRunStateInfo;
 import cn.hippo4j.common.monitor.AbstractMessage;
 import cn.hippo4j.common.monitor.Message;
 import cn.hippo4j.common.monitor.MessageTypeEnum;
 import cn.hippo4j.common.monitor.RuntimeMessage;
+import cn.hippo4j.common.monitor.RuntimeMessageDelta;
 import cn.hippo4j.common.toolkit.BeanUtil;
+import cn.hippo4j.common.toolkit.StringUtil;
 import cn.hippo4j.common.support.AbstractThreadPoolRuntime;
+import cn.hippo4j.core.executor.state.ThreadPoolRunStateHandler;
+import cn.hippo4j.core.toolkit.LatencyHistogram;
 import cn.hippo4j.springboot.starter.config.BootstrapProperties;
-import lombok.AllArgsConstructor;
+import cn.hippo4j.springboot.starter.config.MonitorProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
 
+import static cn.hippo4j.common.monitor.RuntimeMessageDelta.Field.ACTIVE_SIZE;
+import static cn.hippo4j.common.monitor.RuntimeMessageDelta.Field.COMPLETED_TASK_COUNT;
+import static cn.hippo4j.common.monitor.RuntimeMessageDelta.Field.CURRENT_LOAD;
+import static cn.hippo4j.common.monitor.RuntimeMessageDelta.Field.EXECUTE_TIME_P50;
+import static cn.hippo4j.common.monitor.RuntimeMessageDelta.Field.LARGEST_POOL_SIZE;
+import static cn.hippo4j.common.monitor.RuntimeMessageDelta.Field.PEAK_LOAD;
+import static cn.hippo4j.common.monitor.RuntimeMessageDelta.Field.POOL_SIZE;
+import static cn.hippo4j.common.monitor.RuntimeMessageDelta.Field.QUEUE_CAPACITY;
+import static cn.hippo4j.common.monitor.RuntimeMessageDelta.Field.QUEUE_REMAINING_CAPACITY;
+import static cn.hippo4j.common.monitor.RuntimeMessageDelta.Field.QUEUE_SIZE;
+import static cn.hippo4j.common.monitor.RuntimeMessageDelta.Field.QUEUE_WAIT_TIME_P50;
+import static cn.hippo4j.common.monitor.RuntimeMessageDelta.Field.REJECT_COUNT;
 import static cn.hippo4j.core.toolkit.IdentifyUtil.getThreadPoolIdentify;
 
 /**
  * Thread pool runtime data collection.
+ *
+ * <p>When {@link MonitorProperties#getDeltaReport()} is enabled, the running state is read into {@link PoolStatsSnapshot} and primitive arrays
+ * and only the fields changed since the last collection are reported, see {@link RuntimeMessageDelta}.
+ * The server merges a delta row into the last full row it received of the same thread-pool, which is kept in its memory,
+ * so delta report is turned off when more than one server address is configured; a load balancer in front of
+ * several servers must route each client to the same server.
  */
-@AllArgsConstructor
+@Slf4j
+@RequiredArgsConstructor
 public class RunTimeInfoCollector extends AbstractThreadPoolRuntime implements Collector {
 
     private final BootstrapProperties properties;
 
+    /**
+     * Last reported values of each thread-pool in delta report
+     */
+    private final Map<String, PoolSnapshot> snapshots = new ConcurrentHashMap<>();
+
+    /**
+     * Number of collections in delta report
+     */
+    private long collectCount;
+
+    /**
+     * Whether delta report is enabled and the server addresses allow it, null before the first collection
+     */
+    private Boolean deltaReport;
+
     @Override
     public Message collectMessage() {
         AbstractMessage message = new RuntimeMessage();
         List<Message> runtimeMessages = new ArrayList<>();
         List<String> listThreadPoolId = ThreadPoolExecutorRegistry.listThreadPoolExecutorId();
-        for (String each : listThreadPoolId) {
-            ThreadPoolRunStateInfo poolRunState = getPoolRunState(each);
-            RuntimeMessage runtimeMessage = BeanUtil.convert(poolRunState, RuntimeMessage.class);
-            runtimeMessage.setGroupKey(getThreadPoolIdentify(each, properties.getItemId(), properties.getNamespace()));
-            runtimeMessages.add(runtimeMessage);
+        MonitorProperties monitor = properties.getMonitor();
+        if (isDeltaReport(monitor)) {
+            collectDelta(listThreadPoolId, runtimeMessages, Math.max(monitor.getDeltaKeyframeInterval(), 1));
+        } else {
+            for (String each : listThreadPoolId) {
+                ThreadPoolRunStateInfo poolRunState = getPoolRunState(each);
+                RuntimeMessage runtimeMessage = BeanUtil.convert(poolRunState, RuntimeMessage.class);
+                runtimeMessage.setGroupKey(getThreadPoolIdentify(each, properties.getItemId(), properties.getNamespace()));
+                runtimeMessages.add(runtimeMessage);
+            }
         }
         message.setMessageType(MessageTypeEnum.RUNTIME);
         message.setMessages(runtimeMessages);
         return message;
     }
 
+    private boolean isDeltaReport(MonitorProperties monitor) {
+        if (deltaReport == null) {
+            boolean enabled = monitor != null && Boolean.TRUE.equals(monitor.getDeltaReport());
+            long serverCount = properties.getServerAddr() == null ? 0L
+                    : Arrays.stream(properties.getServerAddr().split(",")).filter(StringUtil::isNotBlank).count();
+            if (enabled && serverCount > 1) {
+                log.warn("Delta report of runtime data is turned off, it requires a single server, server addresses: {}", properties.getServerAddr());
+                enabled = false;
+            }
+            deltaReport = enabled;
+        }
+        return deltaReport;
+    }
+
+    private void collectDelta(List<String> listThreadPoolId, List<Message> runtimeMessages, int keyframeInterval) {
+        boolean keyframe = collectCount++ % keyframeInterval == 0;
+        long timestamp = System.currentTimeMillis();
+        for (String each : listThreadPoolId) {
+            PoolSnapshot snapshot = snapshots.computeIfAbsent(each,
+                    key -> new PoolSnapshot(getThreadPoolIdentify(key, properties.getItemId(), properties.getNamespace())));
+            ThreadPoolExecutor pool = ThreadPoolExecutorRegistry.getHolder(each).getExecutor();
+            readValues(pool, snapshot);
+            runtimeMessages.add(RuntimeMessageDelta.diff(snapshot.groupKey, timestamp, snapshot.values,
+                    keyframe || !snapshot.reported ? null : snapshot.previous));
+            snapshot.swap();
+        }
+        if (snapshots.size() > listThreadPoolId.size()) {
+            snapshots.keySet().retainAll(listThreadPoolId);
+        }
+    }
+
+    /**
+     * Read the running state of thread-pool into the reusable stats snapshot, and then into the values.
+     */
+    private void readValues(ThreadPoolExecutor pool, PoolSnapshot snapshot) {
+        PoolStatsSnapshot stats = snapshot(pool, snapshot.stats);
+        ThreadPoolRunStateHandler.supplementLatency(pool, stats, snapshot.latency);
+        long[] values = snapshot.values;
+        values[CURRENT_LOAD.ordinal()] = stats.getCurrentLoad();
+        values[PEAK_LOAD.ordinal()] = stats.getPeakLoad();
+        values[POOL_SIZE.ordinal()] = stats.getPoolSize();
+        values[LARGEST_POOL_SIZE.ordinal()] = stats.getLargestPoolSize();
+        values[ACTIVE_SIZE.ordinal()] = stats.getActiveCount();
+        values[QUEUE_CAPACITY.ordinal()] = stats.getQueueCapacity();
+        values[QUEUE_SIZE.ordinal()] = stats.getQueueSize();
+        values[QUEUE_REMAINING_CAPACITY.ordinal()] = stats.getQueueRemainingCapacity();
+        values[COMPLETED_TASK_COUNT.ordinal()] = stats.getCompletedTaskCount();
+        values[REJECT_COUNT.ordinal()] = stats.getRejectCount();
+        // PoolStatsSnapshot.ABSENT is the same as RuntimeMessageDelta.ABSENT
+        int offset = EXECUTE_TIME_P50.ordinal();
+        values[offset] = stats.getExecuteTimeP50();
+        values[offset + 1] = stats.getExecuteTimeP90();
+        values[offset + 2] = stats.getExecuteTimeP99();
+        values[offset + 3] = stats.getExecuteTimeP999();
+        values[offset + 4] = stats.getExecuteTimeMax();
+        offset = QUEUE_WAIT_TIME_P50.ordinal();
+        values[offset] = stats.getQueueWaitTimeP50();
+        values[offset + 1] = stats.getQueueWaitTimeP90();
+        values[offset + 2] = stats.getQueueWaitTimeP99();
+        values[offset + 3] = stats.getQueueWaitTimeP999();
+        values[offset + 4] = stats.getQueueWaitTimeMax();
+    }
+
     @Override
     public ThreadPoolRunStateInfo supplement(ThreadPoolRunStateInfo threadPoolRunStateInfo) {
         return threadPoolRunStateInfo;
     }
+
+    /**
+     * Values of one thread-pool in the current and the last collection.
+     */
+    private static class PoolSnapshot {
+
+        private final String groupKey;
+
+        private final PoolStatsSnapshot stats = new PoolStatsSnapshot();
+
+        private final LatencyHistogram.Snapshot latency = new LatencyHistogram.Snapshot();
+
+        private long[] values = RuntimeMessageDelta.newValues();
+
+        private long[] previous = RuntimeMessageDelta.newValues();
+
+        private boolean reported;
+
+        PoolSnapshot(String groupKey) {
+            this.groupKey = groupKey;
+        }
+
+        void swap() {
+            long[] temp = previous;
+            previous = values;
+            values = temp;
+            reported = true;
+        }
+    }
 }
@@ -18,8 +18,9 @@
 package cn.hippo4j.springboot.starter.monitor.send.netty;
 
 import cn.hippo4j.common.monitor.Message;
-import cn.hippo4j.common.monitor.MessageWrapper;
+import cn.hippo4j.common.monitor.RuntimeMessageCodec;
 import cn.hippo4j.common.toolkit.MessageConvert;
+import cn.hippo4j.springboot.starter.config.BootstrapProperties;
 import cn.hippo4j.springboot.starter.monitor.send.MessageSender;
 import cn.hippo4j.springboot.starter.remote.ServerNettyAgent;
 import io.netty.bootstrap.Bootstrap;
@@ -41,11 +42,17 @@ import lombok.extern.slf4j.Slf4j;
 @AllArgsConstructor
 public class NettyConnectSender implements MessageSender {
 
+    private static final String BINARY_CODEC = "binary";
+
     private ServerNettyAgent serverNettyAgent;
 
+    private BootstrapProperties properties;
+
     @Override
     public void send(Message message) {
-        MessageWrapper messageWrapper = MessageConvert.convert(message);
+        Object payload = BINARY_CODEC.equalsIgnoreCase(properties.getReportCodec()) && RuntimeMessageCodec.supports(message)
+                ? message
+                : MessageConvert.convert(message);
         EventLoopGroup eventLoopGroup = serverNettyAgent.getEventLoopGroup();
         try {
             Bootstrap bootstrap = new Bootstrap();
@@ -57,9 +64,10 @@ public class NettyConnectSender implements MessageSender {
                         protected void initChannel(SocketChannel ch) {
                             ChannelPipeline pipeline = ch.pipeline();
                             pipeline.addLast(new ObjectEncoder());
+                            pipeline.addLast(new RuntimeMessageEncoder());
                             pipeline.addLast(new ObjectDecoder(Integer.MAX_VALUE,
                                     ClassResolvers.cacheDisabled(null)));
-                            pipeline.addLast(new SenderHandler(messageWrapper));
+                            pipeline.addLast(new SenderHandler(payload));
                         }
                     });
             bootstrap.connect(serverNettyAgent.getNettyServerAddress(), serverNettyAgent.getNettyServerPort()).sync();
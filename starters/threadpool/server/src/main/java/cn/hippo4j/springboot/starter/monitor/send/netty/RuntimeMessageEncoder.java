@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.springboot.starter.monitor.send.netty;
+
+import cn.hippo4j.common.monitor.Message;
+import cn.hippo4j.common.monitor.RuntimeMessageCodec;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.MessageToByteEncoder;
+
+/**
+ * Encode runtime message batch by {@link RuntimeMessageCodec}, prefixed by a 4-byte length.
+ * Other messages are passed to the next encoder.
+ */
+public class RuntimeMessageEncoder extends MessageToByteEncoder<Message> {
+
+    @Override
+    public boolean acceptOutboundMessage(Object msg) throws Exception {
+        return super.acceptOutboundMessage(msg) && RuntimeMessageCodec.supports((Message) msg);
+    }
+
+    @Override
+    protected void encode(ChannelHandlerContext ctx, Message msg, ByteBuf out) {
+        byte[] bytes = RuntimeMessageCodec.encode(msg);
+        out.writeInt(bytes.length);
+        out.writeBytes(bytes);
+    }
+}
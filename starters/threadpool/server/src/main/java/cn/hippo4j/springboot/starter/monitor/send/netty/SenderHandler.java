@@ -30,7 +30,10 @@ import lombok.extern.slf4j.Slf4j;
 @AllArgsConstructor
 public class SenderHandler extends SimpleChannelInboundHandler<MessageWrapper> {
 
-    private MessageWrapper messageWrapper;
+    /**
+     * {@link MessageWrapper} or {@link cn.hippo4j.common.monitor.Message} to be encoded by {@link RuntimeMessageEncoder}
+     */
+    private Object message;
 
     @Override
     protected void channelRead0(ChannelHandlerContext ctx, MessageWrapper msg) throws Exception {
@@ -38,6 +41,6 @@ public class SenderHandler extends SimpleChannelInboundHandler<MessageWrapper> {
 
     @Override
     public void channelActive(ChannelHandlerContext ctx) throws Exception {
-        ctx.channel().writeAndFlush(messageWrapper);
+        ctx.channel().writeAndFlush(message);
     }
 }
@@ -0,0 +1,246 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.springboot.starter.remote;
+
+import cn.hippo4j.common.push.ConfigAckMessage;
+import cn.hippo4j.common.push.ConfigPushMessage;
+import cn.hippo4j.common.push.ConfigSubscribeAckMessage;
+import cn.hippo4j.common.push.ConfigSubscribeMessage;
+import cn.hippo4j.springboot.starter.core.CacheData;
+import cn.hippo4j.springboot.starter.core.ClientWorker;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.codec.serialization.ClassResolvers;
+import io.netty.handler.codec.serialization.ObjectDecoder;
+import io.netty.handler.codec.serialization.ObjectEncoder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Persistent channel to the netty server of hippo4j, the server pushes the changed config through it
+ * and the client acks with the md5 of the applied config. <br />
+ * {@link ClientWorker} stops long polling only after the server acks the subscription of the channel,
+ * and falls back to it when the channel is broken. If the ack is not received in {@link #SUBSCRIBE_ACK_TIMEOUT_MILLIS},
+ * e.g. the server is an older version or only receives monitor reports, the channel is closed and long polling goes on.
+ * The pushed config is applied in the worker executor of {@link ClientWorker}, never on the netty event loop.
+ * The channel is reconnected with exponential backoff, and all the thread-pools are subscribed again with their md5,
+ * so the server only pushes the config changed while disconnected.
+ */
+@Slf4j
+public class ConfigPushClient implements DisposableBean {
+
+    private static final long MIN_RECONNECT_DELAY_MILLIS = 1000L;
+
+    private static final long MAX_RECONNECT_DELAY_MILLIS = 30000L;
+
+    /**
+     * Max time to wait for the server to ack the subscription after the channel is connected
+     */
+    public static final long SUBSCRIBE_ACK_TIMEOUT_MILLIS = 10000L;
+
+    private final ServerNettyAgent serverNettyAgent;
+
+    private final ClientWorker clientWorker;
+
+    private final HttpAgent httpAgent;
+
+    private final EventLoopGroup eventLoopGroup;
+
+    private volatile Channel channel;
+
+    /**
+     * Channel of which the subscription is acked by the server
+     */
+    private volatile Channel subscribedChannel;
+
+    private volatile boolean closed;
+
+    private long reconnectDelayMillis = MIN_RECONNECT_DELAY_MILLIS;
+
+    public ConfigPushClient(ServerNettyAgent serverNettyAgent, ClientWorker clientWorker, HttpAgent httpAgent) {
+        this.serverNettyAgent = serverNettyAgent;
+        this.clientWorker = clientWorker;
+        this.httpAgent = httpAgent;
+        this.eventLoopGroup = serverNettyAgent.getEventLoopGroup();
+        clientWorker.setConfigPushClient(this);
+        connect();
+    }
+
+    /**
+     * Whether the config is delivered by the push channel.
+     *
+     * @return true if the channel is active and its subscription is acked by the server
+     */
+    public boolean isActive() {
+        Channel current = channel;
+        return current != null && current == subscribedChannel && current.isActive();
+    }
+
+    /**
+     * Subscribe the config of thread-pools, do nothing if the channel is inactive,
+     * they will be subscribed when the channel is connected.
+     *
+     * @param cacheDataList cache data of thread-pools
+     */
+    public void subscribe(Collection<CacheData> cacheDataList) {
+        Channel current = channel;
+        if (current == null || !current.isActive() || cacheDataList.isEmpty()) {
+            return;
+        }
+        sendSubscribe(current, cacheDataList);
+    }
+
+    private void sendSubscribe(Channel current, Collection<CacheData> cacheDataList) {
+        List<ConfigSubscribeMessage.Item> items = new ArrayList<>(cacheDataList.size());
+        cacheDataList.forEach(each -> items.add(new ConfigSubscribeMessage.Item(each.getThreadPoolId(), each.getItemId(), each.getTenantId(), each.getMd5())));
+        current.writeAndFlush(new ConfigSubscribeMessage(clientWorker.getIdentify(), clientWorker.getVersion(), items, httpAgent.getAccessToken()));
+    }
+
+    private void connect() {
+        if (closed) {
+            return;
+        }
+        Bootstrap bootstrap = new Bootstrap();
+        bootstrap.group(eventLoopGroup)
+                .channel(NioSocketChannel.class)
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .handler(new ChannelInitializer<SocketChannel>() {
+
+                    @Override
+                    protected void initChannel(SocketChannel ch) {
+                        ChannelPipeline pipeline = ch.pipeline();
+                        pipeline.addLast(new ObjectEncoder());
+                        pipeline.addLast(new ObjectDecoder(Integer.MAX_VALUE,
+                                ClassResolvers.cacheDisabled(null)));
+                        pipeline.addLast(new ConfigPushHandler());
+                    }
+                });
+        try {
+            bootstrap.connect(serverNettyAgent.getNettyServerAddress(), serverNettyAgent.getNettyServerPort())
+                    .addListener((ChannelFuture future) -> {
+                        if (!future.isSuccess()) {
+                            log.warn("Config push channel connect failed, fall back to long polling. {}", future.cause().getMessage());
+                            scheduleReconnect();
+                        }
+                    });
+        } catch (Exception ex) {
+            log.error("Config push channel connect error.", ex);
+            scheduleReconnect();
+        }
+    }
+
+    private void scheduleReconnect() {
+        if (closed || eventLoopGroup.isShuttingDown()) {
+            return;
+        }
+        long delay = reconnectDelayMillis;
+        reconnectDelayMillis = Math.min(delay << 1, MAX_RECONNECT_DELAY_MILLIS);
+        eventLoopGroup.schedule(this::connect, delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Close the channels of this client only, the event loop group is shared with
+     * the other netty senders of {@link ServerNettyAgent}.
+     */
+    @Override
+    public void destroy() {
+        closed = true;
+        closeChannel(subscribedChannel);
+        closeChannel(channel);
+    }
+
+    private static void closeChannel(Channel current) {
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    /**
+     * Handle the config pushed by server.
+     */
+    private class ConfigPushHandler extends SimpleChannelInboundHandler<Object> {
+
+        @Override
+        public void channelActive(ChannelHandlerContext ctx) {
+            Channel current = ctx.channel();
+            if (closed) {
+                // connected after the client is destroyed
+                current.close();
+                return;
+            }
+            log.info("Config push channel connected, waiting for the subscription ack.");
+            channel = current;
+            // subscribe even without thread-pools, the server acks an empty subscription as well
+            sendSubscribe(current, clientWorker.getCacheDataList());
+            ctx.executor().schedule(() -> {
+                if (current.isActive() && subscribedChannel != current) {
+                    log.warn("Config push channel subscription is not acked in {} ms, fall back to long polling.", SUBSCRIBE_ACK_TIMEOUT_MILLIS);
+                    current.close();
+                }
+            }, SUBSCRIBE_ACK_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        protected void channelRead0(ChannelHandlerContext ctx, Object msg) {
+            if (msg instanceof ConfigPushMessage) {
+                ConfigPushMessage pushMessage = (ConfigPushMessage) msg;
+                clientWorker.applyPushedConfig(pushMessage.getThreadPoolId(), pushMessage.getContent(),
+                        md5 -> ctx.writeAndFlush(new ConfigAckMessage(clientWorker.getIdentify(), pushMessage.getThreadPoolId(),
+                                pushMessage.getItemId(), pushMessage.getTenantId(), md5)));
+            } else if (msg instanceof ConfigSubscribeAckMessage && subscribedChannel != ctx.channel()) {
+                log.info("Config push channel subscribed, long polling is suspended.");
+                reconnectDelayMillis = MIN_RECONNECT_DELAY_MILLIS;
+                subscribedChannel = ctx.channel();
+            }
+        }
+
+        @Override
+        public void channelInactive(ChannelHandlerContext ctx) {
+            if (channel == ctx.channel()) {
+                channel = null;
+            }
+            if (subscribedChannel == ctx.channel()) {
+                subscribedChannel = null;
+            }
+            if (!closed) {
+                log.warn("Config push channel disconnected, fall back to long polling.");
+                scheduleReconnect();
+            }
+        }
+
+        @Override
+        public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+            log.error("Config push channel error.", cause);
+            ctx.close();
+        }
+    }
+}
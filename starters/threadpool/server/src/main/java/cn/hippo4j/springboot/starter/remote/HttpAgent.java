@@ -45,6 +45,15 @@ public interface HttpAgent {
      */
     String getEncode();
 
+    /**
+     * Get access token applied from the server.
+     *
+     * @return access token, null if not applied
+     */
+    default String getAccessToken() {
+        return null;
+    }
+
     /**
      * Http get simple.
      *
@@ -79,6 +79,11 @@ public class ServerHttpAgent implements HttpAgent {
         return null;
     }
 
+    @Override
+    public String getAccessToken() {
+        return securityProxy.getAccessToken();
+    }
+
     @Override
     public Result httpGetSimple(String path) {
         path = injectSecurityInfoByPath(path);
@@ -21,6 +21,7 @@ import cn.hippo4j.common.constant.Constants;
 import cn.hippo4j.common.executor.ThreadPoolExecutorHolder;
 import cn.hippo4j.common.executor.ThreadPoolExecutorRegistry;
 import cn.hippo4j.common.executor.support.BlockingQueueTypeEnum;
+import cn.hippo4j.common.executor.support.PriorityLaneBlockingQueue;
 import cn.hippo4j.common.executor.support.RejectedPolicyTypeEnum;
 import cn.hippo4j.common.extension.enums.EnableEnum;
 import cn.hippo4j.common.model.Result;
@@ -180,6 +181,9 @@ public final class DynamicThreadPoolPostProcessor implements BeanPostProcessor {
      */
     private void threadPoolParamReplace(ThreadPoolExecutor executor, ThreadPoolParameterInfo threadPoolParameterInfo) {
         BlockingQueue workQueue = BlockingQueueTypeEnum.createBlockingQueue(threadPoolParameterInfo.getQueueType(), threadPoolParameterInfo.getCapacity());
+        if (workQueue instanceof PriorityLaneBlockingQueue && threadPoolParameterInfo.getQueueLaneWeights() != null) {
+            workQueue = new PriorityLaneBlockingQueue<>(workQueue.remainingCapacity(), threadPoolParameterInfo.getQueueLaneWeights());
+        }
         ReflectUtil.setFieldValue(executor, "workQueue", workQueue);
         // fix https://github.com/opengoofy/hippo4j/issues/1063
         ThreadPoolExecutorUtil.safeSetPoolSize(executor, threadPoolParameterInfo.corePoolSizeAdapt(), threadPoolParameterInfo.maximumPoolSizeAdapt());
@@ -90,6 +90,7 @@ export default {
     maximumSize: 'Maximum Size',
     queueType: 'Queue Type',
     queueCapacity: 'Queue Capacity',
+    queueLaneWeights: 'Queue Lane Weights',
     rejectedHandler: 'Rejected Handler',
     executionTimeout: 'Execution Timeout',
     executionTimeoutUnit: 'Execution Timeout （ms）',
@@ -127,6 +128,9 @@ export default {
     currentSize: 'Current Size',
     activeSize: 'Active Size',
     largestSize: 'Largest Size',
+    poolGroup: 'Pool Group',
+    groupThreads: 'Group Threads / Budget',
+    totalShed: 'Total Shed',
     queueInformation: 'Queue Information',
     queueCount: 'Queue Count',
     queueRemainingCapacity: 'Queue Remaining Capacity',
@@ -88,6 +88,7 @@ export default {
     maximumSize: '最大线程',
     queueType: '队列类型',
     queueCapacity: '队列容量',
+    queueLaneWeights: '队列通道权重',
     rejectedHandler: '拒绝策略',
     executionTimeout: '执行超时',
     executionTimeoutUnit: '执行超时 （毫秒）',
@@ -125,6 +126,9 @@ export default {
     currentSize: '当前线程',
     activeSize: '活跃线程',
     largestSize: '同存最大线程',
+    poolGroup: '线程池分组',
+    groupThreads: '分组线程 / 预算',
+    totalShed: '主动丢弃总数',
     queueInformation: '队列信息',
     queueCount: '队列元素',
     queueRemainingCapacity: '队列剩余容量',
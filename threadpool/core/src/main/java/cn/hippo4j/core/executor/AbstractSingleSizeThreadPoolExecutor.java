@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.core.executor;
+
+import lombok.NonNull;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Dynamic thread-pool sized by a single setting, such as the parallelism or the concurrency limit of subclasses. <br />
+ * The setting is the maximum pool size, and the core pool size always follows it, so the setting can be changed at runtime
+ * by {@link #setMaximumPoolSize} like other dynamic thread-pools, and a separate core pool size is ignored.
+ */
+public abstract class AbstractSingleSizeThreadPoolExecutor extends DynamicThreadPoolExecutor {
+
+    /**
+     * Creates a new {@code AbstractSingleSizeThreadPoolExecutor} with the given initial parameters.
+     *
+     * @param poolSize                         both the core and maximum pool size
+     * @param keepAliveTime                    the maximum time that idle threads will wait for new tasks before terminating, if core threads are allowed to time out
+     * @param unit                             the time unit for the {@code keepAliveTime} argument
+     * @param executeTimeOut                   execute time out
+     * @param waitForTasksToCompleteOnShutdown wait for tasks to complete on shutdown
+     * @param awaitTerminationMillis           await termination millis
+     * @param workQueue                        the queue to use for holding tasks before they are executed
+     * @param threadPoolId                     thread-pool id
+     * @param threadFactory                    the factory to use when the executor creates a new thread
+     * @param rejectedExecutionHandler         the handler to use when the pool size and queue capacity are reached
+     */
+    protected AbstractSingleSizeThreadPoolExecutor(
+                                                   int poolSize,
+                                                   long keepAliveTime, TimeUnit unit,
+                                                   long executeTimeOut, boolean waitForTasksToCompleteOnShutdown, long awaitTerminationMillis,
+                                                   @NonNull BlockingQueue<Runnable> workQueue,
+                                                   @NonNull String threadPoolId,
+                                                   @NonNull ThreadFactory threadFactory,
+                                                   @NonNull RejectedExecutionHandler rejectedExecutionHandler) {
+        super(poolSize, poolSize, keepAliveTime, unit,
+                executeTimeOut, waitForTasksToCompleteOnShutdown, awaitTerminationMillis,
+                workQueue, threadPoolId, threadFactory, rejectedExecutionHandler);
+    }
+
+    /**
+     * Set both the core and maximum pool size, in the order that keeps the core pool size not greater than the maximum.
+     *
+     * @param poolSize pool size
+     * @throws IllegalArgumentException if {@code poolSize} is not greater than zero
+     */
+    protected synchronized void setPoolSize(int poolSize) {
+        if (poolSize <= 0) {
+            throw new IllegalArgumentException();
+        }
+        if (poolSize > getMaximumPoolSize()) {
+            super.setMaximumPoolSize(poolSize);
+            super.setCorePoolSize(poolSize);
+        } else {
+            super.setCorePoolSize(poolSize);
+            super.setMaximumPoolSize(poolSize);
+        }
+    }
+
+    /**
+     * The core pool size always follows the maximum pool size, the argument is only validated.
+     *
+     * @param corePoolSize ignored
+     */
+    @Override
+    public void setCorePoolSize(int corePoolSize) {
+        if (corePoolSize < 0 || corePoolSize > getMaximumPoolSize()) {
+            throw new IllegalArgumentException();
+        }
+    }
+
+    /**
+     * Set both the core and maximum pool size.
+     *
+     * @param maximumPoolSize pool size
+     */
+    @Override
+    public void setMaximumPoolSize(int maximumPoolSize) {
+        setPoolSize(maximumPoolSize);
+    }
+}
@@ -17,8 +17,10 @@
 
 package cn.hippo4j.core.executor;
 
+import cn.hippo4j.common.executor.ThreadPoolMetrics;
 import cn.hippo4j.common.toolkit.CollectionUtil;
 import cn.hippo4j.core.executor.plugin.impl.TaskDecoratorPlugin;
+import cn.hippo4j.core.executor.plugin.impl.TaskQueueWaitTimePlugin;
 import cn.hippo4j.core.executor.plugin.impl.TaskRejectCountRecordPlugin;
 import cn.hippo4j.core.executor.plugin.impl.TaskTimeoutNotifyAlarmPlugin;
 import cn.hippo4j.core.executor.plugin.impl.ThreadPoolExecutorShutdownPlugin;
@@ -41,6 +43,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 
+import static cn.hippo4j.common.constant.Constants.NO_QUEUE_WAIT_TIME;
 import static cn.hippo4j.common.constant.Constants.NO_REJECT_COUNT_NUM;
 
 /**
@@ -49,7 +52,7 @@ import static cn.hippo4j.common.constant.Constants.NO_REJECT_COUNT_NUM;
  * @see DefaultThreadPoolCheckAlarmHandler#buildAlarmNotifyRequest
  */
 @Slf4j
-public class DynamicThreadPoolExecutor extends ExtensibleThreadPoolExecutor implements DisposableBean {
+public class DynamicThreadPoolExecutor extends ExtensibleThreadPoolExecutor implements ThreadPoolMetrics, DisposableBean {
 
     /**
      * A flag used to indicate whether destroy() method has been called,
@@ -190,11 +193,35 @@ public class DynamicThreadPoolExecutor extends ExtensibleThreadPoolExecutor impl
      */
     @Deprecated
     public Long getRejectCountNum() {
+        return getRejectedTaskCount();
+    }
+
+    /**
+     * Get the number of rejected tasks.
+     *
+     * @return reject count num, or {@code -1} if {@link TaskRejectCountRecordPlugin} is not registered
+     * @see DefaultThreadPoolCheckAlarmHandler#buildAlarmNotifyRequest
+     */
+    @Override
+    public long getRejectedTaskCount() {
         return getPluginOfType(TaskRejectCountRecordPlugin.PLUGIN_NAME, TaskRejectCountRecordPlugin.class)
                 .map(TaskRejectCountRecordPlugin::getRejectCountNum)
                 .orElse(NO_REJECT_COUNT_NUM);
     }
 
+    /**
+     * Get the 99th percentile of task queue wait time in the latest sliding window.
+     *
+     * @return queue wait time in nanoseconds, or {@code -1} if {@link TaskQueueWaitTimePlugin} is not registered
+     * @see DefaultThreadPoolCheckAlarmHandler#checkPoolQueueWaitAlarm
+     */
+    @Override
+    public long getQueueWaitTimeP99() {
+        return getPluginOfType(TaskQueueWaitTimePlugin.PLUGIN_NAME, TaskQueueWaitTimePlugin.class)
+                .map(plugin -> plugin.snapshot().getP99())
+                .orElse(NO_QUEUE_WAIT_TIME);
+    }
+
     /**
      * Get reject count.
      *
@@ -17,6 +17,10 @@
 
 package cn.hippo4j.core.executor;
 
+import cn.hippo4j.common.executor.support.BulkOfferQueue;
+import cn.hippo4j.common.executor.support.PrioritizedRunnable;
+import cn.hippo4j.common.executor.support.PrioritizedTask;
+import cn.hippo4j.common.executor.support.SheddingRejectedExecutionHandler;
 import cn.hippo4j.core.executor.plugin.ExecuteAwarePlugin;
 import cn.hippo4j.core.executor.plugin.RejectedAwarePlugin;
 import cn.hippo4j.core.executor.plugin.ShutdownAwarePlugin;
@@ -29,12 +33,17 @@ import lombok.Getter;
 import lombok.NonNull;
 import lombok.Setter;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.RunnableFuture;
 import java.util.concurrent.ThreadFactory;
@@ -48,6 +57,9 @@ import java.util.concurrent.TimeUnit;
  * users can customize plug-ins and implement one or more {@link ThreadPoolPlugin} interface
  * to enable plugins to sense thread pool behavior and provide extended functions.
  *
+ * <p>On the hot path of task submission and execution, plugins are obtained through
+ * {@link ThreadPoolPluginManager#getPluginSnapshot()}, so no lock will be held when calling plugins.
+ *
  * @see ThreadPoolPluginManager
  * @see ThreadPoolPlugin
  */
@@ -125,8 +137,10 @@ public class ExtensibleThreadPoolExecutor extends ThreadPoolExecutor implements
      */
     @Override
     protected void beforeExecute(Thread thread, Runnable runnable) {
-        Collection<ExecuteAwarePlugin> executeAwarePluginList = threadPoolPluginManager.getExecuteAwarePluginList();
-        executeAwarePluginList.forEach(aware -> aware.beforeExecute(thread, runnable));
+        ExecuteAwarePlugin[] executeAwarePlugins = threadPoolPluginManager.getPluginSnapshot().getExecuteAwarePlugins();
+        for (ExecuteAwarePlugin executeAwarePlugin : executeAwarePlugins) {
+            executeAwarePlugin.beforeExecute(thread, runnable);
+        }
     }
 
     /**
@@ -134,20 +148,161 @@ public class ExtensibleThreadPoolExecutor extends ThreadPoolExecutor implements
      *
      * <p>Before calling the superclass method, {@link TaskAwarePlugin#beforeTaskExecute} will be called first. <br />
      * If the task becomes null after being processed by the {@link TaskAwarePlugin#beforeTaskExecute},
-     * the task will not be submitted.
+     * the task will not be submitted. <br />
+     * If a {@link PrioritizedRunnable} is wrapped by the plugins, the priority and deadline are kept on the final task.
      *
      * @param runnable the task to execute
      */
     @Override
     public void execute(@NonNull Runnable runnable) {
-        Collection<TaskAwarePlugin> taskAwarePluginList = threadPoolPluginManager.getTaskAwarePluginList();
-        for (TaskAwarePlugin taskAwarePlugin : taskAwarePluginList) {
+        TaskAwarePlugin[] taskAwarePlugins = threadPoolPluginManager.getPluginSnapshot().getTaskAwarePlugins();
+        runnable = decorateTask(runnable, taskAwarePlugins);
+        if (Objects.nonNull(runnable)) {
+            super.execute(runnable);
+        }
+    }
+
+    /**
+     * <p>Execute a batch of tasks, it has the same effect as calling {@link #execute} for each task in order,
+     * but the overhead of submission is amortised over the batch:
+     * <ul>
+     *     <li>the plugins are obtained only once and all tasks are processed by {@link TaskAwarePlugin#beforeTaskExecute} in one pass;</li>
+     *     <li>once the core threads are started, the tasks are inserted into a {@link BulkOfferQueue} with a single acquisition of its lock.</li>
+     * </ul>
+     * The tasks that can not be inserted into the queue are submitted one by one, so that non-core threads are started
+     * and each rejected task is passed to the {@link RejectedAwarePlugin} and the rejected handler, like {@link #execute}.
+     *
+     * @param runnables tasks to execute
+     */
+    public void executeAll(@NonNull Collection<? extends Runnable> runnables) {
+        TaskAwarePlugin[] taskAwarePlugins = threadPoolPluginManager.getPluginSnapshot().getTaskAwarePlugins();
+        List<Runnable> tasks = new ArrayList<>(runnables.size());
+        for (Runnable runnable : runnables) {
+            Runnable task = decorateTask(Objects.requireNonNull(runnable), taskAwarePlugins);
+            if (Objects.nonNull(task)) {
+                tasks.add(task);
+            }
+        }
+        int size = tasks.size();
+        int index = 0;
+        // start the core threads with the first tasks, as execute does
+        while (index < size && getCorePoolSize() > getPoolSize()) {
+            super.execute(tasks.get(index++));
+        }
+        BlockingQueue<Runnable> queue = getQueue();
+        if (index < size && queue instanceof BulkOfferQueue && getCorePoolSize() > 0 && !isShutdown()) {
+            @SuppressWarnings("unchecked")
+            int offered = ((BulkOfferQueue<Runnable>) queue).offerAll(tasks.subList(index, size));
+            if (offered > 0) {
+                recheckOfferedTasks(tasks.subList(index, index + offered));
+                index += offered;
+            }
+        }
+        while (index < size) {
+            super.execute(tasks.get(index++));
+        }
+    }
+
+    /**
+     * Submit a batch of value-returning tasks through {@link #executeAll}.
+     *
+     * @param tasks tasks to submit
+     * @param <T>   the type of the tasks' result
+     * @return futures of the tasks, in the same order as the given tasks
+     */
+    public <T> List<Future<T>> submitAll(@NonNull Collection<? extends Callable<T>> tasks) {
+        List<RunnableFuture<T>> futures = new ArrayList<>(tasks.size());
+        for (Callable<T> task : tasks) {
+            futures.add(newTaskFor(Objects.requireNonNull(task)));
+        }
+        executeAll(futures);
+        return new ArrayList<>(futures);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The tasks are submitted through {@link #executeAll}.
+     */
+    @Override
+    public <T> List<Future<T>> invokeAll(@NonNull Collection<? extends Callable<T>> tasks) throws InterruptedException {
+        List<Future<T>> futures = new ArrayList<>(tasks.size());
+        List<RunnableFuture<T>> runnableFutures = new ArrayList<>(tasks.size());
+        for (Callable<T> task : tasks) {
+            RunnableFuture<T> future = newTaskFor(Objects.requireNonNull(task));
+            futures.add(future);
+            runnableFutures.add(future);
+        }
+        boolean done = false;
+        try {
+            executeAll(runnableFutures);
+            for (Future<T> future : futures) {
+                if (!future.isDone()) {
+                    try {
+                        future.get();
+                    } catch (CancellationException | ExecutionException ignore) {
+                    }
+                }
+            }
+            done = true;
+            return futures;
+        } finally {
+            if (!done) {
+                futures.forEach(future -> future.cancel(true));
+            }
+        }
+    }
+
+    /**
+     * Process the task by {@link TaskAwarePlugin#beforeTaskExecute}.
+     * If a {@link PrioritizedRunnable} is wrapped by the plugins, the priority and deadline are kept on the final task,
+     * which also refers to the submitted task, see {@link PrioritizedTask#unwrap}.
+     *
+     * @param runnable         task
+     * @param taskAwarePlugins plugins
+     * @return task to submit, or null if the task should not be submitted, in which case the submitted task is cancelled if it's a {@link Future}
+     */
+    private Runnable decorateTask(Runnable runnable, TaskAwarePlugin[] taskAwarePlugins) {
+        Runnable source = runnable;
+        PrioritizedRunnable prioritized = runnable instanceof PrioritizedRunnable ? (PrioritizedRunnable) runnable : null;
+        for (TaskAwarePlugin taskAwarePlugin : taskAwarePlugins) {
             runnable = taskAwarePlugin.beforeTaskExecute(runnable);
             if (Objects.isNull(runnable)) {
-                return;
+                // the task may have been wrapped by the previous plugins, cancel the future held by the caller
+                if (source instanceof Future) {
+                    ((Future<?>) source).cancel(false);
+                }
+                return null;
+            }
+            if (runnable instanceof PrioritizedRunnable) {
+                prioritized = (PrioritizedRunnable) runnable;
             }
         }
-        super.execute(runnable);
+        // keep the submitted task on the final task, so the future is cancelled if the task is dropped by the queue
+        if (prioritized != null && runnable != source) {
+            runnable = new PrioritizedTask(runnable, prioritized.getPriority(), prioritized.getDeadlineNanos(), source);
+        }
+        return runnable;
+    }
+
+    /**
+     * Same as the recheck of {@link ThreadPoolExecutor#execute} after a task is queued:
+     * reject the tasks that are still queued if the pool has been shut down,
+     * and make sure there is a thread to run them.
+     *
+     * @param offered tasks inserted into the queue
+     */
+    private void recheckOfferedTasks(List<Runnable> offered) {
+        if (isShutdown()) {
+            BlockingQueue<Runnable> queue = getQueue();
+            for (Runnable task : offered) {
+                if (queue.remove(task)) {
+                    handlerWrapper.rejectedExecution(task, this);
+                }
+            }
+        } else if (getPoolSize() == 0) {
+            prestartCoreThread();
+        }
     }
 
     /**
@@ -161,8 +316,10 @@ public class ExtensibleThreadPoolExecutor extends ThreadPoolExecutor implements
      */
     @Override
     protected void afterExecute(Runnable runnable, Throwable throwable) {
-        Collection<ExecuteAwarePlugin> executeAwarePluginList = threadPoolPluginManager.getExecuteAwarePluginList();
-        executeAwarePluginList.forEach(aware -> aware.afterExecute(runnable, throwable));
+        ExecuteAwarePlugin[] executeAwarePlugins = threadPoolPluginManager.getPluginSnapshot().getExecuteAwarePlugins();
+        for (ExecuteAwarePlugin executeAwarePlugin : executeAwarePlugins) {
+            executeAwarePlugin.afterExecute(runnable, throwable);
+        }
     }
 
     /**
@@ -216,6 +373,7 @@ public class ExtensibleThreadPoolExecutor extends ThreadPoolExecutor implements
      * {@inheritDoc}
      *
      * <p><b>Before calling the superclass method, {@link TaskAwarePlugin#beforeTaskCreate} will be called first.
+     * A {@link PrioritizedRunnable} is wrapped into a future that keeps its priority and deadline.
      *
      * @param runnable the runnable task being wrapped
      * @param value    the default value for the returned future
@@ -227,10 +385,13 @@ public class ExtensibleThreadPoolExecutor extends ThreadPoolExecutor implements
      */
     @Override
     protected <T> RunnableFuture<T> newTaskFor(Runnable runnable, T value) {
-        Collection<TaskAwarePlugin> taskAwarePluginList = threadPoolPluginManager.getTaskAwarePluginList();
-        for (TaskAwarePlugin taskAwarePlugin : taskAwarePluginList) {
+        TaskAwarePlugin[] taskAwarePlugins = threadPoolPluginManager.getPluginSnapshot().getTaskAwarePlugins();
+        for (TaskAwarePlugin taskAwarePlugin : taskAwarePlugins) {
             runnable = taskAwarePlugin.beforeTaskCreate(this, runnable, value);
         }
+        if (runnable instanceof PrioritizedRunnable) {
+            return new PrioritizedFutureTask<>((PrioritizedRunnable) runnable, value);
+        }
         return super.newTaskFor(runnable, value);
     }
 
@@ -248,8 +409,8 @@ public class ExtensibleThreadPoolExecutor extends ThreadPoolExecutor implements
      */
     @Override
     protected <T> RunnableFuture<T> newTaskFor(Callable<T> callable) {
-        Collection<TaskAwarePlugin> taskAwarePluginList = threadPoolPluginManager.getTaskAwarePluginList();
-        for (TaskAwarePlugin taskAwarePlugin : taskAwarePluginList) {
+        TaskAwarePlugin[] taskAwarePlugins = threadPoolPluginManager.getPluginSnapshot().getTaskAwarePlugins();
+        for (TaskAwarePlugin taskAwarePlugin : taskAwarePlugins) {
             callable = taskAwarePlugin.beforeTaskCreate(this, callable);
         }
         return super.newTaskFor(callable);
@@ -267,6 +428,16 @@ public class ExtensibleThreadPoolExecutor extends ThreadPoolExecutor implements
         handlerWrapper.setHandler(handler);
     }
 
+    /**
+     * Reject a task that is not accepted by a front of the thread-pool, such as {@link KeyedSerialExecutor},
+     * in the same way as a task rejected by the thread-pool itself.
+     *
+     * @param task the rejected task
+     */
+    void rejectTask(Runnable task) {
+        handlerWrapper.rejectedExecution(task, this);
+    }
+
     /**
      * Returns the current handler for unexecutable tasks.
      *
@@ -311,15 +482,61 @@ public class ExtensibleThreadPoolExecutor extends ThreadPoolExecutor implements
 
         /**
          * Call {@link RejectedAwarePlugin#beforeRejectedExecution}, then reject the task.
+         * Whether the task is shed by a {@link SheddingRejectedExecutionHandler} is decided before the plugins are called,
+         * and the plugins are told about it.
          *
          * @param r        the runnable task requested to be executed
          * @param executor the executor attempting to execute this task
          */
         @Override
         public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
-            Collection<RejectedAwarePlugin> rejectedAwarePluginList = registry.getRejectedAwarePluginList();
-            rejectedAwarePluginList.forEach(aware -> aware.beforeRejectedExecution(r, executor));
-            handler.rejectedExecution(r, executor);
+            RejectedExecutionHandler rejectedHandler = handler;
+            SheddingRejectedExecutionHandler sheddingHandler = rejectedHandler instanceof SheddingRejectedExecutionHandler
+                    ? (SheddingRejectedExecutionHandler) rejectedHandler
+                    : null;
+            boolean admitted = sheddingHandler == null || sheddingHandler.tryAdmit(r, executor);
+            RejectedAwarePlugin[] rejectedAwarePlugins = registry.getPluginSnapshot().getRejectedAwarePlugins();
+            try {
+                for (RejectedAwarePlugin rejectedAwarePlugin : rejectedAwarePlugins) {
+                    rejectedAwarePlugin.beforeRejectedExecution(r, executor, !admitted);
+                }
+            } catch (RuntimeException | Error ex) {
+                if (sheddingHandler != null && admitted) {
+                    sheddingHandler.release(r, executor);
+                }
+                throw ex;
+            }
+            if (sheddingHandler != null) {
+                sheddingHandler.rejectedExecution(r, executor, admitted);
+            } else {
+                rejectedHandler.rejectedExecution(r, executor);
+            }
+        }
+    }
+
+    /**
+     * Future task that keeps the priority and deadline of the submitted {@link PrioritizedRunnable}.
+     */
+    private static class PrioritizedFutureTask<T> extends FutureTask<T> implements PrioritizedRunnable {
+
+        private final int priority;
+
+        private final long deadlineNanos;
+
+        PrioritizedFutureTask(PrioritizedRunnable runnable, T value) {
+            super(runnable, value);
+            this.priority = runnable.getPriority();
+            this.deadlineNanos = runnable.getDeadlineNanos();
+        }
+
+        @Override
+        public int getPriority() {
+            return priority;
+        }
+
+        @Override
+        public long getDeadlineNanos() {
+            return deadlineNanos;
         }
     }
 }
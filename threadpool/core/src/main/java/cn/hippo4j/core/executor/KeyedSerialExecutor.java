@@ -0,0 +1,553 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.core.executor;
+
+import cn.hippo4j.core.executor.plugin.PluginRuntime;
+import cn.hippo4j.core.executor.plugin.RejectedAwarePlugin;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * <p>Executor facade that runs the tasks of the same key one by one in submission order,
+ * and the tasks of different keys in parallel on a shared {@link ExtensibleThreadPoolExecutor}. <br />
+ * It replaces the many single-thread pools created only to keep the order of tasks per customer or partition.
+ *
+ * <p><b>Stripes</b><br />
+ * Keys are hashed to a fixed number of stripes, each stripe is a lightweight serial queue
+ * that is drained by at most one thread of the pool at a time, so the parallelism is limited
+ * by both the stripe count and the pool size, and keys sharing a stripe are also serialized.
+ * A stripe yields the thread after {@link #MAX_DRAIN_BATCH} tasks, so busy stripes do not starve the others.
+ * The stripe count can be changed at runtime by {@link #setStripeCount(int)}: the old stripes keep receiving
+ * the tasks of the keys they are still running until they are idle, so the order per key is never broken.
+ *
+ * <p><b>Rejection</b><br />
+ * The capacity bounds the backlog of all stripes, a task submitted when the backlog is full
+ * is passed to the rejected handler of the pool, like a task rejected by the pool itself.
+ * If the handler throws when the drain task of a stripe is rejected, such as {@link ThreadPoolExecutor.AbortPolicy},
+ * the submitted task is removed from the stripe and released from the backlog before the exception is thrown.
+ * A drain task is never discarded silently, since the tasks behind it would wait for a submission that may never come:
+ * when the pool is shut down or its handler is {@link ThreadPoolExecutor.DiscardPolicy}, the rejected drain task is aborted instead,
+ * and while the handler is {@link ThreadPoolExecutor.DiscardOldestPolicy}, a task rejected by the pool is aborted
+ * only if the head of the queue, which the handler would discard, is a drain task; other rejections are left to the handler. A stripe that fails to be rescheduled after yielding keeps draining in its thread.
+ * Note that a rejected task run by {@link ThreadPoolExecutor.CallerRunsPolicy} is not ordered with the backlog of its key.
+ *
+ * <p><b>Monitor</b><br />
+ * The facade registers a plugin into the pool, which reports the backlog and the hot keys with the largest backlog
+ * in {@link PluginRuntime}. Plugins and monitors of the pool see the drain tasks of stripes instead of the tasks of keys.
+ */
+@Slf4j
+public class KeyedSerialExecutor {
+
+    /**
+     * Prefix of plugin id
+     */
+    public static final String PLUGIN_NAME = KeyedSerialExecutor.class.getSimpleName();
+
+    /**
+     * Max number of tasks that a stripe runs before yielding the thread
+     */
+    public static final int MAX_DRAIN_BATCH = 64;
+
+    /**
+     * Number of hot keys in plugin runtime info
+     */
+    public static final int DEFAULT_HOT_KEY_LIMIT = 10;
+
+    private static final AtomicInteger ID_SEQUENCE = new AtomicInteger();
+
+    /**
+     * Shared thread-pool
+     */
+    @Getter
+    private final ExtensibleThreadPoolExecutor executor;
+
+    /**
+     * Id of plugin registered into the thread-pool
+     */
+    @Getter
+    private final String pluginId;
+
+    /**
+     * Max number of tasks waiting in all stripes
+     */
+    @Getter
+    private volatile int capacity;
+
+    /**
+     * Number of tasks waiting in all stripes
+     */
+    private final AtomicInteger backlog = new AtomicInteger();
+
+    /**
+     * Generations of stripes, the last one is current, the others are retired and kept until they are idle
+     */
+    private volatile Generation[] generations;
+
+    private final Object resizeLock = new Object();
+
+    /**
+     * Create a {@link KeyedSerialExecutor} and register its plugin into the thread-pool.
+     *
+     * @param executor    shared thread-pool
+     * @param stripeCount number of stripes
+     * @param capacity    max number of tasks waiting in all stripes
+     * @throws IllegalArgumentException if {@code stripeCount} or {@code capacity} is not greater than zero
+     */
+    public KeyedSerialExecutor(@NonNull ExtensibleThreadPoolExecutor executor, int stripeCount, int capacity) {
+        if (stripeCount <= 0 || capacity <= 0) {
+            throw new IllegalArgumentException();
+        }
+        this.executor = executor;
+        this.capacity = capacity;
+        this.generations = new Generation[]{new Generation(stripeCount)};
+        this.pluginId = PLUGIN_NAME + "-" + ID_SEQUENCE.incrementAndGet();
+        executor.register(new KeyedSerialPlugin());
+    }
+
+    /**
+     * Execute the task after the tasks submitted before with the same key.
+     *
+     * @param key  key of task
+     * @param task task
+     * @throws java.util.concurrent.RejectedExecutionException if rejected by the handler of the pool, the task is not kept
+     */
+    public void execute(@NonNull Object key, @NonNull Runnable task) {
+        if (!tryReserve()) {
+            executor.rejectTask(task);
+            return;
+        }
+        KeyedTask keyedTask = new KeyedTask(key, task);
+        for (;;) {
+            for (Generation generation : generations) {
+                Stripe stripe = generation.stripeOf(key);
+                int result = stripe.offer(keyedTask);
+                if (result == Stripe.SCHEDULE) {
+                    try {
+                        schedule(stripe);
+                    } catch (RuntimeException ex) {
+                        stripe.remove(keyedTask);
+                        throw ex;
+                    }
+                }
+                if (result != Stripe.RETIRED) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Submit the task after the tasks submitted before with the same key.
+     *
+     * @param key  key of task
+     * @param task task
+     * @param <T>  type of result
+     * @return future of task
+     */
+    public <T> Future<T> submit(@NonNull Object key, @NonNull Callable<T> task) {
+        FutureTask<T> future = new FutureTask<>(task);
+        execute(key, future);
+        return future;
+    }
+
+    /**
+     * Get the number of stripes.
+     *
+     * @return stripe count
+     */
+    public int getStripeCount() {
+        Generation[] generations = this.generations;
+        return generations[generations.length - 1].stripes.length;
+    }
+
+    /**
+     * Change the number of stripes, the old stripes are retired when they are idle.
+     *
+     * @param stripeCount number of stripes
+     */
+    public void setStripeCount(int stripeCount) {
+        if (stripeCount <= 0) {
+            throw new IllegalArgumentException();
+        }
+        synchronized (resizeLock) {
+            Generation[] old = generations;
+            Generation current = old[old.length - 1];
+            if (current.stripes.length == stripeCount) {
+                return;
+            }
+            Generation[] next = Arrays.copyOf(old, old.length + 1);
+            next[old.length] = new Generation(stripeCount);
+            generations = next;
+            current.retire();
+            pruneGenerations();
+        }
+    }
+
+    /**
+     * Set the max number of tasks waiting in all stripes.
+     *
+     * @param capacity capacity
+     */
+    public void setCapacity(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException();
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Get the number of tasks waiting in all stripes.
+     *
+     * @return backlog
+     */
+    public int getBacklog() {
+        return backlog.get();
+    }
+
+    /**
+     * Get the number of tasks waiting with the key.
+     *
+     * @param key key of task
+     * @return backlog of key
+     */
+    public int getBacklog(@NonNull Object key) {
+        int result = 0;
+        for (Generation generation : generations) {
+            result += generation.stripeOf(key).backlogOf(key);
+        }
+        return result;
+    }
+
+    /**
+     * Get the keys with the largest backlog.
+     *
+     * @param limit max number of keys
+     * @return keys and their backlog, in descending order of backlog
+     */
+    public Map<Object, Integer> getHotKeys(int limit) {
+        Map<Object, Integer> backlogs = new HashMap<>();
+        for (Generation generation : generations) {
+            for (Stripe stripe : generation.stripes) {
+                stripe.collectBacklog(backlogs);
+            }
+        }
+        return backlogs.entrySet().stream()
+                .sorted(Map.Entry.<Object, Integer>comparingByValue().reversed())
+                .limit(limit)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, LinkedHashMap::new));
+    }
+
+    private boolean tryReserve() {
+        for (;;) {
+            int c = backlog.get();
+            if (c >= capacity) {
+                return false;
+            }
+            if (backlog.compareAndSet(c, c + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private void schedule(Stripe stripe) {
+        try {
+            executor.execute(stripe);
+        } catch (RuntimeException ex) {
+            stripe.unschedule();
+            throw ex;
+        }
+    }
+
+    private void pruneGenerations() {
+        synchronized (resizeLock) {
+            Generation[] old = generations;
+            List<Generation> alive = new ArrayList<>(old.length);
+            for (int i = 0; i < old.length - 1; i++) {
+                if (old[i].busyStripes.get() > 0) {
+                    alive.add(old[i]);
+                }
+            }
+            if (alive.size() < old.length - 1) {
+                alive.add(old[old.length - 1]);
+                generations = alive.toArray(new Generation[0]);
+            }
+        }
+    }
+
+    private static final class KeyedTask {
+
+        private final Object key;
+
+        private final Runnable task;
+
+        KeyedTask(Object key, Runnable task) {
+            this.key = key;
+            this.task = task;
+        }
+    }
+
+    private final class Generation {
+
+        private final Stripe[] stripes;
+
+        /**
+         * Number of stripes that have tasks or are scheduled
+         */
+        private final AtomicInteger busyStripes = new AtomicInteger();
+
+        private volatile boolean retired;
+
+        Generation(int stripeCount) {
+            this.stripes = new Stripe[stripeCount];
+            for (int i = 0; i < stripeCount; i++) {
+                stripes[i] = new Stripe(this);
+            }
+        }
+
+        Stripe stripeOf(Object key) {
+            int h = key.hashCode();
+            h ^= (h >>> 16);
+            return stripes[(h & 0x7fffffff) % stripes.length];
+        }
+
+        void retire() {
+            for (Stripe stripe : stripes) {
+                synchronized (stripe) {
+                    stripe.retired = true;
+                }
+            }
+            retired = true;
+        }
+    }
+
+    private final class Stripe implements Runnable {
+
+        static final int RETIRED = -1;
+
+        static final int ACCEPTED = 0;
+
+        static final int SCHEDULE = 1;
+
+        private final Generation generation;
+
+        private final ArrayDeque<KeyedTask> tasks = new ArrayDeque<>();
+
+        private final Map<Object, int[]> keyBacklog = new HashMap<>();
+
+        private boolean scheduled;
+
+        private boolean draining;
+
+        private boolean retired;
+
+        Stripe(Generation generation) {
+            this.generation = generation;
+        }
+
+        synchronized int offer(KeyedTask keyedTask) {
+            boolean idle = tasks.isEmpty() && !scheduled;
+            if (idle && retired) {
+                return RETIRED;
+            }
+            if (idle) {
+                generation.busyStripes.incrementAndGet();
+            }
+            tasks.addLast(keyedTask);
+            keyBacklog.computeIfAbsent(keyedTask.key, k -> new int[1])[0]++;
+            if (!scheduled) {
+                scheduled = true;
+                return SCHEDULE;
+            }
+            return ACCEPTED;
+        }
+
+        /**
+         * Remove the task that failed to be scheduled, do nothing if it has been taken by a drain.
+         *
+         * @param keyedTask task
+         */
+        void remove(KeyedTask keyedTask) {
+            boolean idle;
+            synchronized (this) {
+                if (!tasks.removeLastOccurrence(keyedTask)) {
+                    return;
+                }
+                int[] count = keyBacklog.get(keyedTask.key);
+                if (--count[0] == 0) {
+                    keyBacklog.remove(keyedTask.key);
+                }
+                idle = tasks.isEmpty() && !scheduled;
+            }
+            backlog.decrementAndGet();
+            if (idle && generation.busyStripes.decrementAndGet() == 0 && generation.retired) {
+                pruneGenerations();
+            }
+        }
+
+        synchronized void unschedule() {
+            if (!draining) {
+                scheduled = false;
+            }
+        }
+
+        synchronized int backlogOf(Object key) {
+            int[] count = keyBacklog.get(key);
+            return count == null ? 0 : count[0];
+        }
+
+        synchronized void collectBacklog(Map<Object, Integer> backlogs) {
+            keyBacklog.forEach((key, count) -> backlogs.merge(key, count[0], Integer::sum));
+        }
+
+        @Override
+        public void run() {
+            if (!acquire()) {
+                return;
+            }
+            for (;;) {
+                if (drain()) {
+                    if (generation.busyStripes.decrementAndGet() == 0 && generation.retired) {
+                        pruneGenerations();
+                    }
+                    return;
+                }
+                // yield the thread to other stripes
+                try {
+                    schedule(this);
+                    return;
+                } catch (RuntimeException ex) {
+                    log.warn("Failed to reschedule the stripe, keep draining it in the current thread.", ex);
+                }
+                if (!acquire()) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Start draining, fail if the stripe is being drained or has been drained by a duplicate drain task.
+         *
+         * @return true if the current thread drains the stripe
+         */
+        private synchronized boolean acquire() {
+            if (draining || (!scheduled && tasks.isEmpty())) {
+                return false;
+            }
+            draining = true;
+            scheduled = true;
+            return true;
+        }
+
+        /**
+         * Run at most {@link #MAX_DRAIN_BATCH} tasks.
+         *
+         * @return true if the stripe becomes idle, false if it has remaining tasks and must be scheduled again
+         */
+        private boolean drain() {
+            for (int i = 0; i < MAX_DRAIN_BATCH; i++) {
+                KeyedTask next;
+                synchronized (this) {
+                    next = tasks.pollFirst();
+                    if (next == null) {
+                        draining = false;
+                        scheduled = false;
+                        return true;
+                    }
+                    int[] count = keyBacklog.get(next.key);
+                    if (--count[0] == 0) {
+                        keyBacklog.remove(next.key);
+                    }
+                }
+                backlog.decrementAndGet();
+                try {
+                    next.task.run();
+                } catch (Throwable ex) {
+                    log.error("Failed to run the task of key [{}].", next.key, ex);
+                }
+            }
+            synchronized (this) {
+                draining = false;
+            }
+            return false;
+        }
+    }
+
+    private class KeyedSerialPlugin implements RejectedAwarePlugin {
+
+        @Override
+        public String getId() {
+            return pluginId;
+        }
+
+        /**
+         * Abort the rejection that would discard a drain task silently.
+         *
+         * @param runnable the runnable task requested to be executed
+         * @param executor the executor attempting to give the task
+         * @throws RejectedExecutionException if a drain task may be discarded
+         */
+        @Override
+        public void beforeRejectedExecution(Runnable runnable, ThreadPoolExecutor executor) {
+            RejectedExecutionHandler handler = KeyedSerialExecutor.this.executor.getRejectedExecutionHandler();
+            boolean discardDrainTask = runnable instanceof Stripe
+                    && (executor.isShutdown() || handler instanceof ThreadPoolExecutor.DiscardPolicy);
+            boolean discardQueuedDrainTask = handler instanceof ThreadPoolExecutor.DiscardOldestPolicy
+                    && executor.getQueue().peek() instanceof Stripe;
+            if (discardDrainTask || discardQueuedDrainTask) {
+                throw new RejectedExecutionException("Task " + runnable + " rejected from " + executor
+                        + ", the drain tasks of " + pluginId + " must not be discarded");
+            }
+        }
+
+        @Override
+        public PluginRuntime getPluginRuntime() {
+            int activeStripes = 0;
+            Generation[] generations = KeyedSerialExecutor.this.generations;
+            for (Generation generation : generations) {
+                activeStripes += generation.busyStripes.get();
+            }
+            String hotKeys = getHotKeys(DEFAULT_HOT_KEY_LIMIT).entrySet().stream()
+                    .map(entry -> entry.getKey() + "=" + entry.getValue())
+                    .collect(Collectors.joining(","));
+            return new PluginRuntime(getId())
+                    .addInfo("stripeCount", getStripeCount())
+                    .addInfo("activeStripes", activeStripes)
+                    .addInfo("generations", generations.length)
+                    .addInfo("capacity", capacity)
+                    .addInfo("backlog", backlog.get())
+                    .addInfo("hotKeys", hotKeys);
+        }
+    }
+}
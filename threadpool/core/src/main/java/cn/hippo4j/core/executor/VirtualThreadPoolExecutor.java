@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.core.executor;
+
+import cn.hippo4j.core.executor.support.VirtualThreadSupport;
+import lombok.NonNull;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Dynamic thread-pool that runs tasks on virtual threads, for tasks that mostly block on I/O. <br />
+ * The worker count of the thread-pool acts as the concurrency limit: at most {@link #getConcurrencyLimit()}
+ * tasks run at the same time, the others wait in the queue and are rejected when the queue is full.
+ * The limit can be changed at runtime like the maximum pool size, and the core pool size always follows it.
+ * Idle virtual threads are cheap, they time out after the keep alive time.
+ *
+ * <p>Plugins, monitoring and dynamic refresh work the same as {@link DynamicThreadPoolExecutor}.
+ *
+ * @see VirtualThreadSupport
+ */
+public class VirtualThreadPoolExecutor extends AbstractSingleSizeThreadPoolExecutor {
+
+    /**
+     * Creates a new {@code VirtualThreadPoolExecutor} with the given initial parameters.
+     *
+     * @param concurrencyLimit                 the maximum number of tasks running at the same time
+     * @param keepAliveTime                    the maximum time that idle virtual threads will wait for new tasks before terminating
+     * @param unit                             the time unit for the {@code keepAliveTime} argument
+     * @param executeTimeOut                   execute time out
+     * @param waitForTasksToCompleteOnShutdown wait for tasks to complete on shutdown
+     * @param awaitTerminationMillis           await termination millis
+     * @param blockingQueue                    the queue to use for holding tasks waiting for the concurrency limit
+     * @param threadPoolId                     thread-pool id
+     * @param threadFactory                    the factory of virtual threads, see {@link VirtualThreadSupport#newThreadFactory}
+     * @param rejectedExecutionHandler         the handler to use when the concurrency limit and queue capacity are reached
+     */
+    public VirtualThreadPoolExecutor(
+                                     int concurrencyLimit,
+                                     long keepAliveTime, TimeUnit unit,
+                                     long executeTimeOut, boolean waitForTasksToCompleteOnShutdown, long awaitTerminationMillis,
+                                     @NonNull BlockingQueue<Runnable> blockingQueue,
+                                     @NonNull String threadPoolId,
+                                     @NonNull ThreadFactory threadFactory,
+                                     @NonNull RejectedExecutionHandler rejectedExecutionHandler) {
+        super(concurrencyLimit, keepAliveTime, unit,
+                executeTimeOut, waitForTasksToCompleteOnShutdown, awaitTerminationMillis,
+                blockingQueue, threadPoolId, threadFactory, rejectedExecutionHandler);
+        allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Get the maximum number of tasks running at the same time.
+     *
+     * @return concurrency limit
+     */
+    public int getConcurrencyLimit() {
+        return getMaximumPoolSize();
+    }
+
+    /**
+     * Set the maximum number of tasks running at the same time,
+     * the running tasks beyond the new limit are not interrupted.
+     *
+     * @param concurrencyLimit concurrency limit
+     */
+    public void setConcurrencyLimit(int concurrencyLimit) {
+        setPoolSize(concurrencyLimit);
+    }
+}
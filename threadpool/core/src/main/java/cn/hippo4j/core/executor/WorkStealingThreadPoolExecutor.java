@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.core.executor;
+
+import cn.hippo4j.common.executor.support.WorkStealingBlockingQueue;
+import lombok.NonNull;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Dynamic thread-pool whose workers each own a deque of tasks and steal from each other when idle,
+ * for CPU-bound tasks that fan out into many small tasks. <br />
+ * Tasks submitted by a running task stay in the deque of the same worker, tasks submitted by other threads
+ * go to a shared submission queue, see {@link WorkStealingBlockingQueue}.
+ * The worker count is the parallelism of the thread-pool, it can be changed at runtime like the maximum pool size,
+ * and the core pool size always follows it.
+ *
+ * <p>Plugins, monitoring, alarms and dynamic refresh work the same as {@link DynamicThreadPoolExecutor}.
+ *
+ * @see WorkStealingBlockingQueue
+ */
+public class WorkStealingThreadPoolExecutor extends AbstractSingleSizeThreadPoolExecutor {
+
+    /**
+     * Creates a new {@code WorkStealingThreadPoolExecutor} with the given initial parameters.
+     *
+     * @param parallelism                      the number of workers
+     * @param keepAliveTime                    the maximum time that idle workers will wait for new tasks before terminating, if core threads are allowed to time out
+     * @param unit                             the time unit for the {@code keepAliveTime} argument
+     * @param executeTimeOut                   execute time out
+     * @param waitForTasksToCompleteOnShutdown wait for tasks to complete on shutdown
+     * @param awaitTerminationMillis           await termination millis
+     * @param workQueue                        the work-stealing queue to use for holding tasks before they are executed
+     * @param threadPoolId                     thread-pool id
+     * @param threadFactory                    the factory to use when the executor creates a new thread
+     * @param rejectedExecutionHandler         the handler to use when the queue capacity is reached
+     */
+    public WorkStealingThreadPoolExecutor(
+                                          int parallelism,
+                                          long keepAliveTime, TimeUnit unit,
+                                          long executeTimeOut, boolean waitForTasksToCompleteOnShutdown, long awaitTerminationMillis,
+                                          @NonNull WorkStealingBlockingQueue<Runnable> workQueue,
+                                          @NonNull String threadPoolId,
+                                          @NonNull ThreadFactory threadFactory,
+                                          @NonNull RejectedExecutionHandler rejectedExecutionHandler) {
+        super(parallelism, keepAliveTime, unit,
+                executeTimeOut, waitForTasksToCompleteOnShutdown, awaitTerminationMillis,
+                workQueue, threadPoolId, threadFactory, rejectedExecutionHandler);
+    }
+
+    /**
+     * Register the worker to the queue before running a task, the worker runs its first task
+     * without taking it from the queue, and the tasks submitted by that task should still go to its own deque.
+     *
+     * @param thread   the thread that will run task {@code runnable}
+     * @param runnable the task that will be executed
+     */
+    @Override
+    protected void beforeExecute(Thread thread, Runnable runnable) {
+        BlockingQueue<Runnable> queue = getQueue();
+        if (queue instanceof WorkStealingBlockingQueue) {
+            ((WorkStealingBlockingQueue<Runnable>) queue).registerWorker();
+        }
+        super.beforeExecute(thread, runnable);
+    }
+
+    /**
+     * Get the number of workers.
+     *
+     * @return parallelism
+     */
+    public int getParallelism() {
+        return getMaximumPoolSize();
+    }
+
+    /**
+     * Set the number of workers, the workers beyond the new parallelism terminate when they become idle,
+     * and the tasks left in their deques are stolen by the others.
+     *
+     * @param parallelism parallelism
+     */
+    public void setParallelism(int parallelism) {
+        setPoolSize(parallelism);
+    }
+
+    /**
+     * Get the number of tasks stolen from the deque of another worker.
+     *
+     * @return steal count, or 0 if the queue has been replaced by another type
+     */
+    public long getStealCount() {
+        BlockingQueue<Runnable> queue = getQueue();
+        return queue instanceof WorkStealingBlockingQueue ? ((WorkStealingBlockingQueue<Runnable>) queue).getStealCount() : 0L;
+    }
+
+    /**
+     * Get the number of tasks in the deque of each worker.
+     *
+     * @return sizes of worker deques, or an empty array if the queue has been replaced by another type
+     */
+    public int[] getWorkerQueueSizes() {
+        BlockingQueue<Runnable> queue = getQueue();
+        return queue instanceof WorkStealingBlockingQueue ? ((WorkStealingBlockingQueue<Runnable>) queue).getWorkerQueueSizes() : new int[0];
+    }
+}
@@ -17,6 +17,8 @@
 
 package cn.hippo4j.core.executor.plugin;
 
+import cn.hippo4j.common.executor.support.SheddingRejectedExecutionHandler;
+
 import java.util.concurrent.ThreadPoolExecutor;
 
 /**
@@ -32,4 +34,16 @@ public interface RejectedAwarePlugin extends ThreadPoolPlugin {
      */
     default void beforeRejectedExecution(Runnable runnable, ThreadPoolExecutor executor) {
     }
+
+    /**
+     * Callback before task is rejected, with whether the task is shed by a {@link SheddingRejectedExecutionHandler}.
+     * The default implementation calls {@link #beforeRejectedExecution(Runnable, ThreadPoolExecutor)} for both.
+     *
+     * @param runnable task
+     * @param executor executor
+     * @param shed     whether the task is shed instead of handled by the rejected handler
+     */
+    default void beforeRejectedExecution(Runnable runnable, ThreadPoolExecutor executor, boolean shed) {
+        beforeRejectedExecution(runnable, executor);
+    }
 }
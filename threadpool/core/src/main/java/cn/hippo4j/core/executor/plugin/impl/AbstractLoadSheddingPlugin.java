@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.core.executor.plugin.impl;
+
+import cn.hippo4j.core.executor.ExtensibleThreadPoolExecutor;
+import cn.hippo4j.core.executor.plugin.TaskAwarePlugin;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>Base class of the plugins that shed tasks before they are submitted to the thread-pool. <br />
+ * A shed task is not passed to the rejected handler of the thread-pool, it's dropped by returning null
+ * from {@link TaskAwarePlugin#beforeTaskExecute}, and counted separately from the rejected tasks.
+ * If the submitted task is a {@link Future}, it's cancelled by the thread-pool so that the caller waiting on it is not blocked forever,
+ * even if it has been wrapped by the plugins registered before.
+ *
+ * @see ExtensibleThreadPoolExecutor#execute
+ */
+public abstract class AbstractLoadSheddingPlugin implements TaskAwarePlugin {
+
+    /**
+     * Number of shed tasks
+     */
+    private final LongAdder shedCount = new LongAdder();
+
+    /**
+     * Shed the task.
+     *
+     * @param runnable task
+     * @return null
+     */
+    protected Runnable shed(Runnable runnable) {
+        shedCount.increment();
+        return null;
+    }
+
+    /**
+     * Get the number of shed tasks.
+     *
+     * @return number of shed tasks
+     */
+    public long getShedCount() {
+        return shedCount.sum();
+    }
+
+    /**
+     * Discard the shed count when plugin unregister from manager.
+     */
+    @Override
+    public void stop() {
+        shedCount.reset();
+    }
+}
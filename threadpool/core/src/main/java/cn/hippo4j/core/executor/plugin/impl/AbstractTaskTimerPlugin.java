@@ -19,16 +19,21 @@ package cn.hippo4j.core.executor.plugin.impl;
 
 import cn.hippo4j.core.executor.ExtensibleThreadPoolExecutor;
 import cn.hippo4j.core.executor.plugin.ExecuteAwarePlugin;
-import cn.hippo4j.core.toolkit.SystemClock;
+import cn.hippo4j.core.toolkit.TaskClock;
+import cn.hippo4j.core.toolkit.TaskClockHolder;
+import lombok.NonNull;
 
-import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 /**
  * <p>An abstract task execution time recording plugin
  * for thread-safe statistics the execution time of tasks.
  *
  * <p>Must override {@link #processTaskTime} to define the processing logic for task execution time. <br />
- * Default time precision is milliseconds, may override {@link #currentTime} to redefine the time precision.
+ * The time is read by {@link #currentTime} from the {@link TaskClock} given at construction,
+ * or {@link TaskClockHolder#getDefault()} if not specified, and {@link #processTaskTime} always receives nanoseconds.
+ * A subclass that overrides {@link #currentTime} with another time source declares the unit of it at construction,
+ * and the execution time is converted from that unit to nanoseconds.
  *
  * @see TaskTimeRecordPlugin
  * @see TaskTimeoutNotifyAlarmPlugin
@@ -36,9 +41,46 @@ import java.util.Optional;
 public abstract class AbstractTaskTimerPlugin implements ExecuteAwarePlugin {
 
     /**
-     * Start times of executed tasks
+     * Start times of executed tasks, reuse the holder of each worker thread to avoid boxing per task
      */
-    private final ThreadLocal<Long> startTimes = new ThreadLocal<>();
+    private final ThreadLocal<StartTime> startTimes = ThreadLocal.withInitial(StartTime::new);
+
+    /**
+     * Clock source
+     */
+    private final TaskClock clock;
+
+    /**
+     * Unit of {@link #currentTime}
+     */
+    private final TimeUnit timeUnit;
+
+    /**
+     * Create a {@link AbstractTaskTimerPlugin} with the given clock and the unit of {@link #currentTime}.
+     *
+     * @param clock    clock source
+     * @param timeUnit unit of {@link #currentTime}
+     */
+    protected AbstractTaskTimerPlugin(@NonNull TaskClock clock, @NonNull TimeUnit timeUnit) {
+        this.clock = clock;
+        this.timeUnit = timeUnit;
+    }
+
+    /**
+     * Create a {@link AbstractTaskTimerPlugin} with the given clock, the time is read in nanoseconds.
+     *
+     * @param clock clock source
+     */
+    protected AbstractTaskTimerPlugin(@NonNull TaskClock clock) {
+        this(clock, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Create a {@link AbstractTaskTimerPlugin} with {@link TaskClockHolder#getDefault()}.
+     */
+    protected AbstractTaskTimerPlugin() {
+        this(TaskClockHolder.getDefault());
+    }
 
     /**
      * Record the time when the worker thread starts executing the task.
@@ -49,7 +91,9 @@ public abstract class AbstractTaskTimerPlugin implements ExecuteAwarePlugin {
      */
     @Override
     public final void beforeExecute(Thread thread, Runnable runnable) {
-        startTimes.set(currentTime());
+        StartTime startTime = startTimes.get();
+        startTime.time = currentTime();
+        startTime.started = true;
     }
 
     /**
@@ -60,28 +104,37 @@ public abstract class AbstractTaskTimerPlugin implements ExecuteAwarePlugin {
      */
     @Override
     public final void afterExecute(Runnable runnable, Throwable throwable) {
-        try {
-            Optional.ofNullable(startTimes.get())
-                    .map(startTime -> currentTime() - startTime)
-                    .ifPresent(this::processTaskTime);
-        } finally {
-            startTimes.remove();
+        StartTime startTime = startTimes.get();
+        if (!startTime.started) {
+            return;
         }
+        startTime.started = false;
+        processTaskTime(timeUnit.toNanos(currentTime() - startTime.time));
     }
 
     /**
-     * Get the current time.
+     * Get the current value of the clock, only the difference of two readings is meaningful.
      *
-     * @return current time
+     * @return current value of the clock in the unit given at construction
      */
     protected long currentTime() {
-        return SystemClock.now();
+        return timeUnit.convert(clock.nanoTime(), TimeUnit.NANOSECONDS);
     }
 
     /**
      * Processing the execution time of the task.
      *
-     * @param taskExecuteTime execute time of task
+     * @param taskExecuteTime execute time of task in nanoseconds
      */
     protected abstract void processTaskTime(long taskExecuteTime);
+
+    /**
+     * Start time of the task running in the current thread.
+     */
+    private static final class StartTime {
+
+        private long time;
+
+        private boolean started;
+    }
 }
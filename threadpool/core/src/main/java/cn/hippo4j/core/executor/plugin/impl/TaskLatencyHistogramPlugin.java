@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.core.executor.plugin.impl;
+
+import cn.hippo4j.core.executor.ExtensibleThreadPoolExecutor;
+import cn.hippo4j.core.executor.plugin.ExecuteAwarePlugin;
+import cn.hippo4j.core.executor.plugin.PluginRuntime;
+import cn.hippo4j.core.toolkit.LatencyHistogram;
+
+/**
+ * <p>Record the distribution of task execution time in nanoseconds. <br />
+ * Unlike {@link TaskTimeRecordPlugin}, the execution time is recorded into a {@link LatencyHistogram},
+ * each worker thread writes into its own bucket arrays without locks and allocation,
+ * and the percentiles of the latest sliding window can be obtained through {@link #snapshot()}.
+ *
+ * @see LatencyHistogram
+ */
+public class TaskLatencyHistogramPlugin implements ExecuteAwarePlugin {
+
+    /**
+     * pluginName.
+     */
+    public static final String PLUGIN_NAME = TaskLatencyHistogramPlugin.class.getSimpleName();
+
+    /**
+     * Default sliding window in milliseconds
+     */
+    public static final long DEFAULT_WINDOW_MILLIS = 60000L;
+
+    /**
+     * Histogram of task execution time
+     */
+    private final LatencyHistogram histogram;
+
+    /**
+     * Create a {@link TaskLatencyHistogramPlugin}.
+     *
+     * @param windowMillis sliding window in milliseconds, never reset if it's not greater than 0
+     */
+    public TaskLatencyHistogramPlugin(long windowMillis) {
+        this.histogram = new LatencyHistogram(windowMillis);
+    }
+
+    /**
+     * Create a {@link TaskLatencyHistogramPlugin} with {@link #DEFAULT_WINDOW_MILLIS}.
+     */
+    public TaskLatencyHistogramPlugin() {
+        this(DEFAULT_WINDOW_MILLIS);
+    }
+
+    /**
+     * Record the time when the worker thread starts executing the task.
+     *
+     * @param thread   thread of executing task
+     * @param runnable task
+     * @see ExtensibleThreadPoolExecutor#beforeExecute
+     */
+    @Override
+    public void beforeExecute(Thread thread, Runnable runnable) {
+        histogram.getRecorder().start(System.nanoTime());
+    }
+
+    /**
+     * Record the execution time of the task.
+     *
+     * @param runnable  runnable
+     * @param throwable exception thrown during execution
+     * @see ExtensibleThreadPoolExecutor#afterExecute
+     */
+    @Override
+    public void afterExecute(Runnable runnable, Throwable throwable) {
+        histogram.getRecorder().stop(System.nanoTime());
+    }
+
+    /**
+     * Discard recorded data when plugin unregister from manager.
+     */
+    @Override
+    public void stop() {
+        histogram.reset();
+    }
+
+    /**
+     * Get the statistics of task execution time in the latest sliding window.
+     *
+     * @return snapshot of task execution time in nanoseconds
+     */
+    public LatencyHistogram.Snapshot snapshot() {
+        return histogram.snapshot();
+    }
+
+    /**
+     * Get the statistics of task execution time in the latest sliding window into a reused snapshot.
+     *
+     * @param snapshot snapshot to overwrite
+     * @return the given snapshot
+     */
+    public LatencyHistogram.Snapshot snapshot(LatencyHistogram.Snapshot snapshot) {
+        return histogram.snapshot(snapshot);
+    }
+
+    /**
+     * Get plugin runtime info.
+     *
+     * @return plugin runtime info
+     */
+    @Override
+    public PluginRuntime getPluginRuntime() {
+        LatencyHistogram.Snapshot snapshot = snapshot();
+        return new PluginRuntime(getId())
+                .addInfo("windowMillis", histogram.getWindowMillis())
+                .addInfo("taskCount", snapshot.getCount())
+                .addInfo("p50TaskTime", snapshot.getP50() + "ns")
+                .addInfo("p90TaskTime", snapshot.getP90() + "ns")
+                .addInfo("p99TaskTime", snapshot.getP99() + "ns")
+                .addInfo("p999TaskTime", snapshot.getP999() + "ns")
+                .addInfo("maxTaskTime", snapshot.getMax() + "ns");
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.core.executor.plugin.impl;
+
+import cn.hippo4j.common.executor.support.PrioritizedRunnable;
+import cn.hippo4j.common.executor.support.PriorityLaneBlockingQueue;
+import cn.hippo4j.core.executor.ExtensibleThreadPoolExecutor;
+import cn.hippo4j.core.executor.plugin.PluginRuntime;
+import cn.hippo4j.core.executor.plugin.TaskAwarePlugin;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
+
+/**
+ * <p>Tag the submitted tasks with a priority, so that they are placed into the lanes of {@link PriorityLaneBlockingQueue}. <br />
+ * The priority of task is resolved by the given resolver, a negative value means the task is not tagged,
+ * and a task that is already a {@link PrioritizedRunnable} is left as it is.
+ *
+ * <p>If the timeout is greater than 0, the tagged task carries a deadline
+ * and is dropped by the queue when it is still waiting after the deadline.
+ *
+ * @see PrioritizedRunnable
+ * @see PriorityLaneBlockingQueue
+ */
+public class TaskPriorityPlugin implements TaskAwarePlugin {
+
+    /**
+     * pluginName.
+     */
+    public static final String PLUGIN_NAME = TaskPriorityPlugin.class.getSimpleName();
+
+    /**
+     * Resolver of task priority
+     */
+    private final ToIntFunction<Runnable> priorityResolver;
+
+    /**
+     * Max time that a tagged task can wait in the queue, in milliseconds
+     */
+    @Getter
+    private final long timeoutMillis;
+
+    /**
+     * Create a {@link TaskPriorityPlugin}.
+     *
+     * @param priorityResolver resolver of task priority, return a negative value if the task is not tagged
+     * @param timeoutMillis    max time that a tagged task can wait in the queue, no deadline if it's not greater than 0
+     */
+    public TaskPriorityPlugin(@NonNull ToIntFunction<Runnable> priorityResolver, long timeoutMillis) {
+        this.priorityResolver = priorityResolver;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Create a {@link TaskPriorityPlugin} without deadline.
+     *
+     * @param priorityResolver resolver of task priority, return a negative value if the task is not tagged
+     */
+    public TaskPriorityPlugin(@NonNull ToIntFunction<Runnable> priorityResolver) {
+        this(priorityResolver, 0L);
+    }
+
+    /**
+     * Tag the task with the resolved priority.
+     *
+     * @param runnable runnable
+     * @return tagged task, or the original task if it's not tagged
+     * @see ExtensibleThreadPoolExecutor#execute
+     */
+    @Override
+    public Runnable beforeTaskExecute(@NonNull Runnable runnable) {
+        if (runnable instanceof PrioritizedRunnable) {
+            return runnable;
+        }
+        int priority = priorityResolver.applyAsInt(runnable);
+        if (priority < 0) {
+            return runnable;
+        }
+        return timeoutMillis > 0
+                ? PrioritizedRunnable.of(runnable, priority, timeoutMillis, TimeUnit.MILLISECONDS)
+                : PrioritizedRunnable.of(runnable, priority);
+    }
+
+    /**
+     * Get plugin runtime info.
+     *
+     * @return plugin runtime info
+     */
+    @Override
+    public PluginRuntime getPluginRuntime() {
+        return new PluginRuntime(getId())
+                .addInfo("timeoutMillis", timeoutMillis);
+    }
+}
@@ -0,0 +1,234 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.core.executor.plugin.impl;
+
+import cn.hippo4j.common.toolkit.Assert;
+import cn.hippo4j.core.executor.plugin.PluginRuntime;
+import lombok.NonNull;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>Shed tasks when the queue delay of the thread-pool stays above a target, in the manner of CoDel. <br />
+ * Each task is stamped when it is submitted, and the time it waits in the queue is observed when a thread starts running it.
+ * The thread-pool is considered overloaded once the queue delay has stayed above the target for a whole interval,
+ * a transient burst that is drained within an interval does not shed anything.
+ *
+ * <p>While overloaded, tasks are shed at submission at an increasing rate, the n-th task is shed {@code interval / sqrt(n)}
+ * after the previous one, and the other tasks are submitted normally. The thread-pool leaves the overloaded state
+ * as soon as a task is observed to wait less than the target.
+ *
+ * <p>The state is updated by the worker threads without locking, concurrent updates may lose an observation
+ * which only delays the decision by one task.
+ */
+public class TaskQueueDelaySheddingPlugin extends AbstractLoadSheddingPlugin {
+
+    /**
+     * pluginName.
+     */
+    public static final String PLUGIN_NAME = TaskQueueDelaySheddingPlugin.class.getSimpleName();
+
+    /**
+     * Default interval in milliseconds
+     */
+    public static final long DEFAULT_INTERVAL_MILLIS = 100L;
+
+    /**
+     * Target of queue delay in nanoseconds
+     */
+    private volatile long targetNanos;
+
+    /**
+     * Interval in nanoseconds
+     */
+    private volatile long intervalNanos;
+
+    /**
+     * Time when the queue delay will have stayed above the target for an interval, 0 if it's below the target
+     */
+    private volatile long firstAboveNanos;
+
+    /**
+     * Whether the thread-pool is overloaded
+     */
+    private volatile boolean dropping;
+
+    /**
+     * Time when the next task will be shed
+     */
+    private final AtomicLong dropNextNanos = new AtomicLong();
+
+    /**
+     * Number of tasks shed since the thread-pool became overloaded
+     */
+    private final AtomicInteger dropCount = new AtomicInteger();
+
+    /**
+     * Create a {@link TaskQueueDelaySheddingPlugin}.
+     *
+     * @param targetMillis   target of queue delay in milliseconds
+     * @param intervalMillis interval in milliseconds
+     */
+    public TaskQueueDelaySheddingPlugin(long targetMillis, long intervalMillis) {
+        setTarget(targetMillis, intervalMillis);
+    }
+
+    /**
+     * Create a {@link TaskQueueDelaySheddingPlugin} with {@link #DEFAULT_INTERVAL_MILLIS}.
+     *
+     * @param targetMillis target of queue delay in milliseconds
+     */
+    public TaskQueueDelaySheddingPlugin(long targetMillis) {
+        this(targetMillis, DEFAULT_INTERVAL_MILLIS);
+    }
+
+    /**
+     * Set the target of queue delay and the interval.
+     *
+     * @param targetMillis   target of queue delay in milliseconds
+     * @param intervalMillis interval in milliseconds
+     */
+    public void setTarget(long targetMillis, long intervalMillis) {
+        Assert.isTrue(targetMillis > 0, "The target of queue delay must be greater than 0.");
+        Assert.isTrue(intervalMillis > 0, "The interval must be greater than 0.");
+        this.targetNanos = TimeUnit.MILLISECONDS.toNanos(targetMillis);
+        this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMillis);
+    }
+
+    /**
+     * Get the target of queue delay.
+     *
+     * @return target of queue delay in milliseconds
+     */
+    public long getTargetMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(targetNanos);
+    }
+
+    /**
+     * Get the interval.
+     *
+     * @return interval in milliseconds
+     */
+    public long getIntervalMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(intervalNanos);
+    }
+
+    /**
+     * Whether the thread-pool is overloaded and tasks are being shed.
+     *
+     * @return true if tasks are being shed
+     */
+    public boolean isDropping() {
+        return dropping;
+    }
+
+    /**
+     * Shed the task if it's time to, otherwise stamp the task with the time it is submitted.
+     *
+     * @param runnable runnable
+     * @return stamped task, or null if the task is shed
+     */
+    @Override
+    public Runnable beforeTaskExecute(@NonNull Runnable runnable) {
+        long now = System.nanoTime();
+        if (dropping) {
+            long dropNext = dropNextNanos.get();
+            if (now - dropNext >= 0 && dropNextNanos.compareAndSet(dropNext, now + controlLaw(dropCount.incrementAndGet()))) {
+                return shed(runnable);
+            }
+        }
+        return new QueueDelayStampedTask(runnable, now);
+    }
+
+    /**
+     * Discard the state when plugin unregister from manager.
+     */
+    @Override
+    public void stop() {
+        super.stop();
+        dropping = false;
+        firstAboveNanos = 0L;
+        dropCount.set(0);
+    }
+
+    /**
+     * Get plugin runtime info.
+     *
+     * @return plugin runtime info
+     */
+    @Override
+    public PluginRuntime getPluginRuntime() {
+        return new PluginRuntime(getId())
+                .addInfo("targetMillis", getTargetMillis())
+                .addInfo("intervalMillis", getIntervalMillis())
+                .addInfo("dropping", dropping)
+                .addInfo("shedCount", getShedCount());
+    }
+
+    /**
+     * Observe the queue delay of a task when a thread starts running it.
+     *
+     * @param queueDelay queue delay in nanoseconds
+     * @param now        current time in nanoseconds
+     */
+    private void observe(long queueDelay, long now) {
+        if (queueDelay < targetNanos) {
+            firstAboveNanos = 0L;
+            if (dropping) {
+                dropping = false;
+            }
+            return;
+        }
+        long firstAbove = firstAboveNanos;
+        if (firstAbove == 0L) {
+            firstAboveNanos = now + intervalNanos;
+        } else if (!dropping && now - firstAbove >= 0) {
+            dropCount.set(0);
+            dropNextNanos.set(now);
+            dropping = true;
+        }
+    }
+
+    private long controlLaw(int count) {
+        return (long) (intervalNanos / Math.sqrt(count));
+    }
+
+    /**
+     * Task stamped with the time it is submitted to the thread-pool.
+     */
+    private class QueueDelayStampedTask implements Runnable {
+
+        private final Runnable task;
+
+        private final long enqueueNanos;
+
+        QueueDelayStampedTask(Runnable task, long enqueueNanos) {
+            this.task = task;
+            this.enqueueNanos = enqueueNanos;
+        }
+
+        @Override
+        public void run() {
+            long now = System.nanoTime();
+            observe(now - enqueueNanos, now);
+            task.run();
+        }
+    }
+}
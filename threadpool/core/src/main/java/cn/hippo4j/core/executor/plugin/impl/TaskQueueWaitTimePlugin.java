@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.core.executor.plugin.impl;
+
+import cn.hippo4j.core.executor.ExtensibleThreadPoolExecutor;
+import cn.hippo4j.core.executor.plugin.PluginRuntime;
+import cn.hippo4j.core.executor.plugin.TaskAwarePlugin;
+import cn.hippo4j.core.toolkit.LatencyHistogram;
+import lombok.NonNull;
+
+/**
+ * <p>Record the distribution of time that tasks wait in the work queue, in nanoseconds. <br />
+ * The task is stamped with the enqueue time when it is submitted by {@link ExtensibleThreadPoolExecutor#execute},
+ * and the wait time is recorded into a {@link LatencyHistogram} when a thread starts running it.
+ * The timestamp is kept as a primitive field of the wrapped task instead of a {@link ThreadLocal},
+ * so the measurement does not depend on the order of other {@link TaskAwarePlugin} that also wrap the task.
+ *
+ * <p>A pool that is saturated but runs fast tasks looks healthy in {@link TaskLatencyHistogramPlugin},
+ * the queue wait time is what exposes it.
+ *
+ * @see LatencyHistogram
+ */
+public class TaskQueueWaitTimePlugin implements TaskAwarePlugin {
+
+    /**
+     * pluginName.
+     */
+    public static final String PLUGIN_NAME = TaskQueueWaitTimePlugin.class.getSimpleName();
+
+    /**
+     * Default sliding window in milliseconds
+     */
+    public static final long DEFAULT_WINDOW_MILLIS = 60000L;
+
+    /**
+     * Histogram of task queue wait time
+     */
+    private final LatencyHistogram histogram;
+
+    /**
+     * Create a {@link TaskQueueWaitTimePlugin}.
+     *
+     * @param windowMillis sliding window in milliseconds, never reset if it's not greater than 0
+     */
+    public TaskQueueWaitTimePlugin(long windowMillis) {
+        this.histogram = new LatencyHistogram(windowMillis);
+    }
+
+    /**
+     * Create a {@link TaskQueueWaitTimePlugin} with {@link #DEFAULT_WINDOW_MILLIS}.
+     */
+    public TaskQueueWaitTimePlugin() {
+        this(DEFAULT_WINDOW_MILLIS);
+    }
+
+    /**
+     * Stamp the task with the time it is submitted.
+     *
+     * @param runnable runnable
+     * @return stamped task
+     * @see ExtensibleThreadPoolExecutor#execute
+     */
+    @Override
+    public Runnable beforeTaskExecute(@NonNull Runnable runnable) {
+        return new QueueWaitStampedTask(runnable, System.nanoTime());
+    }
+
+    /**
+     * Discard recorded data when plugin unregister from manager.
+     */
+    @Override
+    public void stop() {
+        histogram.reset();
+    }
+
+    /**
+     * Get the statistics of task queue wait time in the latest sliding window.
+     *
+     * @return snapshot of task queue wait time in nanoseconds
+     */
+    public LatencyHistogram.Snapshot snapshot() {
+        return histogram.snapshot();
+    }
+
+    /**
+     * Get the statistics of task queue wait time in the latest sliding window into a reused snapshot.
+     *
+     * @param snapshot snapshot to overwrite
+     * @return the given snapshot
+     */
+    public LatencyHistogram.Snapshot snapshot(LatencyHistogram.Snapshot snapshot) {
+        return histogram.snapshot(snapshot);
+    }
+
+    /**
+     * Get plugin runtime info.
+     *
+     * @return plugin runtime info
+     */
+    @Override
+    public PluginRuntime getPluginRuntime() {
+        LatencyHistogram.Snapshot snapshot = snapshot();
+        return new PluginRuntime(getId())
+                .addInfo("windowMillis", histogram.getWindowMillis())
+                .addInfo("taskCount", snapshot.getCount())
+                .addInfo("p50QueueWaitTime", snapshot.getP50() + "ns")
+                .addInfo("p90QueueWaitTime", snapshot.getP90() + "ns")
+                .addInfo("p99QueueWaitTime", snapshot.getP99() + "ns")
+                .addInfo("p999QueueWaitTime", snapshot.getP999() + "ns")
+                .addInfo("maxQueueWaitTime", snapshot.getMax() + "ns");
+    }
+
+    /**
+     * Task stamped with the time it is submitted to the thread-pool.
+     */
+    private class QueueWaitStampedTask implements Runnable {
+
+        private final Runnable task;
+
+        private final long enqueueNanos;
+
+        QueueWaitStampedTask(Runnable task, long enqueueNanos) {
+            this.task = task;
+            this.enqueueNanos = enqueueNanos;
+        }
+
+        @Override
+        public void run() {
+            long now = System.nanoTime();
+            histogram.getRecorder().record(now - enqueueNanos, now);
+            task.run();
+        }
+    }
+}
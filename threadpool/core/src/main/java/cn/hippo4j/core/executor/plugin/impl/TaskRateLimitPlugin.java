@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.core.executor.plugin.impl;
+
+import cn.hippo4j.common.toolkit.Assert;
+import cn.hippo4j.core.executor.plugin.PluginRuntime;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>Limit the rate of tasks submitted to the thread-pool, the tasks exceeding the rate are shed. <br />
+ * The limiter is a token bucket implemented as the generic cell rate algorithm,
+ * the whole state is the theoretical arrival time of the next task kept in a single {@link AtomicLong},
+ * so a submission costs one read of the clock and one CAS, and no thread is needed to refill the bucket.
+ */
+public class TaskRateLimitPlugin extends AbstractLoadSheddingPlugin {
+
+    /**
+     * pluginName.
+     */
+    public static final String PLUGIN_NAME = TaskRateLimitPlugin.class.getSimpleName();
+
+    /**
+     * Permits per second
+     */
+    @Getter
+    private volatile int permitsPerSecond;
+
+    /**
+     * Max number of tasks that can be submitted at once
+     */
+    @Getter
+    private volatile int burst;
+
+    /**
+     * Interval between two tasks at the limited rate, in nanoseconds
+     */
+    private volatile long emissionIntervalNanos;
+
+    /**
+     * How far the theoretical arrival time may run ahead of the clock, in nanoseconds
+     */
+    private volatile long toleranceNanos;
+
+    /**
+     * Theoretical arrival time of the next task
+     */
+    private final AtomicLong theoreticalArrivalNanos = new AtomicLong(System.nanoTime());
+
+    /**
+     * Create a {@link TaskRateLimitPlugin}.
+     *
+     * @param permitsPerSecond permits per second
+     * @param burst            max number of tasks that can be submitted at once
+     */
+    public TaskRateLimitPlugin(int permitsPerSecond, int burst) {
+        setRate(permitsPerSecond, burst);
+    }
+
+    /**
+     * Create a {@link TaskRateLimitPlugin} whose burst is the permits of one second.
+     *
+     * @param permitsPerSecond permits per second
+     */
+    public TaskRateLimitPlugin(int permitsPerSecond) {
+        this(permitsPerSecond, permitsPerSecond);
+    }
+
+    /**
+     * Set the rate, it takes effect for the next task.
+     *
+     * @param permitsPerSecond permits per second
+     * @param burst            max number of tasks that can be submitted at once
+     */
+    public void setRate(int permitsPerSecond, int burst) {
+        Assert.isTrue(permitsPerSecond > 0, "The permits per second must be greater than 0.");
+        Assert.isTrue(burst > 0, "The burst must be greater than 0.");
+        long emissionInterval = TimeUnit.SECONDS.toNanos(1) / permitsPerSecond;
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+        this.emissionIntervalNanos = emissionInterval;
+        this.toleranceNanos = emissionInterval * (burst - 1);
+    }
+
+    /**
+     * Shed the task if the rate is exceeded.
+     *
+     * @param runnable runnable
+     * @return task, or null if the task is shed
+     */
+    @Override
+    public Runnable beforeTaskExecute(@NonNull Runnable runnable) {
+        long now = System.nanoTime();
+        long emissionInterval = emissionIntervalNanos;
+        long tolerance = toleranceNanos;
+        for (;;) {
+            long tat = theoreticalArrivalNanos.get();
+            long base = tat - now > 0 ? tat : now;
+            if (base - now > tolerance) {
+                return shed(runnable);
+            }
+            if (theoreticalArrivalNanos.compareAndSet(tat, base + emissionInterval)) {
+                return runnable;
+            }
+        }
+    }
+
+    /**
+     * Get plugin runtime info.
+     *
+     * @return plugin runtime info
+     */
+    @Override
+    public PluginRuntime getPluginRuntime() {
+        return new PluginRuntime(getId())
+                .addInfo("permitsPerSecond", permitsPerSecond)
+                .addInfo("burst", burst)
+                .addInfo("shedCount", getShedCount());
+    }
+}
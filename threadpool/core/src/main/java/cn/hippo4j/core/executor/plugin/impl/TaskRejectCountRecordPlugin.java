@@ -26,7 +26,7 @@ import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * Record the number of tasks rejected by the thread pool.
+ * Record the number of tasks rejected by the thread pool, excluding the tasks shed by load-shedding.
  */
 public class TaskRejectCountRecordPlugin implements RejectedAwarePlugin {
 
@@ -61,6 +61,20 @@ public class TaskRejectCountRecordPlugin implements RejectedAwarePlugin {
         rejectCount.incrementAndGet();
     }
 
+    /**
+     * Record rejection count, except the task shed by the rejected handler, which is counted by the handler.
+     *
+     * @param r        task
+     * @param executor executor
+     * @param shed     whether the task is shed
+     */
+    @Override
+    public void beforeRejectedExecution(Runnable r, ThreadPoolExecutor executor, boolean shed) {
+        if (!shed) {
+            beforeRejectedExecution(r, executor);
+        }
+    }
+
     /**
      * Get reject count num.
      *
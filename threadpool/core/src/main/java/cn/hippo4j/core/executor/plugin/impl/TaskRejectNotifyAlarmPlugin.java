@@ -65,4 +65,18 @@ public class TaskRejectNotifyAlarmPlugin implements RejectedAwarePlugin {
         String threadPoolId = ((ExtensibleThreadPoolExecutor) executor).getThreadPoolId();
         threadPoolCheckAlarm.asyncSendRejectedAlarm(threadPoolId);
     }
+
+    /**
+     * Callback before task is rejected, no alarm is sent for the task shed by the rejected handler.
+     *
+     * @param runnable task
+     * @param executor executor
+     * @param shed     whether the task is shed
+     */
+    @Override
+    public void beforeRejectedExecution(Runnable runnable, ThreadPoolExecutor executor, boolean shed) {
+        if (!shed) {
+            beforeRejectedExecution(runnable, executor);
+        }
+    }
 }
@@ -19,6 +19,8 @@ package cn.hippo4j.core.executor.plugin.impl;
 
 import cn.hippo4j.common.toolkit.Assert;
 import cn.hippo4j.core.executor.plugin.PluginRuntime;
+import cn.hippo4j.core.toolkit.TaskClock;
+import cn.hippo4j.core.toolkit.TaskClockHolder;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
@@ -26,6 +28,7 @@ import java.lang.reflect.Array;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -35,7 +38,8 @@ import java.util.stream.Collectors;
  * <p>Record task execution time indicator. <br />
  * The initialization size of the timer container can be specified during construction,
  * It will route it to different timers in the container according to the {@link Thread#getId},
- * to reduce the lock competition strength for a single timer.
+ * to reduce the lock competition strength for a single timer. <br />
+ * All the time indicators are recorded and reported in nanoseconds, the plugin runtime info keeps them raw.
  */
 public class TaskTimeRecordPlugin extends AbstractTaskTimerPlugin {
 
@@ -60,9 +64,9 @@ public class TaskTimeRecordPlugin extends AbstractTaskTimerPlugin {
     private final Timer[] timerTable;
 
     /**
-     * The default time mills
+     * The default time
      */
-    private static final long DEFAULT_TIME_MILLS = -1L;
+    private static final long DEFAULT_TIME = -1L;
 
     /**
      * No task count
@@ -78,8 +82,11 @@ public class TaskTimeRecordPlugin extends AbstractTaskTimerPlugin {
      * Create a {@link TaskTimeRecordPlugin}
      *
      * @param initialCapacity initial capacity of timer table
+     * @param clock           clock source
+     * @param timeUnit        unit of {@link #currentTime}
      */
-    public TaskTimeRecordPlugin(int initialCapacity) {
+    public TaskTimeRecordPlugin(int initialCapacity, TaskClock clock, TimeUnit timeUnit) {
+        super(clock, timeUnit);
         Assert.isTrue(initialCapacity >= 1, "count must great then 0");
         initialCapacity = tableSizeFor(initialCapacity);
         timerTable = (Timer[]) Array.newInstance(Timer.class, initialCapacity);
@@ -89,6 +96,25 @@ public class TaskTimeRecordPlugin extends AbstractTaskTimerPlugin {
         modulo = initialCapacity - 1;
     }
 
+    /**
+     * Create a {@link TaskTimeRecordPlugin}
+     *
+     * @param initialCapacity initial capacity of timer table
+     * @param clock           clock source
+     */
+    public TaskTimeRecordPlugin(int initialCapacity, TaskClock clock) {
+        this(initialCapacity, clock, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Create a {@link TaskTimeRecordPlugin}
+     *
+     * @param initialCapacity initial capacity of timer table
+     */
+    public TaskTimeRecordPlugin(int initialCapacity) {
+        this(initialCapacity, TaskClockHolder.getDefault());
+    }
+
     /**
      * Create a {@link TaskTimeRecordPlugin}
      */
@@ -107,16 +133,16 @@ public class TaskTimeRecordPlugin extends AbstractTaskTimerPlugin {
         return new PluginRuntime(getId())
                 .addInfo("timerCount", timerTable.length)
                 .addInfo("taskCount", summary.getTaskCount())
-                .addInfo("minTaskTime", summary.getMinTaskTimeMillis() + "ms")
-                .addInfo("maxTaskTime", summary.getMaxTaskTimeMillis() + "ms")
-                .addInfo("totalTaskTime", summary.getTotalTaskTimeMillis() + "ms")
-                .addInfo("avgTaskTime", summary.getAvgTaskTimeMillis() + "ms");
+                .addInfo("minTaskTimeNanos", summary.getMinTaskTimeNanos())
+                .addInfo("maxTaskTimeNanos", summary.getMaxTaskTimeNanos())
+                .addInfo("totalTaskTimeNanos", summary.getTotalTaskTimeNanos())
+                .addInfo("avgTaskTimeNanos", summary.getAvgTaskTimeNanos());
     }
 
     /**
      * Refresh time indicators of the current instance.
      *
-     * @param taskExecuteTime execute time of task
+     * @param taskExecuteTime execute time of task in nanoseconds
      */
     @Override
     protected void processTaskTime(long taskExecuteTime) {
@@ -137,22 +163,22 @@ public class TaskTimeRecordPlugin extends AbstractTaskTimerPlugin {
                 .collect(Collectors.toList());
 
         // summarize data
-        long totalTaskTimeMillis = 0L;
-        long maxTaskTimeMillis = DEFAULT_TIME_MILLS;
-        long minTaskTimeMillis = DEFAULT_TIME_MILLS;
+        long totalTaskTimeNanos = 0L;
+        long maxTaskTimeNanos = DEFAULT_TIME;
+        long minTaskTimeNanos = DEFAULT_TIME;
         long taskCount = 0L;
         for (Summary summary : summaries) {
             if (taskCount > 0) {
-                maxTaskTimeMillis = Math.max(maxTaskTimeMillis, summary.getMaxTaskTimeMillis());
-                minTaskTimeMillis = Math.min(minTaskTimeMillis, summary.getMinTaskTimeMillis());
+                maxTaskTimeNanos = Math.max(maxTaskTimeNanos, summary.getMaxTaskTimeNanos());
+                minTaskTimeNanos = Math.min(minTaskTimeNanos, summary.getMinTaskTimeNanos());
             } else {
-                maxTaskTimeMillis = summary.getMaxTaskTimeMillis();
-                minTaskTimeMillis = summary.getMinTaskTimeMillis();
+                maxTaskTimeNanos = summary.getMaxTaskTimeNanos();
+                minTaskTimeNanos = summary.getMinTaskTimeNanos();
             }
-            totalTaskTimeMillis += summary.getTotalTaskTimeMillis();
+            totalTaskTimeNanos += summary.getTotalTaskTimeNanos();
             taskCount += summary.getTaskCount();
         }
-        return new Summary(totalTaskTimeMillis, maxTaskTimeMillis, minTaskTimeMillis, taskCount);
+        return new Summary(totalTaskTimeNanos, maxTaskTimeNanos, minTaskTimeNanos, taskCount);
     }
 
     private Timer getTimerForCurrentThread() {
@@ -185,19 +211,19 @@ public class TaskTimeRecordPlugin extends AbstractTaskTimerPlugin {
         private final ReadWriteLock lock = new ReentrantReadWriteLock();
 
         /**
-         * Total execution milli time of all tasks
+         * Total execution nano time of all tasks
          */
-        private long totalTaskTimeMillis = 0L;
+        private long totalTaskTimeNanos = 0L;
 
         /**
-         * Maximum task milli execution time, default -1
+         * Maximum task nano execution time, default -1
          */
-        private long maxTaskTimeMillis = -1L;
+        private long maxTaskTimeNanos = -1L;
 
         /**
-         * Minimal task milli execution time, default -1
+         * Minimal task nano execution time, default -1
          */
-        private long minTaskTimeMillis = -1L;
+        private long minTaskTimeNanos = -1L;
 
         /**
          * Count of completed task
@@ -214,14 +240,14 @@ public class TaskTimeRecordPlugin extends AbstractTaskTimerPlugin {
             writeLock.lock();
             try {
                 if (taskCount > 0) {
-                    maxTaskTimeMillis = Math.max(taskExecuteTime, maxTaskTimeMillis);
-                    minTaskTimeMillis = Math.min(taskExecuteTime, minTaskTimeMillis);
+                    maxTaskTimeNanos = Math.max(taskExecuteTime, maxTaskTimeNanos);
+                    minTaskTimeNanos = Math.min(taskExecuteTime, minTaskTimeNanos);
                 } else {
-                    maxTaskTimeMillis = taskExecuteTime;
-                    minTaskTimeMillis = taskExecuteTime;
+                    maxTaskTimeNanos = taskExecuteTime;
+                    minTaskTimeNanos = taskExecuteTime;
                 }
                 taskCount = taskCount + 1;
-                totalTaskTimeMillis += taskExecuteTime;
+                totalTaskTimeNanos += taskExecuteTime;
             } finally {
                 writeLock.unlock();
             }
@@ -238,9 +264,9 @@ public class TaskTimeRecordPlugin extends AbstractTaskTimerPlugin {
             readLock.lock();
             try {
                 statistics = new Summary(
-                        this.totalTaskTimeMillis,
-                        this.maxTaskTimeMillis,
-                        this.minTaskTimeMillis,
+                        this.totalTaskTimeNanos,
+                        this.maxTaskTimeNanos,
+                        this.minTaskTimeNanos,
                         this.taskCount);
             } finally {
                 readLock.unlock();
@@ -260,31 +286,71 @@ public class TaskTimeRecordPlugin extends AbstractTaskTimerPlugin {
         /**
          * Total execution nano time of all tasks
          */
-        private final long totalTaskTimeMillis;
+        private final long totalTaskTimeNanos;
 
         /**
          * Maximum task nano execution time
          */
-        private final long maxTaskTimeMillis;
+        private final long maxTaskTimeNanos;
 
         /**
          * Minimal task nano execution time
          */
-        private final long minTaskTimeMillis;
+        private final long minTaskTimeNanos;
 
         /**
          * Count of completed task
          */
         private final long taskCount;
 
+        /**
+         * Get the avg task time in nanoseconds
+         *
+         * @return avg task time
+         */
+        public long getAvgTaskTimeNanos() {
+            long totalTaskCount = getTaskCount();
+            return totalTaskCount > 0L ? getTotalTaskTimeNanos() / totalTaskCount : NO_TASK_COUNT;
+        }
+
+        /**
+         * Get the total task time in milliseconds
+         *
+         * @return total task time
+         */
+        public long getTotalTaskTimeMillis() {
+            return toMillis(totalTaskTimeNanos);
+        }
+
+        /**
+         * Get the max task time in milliseconds
+         *
+         * @return max task time
+         */
+        public long getMaxTaskTimeMillis() {
+            return toMillis(maxTaskTimeNanos);
+        }
+
+        /**
+         * Get the min task time in milliseconds
+         *
+         * @return min task time
+         */
+        public long getMinTaskTimeMillis() {
+            return toMillis(minTaskTimeNanos);
+        }
+
         /**
          * Get the avg task time in milliseconds
          *
          * @return avg task time
          */
         public long getAvgTaskTimeMillis() {
-            long totalTaskCount = getTaskCount();
-            return totalTaskCount > 0L ? getTotalTaskTimeMillis() / totalTaskCount : NO_TASK_COUNT;
+            return toMillis(getAvgTaskTimeNanos());
+        }
+
+        private static long toMillis(long nanos) {
+            return nanos < 0L ? nanos : TimeUnit.NANOSECONDS.toMillis(nanos);
         }
     }
 
@@ -19,19 +19,20 @@ package cn.hippo4j.core.executor.plugin.impl;
 
 import cn.hippo4j.core.config.ApplicationContextHolder;
 import cn.hippo4j.core.executor.plugin.PluginRuntime;
+import cn.hippo4j.core.toolkit.TaskClock;
+import cn.hippo4j.core.toolkit.TaskClockHolder;
 import cn.hippo4j.threadpool.alarm.api.ThreadPoolCheckAlarm;
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NonNull;
-import lombok.Setter;
 
 import java.util.Optional;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Send alarm notification when the execution time exceeds the threshold.
+ * The threshold is configured in milliseconds, but compared and reported in nanoseconds.
  */
-@AllArgsConstructor
 public class TaskTimeoutNotifyAlarmPlugin extends AbstractTaskTimerPlugin {
 
     public static final String PLUGIN_NAME = TaskTimeoutNotifyAlarmPlugin.class.getSimpleName();
@@ -42,11 +43,15 @@ public class TaskTimeoutNotifyAlarmPlugin extends AbstractTaskTimerPlugin {
     private final String threadPoolId;
 
     /**
-     * Execute time-out
+     * Execute time-out in milliseconds
      */
     @Getter
-    @Setter
-    private Long executeTimeOut;
+    private volatile Long executeTimeOut;
+
+    /**
+     * Execute time-out in nanoseconds
+     */
+    private volatile long executeTimeOutNanos;
 
     /**
      * Thread-pool executor
@@ -60,6 +65,37 @@ public class TaskTimeoutNotifyAlarmPlugin extends AbstractTaskTimerPlugin {
     @NonNull
     private final ThreadPoolCheckAlarm threadPoolCheckAlarm;
 
+    /**
+     * Create a {@link TaskTimeoutNotifyAlarmPlugin}.
+     *
+     * @param threadPoolId         thread pool id
+     * @param executeTimeOut       execute time out in milliseconds
+     * @param threadPoolExecutor   thread pool executor
+     * @param threadPoolCheckAlarm thread pool check alarm
+     * @param clock                clock source
+     */
+    public TaskTimeoutNotifyAlarmPlugin(String threadPoolId, Long executeTimeOut, ThreadPoolExecutor threadPoolExecutor,
+                                        @NonNull ThreadPoolCheckAlarm threadPoolCheckAlarm, TaskClock clock) {
+        super(clock);
+        this.threadPoolId = threadPoolId;
+        this.threadPoolExecutor = threadPoolExecutor;
+        this.threadPoolCheckAlarm = threadPoolCheckAlarm;
+        setExecuteTimeOut(executeTimeOut);
+    }
+
+    /**
+     * Create a {@link TaskTimeoutNotifyAlarmPlugin}.
+     *
+     * @param threadPoolId         thread pool id
+     * @param executeTimeOut       execute time out in milliseconds
+     * @param threadPoolExecutor   thread pool executor
+     * @param threadPoolCheckAlarm thread pool check alarm
+     */
+    public TaskTimeoutNotifyAlarmPlugin(String threadPoolId, Long executeTimeOut, ThreadPoolExecutor threadPoolExecutor,
+                                        @NonNull ThreadPoolCheckAlarm threadPoolCheckAlarm) {
+        this(threadPoolId, executeTimeOut, threadPoolExecutor, threadPoolCheckAlarm, TaskClockHolder.getDefault());
+    }
+
     /**
      * Create a {@link TaskTimeoutNotifyAlarmPlugin}.
      *
@@ -75,6 +111,16 @@ public class TaskTimeoutNotifyAlarmPlugin extends AbstractTaskTimerPlugin {
                         .orElseGet(ThreadPoolCheckAlarm::none));
     }
 
+    /**
+     * Set execute time-out.
+     *
+     * @param executeTimeOut execute time out in milliseconds
+     */
+    public void setExecuteTimeOut(Long executeTimeOut) {
+        this.executeTimeOut = executeTimeOut;
+        this.executeTimeOutNanos = executeTimeOut == null ? 0L : TimeUnit.MILLISECONDS.toNanos(executeTimeOut);
+    }
+
     /**
      * Get plugin runtime info.
      *
@@ -83,20 +129,21 @@ public class TaskTimeoutNotifyAlarmPlugin extends AbstractTaskTimerPlugin {
     @Override
     public PluginRuntime getPluginRuntime() {
         return new PluginRuntime(getId())
-                .addInfo("executeTimeOut", executeTimeOut + "ms");
+                .addInfo("executeTimeOutNanos", executeTimeOutNanos);
     }
 
     /**
      * Check whether the task execution time exceeds {@link #executeTimeOut},
      * if it exceeds this time, send an alarm notification.
      *
-     * @param taskExecuteTime execute time of task
+     * @param taskExecuteTime execute time of task in nanoseconds
      */
     @Override
     protected void processTaskTime(long taskExecuteTime) {
-        if (executeTimeOut <= 0 || taskExecuteTime <= executeTimeOut) {
+        long timeOutNanos = executeTimeOutNanos;
+        if (timeOutNanos <= 0 || taskExecuteTime <= timeOutNanos) {
             return;
         }
-        threadPoolCheckAlarm.asyncSendExecuteTimeOutAlarm(threadPoolId, taskExecuteTime, executeTimeOut, threadPoolExecutor);
+        threadPoolCheckAlarm.asyncSendExecuteTimeOutAlarm(threadPoolId, taskExecuteTime, timeOutNanos, threadPoolExecutor);
     }
 }
@@ -81,6 +81,12 @@ import java.util.stream.Collectors;
  * registering or unregistering plugins through the manager will affect the results of the iteration.
  * Therefore, we should try to ensure that <b>get the latest plugin list from the manager before each use</b>.
  *
+ * <h3>Plugin snapshot</h3>
+ * <p>Whenever plugins are registered, unregistered, enabled, disabled or reordered,
+ * the manager will publish a new immutable {@link ThreadPoolPluginSnapshot} through a volatile field.
+ * The thread-pool can obtain it through {@link #getPluginSnapshot()} without any locking,
+ * and traverse the plugin arrays in it without allocating iterators.
+ *
  * @see cn.hippo4j.core.executor.DynamicThreadPoolExecutor
  * @see cn.hippo4j.core.executor.ExtensibleThreadPoolExecutor
  */
@@ -121,6 +127,16 @@ public class DefaultThreadPoolPluginManager implements ThreadPoolPluginManager {
      */
     private final QuickIndex<ShutdownAwarePlugin> shutdownAwarePluginList = new QuickIndex<>(ShutdownAwarePlugin.class);
 
+    /**
+     * Snapshot of enabled plugins, it will be rebuilt whenever the quick indexes are changed
+     */
+    private volatile ThreadPoolPluginSnapshot pluginSnapshot = ThreadPoolPluginSnapshot.EMPTY;
+
+    /**
+     * Monitor used to serialize the rebuilding of {@link #pluginSnapshot}
+     */
+    private final Object snapshotMonitor = new Object();
+
     /**
      * Comparator of {@link ThreadPoolPlugin}.
      */
@@ -371,6 +387,18 @@ public class DefaultThreadPoolPluginManager implements ThreadPoolPluginManager {
         return mainLock.applyWithReadLock(taskAwarePluginList::getPlugins);
     }
 
+    /**
+     * Get the immutable snapshot of all enabled plugins without locking.
+     *
+     * @return snapshot of all enabled plugins
+     * @see #enable
+     * @see #disable
+     */
+    @Override
+    public ThreadPoolPluginSnapshot getPluginSnapshot() {
+        return pluginSnapshot;
+    }
+
     /**
      * Whether sorting plugins is allowed.
      *
@@ -402,13 +430,28 @@ public class DefaultThreadPoolPluginManager implements ThreadPoolPluginManager {
     }
 
     /**
-     * operate for each indexes
+     * operate for each indexes, and then refresh the plugin snapshot
      */
     private void forQuickIndexes(Consumer<QuickIndex<? extends ThreadPoolPlugin>> consumer) {
         consumer.accept(taskAwarePluginList);
         consumer.accept(executeAwarePluginList);
         consumer.accept(rejectedAwarePluginList);
         consumer.accept(shutdownAwarePluginList);
+        refreshPluginSnapshot();
+    }
+
+    /**
+     * <p>Rebuild and publish the plugin snapshot from the quick indexes. <br />
+     * Since {@link #enable} and {@link #disable} only hold the read lock,
+     * rebuilding is serialized by {@link #snapshotMonitor},
+     * to ensure that the last published snapshot always reflects the latest quick indexes.
+     */
+    private void refreshPluginSnapshot() {
+        synchronized (snapshotMonitor) {
+            pluginSnapshot = ThreadPoolPluginSnapshot.of(
+                    taskAwarePluginList.getPlugins(), executeAwarePluginList.getPlugins(),
+                    rejectedAwarePluginList.getPlugins(), shutdownAwarePluginList.getPlugins());
+        }
     }
 
     /**
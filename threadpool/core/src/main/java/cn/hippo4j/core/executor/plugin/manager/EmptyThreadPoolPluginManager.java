@@ -203,4 +203,14 @@ public class EmptyThreadPoolPluginManager implements ThreadPoolPluginManager {
     public Collection<TaskAwarePlugin> getTaskAwarePluginList() {
         return Collections.emptyList();
     }
+
+    /**
+     * Get the immutable snapshot of all enabled plugins.
+     *
+     * @return {@link ThreadPoolPluginSnapshot#EMPTY}
+     */
+    @Override
+    public ThreadPoolPluginSnapshot getPluginSnapshot() {
+        return ThreadPoolPluginSnapshot.EMPTY;
+    }
 }
@@ -171,6 +171,21 @@ public interface ThreadPoolPluginManager {
 
     // ==================== default methods ====================
 
+    /**
+     * <p>Get the immutable snapshot of all enabled plugins. <br />
+     * The snapshot will not change with the registration, enabling or disabling of plugins,
+     * so it should be obtained again from the manager before each use.
+     *
+     * <p>By default, a new snapshot is created on each call,
+     * implementations that are used on the hot path of the thread-pool should cache it.
+     *
+     * @return snapshot of all enabled plugins
+     * @see ThreadPoolPluginSnapshot
+     */
+    default ThreadPoolPluginSnapshot getPluginSnapshot() {
+        return ThreadPoolPluginSnapshot.of(this);
+    }
+
     /**
      * Get plugin of type.
      *
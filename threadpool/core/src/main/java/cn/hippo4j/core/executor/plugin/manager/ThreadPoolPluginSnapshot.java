@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.core.executor.plugin.manager;
+
+import cn.hippo4j.core.executor.plugin.ExecuteAwarePlugin;
+import cn.hippo4j.core.executor.plugin.RejectedAwarePlugin;
+import cn.hippo4j.core.executor.plugin.ShutdownAwarePlugin;
+import cn.hippo4j.core.executor.plugin.TaskAwarePlugin;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Collection;
+
+/**
+ * <p>Immutable snapshot of the enabled plugins of a {@link ThreadPoolPluginManager}. <br />
+ * The plugins of each type are stored in arrays in the order in which they should be called,
+ * so that the hot path of the thread-pool can traverse them without locking and iterator allocation.
+ *
+ * <p>The arrays held by a snapshot are shared with every reader,
+ * <b>do not modify the returned arrays</b>.
+ *
+ * @see ThreadPoolPluginManager#getPluginSnapshot()
+ * @see DefaultThreadPoolPluginManager
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class ThreadPoolPluginSnapshot {
+
+    /**
+     * Empty snapshot
+     */
+    public static final ThreadPoolPluginSnapshot EMPTY = new ThreadPoolPluginSnapshot(
+            new TaskAwarePlugin[0], new ExecuteAwarePlugin[0], new RejectedAwarePlugin[0], new ShutdownAwarePlugin[0]);
+
+    /**
+     * Enabled {@link TaskAwarePlugin}
+     */
+    private final TaskAwarePlugin[] taskAwarePlugins;
+
+    /**
+     * Enabled {@link ExecuteAwarePlugin}
+     */
+    private final ExecuteAwarePlugin[] executeAwarePlugins;
+
+    /**
+     * Enabled {@link RejectedAwarePlugin}
+     */
+    private final RejectedAwarePlugin[] rejectedAwarePlugins;
+
+    /**
+     * Enabled {@link ShutdownAwarePlugin}
+     */
+    private final ShutdownAwarePlugin[] shutdownAwarePlugins;
+
+    /**
+     * Create a snapshot from the plugins currently enabled in the manager.
+     *
+     * @param manager manager
+     * @return snapshot
+     */
+    public static ThreadPoolPluginSnapshot of(@NonNull ThreadPoolPluginManager manager) {
+        return of(
+                manager.getTaskAwarePluginList(), manager.getExecuteAwarePluginList(),
+                manager.getRejectedAwarePluginList(), manager.getShutdownAwarePluginList());
+    }
+
+    /**
+     * Create a snapshot from the given plugins, the plugins will be kept in the iteration order of the collections.
+     *
+     * @param taskAwarePlugins     enabled {@link TaskAwarePlugin}
+     * @param executeAwarePlugins  enabled {@link ExecuteAwarePlugin}
+     * @param rejectedAwarePlugins enabled {@link RejectedAwarePlugin}
+     * @param shutdownAwarePlugins enabled {@link ShutdownAwarePlugin}
+     * @return snapshot
+     */
+    public static ThreadPoolPluginSnapshot of(
+                                              @NonNull Collection<TaskAwarePlugin> taskAwarePlugins,
+                                              @NonNull Collection<ExecuteAwarePlugin> executeAwarePlugins,
+                                              @NonNull Collection<RejectedAwarePlugin> rejectedAwarePlugins,
+                                              @NonNull Collection<ShutdownAwarePlugin> shutdownAwarePlugins) {
+        return new ThreadPoolPluginSnapshot(
+                taskAwarePlugins.toArray(new TaskAwarePlugin[0]),
+                executeAwarePlugins.toArray(new ExecuteAwarePlugin[0]),
+                rejectedAwarePlugins.toArray(new RejectedAwarePlugin[0]),
+                shutdownAwarePlugins.toArray(new ShutdownAwarePlugin[0]));
+    }
+}
@@ -21,17 +21,24 @@ import cn.hippo4j.common.executor.ThreadPoolExecutorHolder;
 import cn.hippo4j.common.executor.ThreadPoolExecutorRegistry;
 import cn.hippo4j.common.handler.ThreadPoolStatusHandler;
 import cn.hippo4j.common.model.ManyThreadPoolRunStateInfo;
+import cn.hippo4j.common.model.PoolStatsSnapshot;
 import cn.hippo4j.common.model.ThreadPoolRunStateInfo;
 import cn.hippo4j.common.support.AbstractThreadPoolRuntime;
 import cn.hippo4j.common.toolkit.BeanUtil;
 import cn.hippo4j.common.toolkit.ByteConvertUtil;
 import cn.hippo4j.common.toolkit.MemoryUtil;
 import cn.hippo4j.common.toolkit.StringUtil;
+import cn.hippo4j.core.executor.plugin.impl.TaskLatencyHistogramPlugin;
+import cn.hippo4j.core.executor.plugin.impl.TaskQueueWaitTimePlugin;
+import cn.hippo4j.core.executor.plugin.manager.ThreadPoolPluginSupport;
+import cn.hippo4j.core.executor.support.LoadSheddingSupport;
+import cn.hippo4j.core.toolkit.LatencyHistogram;
 import cn.hippo4j.core.toolkit.inet.InetUtils;
-import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.env.ConfigurableEnvironment;
 
+import java.util.Optional;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ThreadPoolExecutor;
 
 import static cn.hippo4j.core.toolkit.IdentifyUtil.CLIENT_IDENTIFICATION_VALUE;
@@ -40,12 +47,22 @@ import static cn.hippo4j.core.toolkit.IdentifyUtil.CLIENT_IDENTIFICATION_VALUE;
  * Thread pool run state service.
  */
 @Slf4j
-@AllArgsConstructor
 public class ThreadPoolRunStateHandler extends AbstractThreadPoolRuntime {
 
-    private final InetUtils hippo4jInetUtils;
+    /**
+     * Ip address of the host, resolved once as it enumerates the network interfaces
+     */
+    private final String host;
 
-    private final ConfigurableEnvironment environment;
+    /**
+     * Active profile of the application
+     */
+    private final String active;
+
+    public ThreadPoolRunStateHandler(InetUtils hippo4jInetUtils, ConfigurableEnvironment environment) {
+        this.host = hippo4jInetUtils.findFirstNonLoopBackHostInfo().getIpAddress();
+        this.active = environment.getProperty("spring.profiles.active", "UNKNOWN").toUpperCase();
+    }
 
     @Override
     public ThreadPoolRunStateInfo supplement(ThreadPoolRunStateInfo poolRunStateInfo) {
@@ -58,8 +75,7 @@ public class ThreadPoolRunStateHandler extends AbstractThreadPoolRuntime {
                 ByteConvertUtil.getPrintSize(max));
         poolRunStateInfo.setCurrentLoad(poolRunStateInfo.getCurrentLoad() + "%");
         poolRunStateInfo.setPeakLoad(poolRunStateInfo.getPeakLoad() + "%");
-        String ipAddress = hippo4jInetUtils.findFirstNonLoopBackHostInfo().getIpAddress();
-        poolRunStateInfo.setHost(ipAddress);
+        poolRunStateInfo.setHost(host);
         poolRunStateInfo.setMemoryProportion(memoryProportion);
         poolRunStateInfo.setFreeMemory(ByteConvertUtil.getPrintSize(Math.subtractExact(max, used)));
         String threadPoolId = poolRunStateInfo.getTpId();
@@ -69,15 +85,73 @@ public class ThreadPoolRunStateHandler extends AbstractThreadPoolRuntime {
         rejectedName = pool.getRejectedExecutionHandler().getClass().getSimpleName();
         poolRunStateInfo.setRejectedName(rejectedName);
 
-        ManyThreadPoolRunStateInfo manyThreadPoolRunStateInfo = convert(poolRunStateInfo);
+        ManyThreadPoolRunStateInfo manyThreadPoolRunStateInfo = poolRunStateInfo instanceof ManyThreadPoolRunStateInfo
+                ? (ManyThreadPoolRunStateInfo) poolRunStateInfo
+                : convert(poolRunStateInfo);
         manyThreadPoolRunStateInfo.setIdentify(CLIENT_IDENTIFICATION_VALUE);
-        String active = environment.getProperty("spring.profiles.active", "UNKNOWN");
-        manyThreadPoolRunStateInfo.setActive(active.toUpperCase());
+        manyThreadPoolRunStateInfo.setActive(active);
         String threadPoolState = ThreadPoolStatusHandler.getThreadPoolState(pool);
         manyThreadPoolRunStateInfo.setState(threadPoolState);
         return manyThreadPoolRunStateInfo;
     }
 
+    @Override
+    public PoolStatsSnapshot snapshot(Executor executor, PoolStatsSnapshot snapshot) {
+        return snapshot(executor, snapshot, new LatencyHistogram.Snapshot());
+    }
+
+    /**
+     * Read the running state of executor into a reusable snapshot, including the percentiles provided by plugins.
+     *
+     * @param executor executor
+     * @param snapshot snapshot to fill, usually kept per thread-pool by the caller
+     * @param latency  histogram snapshot to read the percentiles through, kept next to the given snapshot
+     * @return the given snapshot
+     */
+    public PoolStatsSnapshot snapshot(Executor executor, PoolStatsSnapshot snapshot, LatencyHistogram.Snapshot latency) {
+        super.snapshot(executor, snapshot);
+        supplementLatency((ThreadPoolExecutor) executor, snapshot, latency);
+        return snapshot;
+    }
+
+    @Override
+    protected void supplementSnapshot(ThreadPoolExecutor executor, PoolStatsSnapshot snapshot) {
+        Long shedCount = LoadSheddingSupport.getShedCount(executor);
+        if (shedCount != null) {
+            snapshot.setShedCount(shedCount);
+        }
+    }
+
+    @Override
+    protected ThreadPoolRunStateInfo newRunStateInfo() {
+        return new ManyThreadPoolRunStateInfo();
+    }
+
+    /**
+     * Supplement the percentiles of task execution time and task queue wait time
+     * if {@link TaskLatencyHistogramPlugin} or {@link TaskQueueWaitTimePlugin} is registered.
+     *
+     * @param pool     thread-pool
+     * @param snapshot thread-pool stats snapshot
+     * @param latency  histogram snapshot to read the percentiles through, the values are copied out right after it is filled
+     */
+    public static void supplementLatency(ThreadPoolExecutor pool, PoolStatsSnapshot snapshot, LatencyHistogram.Snapshot latency) {
+        if (!(pool instanceof ThreadPoolPluginSupport)) {
+            return;
+        }
+        ThreadPoolPluginSupport support = (ThreadPoolPluginSupport) pool;
+        Optional<TaskLatencyHistogramPlugin> executeTimePlugin = support.getPluginOfType(TaskLatencyHistogramPlugin.PLUGIN_NAME, TaskLatencyHistogramPlugin.class);
+        if (executeTimePlugin.isPresent()) {
+            executeTimePlugin.get().snapshot(latency);
+            snapshot.setExecuteTime(latency.getP50(), latency.getP90(), latency.getP99(), latency.getP999(), latency.getMax());
+        }
+        Optional<TaskQueueWaitTimePlugin> queueWaitTimePlugin = support.getPluginOfType(TaskQueueWaitTimePlugin.PLUGIN_NAME, TaskQueueWaitTimePlugin.class);
+        if (queueWaitTimePlugin.isPresent()) {
+            queueWaitTimePlugin.get().snapshot(latency);
+            snapshot.setQueueWaitTime(latency.getP50(), latency.getP90(), latency.getP99(), latency.getP999(), latency.getMax());
+        }
+    }
+
     private ManyThreadPoolRunStateInfo convert(ThreadPoolRunStateInfo poolRunStateInfo) {
         ManyThreadPoolRunStateInfo manyThreadPoolRunStateInfo = new ManyThreadPoolRunStateInfo();
         manyThreadPoolRunStateInfo.setCurrentLoad(poolRunStateInfo.getCurrentLoad());
@@ -91,6 +165,17 @@ public class ThreadPoolRunStateHandler extends AbstractThreadPoolRuntime {
         manyThreadPoolRunStateInfo.setQueueRemainingCapacity(poolRunStateInfo.getQueueRemainingCapacity());
         manyThreadPoolRunStateInfo.setCompletedTaskCount(poolRunStateInfo.getCompletedTaskCount());
         manyThreadPoolRunStateInfo.setRejectCount(poolRunStateInfo.getRejectCount());
+        manyThreadPoolRunStateInfo.setShedCount(poolRunStateInfo.getShedCount());
+        manyThreadPoolRunStateInfo.setExecuteTimeP50(poolRunStateInfo.getExecuteTimeP50());
+        manyThreadPoolRunStateInfo.setExecuteTimeP90(poolRunStateInfo.getExecuteTimeP90());
+        manyThreadPoolRunStateInfo.setExecuteTimeP99(poolRunStateInfo.getExecuteTimeP99());
+        manyThreadPoolRunStateInfo.setExecuteTimeP999(poolRunStateInfo.getExecuteTimeP999());
+        manyThreadPoolRunStateInfo.setExecuteTimeMax(poolRunStateInfo.getExecuteTimeMax());
+        manyThreadPoolRunStateInfo.setQueueWaitTimeP50(poolRunStateInfo.getQueueWaitTimeP50());
+        manyThreadPoolRunStateInfo.setQueueWaitTimeP90(poolRunStateInfo.getQueueWaitTimeP90());
+        manyThreadPoolRunStateInfo.setQueueWaitTimeP99(poolRunStateInfo.getQueueWaitTimeP99());
+        manyThreadPoolRunStateInfo.setQueueWaitTimeP999(poolRunStateInfo.getQueueWaitTimeP999());
+        manyThreadPoolRunStateInfo.setQueueWaitTimeMax(poolRunStateInfo.getQueueWaitTimeMax());
         manyThreadPoolRunStateInfo.setHost(poolRunStateInfo.getHost());
         manyThreadPoolRunStateInfo.setMemoryProportion(poolRunStateInfo.getMemoryProportion());
         manyThreadPoolRunStateInfo.setFreeMemory(poolRunStateInfo.getFreeMemory());
@@ -102,6 +187,13 @@ public class ThreadPoolRunStateHandler extends AbstractThreadPoolRuntime {
         manyThreadPoolRunStateInfo.setQueueCapacity(poolRunStateInfo.getQueueCapacity());
         manyThreadPoolRunStateInfo.setRejectedName(poolRunStateInfo.getRejectedName());
         manyThreadPoolRunStateInfo.setKeepAliveTime(poolRunStateInfo.getKeepAliveTime());
+        manyThreadPoolRunStateInfo.setQueueLaneSizes(poolRunStateInfo.getQueueLaneSizes());
+        manyThreadPoolRunStateInfo.setQueueLaneWeights(poolRunStateInfo.getQueueLaneWeights());
+        manyThreadPoolRunStateInfo.setWorkerQueueSizes(poolRunStateInfo.getWorkerQueueSizes());
+        manyThreadPoolRunStateInfo.setStealCount(poolRunStateInfo.getStealCount());
+        manyThreadPoolRunStateInfo.setPoolGroup(poolRunStateInfo.getPoolGroup());
+        manyThreadPoolRunStateInfo.setGroupBudget(poolRunStateInfo.getGroupBudget());
+        manyThreadPoolRunStateInfo.setGroupActiveThreads(poolRunStateInfo.getGroupActiveThreads());
         return manyThreadPoolRunStateInfo;
     }
 }
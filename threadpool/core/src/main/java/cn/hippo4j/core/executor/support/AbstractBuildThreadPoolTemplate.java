@@ -18,8 +18,11 @@
 package cn.hippo4j.core.executor.support;
 
 import cn.hippo4j.common.executor.ThreadFactoryBuilder;
+import cn.hippo4j.common.executor.support.WorkStealingBlockingQueue;
 import cn.hippo4j.common.toolkit.Assert;
 import cn.hippo4j.core.executor.DynamicThreadPoolExecutor;
+import cn.hippo4j.core.executor.VirtualThreadPoolExecutor;
+import cn.hippo4j.core.executor.WorkStealingThreadPoolExecutor;
 import lombok.Data;
 import lombok.experimental.Accessors;
 import lombok.extern.slf4j.Slf4j;
@@ -110,6 +113,64 @@ public class AbstractBuildThreadPoolTemplate {
         return dynamicThreadPoolExecutor;
     }
 
+    /**
+     * Build a dynamic thread-pool running on virtual threads, the maximum pool size is used as the concurrency limit.
+     *
+     * @param initParam init param
+     * @return virtual thread-pool executor
+     */
+    public static VirtualThreadPoolExecutor buildVirtualPool(ThreadPoolInitParam initParam) {
+        Assert.notNull(initParam);
+        VirtualThreadPoolExecutor virtualThreadPoolExecutor;
+        try {
+            virtualThreadPoolExecutor = new VirtualThreadPoolExecutor(
+                    initParam.getMaximumPoolSize(),
+                    initParam.getKeepAliveTime(),
+                    initParam.getTimeUnit(),
+                    initParam.getExecuteTimeOut(),
+                    initParam.getWaitForTasksToCompleteOnShutdown(),
+                    initParam.getAwaitTerminationMillis(),
+                    initParam.getWorkQueue(),
+                    initParam.getThreadPoolId(),
+                    initParam.getThreadFactory(),
+                    initParam.getRejectedExecutionHandler());
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException(String.format("Error creating thread pool parameter. threadPool id: %s", initParam.getThreadPoolId()), ex);
+        }
+        virtualThreadPoolExecutor.setTaskDecorator(initParam.getTaskDecorator());
+        return virtualThreadPoolExecutor;
+    }
+
+    /**
+     * Build a dynamic thread-pool whose workers steal tasks from each other, the maximum pool size is used as the parallelism.
+     *
+     * @param initParam init param
+     * @return work-stealing thread-pool executor
+     */
+    public static WorkStealingThreadPoolExecutor buildWorkStealingPool(ThreadPoolInitParam initParam) {
+        Assert.notNull(initParam);
+        Assert.isTrue(initParam.getWorkQueue() instanceof WorkStealingBlockingQueue, "The work queue of work-stealing thread-pool must be WorkStealingBlockingQueue.");
+        WorkStealingThreadPoolExecutor workStealingThreadPoolExecutor;
+        try {
+            workStealingThreadPoolExecutor = new WorkStealingThreadPoolExecutor(
+                    initParam.getMaximumPoolSize(),
+                    initParam.getKeepAliveTime(),
+                    initParam.getTimeUnit(),
+                    initParam.getExecuteTimeOut(),
+                    initParam.getWaitForTasksToCompleteOnShutdown(),
+                    initParam.getAwaitTerminationMillis(),
+                    (WorkStealingBlockingQueue<Runnable>) initParam.getWorkQueue(),
+                    initParam.getThreadPoolId(),
+                    initParam.getThreadFactory(),
+                    initParam.getRejectedExecutionHandler());
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException(String.format("Error creating thread pool parameter. threadPool id: %s", initParam.getThreadPoolId()), ex);
+        }
+        workStealingThreadPoolExecutor.setTaskDecorator(initParam.getTaskDecorator());
+        workStealingThreadPoolExecutor.allowCoreThreadTimeOut(initParam.allowCoreThreadTimeOut);
+        return workStealingThreadPoolExecutor;
+    }
+
     /**
      * Thread-pool init param.
      */
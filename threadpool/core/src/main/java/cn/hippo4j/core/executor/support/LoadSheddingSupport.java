@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.core.executor.support;
+
+import cn.hippo4j.common.executor.support.CallerRunsWithBudgetPolicy;
+import cn.hippo4j.common.model.executor.ExecutorProperties;
+import cn.hippo4j.core.executor.plugin.impl.AbstractLoadSheddingPlugin;
+import cn.hippo4j.core.executor.plugin.impl.TaskQueueDelaySheddingPlugin;
+import cn.hippo4j.core.executor.plugin.impl.TaskRateLimitPlugin;
+import cn.hippo4j.core.executor.plugin.manager.ThreadPoolPluginSupport;
+
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * <p>Apply the load-shedding configuration of {@link ExecutorProperties} to the thread-pool:
+ * <ul>
+ *     <li>{@link ExecutorProperties#getShedQueueDelay()} for {@link TaskQueueDelaySheddingPlugin};</li>
+ *     <li>{@link ExecutorProperties#getRateLimit()} for {@link TaskRateLimitPlugin};</li>
+ *     <li>{@link ExecutorProperties#getCallerRunsBudget()} for {@link CallerRunsWithBudgetPolicy}.</li>
+ * </ul>
+ * A plugin is registered when its property is greater than 0, updated in place when it's already registered,
+ * and unregistered otherwise, so the same properties can be applied again on every refresh.
+ */
+public class LoadSheddingSupport {
+
+    /**
+     * Apply the load-shedding properties to the thread-pool.
+     *
+     * @param executor   thread-pool
+     * @param properties executor properties
+     */
+    public static void refresh(ThreadPoolExecutor executor, ExecutorProperties properties) {
+        if (executor instanceof ThreadPoolPluginSupport) {
+            ThreadPoolPluginSupport pluginSupport = (ThreadPoolPluginSupport) executor;
+            Long shedQueueDelay = properties.getShedQueueDelay();
+            if (shedQueueDelay != null && shedQueueDelay > 0) {
+                Optional<TaskQueueDelaySheddingPlugin> plugin = pluginSupport.getPluginOfType(TaskQueueDelaySheddingPlugin.PLUGIN_NAME, TaskQueueDelaySheddingPlugin.class);
+                if (plugin.isPresent()) {
+                    plugin.get().setTarget(shedQueueDelay, plugin.get().getIntervalMillis());
+                } else {
+                    pluginSupport.register(new TaskQueueDelaySheddingPlugin(shedQueueDelay));
+                }
+            } else if (pluginSupport.isRegistered(TaskQueueDelaySheddingPlugin.PLUGIN_NAME)) {
+                pluginSupport.unregister(TaskQueueDelaySheddingPlugin.PLUGIN_NAME);
+            }
+            Integer rateLimit = properties.getRateLimit();
+            if (rateLimit != null && rateLimit > 0) {
+                Optional<TaskRateLimitPlugin> plugin = pluginSupport.getPluginOfType(TaskRateLimitPlugin.PLUGIN_NAME, TaskRateLimitPlugin.class);
+                if (plugin.isPresent()) {
+                    plugin.get().setRate(rateLimit, rateLimit);
+                } else {
+                    pluginSupport.register(new TaskRateLimitPlugin(rateLimit));
+                }
+            } else if (pluginSupport.isRegistered(TaskRateLimitPlugin.PLUGIN_NAME)) {
+                pluginSupport.unregister(TaskRateLimitPlugin.PLUGIN_NAME);
+            }
+        }
+        refreshCallerRunsBudget(executor.getRejectedExecutionHandler(), properties.getCallerRunsBudget());
+    }
+
+    /**
+     * Apply the caller-runs budget to the rejected handler if it's a {@link CallerRunsWithBudgetPolicy}.
+     *
+     * @param rejectedHandler  rejected handler
+     * @param callerRunsBudget budget of callers running rejected tasks, {@link CallerRunsWithBudgetPolicy#DEFAULT_BUDGET} if it's null
+     */
+    public static void refreshCallerRunsBudget(RejectedExecutionHandler rejectedHandler, Integer callerRunsBudget) {
+        if (rejectedHandler instanceof CallerRunsWithBudgetPolicy) {
+            ((CallerRunsWithBudgetPolicy) rejectedHandler).setBudget(Optional.ofNullable(callerRunsBudget).orElse(CallerRunsWithBudgetPolicy.DEFAULT_BUDGET));
+        }
+    }
+
+    /**
+     * Get the number of tasks shed by the load-shedding plugins and the {@link CallerRunsWithBudgetPolicy} of the thread-pool.
+     *
+     * @param executor thread-pool
+     * @return number of shed tasks, or null if neither a load-shedding plugin nor the policy is used
+     */
+    public static Long getShedCount(ThreadPoolExecutor executor) {
+        Long shedCount = null;
+        if (executor instanceof ThreadPoolPluginSupport) {
+            for (AbstractLoadSheddingPlugin plugin : ((ThreadPoolPluginSupport) executor).getAllPluginsOfType(AbstractLoadSheddingPlugin.class)) {
+                shedCount = Optional.ofNullable(shedCount).orElse(0L) + plugin.getShedCount();
+            }
+        }
+        RejectedExecutionHandler rejectedHandler = executor.getRejectedExecutionHandler();
+        if (rejectedHandler instanceof CallerRunsWithBudgetPolicy) {
+            shedCount = Optional.ofNullable(shedCount).orElse(0L) + ((CallerRunsWithBudgetPolicy) rejectedHandler).getShedCount();
+        }
+        return shedCount;
+    }
+}
@@ -20,6 +20,9 @@ package cn.hippo4j.core.executor.support;
 import cn.hippo4j.common.extension.design.Builder;
 import cn.hippo4j.common.executor.support.BlockingQueueTypeEnum;
 import cn.hippo4j.common.toolkit.Assert;
+import cn.hippo4j.core.executor.VirtualThreadPoolExecutor;
+import cn.hippo4j.core.executor.WorkStealingThreadPoolExecutor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.task.TaskDecorator;
 
 import java.math.BigDecimal;
@@ -33,12 +36,17 @@ import java.util.concurrent.TimeUnit;
 /**
  * Thread-pool builder.
  */
+@Slf4j
 public class ThreadPoolBuilder implements Builder<ThreadPoolExecutor> {
 
     private boolean isFastPool;
 
     private boolean isDynamicPool;
 
+    private boolean isVirtualThreads;
+
+    private boolean isWorkStealing;
+
     private int corePoolSize = calculateCoreNum();
 
     private int maximumPoolSize = corePoolSize + (corePoolSize >> 1);
@@ -104,6 +112,33 @@ public class ThreadPoolBuilder implements Builder<ThreadPoolExecutor> {
         return this;
     }
 
+    /**
+     * Run tasks on virtual threads, the maximum pool size is used as the concurrency limit.
+     * It implies {@link #dynamicPool()}, and falls back to platform threads if virtual threads are not supported.
+     *
+     * @return thread-pool builder
+     * @see VirtualThreadPoolExecutor
+     */
+    public ThreadPoolBuilder virtualThreads() {
+        this.isVirtualThreads = true;
+        this.isDynamicPool = true;
+        return this;
+    }
+
+    /**
+     * Workers own a deque of tasks and steal from each other, the maximum pool size is used as the parallelism.
+     * It implies {@link #dynamicPool()} and {@link BlockingQueueTypeEnum#WORK_STEALING_BLOCKING_QUEUE}.
+     *
+     * @return thread-pool builder
+     * @see WorkStealingThreadPoolExecutor
+     */
+    public ThreadPoolBuilder workStealing() {
+        this.isWorkStealing = true;
+        this.isDynamicPool = true;
+        this.blockingQueueType = BlockingQueueTypeEnum.WORK_STEALING_BLOCKING_QUEUE;
+        return this;
+    }
+
     /**
      * Thread factory.
      *
@@ -421,6 +456,24 @@ public class ThreadPoolBuilder implements Builder<ThreadPoolExecutor> {
         return AbstractBuildThreadPoolTemplate.buildDynamicPool(buildInitParam(builder));
     }
 
+    /**
+     * Build a dynamic thread-pool running on virtual threads with {@code builder}.
+     *
+     * @param builder thread-pool builder
+     * @return virtual thread-pool executor, or dynamic thread-pool executor if virtual threads are not supported
+     */
+    private static ThreadPoolExecutor buildVirtualPool(ThreadPoolBuilder builder) {
+        AbstractBuildThreadPoolTemplate.ThreadPoolInitParam initParam = buildInitParam(builder);
+        if (!VirtualThreadSupport.isSupported()) {
+            log.warn("Virtual threads are not supported by the current JVM, thread-pool [{}] falls back to platform threads.", initParam.getThreadPoolId());
+            return AbstractBuildThreadPoolTemplate.buildDynamicPool(initParam);
+        }
+        if (builder.threadFactory == null) {
+            initParam.setThreadFactory(VirtualThreadSupport.newThreadFactory(builder.threadNamePrefix));
+        }
+        return AbstractBuildThreadPoolTemplate.buildVirtualPool(initParam);
+    }
+
     /**
      * Build thread-pool initialization parameters via {@code builder}.
      *
@@ -464,6 +517,12 @@ public class ThreadPoolBuilder implements Builder<ThreadPoolExecutor> {
 
     @Override
     public ThreadPoolExecutor build() {
+        if (isVirtualThreads) {
+            return buildVirtualPool(this);
+        }
+        if (isWorkStealing) {
+            return AbstractBuildThreadPoolTemplate.buildWorkStealingPool(buildInitParam(this));
+        }
         return isDynamicPool ? buildDynamicPool(this) : buildPool(this);
     }
 }
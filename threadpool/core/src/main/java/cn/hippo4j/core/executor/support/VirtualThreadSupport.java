@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.core.executor.support;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * <p>Create virtual threads through reflection, so that the classes compiled for JDK 8 still load on older JDK.
+ * Virtual threads are regarded as supported only when {@code Thread.ofVirtual()} is available and not in preview,
+ * that is JDK 21 or later, or JDK 19 and 20 with {@code --enable-preview}.
+ */
+@Slf4j
+public class VirtualThreadSupport {
+
+    private static final Method OF_VIRTUAL;
+
+    private static final Method NAME;
+
+    private static final Method FACTORY;
+
+    static {
+        Method ofVirtual = null;
+        Method name = null;
+        Method factory = null;
+        try {
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+            name = builderClass.getMethod("name", String.class, long.class);
+            factory = builderClass.getMethod("factory");
+            // throws UnsupportedOperationException if preview features are not enabled
+            ofVirtual.invoke(null);
+        } catch (Throwable ex) {
+            ofVirtual = null;
+        }
+        OF_VIRTUAL = ofVirtual;
+        NAME = name;
+        FACTORY = factory;
+    }
+
+    /**
+     * Whether virtual threads are supported by the current JVM.
+     *
+     * @return true if supported
+     */
+    public static boolean isSupported() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * Create a thread factory of virtual threads, which are named as {@code threadNamePrefix} followed by a counter.
+     *
+     * @param threadNamePrefix thread name prefix
+     * @return thread factory
+     * @throws UnsupportedOperationException if virtual threads are not supported by the current JVM
+     */
+    public static ThreadFactory newThreadFactory(String threadNamePrefix) {
+        if (!isSupported()) {
+            throw new UnsupportedOperationException("Virtual threads are not supported by the current JVM: " + System.getProperty("java.version"));
+        }
+        try {
+            Object builder = NAME.invoke(OF_VIRTUAL.invoke(null), threadNamePrefix, 0L);
+            return (ThreadFactory) FACTORY.invoke(builder);
+        } catch (ReflectiveOperationException ex) {
+            throw new IllegalStateException("Failed to create virtual thread factory.", ex);
+        }
+    }
+}
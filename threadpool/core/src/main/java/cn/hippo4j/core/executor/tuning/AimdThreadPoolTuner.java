@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.core.executor.tuning;
+
+import lombok.NonNull;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Closed-loop tuner of one thread-pool, the control law is AIMD with hysteresis and cooldown:
+ * <ul>
+ *     <li>pressure: tasks are rejected, or the queue wait time exceeds the target,
+ *     or the queue is above the high watermark when queue wait time is not recorded.
+ *     The core pool size is increased by a constant step, and the queue capacity is doubled
+ *     when tasks are still rejected at the upper bound of core pool size;</li>
+ *     <li>idle: the queue is empty, no task is rejected, the queue wait time is below half of the target,
+ *     and the active threads are below the idle utilization of core pool size.
+ *     The core pool size is multiplied by the decrease factor, and the queue capacity is halved back to the original;</li>
+ * </ul>
+ * A signal must last for {@code stableSamples} samples of {@link AutoTuningProperties}, and two changes are at least
+ * {@code cooldown} apart. The gap between the thresholds of pressure and idle keeps
+ * the pool from oscillating around a single threshold, and the pool is not enlarged when cpu is saturated.
+ *
+ * <p>The maximum pool size is kept as configured unless the core pool size exceeds it.
+ * The thread-pools sized by a single setting, such as {@link cn.hippo4j.core.executor.AbstractSingleSizeThreadPoolExecutor},
+ * ignore a separate core pool size, so the new size is set to both the core and maximum pool size of them.
+ * The parameters changed by others, such as the console, become the new baseline.
+ * The tuner is not thread-safe, it is supposed to be driven by one scheduled thread.
+ */
+public class AimdThreadPoolTuner {
+
+    private final AutoTuningProperties properties;
+
+    private final long targetQueueWaitNanos;
+
+    private int baselineMaximumPoolSize = -1;
+
+    private int baselineQueueCapacity = -1;
+
+    private int expectedCorePoolSize = -1;
+
+    private int expectedMaximumPoolSize = -1;
+
+    private int pressureSamples;
+
+    private int idleSamples;
+
+    private long lastChangeMillis = -1L;
+
+    public AimdThreadPoolTuner(@NonNull AutoTuningProperties properties) {
+        this.properties = properties;
+        this.targetQueueWaitNanos = TimeUnit.MILLISECONDS.toNanos(properties.getTargetQueueWait());
+    }
+
+    /**
+     * Decide new parameters from the latest sample.
+     *
+     * @param sample     latest sample
+     * @param nowMillis  current time in milliseconds
+     * @return new parameters, or null if the thread-pool should not be changed
+     */
+    public ThreadPoolTuningDecision tune(@NonNull ThreadPoolTuningSample sample, long nowMillis) {
+        if (sample.getCorePoolSize() != expectedCorePoolSize || sample.getMaximumPoolSize() != expectedMaximumPoolSize) {
+            rebaseline(sample);
+        }
+        boolean pressure = isPressure(sample);
+        boolean idle = !pressure && isIdle(sample);
+        pressureSamples = pressure ? pressureSamples + 1 : 0;
+        idleSamples = idle ? idleSamples + 1 : 0;
+        if (lastChangeMillis >= 0 && nowMillis - lastChangeMillis < properties.getCooldown()) {
+            return null;
+        }
+        ThreadPoolTuningDecision decision = null;
+        if (pressureSamples >= properties.getStableSamples()) {
+            decision = increase(sample);
+        } else if (idleSamples >= properties.getStableSamples()) {
+            decision = decrease(sample);
+        }
+        if (decision != null) {
+            lastChangeMillis = nowMillis;
+            pressureSamples = 0;
+            idleSamples = 0;
+            expectedCorePoolSize = decision.getCorePoolSize();
+            expectedMaximumPoolSize = decision.getMaximumPoolSize();
+        }
+        return decision;
+    }
+
+    private void rebaseline(ThreadPoolTuningSample sample) {
+        baselineMaximumPoolSize = sample.getMaximumPoolSize();
+        baselineQueueCapacity = sample.getQueueCapacity();
+        expectedCorePoolSize = sample.getCorePoolSize();
+        expectedMaximumPoolSize = sample.getMaximumPoolSize();
+        pressureSamples = 0;
+        idleSamples = 0;
+    }
+
+    private boolean isPressure(ThreadPoolTuningSample sample) {
+        if (sample.getRejectCount() > 0) {
+            return true;
+        }
+        if (sample.getQueueWaitNanos() != ThreadPoolTuningSample.UNKNOWN) {
+            return sample.getQueueWaitNanos() > targetQueueWaitNanos;
+        }
+        return sample.getQueueSize() > 0 && sample.getQueueSize() >= sample.getQueueCapacity() * properties.getQueueHighWatermark();
+    }
+
+    private boolean isIdle(ThreadPoolTuningSample sample) {
+        return sample.getQueueSize() == 0
+                && sample.getRejectCount() == 0
+                && (sample.getQueueWaitNanos() == ThreadPoolTuningSample.UNKNOWN || sample.getQueueWaitNanos() <= targetQueueWaitNanos >> 1)
+                && sample.getActiveCount() <= sample.getCorePoolSize() * properties.getIdleUtilization();
+    }
+
+    private ThreadPoolTuningDecision increase(ThreadPoolTuningSample sample) {
+        if (sample.getCpuLoad() >= properties.getCpuLimit()) {
+            return null;
+        }
+        int corePoolSize = sample.getCorePoolSize();
+        if (corePoolSize < properties.getMaxCorePoolSize()) {
+            int newCorePoolSize = Math.min(corePoolSize + properties.getIncreaseStep(), properties.getMaxCorePoolSize());
+            return new ThreadPoolTuningDecision(newCorePoolSize, maximumPoolSize(sample, newCorePoolSize), null,
+                    sample.getRejectCount() > 0 ? "rejected" : "queue wait");
+        }
+        Integer maxQueueCapacity = properties.getMaxQueueCapacity();
+        if (sample.getRejectCount() > 0 && sample.isResizableQueue() && maxQueueCapacity != null && sample.getQueueCapacity() < maxQueueCapacity) {
+            int newQueueCapacity = (int) Math.min((long) sample.getQueueCapacity() << 1, maxQueueCapacity);
+            return new ThreadPoolTuningDecision(corePoolSize, sample.getMaximumPoolSize(), newQueueCapacity, "rejected at max core pool size");
+        }
+        return null;
+    }
+
+    private ThreadPoolTuningDecision decrease(ThreadPoolTuningSample sample) {
+        int corePoolSize = sample.getCorePoolSize();
+        Integer newQueueCapacity = sample.isResizableQueue() && sample.getQueueCapacity() > baselineQueueCapacity
+                ? Math.max(sample.getQueueCapacity() >> 1, baselineQueueCapacity)
+                : null;
+        if (corePoolSize <= properties.getMinCorePoolSize() && newQueueCapacity == null) {
+            return null;
+        }
+        // never raise the core pool size set below the lower bound by others, when only the queue is shrunk
+        int newCorePoolSize = Math.min(corePoolSize, Math.max(properties.getMinCorePoolSize(),
+                Math.min((int) (corePoolSize * properties.getDecreaseFactor()), corePoolSize - 1)));
+        return new ThreadPoolTuningDecision(newCorePoolSize, maximumPoolSize(sample, newCorePoolSize), newQueueCapacity, "idle");
+    }
+
+    private int maximumPoolSize(ThreadPoolTuningSample sample, int newCorePoolSize) {
+        return sample.isSingleSize() ? newCorePoolSize : Math.max(baselineMaximumPoolSize, newCorePoolSize);
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.core.executor.tuning;
+
+import lombok.Data;
+
+/**
+ * Auto tuning properties of thread-pool, shared by all tuned thread-pools.
+ *
+ * @see AimdThreadPoolTuner
+ */
+@Data
+public class AutoTuningProperties {
+
+    /**
+     * Whether to enable auto tuning.
+     */
+    private Boolean enable = Boolean.FALSE;
+
+    /**
+     * Ids of thread-pools to be tuned, separated by commas.
+     */
+    private String threadPoolIds;
+
+    /**
+     * Sample interval. unit: ms
+     */
+    private Long sampleInterval = 5000L;
+
+    /**
+     * Min interval between two changes of the same thread-pool. unit: ms
+     */
+    private Long cooldown = 60000L;
+
+    /**
+     * Number of consecutive samples of the same signal required before a change.
+     */
+    private Integer stableSamples = 3;
+
+    /**
+     * Lower bound of core pool size.
+     */
+    private Integer minCorePoolSize = 1;
+
+    /**
+     * Upper bound of core pool size.
+     */
+    private Integer maxCorePoolSize = 64;
+
+    /**
+     * Upper bound of queue capacity, the queue is not resized if it's null or the queue is not resizable.
+     */
+    private Integer maxQueueCapacity;
+
+    /**
+     * Target 99th percentile of task queue wait time, requires {@code TaskQueueWaitTimePlugin}. unit: ms
+     */
+    private Long targetQueueWait = 100L;
+
+    /**
+     * Ratio of queue size to capacity regarded as pressure when the queue wait time is not recorded.
+     */
+    private Double queueHighWatermark = 0.5D;
+
+    /**
+     * Ratio of active threads to core pool size below which the thread-pool is regarded as idle.
+     */
+    private Double idleUtilization = 0.5D;
+
+    /**
+     * Process cpu load above which the thread-pool is not enlarged, from 0 to 1.
+     */
+    private Double cpuLimit = 0.85D;
+
+    /**
+     * Additive increase of core pool size.
+     */
+    private Integer increaseStep = 2;
+
+    /**
+     * Multiplicative decrease factor of core pool size.
+     */
+    private Double decreaseFactor = 0.75D;
+}
@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.core.executor.tuning;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Signals of thread-pool sampled for auto tuning.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ThreadPoolTuningSample {
+
+    /**
+     * Value of signal which is not available
+     */
+    public static final long UNKNOWN = -1L;
+
+    private int corePoolSize;
+
+    private int maximumPoolSize;
+
+    private int activeCount;
+
+    private int queueSize;
+
+    private int queueCapacity;
+
+    /**
+     * Whether the queue capacity can be changed
+     */
+    private boolean resizableQueue;
+
+    /**
+     * Whether the thread-pool is sized by a single setting, the core pool size follows the maximum pool size
+     */
+    private boolean singleSize;
+
+    /**
+     * 99th percentile of task queue wait time in nanoseconds, or {@link #UNKNOWN}
+     */
+    @Builder.Default
+    private long queueWaitNanos = UNKNOWN;
+
+    /**
+     * Number of rejected tasks since the last sample
+     */
+    private long rejectCount;
+
+    /**
+     * Process cpu load from 0 to 1, or negative if unknown
+     */
+    @Builder.Default
+    private double cpuLoad = UNKNOWN;
+}
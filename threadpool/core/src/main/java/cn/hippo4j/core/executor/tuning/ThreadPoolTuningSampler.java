@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.core.executor.tuning;
+
+import cn.hippo4j.common.executor.support.ResizableCapacityQueue;
+import cn.hippo4j.core.executor.AbstractSingleSizeThreadPoolExecutor;
+import cn.hippo4j.core.executor.plugin.impl.TaskQueueWaitTimePlugin;
+import cn.hippo4j.core.executor.plugin.impl.TaskRejectCountRecordPlugin;
+import cn.hippo4j.core.executor.plugin.manager.ThreadPoolPluginSupport;
+import lombok.NonNull;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Sample the signals of one thread-pool for {@link AimdThreadPoolTuner}.
+ * The reject count is read from {@link TaskRejectCountRecordPlugin} and the queue wait time
+ * is read from {@link TaskQueueWaitTimePlugin}, they are unknown if the plugins are not registered.
+ */
+public class ThreadPoolTuningSampler {
+
+    private static final OperatingSystemMXBean OPERATING_SYSTEM = ManagementFactory.getOperatingSystemMXBean();
+
+    private final ThreadPoolExecutor executor;
+
+    private long lastRejectCount = -1L;
+
+    public ThreadPoolTuningSampler(@NonNull ThreadPoolExecutor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Sample the thread-pool.
+     *
+     * @return sample
+     */
+    public ThreadPoolTuningSample sample() {
+        BlockingQueue<Runnable> queue = executor.getQueue();
+        int queueSize = queue.size();
+        ThreadPoolTuningSample.ThreadPoolTuningSampleBuilder builder = ThreadPoolTuningSample.builder()
+                .corePoolSize(executor.getCorePoolSize())
+                .maximumPoolSize(executor.getMaximumPoolSize())
+                .activeCount(executor.getActiveCount())
+                .queueSize(queueSize)
+                .queueCapacity((int) Math.min((long) queueSize + queue.remainingCapacity(), Integer.MAX_VALUE))
+                .resizableQueue(queue instanceof ResizableCapacityQueue)
+                .singleSize(executor instanceof AbstractSingleSizeThreadPoolExecutor)
+                .cpuLoad(getProcessCpuLoad());
+        if (executor instanceof ThreadPoolPluginSupport) {
+            ThreadPoolPluginSupport support = (ThreadPoolPluginSupport) executor;
+            support.getPluginOfType(TaskQueueWaitTimePlugin.PLUGIN_NAME, TaskQueueWaitTimePlugin.class)
+                    .ifPresent(plugin -> builder.queueWaitNanos(plugin.snapshot().getP99()));
+            support.getPluginOfType(TaskRejectCountRecordPlugin.PLUGIN_NAME, TaskRejectCountRecordPlugin.class)
+                    .ifPresent(plugin -> {
+                        long rejectCount = plugin.getRejectCountNum();
+                        builder.rejectCount(lastRejectCount < 0 ? 0 : Math.max(rejectCount - lastRejectCount, 0));
+                        lastRejectCount = rejectCount;
+                    });
+        }
+        return builder.build();
+    }
+
+    private static double getProcessCpuLoad() {
+        if (OPERATING_SYSTEM instanceof com.sun.management.OperatingSystemMXBean) {
+            return ((com.sun.management.OperatingSystemMXBean) OPERATING_SYSTEM).getProcessCpuLoad();
+        }
+        return ThreadPoolTuningSample.UNKNOWN;
+    }
+}
@@ -0,0 +1,421 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.core.toolkit;
+
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <p>Log-linear bucketed latency histogram over a sliding window. <br />
+ * Each recording thread owns a {@link Recorder}, values are written into its own bucket arrays
+ * without locks and without allocation, and a {@link Snapshot} merges all recorders in O(buckets).
+ *
+ * <h3>Buckets</h3>
+ * <p>Values below {@code 2^SUB_BUCKET_BITS} are counted exactly,
+ * every larger power of two interval is divided into {@code 2^SUB_BUCKET_BITS} linear sub-buckets,
+ * so the relative error of the reported percentiles does not exceed {@code 1 / 2^SUB_BUCKET_BITS}.
+ * Values greater than {@code 2^(MAX_EXPONENT + 1)} are counted in the last bucket,
+ * but the maximum value is always recorded accurately.
+ *
+ * <h3>Sliding window</h3>
+ * <p>The window is divided into {@link #SLOT_COUNT} slots,
+ * a recorder resets the slot when it first writes into it in a new period,
+ * and a snapshot only merges the slots that are still in the window.
+ * Therefore, the statistics cover the latest window with a granularity of one slot.
+ * If the window is not greater than 0, the recorded values will never expire.
+ *
+ * <p>Writing and merging are not atomic with respect to each other,
+ * a snapshot taken while a slot is being reset may be slightly inaccurate.
+ */
+public class LatencyHistogram {
+
+    /**
+     * Number of bits of linear sub-buckets per power of two
+     */
+    private static final int SUB_BUCKET_BITS = 4;
+
+    /**
+     * Number of linear sub-buckets per power of two
+     */
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * Largest power of two with its own buckets, 2^36 nanoseconds is about 68.7 seconds
+     */
+    private static final int MAX_EXPONENT = 36;
+
+    /**
+     * Number of buckets
+     */
+    static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKET_COUNT;
+
+    /**
+     * Number of slots of a window
+     */
+    static final int SLOT_COUNT = 2;
+
+    /**
+     * Sliding window in milliseconds
+     */
+    @Getter
+    private final long windowMillis;
+
+    /**
+     * Length of a slot in nanoseconds
+     */
+    private final long slotNanos;
+
+    /**
+     * Time origin of the slot periods
+     */
+    private final long originNanos = System.nanoTime();
+
+    /**
+     * Recorders of all threads
+     */
+    private final List<Recorder> recorders = new CopyOnWriteArrayList<>();
+
+    /**
+     * Recorder of current thread
+     */
+    private final ThreadLocal<Recorder> localRecorder = ThreadLocal.withInitial(this::newRecorder);
+
+    /**
+     * Create a {@link LatencyHistogram}.
+     *
+     * @param windowMillis sliding window in milliseconds, never expire if it's not greater than 0
+     */
+    public LatencyHistogram(long windowMillis) {
+        this.windowMillis = windowMillis;
+        this.slotNanos = windowMillis > 0L
+                ? Math.max(1L, TimeUnit.MILLISECONDS.toNanos(windowMillis) / SLOT_COUNT)
+                : Long.MAX_VALUE;
+    }
+
+    /**
+     * Get recorder of current thread.
+     *
+     * @return recorder of current thread
+     */
+    public Recorder getRecorder() {
+        return localRecorder.get();
+    }
+
+    /**
+     * Record a value in nanoseconds by the recorder of current thread.
+     *
+     * @param value value in nanoseconds
+     */
+    public void record(long value) {
+        getRecorder().record(value, System.nanoTime());
+    }
+
+    /**
+     * Discard all recorded values.
+     */
+    public void reset() {
+        recorders.forEach(Recorder::clear);
+    }
+
+    /**
+     * Merge the recorders of all threads within the window.
+     *
+     * @return snapshot
+     */
+    public Snapshot snapshot() {
+        return snapshot(new Snapshot());
+    }
+
+    /**
+     * Merge the recorders of all threads within the window into a snapshot that is reused by the caller,
+     * so the statistics can be read periodically without allocation.
+     *
+     * @param snapshot snapshot to overwrite
+     * @return the given snapshot
+     */
+    public Snapshot snapshot(Snapshot snapshot) {
+        long currentPeriod = currentPeriod(System.nanoTime());
+        long[] counts = snapshot.counts;
+        Arrays.fill(counts, 0L);
+        long max = 0L;
+        for (Recorder recorder : recorders) {
+            boolean active = false;
+            for (int slot = 0; slot < SLOT_COUNT; slot++) {
+                long period = recorder.periods.get(slot);
+                if (period <= currentPeriod - SLOT_COUNT || period > currentPeriod) {
+                    continue;
+                }
+                active = true;
+                max = Math.max(max, recorder.maxes.get(slot));
+                int offset = slot * BUCKET_COUNT;
+                for (int i = 0; i < BUCKET_COUNT; i++) {
+                    counts[i] += recorder.counts.get(offset + i);
+                }
+            }
+            // recorders of terminated threads will never be written again
+            if (!active && !recorder.owner.isAlive()) {
+                recorders.remove(recorder);
+            }
+        }
+        snapshot.update(max);
+        return snapshot;
+    }
+
+    private Recorder newRecorder() {
+        Recorder recorder = new Recorder(Thread.currentThread());
+        recorders.add(recorder);
+        return recorder;
+    }
+
+    private long currentPeriod(long nowNanos) {
+        return (nowNanos - originNanos) / slotNanos;
+    }
+
+    /**
+     * Get index of bucket for value.
+     *
+     * @param value value
+     * @return index of bucket
+     */
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return value < 0L ? 0 : (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKET_COUNT - 1;
+        }
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) & (SUB_BUCKET_COUNT - 1);
+        return (shift + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    /**
+     * Get the highest value that is counted in the bucket.
+     *
+     * @param index index of bucket
+     * @return highest value of bucket
+     */
+    static long highestValueOf(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKET_COUNT - 1;
+        long lowest = (long) (SUB_BUCKET_COUNT + index % SUB_BUCKET_COUNT) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+
+    /**
+     * <p>Recorder bound to a single thread. <br />
+     * Only the owner thread writes into it, so the counters are updated by ordered writes without CAS.
+     */
+    public class Recorder {
+
+        /**
+         * Owner thread
+         */
+        private final Thread owner;
+
+        /**
+         * Bucket counts of all slots
+         */
+        private final AtomicLongArray counts = new AtomicLongArray(SLOT_COUNT * BUCKET_COUNT);
+
+        /**
+         * Maximum value of each slot
+         */
+        private final AtomicLongArray maxes = new AtomicLongArray(SLOT_COUNT);
+
+        /**
+         * Period of each slot
+         */
+        private final AtomicLongArray periods = new AtomicLongArray(SLOT_COUNT);
+
+        /**
+         * Start time of the current measurement, only accessed by the owner thread
+         */
+        private long startNanos;
+
+        /**
+         * Whether a measurement is started, only accessed by the owner thread
+         */
+        private boolean started;
+
+        private Recorder(Thread owner) {
+            this.owner = owner;
+            for (int slot = 0; slot < SLOT_COUNT; slot++) {
+                periods.set(slot, Long.MIN_VALUE);
+            }
+        }
+
+        /**
+         * Start a measurement.
+         *
+         * @param nowNanos current time in nanoseconds
+         */
+        public void start(long nowNanos) {
+            startNanos = nowNanos;
+            started = true;
+        }
+
+        /**
+         * Stop the measurement and record the elapsed time, do nothing if it's not started.
+         *
+         * @param nowNanos current time in nanoseconds
+         */
+        public void stop(long nowNanos) {
+            if (started) {
+                started = false;
+                record(nowNanos - startNanos, nowNanos);
+            }
+        }
+
+        /**
+         * Record a value.
+         *
+         * @param value    value in nanoseconds
+         * @param nowNanos current time in nanoseconds
+         */
+        public void record(long value, long nowNanos) {
+            long period = currentPeriod(nowNanos);
+            int slot = (int) Math.floorMod(period, (long) SLOT_COUNT);
+            int offset = slot * BUCKET_COUNT;
+            if (periods.get(slot) != period) {
+                for (int i = 0; i < BUCKET_COUNT; i++) {
+                    counts.lazySet(offset + i, 0L);
+                }
+                maxes.lazySet(slot, 0L);
+                periods.set(slot, period);
+            }
+            int index = offset + bucketIndex(value);
+            counts.lazySet(index, counts.get(index) + 1L);
+            if (value > maxes.get(slot)) {
+                maxes.lazySet(slot, value);
+            }
+        }
+
+        private void clear() {
+            for (int slot = 0; slot < SLOT_COUNT; slot++) {
+                periods.set(slot, Long.MIN_VALUE);
+            }
+        }
+    }
+
+    /**
+     * Merged statistics of a {@link LatencyHistogram} at a certain time.
+     */
+    public static class Snapshot {
+
+        /**
+         * Merged bucket counts
+         */
+        private final long[] counts;
+
+        /**
+         * Count of recorded values
+         */
+        @Getter
+        private long count;
+
+        /**
+         * Maximum recorded value
+         */
+        @Getter
+        private long max;
+
+        /**
+         * Create an empty snapshot to be filled by {@link LatencyHistogram#snapshot(Snapshot)}.
+         */
+        public Snapshot() {
+            this.counts = new long[BUCKET_COUNT];
+        }
+
+        private void update(long max) {
+            this.max = max;
+            long total = 0L;
+            for (long each : counts) {
+                total += each;
+            }
+            this.count = total;
+        }
+
+        /**
+         * Get the value at the given percentile,
+         * which is the highest value of the bucket where the percentile falls, and not greater than {@code max}.
+         *
+         * @param percentile percentile, between 0 and 100
+         * @return value at the percentile, 0 if no value recorded
+         */
+        public long getValueAtPercentile(double percentile) {
+            if (count == 0L) {
+                return 0L;
+            }
+            double ratio = Math.min(Math.max(percentile, 0D), 100D) / 100D;
+            long rank = Math.max(1L, (long) Math.ceil(ratio * count));
+            long cumulative = 0L;
+            for (int i = 0; i < counts.length; i++) {
+                cumulative += counts[i];
+                if (cumulative >= rank) {
+                    return Math.min(highestValueOf(i), max);
+                }
+            }
+            return max;
+        }
+
+        /**
+         * Get the median.
+         *
+         * @return p50
+         */
+        public long getP50() {
+            return getValueAtPercentile(50D);
+        }
+
+        /**
+         * Get the 90th percentile.
+         *
+         * @return p90
+         */
+        public long getP90() {
+            return getValueAtPercentile(90D);
+        }
+
+        /**
+         * Get the 99th percentile.
+         *
+         * @return p99
+         */
+        public long getP99() {
+            return getValueAtPercentile(99D);
+        }
+
+        /**
+         * Get the 99.9th percentile.
+         *
+         * @return p999
+         */
+        public long getP999() {
+            return getValueAtPercentile(99.9D);
+        }
+    }
+}
@@ -24,8 +24,17 @@ import java.util.concurrent.atomic.AtomicLong;
 /**
  * System clock.<br>
  * Refer to cn.hutool.core.date.SystemClock<br>
+ * A coarse clock refreshed by a daemon thread every {@link #DEFAULT_PERIOD_MILLIS} milliseconds,
+ * reading it is cheaper than {@link System#nanoTime()} on platforms without a fast time source,
+ * at the cost of precision. The time is kept in padded cells, so readers in hot paths
+ * do not share a cache line with other frequently written fields.
  */
-public final class SystemClock {
+public final class SystemClock implements TaskClock {
+
+    /**
+     * Default period in milliseconds
+     */
+    private static final int DEFAULT_PERIOD_MILLIS = 1;
 
     /**
      * Period
@@ -33,9 +42,14 @@ public final class SystemClock {
     private final int period;
 
     /**
-     * Now
+     * Now, current time millis
      */
-    private final AtomicLong now;
+    private final PaddedAtomicLong now;
+
+    /**
+     * Now, current nano time
+     */
+    private final PaddedAtomicLong nanoNow;
 
     /**
      * Thread name
@@ -50,21 +64,22 @@ public final class SystemClock {
         /**
          * System clock instance
          */
-        private static final SystemClock INSTANCE = new SystemClock(1);
+        private static final SystemClock INSTANCE = new SystemClock(DEFAULT_PERIOD_MILLIS);
     }
 
     private SystemClock(int period) {
         this.period = period;
-        this.now = new AtomicLong(System.currentTimeMillis());
+        this.now = new PaddedAtomicLong(System.currentTimeMillis());
+        this.nanoNow = new PaddedAtomicLong(System.nanoTime());
         scheduleClockUpdating();
     }
 
     /**
-     * Instance.
+     * Instance, the updating thread is started when it's first called.
      *
      * @return System clock instance
      */
-    private static SystemClock instance() {
+    public static SystemClock getInstance() {
         return InstanceHolder.INSTANCE;
     }
 
@@ -77,7 +92,10 @@ public final class SystemClock {
             thread.setDaemon(true);
             return thread;
         });
-        scheduler.scheduleAtFixedRate(() -> now.set(System.currentTimeMillis()), period, period, TimeUnit.MILLISECONDS);
+        scheduler.scheduleAtFixedRate(() -> {
+            now.lazySet(System.currentTimeMillis());
+            nanoNow.lazySet(System.nanoTime());
+        }, period, period, TimeUnit.MILLISECONDS);
     }
 
     /**
@@ -89,12 +107,36 @@ public final class SystemClock {
         return now.get();
     }
 
+    /**
+     * Current nano time, with a precision of {@link #period} milliseconds.
+     *
+     * @return current nano time
+     */
+    @Override
+    public long nanoTime() {
+        return nanoNow.get();
+    }
+
     /**
      * Now.
      *
      * @return current time millis
      */
     public static long now() {
-        return instance().currentTimeMillis();
+        return getInstance().currentTimeMillis();
+    }
+
+    /**
+     * {@link AtomicLong} padded to occupy a cache line on its own.
+     */
+    private static final class PaddedAtomicLong extends AtomicLong {
+
+        private static final long serialVersionUID = 1L;
+
+        private long p1, p2, p3, p4, p5, p6, p7;
+
+        PaddedAtomicLong(long initialValue) {
+            super(initialValue);
+        }
     }
 }
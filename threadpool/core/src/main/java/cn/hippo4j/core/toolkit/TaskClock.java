@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.core.toolkit;
+
+/**
+ * <p>Clock source used by task timer plugins to measure elapsed time, in nanoseconds. <br />
+ * The value returned has no relation to wall-clock time, it's only meaningful when
+ * the difference of two readings from the same clock is taken.
+ *
+ * <p>The clock used by default is resolved by {@link TaskClockHolder}.
+ *
+ * @see TaskClockHolder
+ * @see SystemClock
+ */
+public interface TaskClock {
+
+    /**
+     * Clock backed by {@link System#nanoTime()}, precise and contention-free.
+     */
+    TaskClock NANO_TIME = System::nanoTime;
+
+    /**
+     * Current value of the clock.
+     *
+     * @return current value of the clock in nanoseconds
+     */
+    long nanoTime();
+}
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.core.toolkit;
+
+import cn.hippo4j.common.extension.spi.ServiceLoaderRegistry;
+import cn.hippo4j.common.toolkit.StringUtil;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collection;
+
+/**
+ * <p>Holder of the default {@link TaskClock} used by task timer plugins. <br />
+ * The default clock is resolved once in the following order:
+ * <ol>
+ *     <li>the first {@link TaskClock} implementation registered through SPI;</li>
+ *     <li>the clock named by system property {@value #TASK_CLOCK_PROPERTY},
+ *     {@value #COARSE_CLOCK} for {@link SystemClock}, {@value #NANO_CLOCK} for {@link TaskClock#NANO_TIME};</li>
+ *     <li>{@link TaskClock#NANO_TIME}.</li>
+ * </ol>
+ */
+@Slf4j
+public final class TaskClockHolder {
+
+    /**
+     * System property to choose the default clock
+     */
+    public static final String TASK_CLOCK_PROPERTY = "hippo4j.task-clock";
+
+    /**
+     * Name of {@link TaskClock#NANO_TIME}
+     */
+    public static final String NANO_CLOCK = "nano";
+
+    /**
+     * Name of {@link SystemClock}
+     */
+    public static final String COARSE_CLOCK = "coarse";
+
+    /**
+     * Default clock
+     */
+    private static volatile TaskClock defaultClock;
+
+    static {
+        ServiceLoaderRegistry.register(TaskClock.class);
+    }
+
+    private TaskClockHolder() {
+    }
+
+    /**
+     * Get the default clock.
+     *
+     * @return default clock
+     */
+    public static TaskClock getDefault() {
+        TaskClock clock = defaultClock;
+        if (clock == null) {
+            synchronized (TaskClockHolder.class) {
+                clock = defaultClock;
+                if (clock == null) {
+                    clock = resolve(System.getProperty(TASK_CLOCK_PROPERTY));
+                    defaultClock = clock;
+                }
+            }
+        }
+        return clock;
+    }
+
+    /**
+     * Replace the default clock, only affect the plugins created afterwards.
+     *
+     * @param clock clock
+     */
+    public static void setDefault(@NonNull TaskClock clock) {
+        defaultClock = clock;
+    }
+
+    /**
+     * Get the clock by name.
+     *
+     * @param name {@value #NANO_CLOCK} or {@value #COARSE_CLOCK}
+     * @return clock, {@link TaskClock#NANO_TIME} if the name is blank or unknown
+     */
+    public static TaskClock getClock(String name) {
+        if (StringUtil.isBlank(name) || NANO_CLOCK.equalsIgnoreCase(name.trim())) {
+            return TaskClock.NANO_TIME;
+        }
+        if (COARSE_CLOCK.equalsIgnoreCase(name.trim())) {
+            return SystemClock.getInstance();
+        }
+        log.warn("Unknown task clock: {}, use {} instead.", name, NANO_CLOCK);
+        return TaskClock.NANO_TIME;
+    }
+
+    private static TaskClock resolve(String name) {
+        Collection<TaskClock> clocks = ServiceLoaderRegistry.getSingletonServiceInstances(TaskClock.class);
+        if (!clocks.isEmpty()) {
+            return clocks.iterator().next();
+        }
+        return getClock(name);
+    }
+}
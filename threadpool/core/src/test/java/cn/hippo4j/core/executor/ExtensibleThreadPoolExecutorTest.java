@@ -17,6 +17,7 @@
 
 package cn.hippo4j.core.executor;
 
+import cn.hippo4j.common.executor.support.ResizableCapacityLinkedBlockingQueue;
 import cn.hippo4j.common.toolkit.ThreadUtil;
 import cn.hippo4j.core.executor.plugin.ExecuteAwarePlugin;
 import cn.hippo4j.core.executor.plugin.RejectedAwarePlugin;
@@ -31,9 +32,12 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
 import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -134,6 +138,63 @@ public class ExtensibleThreadPoolExecutorTest {
         Assert.assertEquals(3, plugin.getInvokeCount().get());
     }
 
+    @Test
+    public void testExecuteAll() throws InterruptedException {
+        ExtensibleThreadPoolExecutor bulkExecutor = new ExtensibleThreadPoolExecutor(
+                "test", new DefaultThreadPoolPluginManager(),
+                2, 2, 1000L, TimeUnit.MILLISECONDS,
+                new ResizableCapacityLinkedBlockingQueue<>(10), Thread::new, originalHandler);
+        TestTaskAwarePlugin taskAwarePlugin = new TestTaskAwarePlugin();
+        TestRejectedAwarePlugin rejectedAwarePlugin = new TestRejectedAwarePlugin();
+        bulkExecutor.register(taskAwarePlugin);
+        bulkExecutor.register(rejectedAwarePlugin);
+
+        CountDownLatch blocked = new CountDownLatch(1);
+        AtomicInteger executed = new AtomicInteger();
+        List<Runnable> tasks = new ArrayList<>();
+        // 2 tasks start the core threads, 10 tasks fill the queue, 3 tasks are rejected
+        for (int i = 0; i < 15; i++) {
+            tasks.add(() -> {
+                try {
+                    blocked.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                executed.incrementAndGet();
+            });
+        }
+        bulkExecutor.executeAll(tasks);
+        Assert.assertEquals(15, taskAwarePlugin.getInvokeCount().get());
+        Assert.assertEquals(3, rejectedAwarePlugin.getInvokeCount().get());
+        Assert.assertEquals(10, bulkExecutor.getQueue().size());
+
+        blocked.countDown();
+        bulkExecutor.shutdown();
+        Assert.assertTrue(bulkExecutor.awaitTermination(1, TimeUnit.SECONDS));
+        Assert.assertEquals(12, executed.get());
+    }
+
+    @Test
+    public void testSubmitAllAndInvokeAll() throws Exception {
+        ExtensibleThreadPoolExecutor bulkExecutor = new ExtensibleThreadPoolExecutor(
+                "test", new DefaultThreadPoolPluginManager(),
+                2, 2, 1000L, TimeUnit.MILLISECONDS,
+                new ResizableCapacityLinkedBlockingQueue<>(), Thread::new, originalHandler);
+        List<Callable<Integer>> tasks = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            int value = i;
+            tasks.add(() -> value);
+        }
+        List<Future<Integer>> submitted = bulkExecutor.submitAll(tasks);
+        List<Future<Integer>> invoked = bulkExecutor.invokeAll(tasks);
+        for (int i = 0; i < 100; i++) {
+            Assert.assertEquals(i, submitted.get(i).get(1, TimeUnit.SECONDS).intValue());
+            Assert.assertTrue(invoked.get(i).isDone());
+            Assert.assertEquals(i, invoked.get(i).get().intValue());
+        }
+        bulkExecutor.shutdown();
+    }
+
     @Test
     public void testInvokeTestShutdownAwarePluginWhenShutdown() throws InterruptedException {
         TestShutdownAwarePlugin plugin = new TestShutdownAwarePlugin();
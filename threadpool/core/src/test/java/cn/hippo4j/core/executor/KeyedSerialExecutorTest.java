@@ -0,0 +1,271 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.core.executor;
+
+import cn.hippo4j.core.executor.plugin.PluginRuntime;
+import cn.hippo4j.core.executor.plugin.impl.TaskRejectCountRecordPlugin;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * test for {@link KeyedSerialExecutor}
+ */
+public class KeyedSerialExecutorTest {
+
+    @Test
+    public void testOrderPerKey() throws InterruptedException {
+        DynamicThreadPoolExecutor executor = newExecutor(4);
+        KeyedSerialExecutor keyedExecutor = new KeyedSerialExecutor(executor, 8, 100000);
+        int keys = 16;
+        int tasksPerKey = 500;
+        List<List<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < keys; i++) {
+            results.add(Collections.synchronizedList(new ArrayList<>()));
+        }
+        CountDownLatch latch = new CountDownLatch(keys * tasksPerKey);
+        for (int i = 0; i < tasksPerKey; i++) {
+            for (int key = 0; key < keys; key++) {
+                int index = i;
+                List<Integer> result = results.get(key);
+                keyedExecutor.execute(key, () -> {
+                    result.add(index);
+                    latch.countDown();
+                });
+            }
+            if (i == tasksPerKey / 2) {
+                keyedExecutor.setStripeCount(3);
+            }
+        }
+        Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+        for (List<Integer> result : results) {
+            Assert.assertEquals(tasksPerKey, result.size());
+            for (int i = 0; i < tasksPerKey; i++) {
+                Assert.assertEquals(i, result.get(i).intValue());
+            }
+        }
+        Assert.assertEquals(3, keyedExecutor.getStripeCount());
+        Assert.assertEquals(0, keyedExecutor.getBacklog());
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testSubmit() throws Exception {
+        DynamicThreadPoolExecutor executor = newExecutor(2);
+        KeyedSerialExecutor keyedExecutor = new KeyedSerialExecutor(executor, 4, 100);
+        Future<String> future = keyedExecutor.submit("key", () -> "result");
+        Assert.assertEquals("result", future.get(1, TimeUnit.SECONDS));
+        executor.shutdown();
+    }
+
+    @Test
+    public void testRejectWhenBacklogIsFull() throws InterruptedException {
+        DynamicThreadPoolExecutor executor = newExecutor(1);
+        KeyedSerialExecutor keyedExecutor = new KeyedSerialExecutor(executor, 4, 3);
+        CountDownLatch latch = new CountDownLatch(1);
+        keyedExecutor.execute("blocked", () -> await(latch));
+        // wait for the blocked task to be taken from the backlog
+        while (keyedExecutor.getBacklog() > 0) {
+            TimeUnit.MILLISECONDS.sleep(1L);
+        }
+        keyedExecutor.execute("blocked", () -> {
+        });
+        keyedExecutor.execute("hot", () -> {
+        });
+        keyedExecutor.execute("hot", () -> {
+        });
+        keyedExecutor.execute("hot", () -> {
+        });
+        Assert.assertEquals(3, keyedExecutor.getBacklog());
+        Assert.assertEquals(2, keyedExecutor.getBacklog("hot"));
+        Map<Object, Integer> hotKeys = keyedExecutor.getHotKeys(1);
+        Assert.assertEquals(Collections.singletonMap("hot", 2), hotKeys);
+        long rejectCount = executor.getPluginOfType(TaskRejectCountRecordPlugin.PLUGIN_NAME, TaskRejectCountRecordPlugin.class)
+                .map(TaskRejectCountRecordPlugin::getRejectCountNum)
+                .orElse(-1L);
+        Assert.assertEquals(1L, rejectCount);
+
+        PluginRuntime runtime = executor.getPlugin(keyedExecutor.getPluginId())
+                .map(plugin -> plugin.getPluginRuntime())
+                .orElseThrow(AssertionError::new);
+        Assert.assertTrue(runtime.getInfoList().stream()
+                .anyMatch(info -> "hotKeys".equals(info.getName()) && String.valueOf(info.getValue()).startsWith("hot=2")));
+
+        latch.countDown();
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS));
+        Assert.assertEquals(0, keyedExecutor.getBacklog());
+    }
+
+    @Test
+    public void testAbortDrainTaskInsteadOfDiscard() throws InterruptedException {
+        DynamicThreadPoolExecutor executor = new DynamicThreadPoolExecutor(
+                1, 1, 1000L, TimeUnit.MILLISECONDS,
+                1000L, true, 1000L,
+                new LinkedBlockingQueue<>(1), "test", Thread::new, new ThreadPoolExecutor.DiscardPolicy());
+        KeyedSerialExecutor keyedExecutor = new KeyedSerialExecutor(executor, 4, 100);
+        CountDownLatch blocked = new CountDownLatch(1);
+        executor.execute(() -> await(blocked));
+        executor.execute(() -> {
+        });
+        Assert.assertThrows(RejectedExecutionException.class, () -> keyedExecutor.execute("key", () -> {
+        }));
+        Assert.assertEquals(0, keyedExecutor.getBacklog());
+        blocked.countDown();
+        while (executor.getActiveCount() > 0 || !executor.getQueue().isEmpty()) {
+            TimeUnit.MILLISECONDS.sleep(1L);
+        }
+        CountDownLatch latch = new CountDownLatch(1);
+        keyedExecutor.execute("key", latch::countDown);
+        Assert.assertTrue(latch.await(1, TimeUnit.SECONDS));
+        executor.shutdown();
+    }
+
+    @Test
+    public void testKeepQueuedDrainTaskUnderDiscardOldest() throws InterruptedException {
+        DynamicThreadPoolExecutor executor = new DynamicThreadPoolExecutor(
+                1, 1, 1000L, TimeUnit.MILLISECONDS,
+                1000L, true, 1000L,
+                new LinkedBlockingQueue<>(1), "test", Thread::new, new ThreadPoolExecutor.DiscardOldestPolicy());
+        KeyedSerialExecutor keyedExecutor = new KeyedSerialExecutor(executor, 4, 100);
+        CountDownLatch blocked = new CountDownLatch(1);
+        executor.execute(() -> await(blocked));
+        CountDownLatch latch = new CountDownLatch(2);
+        // the drain task is queued
+        keyedExecutor.execute("key", latch::countDown);
+        // the pool is full, the queued drain task must not be discarded for another task
+        Assert.assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> {
+        }));
+        keyedExecutor.execute("key", latch::countDown);
+        blocked.countDown();
+        Assert.assertTrue(latch.await(1, TimeUnit.SECONDS));
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS));
+        Assert.assertEquals(0, keyedExecutor.getBacklog());
+    }
+
+    @Test
+    public void testDiscardOldestPlainTask() throws InterruptedException {
+        DynamicThreadPoolExecutor executor = new DynamicThreadPoolExecutor(
+                1, 1, 1000L, TimeUnit.MILLISECONDS,
+                1000L, true, 1000L,
+                new LinkedBlockingQueue<>(1), "test", Thread::new, new ThreadPoolExecutor.DiscardOldestPolicy());
+        new KeyedSerialExecutor(executor, 4, 100);
+        CountDownLatch blocked = new CountDownLatch(1);
+        executor.execute(() -> await(blocked));
+        AtomicInteger discarded = new AtomicInteger();
+        executor.execute(discarded::incrementAndGet);
+        CountDownLatch latch = new CountDownLatch(1);
+        // the queue head is not a drain task, the policy of the pool is kept
+        executor.execute(latch::countDown);
+        blocked.countDown();
+        Assert.assertTrue(latch.await(1, TimeUnit.SECONDS));
+        Assert.assertEquals(0, discarded.get());
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testKeepDrainingWhenRescheduleFails() throws InterruptedException {
+        DynamicThreadPoolExecutor executor = new DynamicThreadPoolExecutor(
+                1, 1, 1000L, TimeUnit.MILLISECONDS,
+                1000L, true, 1000L,
+                new LinkedBlockingQueue<>(1), "test", Thread::new, new ThreadPoolExecutor.AbortPolicy());
+        KeyedSerialExecutor keyedExecutor = new KeyedSerialExecutor(executor, 4, 1000);
+        CountDownLatch blocked = new CountDownLatch(1);
+        int tasks = KeyedSerialExecutor.MAX_DRAIN_BATCH * 2;
+        CountDownLatch latch = new CountDownLatch(tasks);
+        keyedExecutor.execute("key", () -> await(blocked));
+        for (int i = 1; i < tasks; i++) {
+            keyedExecutor.execute("key", latch::countDown);
+        }
+        // fill the queue, the stripe fails to be rescheduled after yielding
+        executor.execute(() -> {
+        });
+        latch.countDown();
+        blocked.countDown();
+        Assert.assertTrue(latch.await(1, TimeUnit.SECONDS));
+        Assert.assertEquals(0, keyedExecutor.getBacklog());
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testReleaseBacklogWhenDrainTaskAborted() throws InterruptedException {
+        DynamicThreadPoolExecutor executor = new DynamicThreadPoolExecutor(
+                1, 1, 1000L, TimeUnit.MILLISECONDS,
+                1000L, true, 1000L,
+                new LinkedBlockingQueue<>(1), "test", Thread::new, new ThreadPoolExecutor.AbortPolicy());
+        KeyedSerialExecutor keyedExecutor = new KeyedSerialExecutor(executor, 4, 100);
+        CountDownLatch blocked = new CountDownLatch(1);
+        executor.execute(() -> await(blocked));
+        executor.execute(() -> {
+        });
+        List<String> results = Collections.synchronizedList(new ArrayList<>());
+        try {
+            keyedExecutor.execute("key", () -> results.add("aborted"));
+            Assert.fail();
+        } catch (RejectedExecutionException ignored) {
+        }
+        Assert.assertEquals(0, keyedExecutor.getBacklog());
+        Assert.assertEquals(0, keyedExecutor.getBacklog("key"));
+        Assert.assertTrue(keyedExecutor.getHotKeys(1).isEmpty());
+
+        blocked.countDown();
+        while (executor.getActiveCount() > 0 || !executor.getQueue().isEmpty()) {
+            TimeUnit.MILLISECONDS.sleep(1L);
+        }
+        CountDownLatch latch = new CountDownLatch(1);
+        keyedExecutor.execute("key", () -> {
+            results.add("accepted");
+            latch.countDown();
+        });
+        Assert.assertTrue(latch.await(1, TimeUnit.SECONDS));
+        Assert.assertEquals(Collections.singletonList("accepted"), results);
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS));
+        Assert.assertEquals(0, keyedExecutor.getBacklog());
+    }
+
+    private static DynamicThreadPoolExecutor newExecutor(int poolSize) {
+        return new DynamicThreadPoolExecutor(
+                poolSize, poolSize, 1000L, TimeUnit.MILLISECONDS,
+                1000L, true, 1000L,
+                new LinkedBlockingQueue<>(), "test", Thread::new, new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
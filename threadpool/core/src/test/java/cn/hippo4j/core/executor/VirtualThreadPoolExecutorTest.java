@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.core.executor;
+
+import cn.hippo4j.common.toolkit.ThreadPoolExecutorUtil;
+import cn.hippo4j.core.executor.plugin.impl.TaskRejectCountRecordPlugin;
+import cn.hippo4j.core.executor.support.ThreadPoolBuilder;
+import cn.hippo4j.core.executor.support.VirtualThreadSupport;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * test for {@link VirtualThreadPoolExecutor}, runs on platform threads when virtual threads are not supported.
+ */
+public class VirtualThreadPoolExecutorTest {
+
+    @Test
+    public void testConcurrencyLimit() throws InterruptedException {
+        VirtualThreadPoolExecutor executor = newExecutor(4, 100);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(50);
+        for (int i = 0; i < 50; i++) {
+            executor.execute(() -> {
+                peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                sleep(5L);
+                running.decrementAndGet();
+                latch.countDown();
+            });
+        }
+        Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+        Assert.assertTrue(peak.get() <= 4);
+        Assert.assertEquals(4, executor.getCorePoolSize());
+        Assert.assertEquals(4, executor.getMaximumPoolSize());
+        executor.shutdown();
+    }
+
+    @Test
+    public void testChangeConcurrencyLimit() {
+        VirtualThreadPoolExecutor executor = newExecutor(4, 100);
+        executor.setConcurrencyLimit(16);
+        Assert.assertEquals(16, executor.getConcurrencyLimit());
+        Assert.assertEquals(16, executor.getCorePoolSize());
+        executor.setConcurrencyLimit(2);
+        Assert.assertEquals(2, executor.getCorePoolSize());
+        Assert.assertEquals(2, executor.getMaximumPoolSize());
+        Assert.assertThrows(IllegalArgumentException.class, () -> executor.setConcurrencyLimit(0));
+        Assert.assertEquals(2, executor.getCorePoolSize());
+        Assert.assertEquals(2, executor.getMaximumPoolSize());
+        // the core pool size follows the maximum pool size when changed by dynamic refresh
+        ThreadPoolExecutorUtil.safeSetPoolSize(executor, 1, 8);
+        Assert.assertEquals(8, executor.getConcurrencyLimit());
+        Assert.assertEquals(8, executor.getCorePoolSize());
+        ThreadPoolExecutorUtil.safeSetPoolSize(executor, 3, 3);
+        Assert.assertEquals(3, executor.getConcurrencyLimit());
+        Assert.assertEquals(3, executor.getCorePoolSize());
+        executor.shutdown();
+    }
+
+    @Test
+    public void testRejectWhenQueueIsFull() throws InterruptedException {
+        VirtualThreadPoolExecutor executor = newExecutor(1, 1);
+        CountDownLatch latch = new CountDownLatch(1);
+        executor.execute(() -> await(latch));
+        executor.execute(() -> {
+        });
+        executor.execute(() -> {
+        });
+        long rejectCount = executor.getPluginOfType(TaskRejectCountRecordPlugin.PLUGIN_NAME, TaskRejectCountRecordPlugin.class)
+                .map(TaskRejectCountRecordPlugin::getRejectCountNum)
+                .orElse(-1L);
+        Assert.assertEquals(1L, rejectCount);
+        latch.countDown();
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testBuilder() {
+        ThreadPoolExecutor executor = ThreadPoolBuilder.builder()
+                .threadPoolId("virtual-test")
+                .threadFactory("virtual-test")
+                .maximumPoolSize(200)
+                .virtualThreads()
+                .build();
+        Assert.assertTrue(executor instanceof DynamicThreadPoolExecutor);
+        Assert.assertEquals(VirtualThreadSupport.isSupported(), executor instanceof VirtualThreadPoolExecutor);
+        if (VirtualThreadSupport.isSupported()) {
+            Assert.assertEquals(200, executor.getCorePoolSize());
+            Assert.assertTrue(executor.allowsCoreThreadTimeOut());
+        }
+        executor.shutdown();
+    }
+
+    @Test
+    public void testVirtualThreadSupport() {
+        String version = System.getProperty("java.specification.version");
+        int major = Integer.parseInt(version.startsWith("1.") ? version.substring(2) : version);
+        if (major >= 21) {
+            Assert.assertTrue(VirtualThreadSupport.isSupported());
+        } else if (major < 19) {
+            Assert.assertFalse(VirtualThreadSupport.isSupported());
+            Assert.assertThrows(UnsupportedOperationException.class, () -> VirtualThreadSupport.newThreadFactory("test"));
+        }
+    }
+
+    private static VirtualThreadPoolExecutor newExecutor(int concurrencyLimit, int capacity) {
+        return new VirtualThreadPoolExecutor(
+                concurrencyLimit, 1000L, TimeUnit.MILLISECONDS,
+                1000L, true, 1000L,
+                new ArrayBlockingQueue<>(capacity), "test",
+                VirtualThreadSupport.isSupported() ? VirtualThreadSupport.newThreadFactory("test-") : Thread::new,
+                new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.core.executor;
+
+import cn.hippo4j.common.executor.support.WorkStealingBlockingQueue;
+import cn.hippo4j.common.toolkit.ThreadPoolExecutorUtil;
+import cn.hippo4j.core.executor.plugin.impl.TaskRejectCountRecordPlugin;
+import cn.hippo4j.core.executor.support.ThreadPoolBuilder;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * test for {@link WorkStealingThreadPoolExecutor}
+ */
+public class WorkStealingThreadPoolExecutorTest {
+
+    @Test
+    public void testFanOut() throws InterruptedException {
+        WorkStealingThreadPoolExecutor executor = newExecutor(4, 4096);
+        int forks = 2000;
+        CountDownLatch latch = new CountDownLatch(forks);
+        AtomicInteger executed = new AtomicInteger();
+        executor.execute(() -> {
+            for (int i = 0; i < forks; i++) {
+                executor.execute(() -> {
+                    executed.incrementAndGet();
+                    latch.countDown();
+                });
+            }
+        });
+        Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+        Assert.assertEquals(forks, executed.get());
+        Assert.assertTrue(executor.getStealCount() > 0L);
+        Assert.assertTrue(executor.getWorkerQueueSizes().length > 0);
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testChangeParallelism() {
+        WorkStealingThreadPoolExecutor executor = newExecutor(4, 100);
+        executor.setParallelism(8);
+        Assert.assertEquals(8, executor.getParallelism());
+        Assert.assertEquals(8, executor.getCorePoolSize());
+        // the core pool size follows the maximum pool size when changed by dynamic refresh
+        ThreadPoolExecutorUtil.safeSetPoolSize(executor, 1, 2);
+        Assert.assertEquals(2, executor.getParallelism());
+        Assert.assertEquals(2, executor.getCorePoolSize());
+        Assert.assertThrows(IllegalArgumentException.class, () -> executor.setMaximumPoolSize(0));
+        executor.shutdown();
+    }
+
+    @Test
+    public void testRejectWhenQueueIsFull() throws InterruptedException {
+        WorkStealingThreadPoolExecutor executor = newExecutor(1, 1);
+        CountDownLatch latch = new CountDownLatch(1);
+        executor.execute(() -> await(latch));
+        executor.execute(() -> {
+        });
+        executor.execute(() -> {
+        });
+        long rejectCount = executor.getPluginOfType(TaskRejectCountRecordPlugin.PLUGIN_NAME, TaskRejectCountRecordPlugin.class)
+                .map(TaskRejectCountRecordPlugin::getRejectCountNum)
+                .orElse(-1L);
+        Assert.assertEquals(1L, rejectCount);
+        latch.countDown();
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testBuilder() {
+        ThreadPoolExecutor executor = ThreadPoolBuilder.builder()
+                .threadPoolId("work-stealing-test")
+                .threadFactory("work-stealing-test")
+                .maximumPoolSize(6)
+                .capacity(256)
+                .workStealing()
+                .build();
+        Assert.assertTrue(executor instanceof WorkStealingThreadPoolExecutor);
+        Assert.assertTrue(executor.getQueue() instanceof WorkStealingBlockingQueue);
+        Assert.assertEquals(6, executor.getCorePoolSize());
+        Assert.assertEquals(256, executor.getQueue().remainingCapacity());
+        executor.shutdown();
+    }
+
+    private static WorkStealingThreadPoolExecutor newExecutor(int parallelism, int capacity) {
+        return new WorkStealingThreadPoolExecutor(
+                parallelism, 1000L, TimeUnit.MILLISECONDS,
+                1000L, true, 1000L,
+                new WorkStealingBlockingQueue<>(capacity), "test",
+                Thread::new, new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.core.executor.plugin.impl;
+
+import cn.hippo4j.common.executor.support.PrioritizedRunnable;
+import cn.hippo4j.common.executor.support.PriorityLaneBlockingQueue;
+import cn.hippo4j.common.toolkit.ThreadUtil;
+import cn.hippo4j.core.executor.ExtensibleThreadPoolExecutor;
+import cn.hippo4j.core.executor.plugin.manager.DefaultThreadPoolPluginManager;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * test for {@link TaskPriorityPlugin}
+ */
+public class TaskPriorityPluginTest {
+
+    @Test
+    public void testGetId() {
+        Assert.assertEquals(TaskPriorityPlugin.PLUGIN_NAME, new TaskPriorityPlugin(runnable -> -1).getId());
+    }
+
+    @Test
+    public void testGetRuntime() {
+        Assert.assertNotNull(new TaskPriorityPlugin(runnable -> -1).getPluginRuntime());
+    }
+
+    @Test
+    public void testBeforeTaskExecute() {
+        TaskPriorityPlugin plugin = new TaskPriorityPlugin(runnable -> runnable instanceof UrgentTask ? 0 : -1, 1000L);
+        Runnable task = () -> {
+        };
+        Assert.assertSame(task, plugin.beforeTaskExecute(task));
+        Runnable tagged = plugin.beforeTaskExecute(new UrgentTask());
+        Assert.assertTrue(tagged instanceof PrioritizedRunnable);
+        Assert.assertEquals(0, ((PrioritizedRunnable) tagged).getPriority());
+        Assert.assertNotEquals(PrioritizedRunnable.NO_DEADLINE, ((PrioritizedRunnable) tagged).getDeadlineNanos());
+        Assert.assertSame(tagged, plugin.beforeTaskExecute(tagged));
+    }
+
+    @Test
+    public void testPriorityKeptWhenWrappedByOtherPlugin() throws InterruptedException {
+        PriorityLaneBlockingQueue<Runnable> queue = new PriorityLaneBlockingQueue<>(16, "strict:2");
+        ExtensibleThreadPoolExecutor executor = new ExtensibleThreadPoolExecutor(
+                "test", new DefaultThreadPoolPluginManager(),
+                1, 1, 1000L, TimeUnit.MILLISECONDS,
+                queue, Thread::new, new ThreadPoolExecutor.DiscardPolicy());
+        executor.register(new TaskPriorityPlugin(runnable -> runnable instanceof UrgentTask ? 0 : -1));
+        TaskDecoratorPlugin decoratorPlugin = new TaskDecoratorPlugin();
+        decoratorPlugin.addDecorator(runnable -> () -> runnable.run());
+        executor.register(decoratorPlugin);
+
+        // block the only worker, so that the following tasks are queued
+        executor.execute(() -> ThreadUtil.sleep(200L));
+        List<String> order = new CopyOnWriteArrayList<>();
+        executor.execute(() -> order.add("normal"));
+        executor.submit(() -> order.add("normal-future"));
+        executor.execute(new UrgentTask(order));
+        Assert.assertEquals(1, queue.getLaneSizes()[0]);
+
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        Assert.assertEquals("urgent", order.get(0));
+        Assert.assertEquals(3, order.size());
+    }
+
+    @Test
+    public void testCancelExpiredFutureWrappedByOtherPlugin() throws Exception {
+        assertExpiredFutureCancelled(true);
+        assertExpiredFutureCancelled(false);
+    }
+
+    private void assertExpiredFutureCancelled(boolean decorateFirst) throws Exception {
+        PriorityLaneBlockingQueue<Runnable> queue = new PriorityLaneBlockingQueue<>(16, "strict:2");
+        ExtensibleThreadPoolExecutor executor = new ExtensibleThreadPoolExecutor(
+                "test", new DefaultThreadPoolPluginManager(),
+                1, 1, 1000L, TimeUnit.MILLISECONDS,
+                queue, Thread::new, new ThreadPoolExecutor.DiscardPolicy());
+        TaskDecoratorPlugin decoratorPlugin = new TaskDecoratorPlugin();
+        decoratorPlugin.addDecorator(runnable -> () -> runnable.run());
+        TaskPriorityPlugin priorityPlugin = new TaskPriorityPlugin(runnable -> 0, 1L);
+        if (decorateFirst) {
+            executor.register(decoratorPlugin);
+            executor.register(priorityPlugin);
+        } else {
+            executor.register(priorityPlugin);
+            executor.register(decoratorPlugin);
+        }
+
+        // block the only worker until the queued task is expired
+        executor.execute(() -> ThreadUtil.sleep(100L));
+        Future<?> future = executor.submit(() -> {
+        });
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            Assert.fail();
+        } catch (CancellationException ignored) {
+            // the expired task is dropped by the queue and its future is cancelled
+        } finally {
+            executor.shutdown();
+        }
+        Assert.assertEquals(1L, queue.getExpiredCount());
+    }
+
+    private static class UrgentTask implements Runnable {
+
+        private final List<String> order;
+
+        UrgentTask() {
+            this(null);
+        }
+
+        UrgentTask(List<String> order) {
+            this.order = order;
+        }
+
+        @Override
+        public void run() {
+            if (order != null) {
+                order.add("urgent");
+            }
+        }
+    }
+}
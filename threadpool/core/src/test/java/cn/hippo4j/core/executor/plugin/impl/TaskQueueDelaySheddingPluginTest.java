@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.core.executor.plugin.impl;
+
+import cn.hippo4j.common.toolkit.ThreadUtil;
+import cn.hippo4j.core.executor.ExtensibleThreadPoolExecutor;
+import cn.hippo4j.core.executor.plugin.manager.DefaultThreadPoolPluginManager;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * test for {@link TaskQueueDelaySheddingPlugin}
+ */
+public class TaskQueueDelaySheddingPluginTest {
+
+    @Test
+    public void testGetId() {
+        Assert.assertEquals(TaskQueueDelaySheddingPlugin.PLUGIN_NAME, new TaskQueueDelaySheddingPlugin(10L).getId());
+    }
+
+    @Test
+    public void testGetRuntime() {
+        Assert.assertNotNull(new TaskQueueDelaySheddingPlugin(10L).getPluginRuntime());
+    }
+
+    @Test
+    public void testSetTarget() {
+        TaskQueueDelaySheddingPlugin plugin = new TaskQueueDelaySheddingPlugin(10L);
+        Assert.assertEquals(10L, plugin.getTargetMillis());
+        Assert.assertEquals(TaskQueueDelaySheddingPlugin.DEFAULT_INTERVAL_MILLIS, plugin.getIntervalMillis());
+        plugin.setTarget(20L, 200L);
+        Assert.assertEquals(20L, plugin.getTargetMillis());
+        Assert.assertEquals(200L, plugin.getIntervalMillis());
+        Assert.assertThrows(IllegalArgumentException.class, () -> plugin.setTarget(0L, 100L));
+        Assert.assertThrows(IllegalArgumentException.class, () -> plugin.setTarget(10L, 0L));
+    }
+
+    @Test
+    public void testShedWhenQueueDelayStaysAboveTarget() throws Exception {
+        ExtensibleThreadPoolExecutor executor = new ExtensibleThreadPoolExecutor(
+                "test", new DefaultThreadPoolPluginManager(),
+                1, 1, 1000L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), Thread::new, new ThreadPoolExecutor.AbortPolicy());
+        TaskQueueDelaySheddingPlugin plugin = new TaskQueueDelaySheddingPlugin(10L, 50L);
+        executor.register(plugin);
+
+        // tasks arrive three times faster than they are run, so the queue delay keeps growing
+        AtomicInteger completed = new AtomicInteger();
+        Future<?> shedFuture = null;
+        for (int i = 0; i < 40; i++) {
+            Future<?> future = executor.submit(() -> {
+                ThreadUtil.sleep(30L);
+                completed.incrementAndGet();
+            });
+            if (future.isCancelled()) {
+                shedFuture = future;
+            }
+            ThreadUtil.sleep(10L);
+        }
+        Assert.assertTrue(plugin.isDropping());
+        Assert.assertTrue(plugin.getShedCount() > 0);
+        Assert.assertNotNull(shedFuture);
+        Assert.assertTrue(shedFuture.isCancelled());
+        // the burst is still observed before the thread-pool is considered overloaded
+        Assert.assertTrue(plugin.getShedCount() < 40);
+
+        // once the queue is drained, a task waiting less than the target brings the thread-pool out of the overloaded state
+        while (!executor.getQueue().isEmpty() || executor.getActiveCount() > 0) {
+            ThreadUtil.sleep(10L);
+        }
+        // the state is only left when a task is observed, so the first tasks after draining may still be shed
+        Future<?> probe;
+        do {
+            probe = executor.submit(() -> {
+            });
+        } while (probe.isCancelled());
+        probe.get();
+        Assert.assertFalse(plugin.isDropping());
+        Assert.assertTrue(completed.get() > 0);
+
+        executor.unregister(plugin.getId());
+        Assert.assertEquals(0L, plugin.getShedCount());
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.core.executor.plugin.impl;
+
+import cn.hippo4j.core.executor.ExtensibleThreadPoolExecutor;
+import cn.hippo4j.core.executor.plugin.manager.DefaultThreadPoolPluginManager;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * test for {@link TaskRateLimitPlugin}
+ */
+public class TaskRateLimitPluginTest {
+
+    @Test
+    public void testGetId() {
+        Assert.assertEquals(TaskRateLimitPlugin.PLUGIN_NAME, new TaskRateLimitPlugin(10).getId());
+    }
+
+    @Test
+    public void testGetRuntime() {
+        Assert.assertNotNull(new TaskRateLimitPlugin(10).getPluginRuntime());
+    }
+
+    @Test
+    public void testSetRate() {
+        TaskRateLimitPlugin plugin = new TaskRateLimitPlugin(10);
+        Assert.assertEquals(10, plugin.getPermitsPerSecond());
+        Assert.assertEquals(10, plugin.getBurst());
+        plugin.setRate(100, 5);
+        Assert.assertEquals(100, plugin.getPermitsPerSecond());
+        Assert.assertEquals(5, plugin.getBurst());
+        Assert.assertThrows(IllegalArgumentException.class, () -> plugin.setRate(0, 1));
+        Assert.assertThrows(IllegalArgumentException.class, () -> plugin.setRate(1, 0));
+    }
+
+    @Test
+    public void testShedWhenRateIsExceeded() throws Exception {
+        ExtensibleThreadPoolExecutor executor = new ExtensibleThreadPoolExecutor(
+                "test", new DefaultThreadPoolPluginManager(),
+                1, 1, 1000L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), Thread::new, new ThreadPoolExecutor.AbortPolicy());
+        // only the burst is allowed within a second
+        TaskRateLimitPlugin plugin = new TaskRateLimitPlugin(1, 3);
+        executor.register(plugin);
+        TaskRejectCountRecordPlugin rejectCountRecordPlugin = new TaskRejectCountRecordPlugin();
+        executor.register(rejectCountRecordPlugin);
+
+        AtomicInteger completed = new AtomicInteger();
+        for (int i = 0; i < 5; i++) {
+            executor.execute(completed::incrementAndGet);
+        }
+        Future<?> future = executor.submit(completed::incrementAndGet);
+        Assert.assertTrue(future.isCancelled());
+        Assert.assertEquals(3L, plugin.getShedCount());
+
+        // the shed tasks are not counted as rejected
+        Assert.assertEquals(0L, rejectCountRecordPlugin.getRejectCountNum().longValue());
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(1L, TimeUnit.SECONDS));
+        Assert.assertEquals(3, completed.get());
+    }
+
+    @Test
+    public void testCancelShedFutureWrappedByQueueDelayPlugin() throws Exception {
+        ExtensibleThreadPoolExecutor executor = new ExtensibleThreadPoolExecutor(
+                "test", new DefaultThreadPoolPluginManager(),
+                1, 1, 1000L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), Thread::new, new ThreadPoolExecutor.AbortPolicy());
+        // the queue delay plugin wraps the task before it reaches the rate limiter
+        executor.register(new TaskQueueDelaySheddingPlugin(1000L));
+        TaskRateLimitPlugin plugin = new TaskRateLimitPlugin(1, 1);
+        executor.register(plugin);
+
+        Future<?> accepted = executor.submit(() -> {
+        });
+        Future<?> shed = executor.submit(() -> {
+        });
+        Assert.assertEquals(1L, plugin.getShedCount());
+        Assert.assertThrows(CancellationException.class, () -> shed.get(1L, TimeUnit.SECONDS));
+        Assert.assertNull(accepted.get(1L, TimeUnit.SECONDS));
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(1L, TimeUnit.SECONDS));
+    }
+}
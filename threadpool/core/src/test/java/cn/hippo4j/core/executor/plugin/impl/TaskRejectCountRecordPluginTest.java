@@ -17,6 +17,7 @@
 
 package cn.hippo4j.core.executor.plugin.impl;
 
+import cn.hippo4j.common.executor.support.CallerRunsWithBudgetPolicy;
 import cn.hippo4j.common.toolkit.ThreadUtil;
 import cn.hippo4j.core.executor.ExtensibleThreadPoolExecutor;
 import cn.hippo4j.core.executor.plugin.impl.TaskRejectCountRecordPlugin;
@@ -25,9 +26,11 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * test for {@link TaskRejectCountRecordPlugin}
@@ -81,4 +84,41 @@ public class TaskRejectCountRecordPluginTest {
         Assert.assertEquals((Long) 1L, plugin.getRejectCountNum());
     }
 
+    @Test
+    public void testSkipShedTask() throws InterruptedException {
+        CallerRunsWithBudgetPolicy policy = new CallerRunsWithBudgetPolicy(1);
+        ExtensibleThreadPoolExecutor executor = new ExtensibleThreadPoolExecutor(
+                "test", new DefaultThreadPoolPluginManager(),
+                1, 1, 1000L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(1), Thread::new, policy);
+        TaskRejectCountRecordPlugin plugin = new TaskRejectCountRecordPlugin();
+        executor.register(plugin);
+        CountDownLatch latch = new CountDownLatch(1);
+        executor.execute(() -> awaitQuietly(latch));
+        executor.execute(() -> awaitQuietly(latch));
+        // the task run by the caller is rejected, and the task rejected meanwhile is shed since the budget is used up
+        AtomicReference<Throwable> shed = new AtomicReference<>();
+        executor.execute(() -> {
+            try {
+                executor.execute(() -> {
+                });
+            } catch (Throwable ex) {
+                shed.set(ex);
+            }
+        });
+        Assert.assertTrue(shed.get() instanceof CallerRunsWithBudgetPolicy.ShedException);
+        Assert.assertEquals(1L, policy.getShedCount());
+        Assert.assertEquals((Long) 1L, plugin.getRejectCountNum());
+        latch.countDown();
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
 }
@@ -17,6 +17,7 @@
 
 package cn.hippo4j.core.executor.plugin.impl;
 
+import cn.hippo4j.common.executor.support.CallerRunsWithBudgetPolicy;
 import cn.hippo4j.common.toolkit.ThreadUtil;
 import cn.hippo4j.core.executor.ExtensibleThreadPoolExecutor;
 import cn.hippo4j.core.executor.plugin.manager.DefaultThreadPoolPluginManager;
@@ -65,6 +66,25 @@ public class TaskRejectNotifyAlarmPluginTest {
         Assert.assertEquals(1, alarm.getNumberOfAlarms().get());
     }
 
+    @Test
+    public void testSkipShedTask() {
+        ExtensibleThreadPoolExecutor executor = new ExtensibleThreadPoolExecutor(
+                "test", new DefaultThreadPoolPluginManager(),
+                1, 1, 1000L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(1), Thread::new, new CallerRunsWithBudgetPolicy(0));
+
+        TestAlarm alarm = new TestAlarm();
+        executor.register(new TaskRejectNotifyAlarmPlugin(alarm));
+        executor.submit(() -> ThreadUtil.sleep(200L));
+        executor.submit(() -> ThreadUtil.sleep(200L));
+        Assert.assertThrows(CallerRunsWithBudgetPolicy.ShedException.class, () -> executor.submit(() -> ThreadUtil.sleep(200L)));
+
+        executor.shutdown();
+        while (!executor.isTerminated()) {
+        }
+        Assert.assertEquals(0, alarm.getNumberOfAlarms().get());
+    }
+
     private static class TestAlarm implements ThreadPoolCheckAlarm {
 
         @Getter
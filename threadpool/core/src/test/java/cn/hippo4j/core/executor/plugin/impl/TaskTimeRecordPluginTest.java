@@ -27,6 +27,7 @@ import org.junit.Test;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * test for {@link TaskTimeRecordPlugin}
@@ -73,6 +74,59 @@ public class TaskTimeRecordPluginTest {
         // Assert.assertTrue(testInDeviation(summary.getTotalTaskTimeMillis(), 8000L, 300L));
     }
 
+    @Test
+    public void testSummarizeInNanos() {
+        // every reading advances the clock by 1000ns, so each task takes exactly 1000ns
+        AtomicLong time = new AtomicLong();
+        TaskTimeRecordPlugin plugin = new TaskTimeRecordPlugin(1, () -> time.addAndGet(1000L));
+        plugin.beforeExecute(Thread.currentThread(), () -> {
+        });
+        plugin.afterExecute(() -> {
+        }, null);
+        plugin.beforeExecute(Thread.currentThread(), () -> {
+        });
+        plugin.afterExecute(() -> {
+        }, null);
+        // ignored without start time
+        plugin.afterExecute(() -> {
+        }, null);
+
+        TaskTimeRecordPlugin.Summary summary = plugin.summarize();
+        Assert.assertEquals(2L, summary.getTaskCount());
+        Assert.assertEquals(1000L, summary.getMinTaskTimeNanos());
+        Assert.assertEquals(1000L, summary.getMaxTaskTimeNanos());
+        Assert.assertEquals(2000L, summary.getTotalTaskTimeNanos());
+        Assert.assertEquals(1000L, summary.getAvgTaskTimeNanos());
+        Assert.assertEquals(0L, summary.getAvgTaskTimeMillis());
+    }
+
+    @Test
+    public void testMillisecondCurrentTimeOverride() {
+        // a subclass declares the unit of its currentTime through the constructor
+        AtomicLong millis = new AtomicLong();
+        TaskTimeRecordPlugin plugin = new TaskTimeRecordPlugin(1, () -> 0L, TimeUnit.MILLISECONDS) {
+
+            @Override
+            protected long currentTime() {
+                return millis.addAndGet(5L);
+            }
+        };
+        plugin.beforeExecute(Thread.currentThread(), () -> {
+        });
+        plugin.afterExecute(() -> {
+        }, null);
+        TaskTimeRecordPlugin.Summary summary = plugin.summarize();
+        Assert.assertEquals(5L, summary.getMaxTaskTimeMillis());
+        Assert.assertEquals(TimeUnit.MILLISECONDS.toNanos(5L), summary.getMaxTaskTimeNanos());
+    }
+
+    @Test
+    public void testSummarizeWithoutTask() {
+        TaskTimeRecordPlugin.Summary summary = new TaskTimeRecordPlugin().summarize();
+        Assert.assertEquals(-1L, summary.getMinTaskTimeMillis());
+        Assert.assertEquals(-1L, summary.getAvgTaskTimeNanos());
+    }
+
     private boolean testInDeviation(long except, long actual, long offer) {
         long exceptLower = except - offer;
         long exceptUpper = except + offer;
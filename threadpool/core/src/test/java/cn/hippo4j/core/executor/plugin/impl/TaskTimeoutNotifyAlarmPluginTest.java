@@ -29,6 +29,7 @@ import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * test for {@link TaskTimeoutNotifyAlarmPlugin}
@@ -84,11 +85,32 @@ public class TaskTimeoutNotifyAlarmPluginTest {
         Assert.assertEquals(2, testAlarm.getNumberOfAlarms().get());
     }
 
+    @Test
+    public void testProcessTaskTimeInNanos() {
+        testAlarm.getNumberOfAlarms().set(0);
+        plugin.processTaskTime(TimeUnit.MILLISECONDS.toNanos(1L));
+        Assert.assertEquals(0, testAlarm.getNumberOfAlarms().get());
+        plugin.processTaskTime(TimeUnit.MILLISECONDS.toNanos(3L) + 1L);
+        Assert.assertEquals(1, testAlarm.getNumberOfAlarms().get());
+        // reported in nanoseconds
+        Assert.assertEquals(TimeUnit.MILLISECONDS.toNanos(3L) + 1L, testAlarm.getLastExecuteTime().get());
+        Assert.assertEquals(TimeUnit.MILLISECONDS.toNanos(1L), testAlarm.getLastExecuteTimeOut().get());
+        plugin.setExecuteTimeOut(0L);
+        plugin.processTaskTime(TimeUnit.SECONDS.toNanos(1L));
+        Assert.assertEquals(1, testAlarm.getNumberOfAlarms().get());
+    }
+
     private static class TestAlarm implements ThreadPoolCheckAlarm {
 
         @Getter
         private final AtomicInteger numberOfAlarms = new AtomicInteger(0);
 
+        @Getter
+        private final AtomicLong lastExecuteTime = new AtomicLong();
+
+        @Getter
+        private final AtomicLong lastExecuteTimeOut = new AtomicLong();
+
         @Override
         public void checkPoolCapacityAlarm(String threadPoolId, ThreadPoolExecutor threadPoolExecutor) {
             // do noting
@@ -106,6 +128,8 @@ public class TaskTimeoutNotifyAlarmPluginTest {
 
         @Override
         public void asyncSendExecuteTimeOutAlarm(String threadPoolId, long executeTime, long executeTimeOut, ThreadPoolExecutor threadPoolExecutor) {
+            lastExecuteTime.set(executeTime);
+            lastExecuteTimeOut.set(executeTimeOut);
             numberOfAlarms.incrementAndGet();
         }
     }
@@ -219,6 +219,42 @@ public class DefaultThreadPoolPluginManagerTest {
         Assert.assertEquals(TestShutdownAwarePlugin.class, iterator.next().getClass());
     }
 
+    @Test
+    public void testGetPluginSnapshot() {
+        Assert.assertSame(ThreadPoolPluginSnapshot.EMPTY, manager.getPluginSnapshot());
+
+        ThreadPoolPlugin plugin = new TestExecuteAwarePlugin();
+        manager.register(plugin);
+        manager.register(new TestTaskAwarePlugin());
+        ThreadPoolPluginSnapshot snapshot = manager.getPluginSnapshot();
+        Assert.assertArrayEquals(new Object[]{plugin}, snapshot.getExecuteAwarePlugins());
+        Assert.assertEquals(1, snapshot.getTaskAwarePlugins().length);
+        Assert.assertEquals(0, snapshot.getRejectedAwarePlugins().length);
+        Assert.assertEquals(0, snapshot.getShutdownAwarePlugins().length);
+
+        // the snapshot will be republished, and the old one will not be changed
+        manager.disable(plugin.getId());
+        Assert.assertEquals(0, manager.getPluginSnapshot().getExecuteAwarePlugins().length);
+        Assert.assertEquals(1, snapshot.getExecuteAwarePlugins().length);
+        manager.enable(plugin.getId());
+        Assert.assertEquals(1, manager.getPluginSnapshot().getExecuteAwarePlugins().length);
+
+        manager.unregister(plugin.getId());
+        Assert.assertEquals(0, manager.getPluginSnapshot().getExecuteAwarePlugins().length);
+        manager.clear();
+        Assert.assertEquals(0, manager.getPluginSnapshot().getTaskAwarePlugins().length);
+    }
+
+    @Test
+    public void testGetPluginSnapshotWhenSorted() {
+        manager.setPluginComparator(AnnotationAwareOrderComparator.INSTANCE);
+        manager.register(new TestExecuteAwarePlugin());
+        manager.register(new TestFirstExecuteAwarePlugin());
+        ExecuteAwarePlugin[] plugins = manager.getPluginSnapshot().getExecuteAwarePlugins();
+        Assert.assertEquals(TestFirstExecuteAwarePlugin.class, plugins[0].getClass());
+        Assert.assertEquals(TestExecuteAwarePlugin.class, plugins[1].getClass());
+    }
+
     @Order(0)
     @Getter
     private final static class TestTaskAwarePlugin implements TaskAwarePlugin {
@@ -233,6 +269,13 @@ public class DefaultThreadPoolPluginManagerTest {
         private final String id = this.getClass().getSimpleName();
     }
 
+    @Order(1)
+    @Getter
+    private final static class TestFirstExecuteAwarePlugin implements ExecuteAwarePlugin {
+
+        private final String id = this.getClass().getSimpleName();
+    }
+
     @Order(1)
     @Getter
     private final static class TestRejectedAwarePlugin implements RejectedAwarePlugin {
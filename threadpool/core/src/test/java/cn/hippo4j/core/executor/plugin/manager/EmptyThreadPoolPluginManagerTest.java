@@ -99,6 +99,11 @@ public class EmptyThreadPoolPluginManagerTest {
         Assert.assertEquals(Collections.emptyList(), manager.getExecuteAwarePluginList());
     }
 
+    @Test
+    public void testGetPluginSnapshot() {
+        Assert.assertSame(ThreadPoolPluginSnapshot.EMPTY, manager.getPluginSnapshot());
+    }
+
     @Test
     public void testEnable() {
         ThreadPoolPlugin plugin = new TestPlugin();
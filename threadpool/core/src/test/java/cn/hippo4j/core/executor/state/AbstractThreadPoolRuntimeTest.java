@@ -18,6 +18,7 @@
 package cn.hippo4j.core.executor.state;
 
 import cn.hippo4j.common.executor.ThreadPoolExecutorRegistry;
+import cn.hippo4j.common.model.PoolStatsSnapshot;
 import cn.hippo4j.common.model.ThreadPoolRunStateInfo;
 import cn.hippo4j.common.support.AbstractThreadPoolRuntime;
 import cn.hippo4j.core.executor.DynamicThreadPoolExecutor;
@@ -27,6 +28,7 @@ import org.junit.runner.RunWith;
 import org.mockito.junit.MockitoJUnitRunner;
 
 import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
@@ -53,4 +55,65 @@ public class AbstractThreadPoolRuntimeTest {
         threadPoolRunStateInfo = threadPoolRuntime.getPoolRunState(threadPoolId, executor);
         Assertions.assertNotNull(threadPoolRunStateInfo);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testSnapshot() throws InterruptedException {
+        AbstractThreadPoolRuntime threadPoolRuntime = new AbstractThreadPoolRuntime() {
+
+            @Override
+            public ThreadPoolRunStateInfo supplement(ThreadPoolRunStateInfo threadPoolRunStateInfo) {
+                return threadPoolRunStateInfo;
+            }
+
+            @Override
+            protected void supplementSnapshot(ThreadPoolExecutor executor, PoolStatsSnapshot snapshot) {
+                snapshot.setShedCount(3L);
+            }
+        };
+        final String threadPoolId = "snapshot-test";
+        DynamicThreadPoolExecutor executor = new DynamicThreadPoolExecutor(
+                1, 4, 1000L, TimeUnit.MILLISECONDS,
+                1000L, true, 1000L,
+                new ArrayBlockingQueue<>(8), threadPoolId, Thread::new, new ThreadPoolExecutor.AbortPolicy());
+        ThreadPoolExecutorRegistry.putHolder(threadPoolId, executor, null);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ignored) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        started.await();
+        executor.execute(() -> {
+        });
+        executor.execute(() -> {
+        });
+        try {
+            PoolStatsSnapshot snapshot = new PoolStatsSnapshot();
+            Assertions.assertSame(snapshot, threadPoolRuntime.snapshot(executor, snapshot));
+            Assertions.assertEquals(1, snapshot.getCorePoolSize());
+            Assertions.assertEquals(4, snapshot.getMaximumPoolSize());
+            Assertions.assertEquals(1, snapshot.getActiveCount());
+            Assertions.assertEquals(25, snapshot.getCurrentLoad());
+            Assertions.assertEquals(2, snapshot.getQueueSize());
+            Assertions.assertEquals(8, snapshot.getQueueCapacity());
+            Assertions.assertEquals(0L, snapshot.getRejectCount());
+            Assertions.assertEquals(3L, snapshot.getShedCount());
+            Assertions.assertEquals(PoolStatsSnapshot.ABSENT, snapshot.getExecuteTimeMax());
+            Assertions.assertEquals(PoolStatsSnapshot.ABSENT, snapshot.getQueueWaitTimeMax());
+
+            ThreadPoolRunStateInfo threadPoolRunStateInfo = threadPoolRuntime.getPoolRunState(threadPoolId, executor);
+            Assertions.assertEquals("25", threadPoolRunStateInfo.getCurrentLoad());
+            Assertions.assertEquals(Integer.valueOf(8), threadPoolRunStateInfo.getQueueCapacity());
+            Assertions.assertEquals(Long.valueOf(3L), threadPoolRunStateInfo.getShedCount());
+            Assertions.assertNull(threadPoolRunStateInfo.getExecuteTimeMax());
+            Assertions.assertNull(threadPoolRunStateInfo.getQueueWaitTimeMax());
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+}
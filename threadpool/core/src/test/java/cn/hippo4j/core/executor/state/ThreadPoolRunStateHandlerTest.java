@@ -26,6 +26,7 @@ import cn.hippo4j.common.toolkit.BeanUtil;
 import cn.hippo4j.common.toolkit.ByteConvertUtil;
 import cn.hippo4j.common.toolkit.MemoryUtil;
 import cn.hippo4j.common.toolkit.StringUtil;
+import cn.hippo4j.core.toolkit.inet.InetUtils;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -36,6 +37,7 @@ import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.env.ConfigurableEnvironment;
 
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -43,6 +45,8 @@ import java.util.concurrent.TimeUnit;
 import static cn.hippo4j.core.toolkit.IdentifyUtil.CLIENT_IDENTIFICATION_VALUE;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -124,4 +128,32 @@ public class ThreadPoolRunStateHandlerTest {
                 ByteConvertUtil.getPrintSize(max));
         Assertions.assertEquals("Allocation: 54.87MB / Maximum available: 7.98GB", memoryProportion);
     }
+
+    @Test
+    void testHostAndActiveResolvedOnce() {
+        InetUtils inetUtils = mock(InetUtils.class);
+        InetUtils.HostInfo hostInfo = new InetUtils.HostInfo();
+        hostInfo.setIpAddress("127.0.0.1");
+        when(inetUtils.findFirstNonLoopBackHostInfo()).thenReturn(hostInfo);
+        when(environment.getProperty("spring.profiles.active", "UNKNOWN")).thenReturn("dev");
+        ThreadPoolRunStateHandler handler = new ThreadPoolRunStateHandler(inetUtils, environment);
+
+        String threadPoolId = "run-state-handler-test";
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(2, 4, 2000, TimeUnit.SECONDS, new ArrayBlockingQueue<>(8));
+        ThreadPoolExecutorRegistry.putHolder(threadPoolId, executor, null);
+        try {
+            for (int i = 0; i < 2; i++) {
+                ThreadPoolRunStateInfo stateInfo = handler.getPoolRunState(threadPoolId);
+                Assertions.assertTrue(stateInfo instanceof ManyThreadPoolRunStateInfo);
+                Assertions.assertEquals("127.0.0.1", stateInfo.getHost());
+                Assertions.assertEquals("DEV", ((ManyThreadPoolRunStateInfo) stateInfo).getActive());
+                Assertions.assertEquals("0%", stateInfo.getCurrentLoad());
+                Assertions.assertEquals(Integer.valueOf(8), stateInfo.getQueueCapacity());
+            }
+            verify(inetUtils, times(1)).findFirstNonLoopBackHostInfo();
+            verify(environment, times(1)).getProperty("spring.profiles.active", "UNKNOWN");
+        } finally {
+            executor.shutdown();
+        }
+    }
 }
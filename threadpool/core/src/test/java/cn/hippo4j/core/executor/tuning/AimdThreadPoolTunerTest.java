@@ -0,0 +1,275 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.core.executor.tuning;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * test for {@link AimdThreadPoolTuner}, driven by a simulated thread-pool with synthetic load.
+ */
+public class AimdThreadPoolTunerTest {
+
+    private static final long SAMPLE_INTERVAL_MILLIS = 5000L;
+
+    /**
+     * Each task takes 50ms, so every 20 tasks per second need one thread.
+     */
+    private static final double SERVICE_MILLIS = 50D;
+
+    @Test
+    public void testConvergeFromUnderProvisioned() {
+        SimulatedPool pool = new SimulatedPool(2, 10, 10000, false);
+        Simulation simulation = new Simulation(newProperties(), pool);
+        simulation.run(200D, 200);
+        // 200 tasks per second needs 10 threads, the backlog piled up before converging is drained by a few more
+        Assert.assertTrue(pool.core >= 10 && pool.core <= 20);
+        Assert.assertEquals(0, simulation.changesIn(100, 200));
+        Assert.assertEquals(0, simulation.directionChanges());
+        Assert.assertEquals(pool.core, pool.max);
+    }
+
+    @Test
+    public void testConvergeFromOverProvisioned() {
+        SimulatedPool pool = new SimulatedPool(40, 40, 10000, false);
+        Simulation simulation = new Simulation(newProperties(), pool);
+        simulation.run(200D, 200);
+        Assert.assertTrue(pool.core >= 10 && pool.core <= 20);
+        Assert.assertEquals(0, simulation.changesIn(100, 200));
+        Assert.assertEquals(0, simulation.directionChanges());
+        Assert.assertEquals(40, pool.max);
+    }
+
+    @Test
+    public void testFollowLoadChanges() {
+        SimulatedPool pool = new SimulatedPool(10, 10, 10000, false);
+        Simulation simulation = new Simulation(newProperties(), pool);
+        simulation.run(200D, 100);
+        simulation.run(500D, 200);
+        Assert.assertTrue(pool.core >= 25 && pool.core <= 50);
+        Assert.assertEquals(0, simulation.changesIn(200, 300));
+        simulation.run(100D, 200);
+        Assert.assertTrue(pool.core >= 5 && pool.core <= 10);
+        Assert.assertEquals(0, simulation.changesIn(400, 500));
+        // one increasing phase followed by one decreasing phase
+        Assert.assertEquals(1, simulation.directionChanges());
+    }
+
+    @Test
+    public void testCpuLimit() {
+        SimulatedPool pool = new SimulatedPool(2, 10, 10000, false);
+        pool.cpuLoad = 0.95D;
+        Simulation simulation = new Simulation(newProperties(), pool);
+        simulation.run(200D, 50);
+        Assert.assertEquals(2, pool.core);
+    }
+
+    @Test
+    public void testEnlargeQueueAtMaxCorePoolSize() {
+        AutoTuningProperties properties = newProperties();
+        properties.setMaxCorePoolSize(8);
+        properties.setMaxQueueCapacity(4096);
+        SimulatedPool pool = new SimulatedPool(8, 8, 1024, true);
+        Simulation simulation = new Simulation(properties, pool);
+        simulation.run(200D, 20);
+        Assert.assertEquals(8, pool.core);
+        Assert.assertEquals(4096, pool.capacity);
+        simulation.run(20D, 100);
+        Assert.assertEquals(1024, pool.capacity);
+    }
+
+    @Test
+    public void testRebaselineAfterExternalChange() {
+        AimdThreadPoolTuner tuner = new AimdThreadPoolTuner(newProperties());
+        ThreadPoolTuningSample busy = ThreadPoolTuningSample.builder()
+                .corePoolSize(4).maximumPoolSize(8).activeCount(4).queueSize(100).queueCapacity(1000)
+                .queueWaitNanos(TimeUnit.SECONDS.toNanos(1)).build();
+        Assert.assertNull(tuner.tune(busy, 0));
+        Assert.assertNull(tuner.tune(busy, 5000));
+        // changed by console, the streak starts over
+        busy.setCorePoolSize(6);
+        Assert.assertNull(tuner.tune(busy, 10000));
+        Assert.assertNull(tuner.tune(busy, 15000));
+        ThreadPoolTuningDecision decision = tuner.tune(busy, 20000);
+        Assert.assertEquals(8, decision.getCorePoolSize());
+        Assert.assertEquals(8, decision.getMaximumPoolSize());
+        Assert.assertNull(decision.getQueueCapacity());
+    }
+
+    @Test
+    public void testNeverRaiseCorePoolSizeWhenIdle() {
+        AutoTuningProperties properties = newProperties();
+        properties.setMinCorePoolSize(4);
+        AimdThreadPoolTuner tuner = new AimdThreadPoolTuner(properties);
+        ThreadPoolTuningSample idle = ThreadPoolTuningSample.builder()
+                .corePoolSize(2).maximumPoolSize(8).activeCount(0).queueSize(0).queueCapacity(1000)
+                .resizableQueue(true).build();
+        Assert.assertNull(tuner.tune(idle, 0));
+        // the queue was enlarged before, the core pool size below the lower bound is kept while shrinking it
+        idle.setQueueCapacity(4000);
+        Assert.assertNull(tuner.tune(idle, 5000));
+        ThreadPoolTuningDecision decision = tuner.tune(idle, 10000);
+        Assert.assertEquals(2, decision.getCorePoolSize());
+        Assert.assertEquals(8, decision.getMaximumPoolSize());
+        Assert.assertEquals(Integer.valueOf(2000), decision.getQueueCapacity());
+    }
+
+    @Test
+    public void testTuneMaximumPoolSizeOfSingleSizePool() {
+        AimdThreadPoolTuner tuner = new AimdThreadPoolTuner(newProperties());
+        ThreadPoolTuningSample idle = ThreadPoolTuningSample.builder()
+                .corePoolSize(16).maximumPoolSize(16).activeCount(0).queueSize(0).queueCapacity(1000)
+                .singleSize(true).build();
+        Assert.assertNull(tuner.tune(idle, 0));
+        Assert.assertNull(tuner.tune(idle, 5000));
+        ThreadPoolTuningDecision decision = tuner.tune(idle, 10000);
+        Assert.assertEquals(decision.getCorePoolSize(), decision.getMaximumPoolSize());
+        Assert.assertTrue(decision.getMaximumPoolSize() < 16);
+        // the pool follows the decision, no rebaseline happens
+        ThreadPoolTuningSample busy = ThreadPoolTuningSample.builder()
+                .corePoolSize(decision.getCorePoolSize()).maximumPoolSize(decision.getMaximumPoolSize())
+                .activeCount(decision.getCorePoolSize()).queueSize(100).queueCapacity(1000)
+                .queueWaitNanos(TimeUnit.SECONDS.toNanos(1)).singleSize(true).build();
+        Assert.assertNull(tuner.tune(busy, 15000));
+        Assert.assertNull(tuner.tune(busy, 20000));
+        ThreadPoolTuningDecision increased = tuner.tune(busy, 25000);
+        Assert.assertEquals(decision.getCorePoolSize() + 2, increased.getCorePoolSize());
+        Assert.assertEquals(increased.getCorePoolSize(), increased.getMaximumPoolSize());
+    }
+
+    private static AutoTuningProperties newProperties() {
+        AutoTuningProperties properties = new AutoTuningProperties();
+        properties.setCooldown(3 * SAMPLE_INTERVAL_MILLIS);
+        properties.setMaxCorePoolSize(64);
+        return properties;
+    }
+
+    /**
+     * Fluid model of thread-pool: the queue is drained by {@code core} threads in each interval.
+     */
+    private static class SimulatedPool {
+
+        private int core;
+
+        private int max;
+
+        private int capacity;
+
+        private final boolean resizable;
+
+        private double queue;
+
+        private double cpuLoad = 0.3D;
+
+        SimulatedPool(int core, int max, int capacity, boolean resizable) {
+            this.core = core;
+            this.max = max;
+            this.capacity = capacity;
+            this.resizable = resizable;
+        }
+
+        ThreadPoolTuningSample step(double tasksPerSecond) {
+            double seconds = SAMPLE_INTERVAL_MILLIS / 1000D;
+            double throughput = core * 1000D / SERVICE_MILLIS;
+            double pending = queue + tasksPerSecond * seconds;
+            double served = Math.min(pending, throughput * seconds);
+            queue = pending - served;
+            double rejected = Math.max(0D, queue - capacity);
+            queue -= rejected;
+            int active = (int) Math.min(core, Math.ceil(served / seconds * SERVICE_MILLIS / 1000D));
+            return ThreadPoolTuningSample.builder()
+                    .corePoolSize(core)
+                    .maximumPoolSize(max)
+                    .activeCount(active)
+                    .queueSize((int) queue)
+                    .queueCapacity(capacity)
+                    .resizableQueue(resizable)
+                    .queueWaitNanos((long) (queue / throughput * TimeUnit.SECONDS.toNanos(1)))
+                    .rejectCount((long) rejected)
+                    .cpuLoad(cpuLoad)
+                    .build();
+        }
+
+        void apply(ThreadPoolTuningDecision decision) {
+            core = decision.getCorePoolSize();
+            max = decision.getMaximumPoolSize();
+            if (decision.getQueueCapacity() != null) {
+                capacity = decision.getQueueCapacity();
+            }
+        }
+    }
+
+    private static class Simulation {
+
+        private final AimdThreadPoolTuner tuner;
+
+        private final SimulatedPool pool;
+
+        private final List<Integer> coreSizes = new ArrayList<>();
+
+        private long nowMillis;
+
+        Simulation(AutoTuningProperties properties, SimulatedPool pool) {
+            this.tuner = new AimdThreadPoolTuner(properties);
+            this.pool = pool;
+        }
+
+        void run(double tasksPerSecond, int samples) {
+            for (int i = 0; i < samples; i++) {
+                ThreadPoolTuningDecision decision = tuner.tune(pool.step(tasksPerSecond), nowMillis);
+                if (decision != null) {
+                    pool.apply(decision);
+                }
+                coreSizes.add(pool.core);
+                nowMillis += SAMPLE_INTERVAL_MILLIS;
+            }
+        }
+
+        int changesIn(int from, int to) {
+            int changes = 0;
+            for (int i = Math.max(from, 1); i < to; i++) {
+                if (!coreSizes.get(i).equals(coreSizes.get(i - 1))) {
+                    changes++;
+                }
+            }
+            return changes;
+        }
+
+        /**
+         * Number of times the core pool size turns from increasing to decreasing or the opposite.
+         */
+        int directionChanges() {
+            int changes = 0;
+            int lastDirection = 0;
+            for (int i = 1; i < coreSizes.size(); i++) {
+                int direction = Integer.signum(coreSizes.get(i) - coreSizes.get(i - 1));
+                if (direction != 0) {
+                    if (lastDirection != 0 && direction != lastDirection) {
+                        changes++;
+                    }
+                    lastDirection = direction;
+                }
+            }
+            return changes;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.core.toolkit;
+
+import cn.hippo4j.common.toolkit.ThreadUtil;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * test for {@link LatencyHistogram}
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void testBucketIndex() {
+        for (long value = 0L; value < 16L; value++) {
+            Assert.assertEquals(value, LatencyHistogram.bucketIndex(value));
+            Assert.assertEquals(value, LatencyHistogram.highestValueOf((int) value));
+        }
+        long[] values = {16L, 17L, 1000L, 123456789L, 1L << 36, (1L << 37) - 1};
+        for (long value : values) {
+            int index = LatencyHistogram.bucketIndex(value);
+            Assert.assertTrue(value <= LatencyHistogram.highestValueOf(index));
+            Assert.assertTrue(value > LatencyHistogram.highestValueOf(index - 1));
+            // relative error is not greater than 1/16
+            Assert.assertTrue(LatencyHistogram.highestValueOf(index) - value <= value / 16);
+        }
+        Assert.assertEquals(LatencyHistogram.BUCKET_COUNT - 1, LatencyHistogram.bucketIndex(Long.MAX_VALUE));
+        Assert.assertEquals(0, LatencyHistogram.bucketIndex(-1L));
+    }
+
+    @Test
+    public void testPercentile() {
+        LatencyHistogram histogram = new LatencyHistogram(-1L);
+        for (long i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        Assert.assertEquals(1000L, snapshot.getCount());
+        Assert.assertEquals(1000000L, snapshot.getMax());
+        assertInDeviation(500000L, snapshot.getP50());
+        assertInDeviation(900000L, snapshot.getP90());
+        assertInDeviation(990000L, snapshot.getP99());
+        assertInDeviation(999000L, snapshot.getP999());
+        Assert.assertEquals(snapshot.getMax(), snapshot.getValueAtPercentile(100D));
+    }
+
+    @Test
+    public void testEmptySnapshot() {
+        LatencyHistogram.Snapshot snapshot = new LatencyHistogram(1000L).snapshot();
+        Assert.assertEquals(0L, snapshot.getCount());
+        Assert.assertEquals(0L, snapshot.getMax());
+        Assert.assertEquals(0L, snapshot.getP99());
+    }
+
+    @Test
+    public void testMergeRecorders() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram(-1L);
+        int threadCount = 4;
+        CountDownLatch latch = new CountDownLatch(threadCount);
+        for (int i = 0; i < threadCount; i++) {
+            new Thread(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    histogram.record(100L);
+                }
+                latch.countDown();
+            }).start();
+        }
+        latch.await();
+        Assert.assertEquals(4000L, histogram.snapshot().getCount());
+    }
+
+    @Test
+    public void testSlidingWindow() {
+        LatencyHistogram histogram = new LatencyHistogram(200L);
+        histogram.record(100L);
+        Assert.assertEquals(1L, histogram.snapshot().getCount());
+        ThreadUtil.sleep(300L);
+        Assert.assertEquals(0L, histogram.snapshot().getCount());
+        histogram.record(200L);
+        Assert.assertEquals(1L, histogram.snapshot().getCount());
+        Assert.assertEquals(200L, histogram.snapshot().getMax());
+    }
+
+    @Test
+    public void testReset() {
+        LatencyHistogram histogram = new LatencyHistogram(-1L);
+        histogram.record(100L);
+        histogram.reset();
+        Assert.assertEquals(0L, histogram.snapshot().getCount());
+        histogram.record(100L);
+        Assert.assertEquals(1L, histogram.snapshot().getCount());
+    }
+
+    private static void assertInDeviation(long expect, long actual) {
+        Assert.assertTrue(actual + " is not close to " + expect, Math.abs(actual - expect) <= expect / 16);
+    }
+
+    @Test
+    public void testReuseSnapshot() {
+        LatencyHistogram histogram = new LatencyHistogram(-1L);
+        histogram.record(100L);
+        histogram.record(200L);
+        LatencyHistogram.Snapshot snapshot = new LatencyHistogram.Snapshot();
+        Assert.assertSame(snapshot, histogram.snapshot(snapshot));
+        Assert.assertEquals(2L, snapshot.getCount());
+        Assert.assertEquals(200L, snapshot.getMax());
+
+        // counts of the last read must not be accumulated
+        LatencyHistogram other = new LatencyHistogram(-1L);
+        other.record(50L);
+        other.snapshot(snapshot);
+        Assert.assertEquals(1L, snapshot.getCount());
+        Assert.assertEquals(50L, snapshot.getMax());
+        Assert.assertEquals(50L, snapshot.getP99());
+    }
+}
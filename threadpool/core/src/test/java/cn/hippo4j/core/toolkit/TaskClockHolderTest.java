@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.core.toolkit;
+
+import cn.hippo4j.common.toolkit.ThreadUtil;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * test for {@link TaskClockHolder}
+ */
+public class TaskClockHolderTest {
+
+    @Test
+    public void testGetClock() {
+        Assert.assertSame(TaskClock.NANO_TIME, TaskClockHolder.getClock(null));
+        Assert.assertSame(TaskClock.NANO_TIME, TaskClockHolder.getClock(TaskClockHolder.NANO_CLOCK));
+        Assert.assertSame(TaskClock.NANO_TIME, TaskClockHolder.getClock("unknown"));
+        Assert.assertSame(SystemClock.getInstance(), TaskClockHolder.getClock(" COARSE "));
+    }
+
+    @Test
+    public void testGetDefault() {
+        Assert.assertNotNull(TaskClockHolder.getDefault());
+        Assert.assertSame(TaskClockHolder.getDefault(), TaskClockHolder.getDefault());
+    }
+
+    @Test
+    public void testSetDefault() {
+        TaskClock origin = TaskClockHolder.getDefault();
+        TaskClock clock = () -> 1L;
+        try {
+            TaskClockHolder.setDefault(clock);
+            Assert.assertSame(clock, TaskClockHolder.getDefault());
+        } finally {
+            TaskClockHolder.setDefault(origin);
+        }
+    }
+
+    @Test
+    public void testSystemClockAdvance() {
+        SystemClock clock = SystemClock.getInstance();
+        long nanoTime = clock.nanoTime();
+        long millis = SystemClock.now();
+        ThreadUtil.sleep(50L);
+        Assert.assertTrue(clock.nanoTime() > nanoTime);
+        Assert.assertTrue(SystemClock.now() > millis);
+    }
+}
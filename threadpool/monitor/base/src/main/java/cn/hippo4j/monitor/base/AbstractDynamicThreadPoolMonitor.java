@@ -21,6 +21,8 @@ import cn.hippo4j.common.executor.ThreadPoolExecutorRegistry;
 import cn.hippo4j.common.model.ThreadPoolRunStateInfo;
 import cn.hippo4j.core.executor.state.ThreadPoolRunStateHandler;
 import cn.hippo4j.threadpool.monitor.api.DynamicThreadPoolMonitor;
+import lombok.AccessLevel;
+import lombok.Getter;
 
 import javax.annotation.Resource;
 import java.util.List;
@@ -30,6 +32,7 @@ import java.util.List;
  */
 public abstract class AbstractDynamicThreadPoolMonitor implements DynamicThreadPoolMonitor {
 
+    @Getter(AccessLevel.PROTECTED)
     private ThreadPoolRunStateHandler threadPoolRunStateHandler;
 
     public AbstractDynamicThreadPoolMonitor(ThreadPoolRunStateHandler handler) {
@@ -17,11 +17,13 @@
 
 package cn.hippo4j.monitor.micrometer;
 
+import cn.hippo4j.common.executor.ThreadPoolExecutorRegistry;
 import cn.hippo4j.core.config.ApplicationContextHolder;
+import cn.hippo4j.common.model.PoolStatsSnapshot;
 import cn.hippo4j.common.model.ThreadPoolRunStateInfo;
-import cn.hippo4j.common.toolkit.BeanUtil;
 import cn.hippo4j.common.toolkit.CollectionUtil;
 import cn.hippo4j.core.executor.state.ThreadPoolRunStateHandler;
+import cn.hippo4j.core.toolkit.LatencyHistogram;
 import cn.hippo4j.monitor.base.AbstractDynamicThreadPoolMonitor;
 import cn.hippo4j.threadpool.monitor.support.MonitorTypeEnum;
 import io.micrometer.core.instrument.Metrics;
@@ -30,9 +32,14 @@ import org.springframework.core.env.Environment;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
 
 /**
  * Dynamic thread-pool micrometer monitor handler.
+ *
+ * <p>The gauges are bound to a {@link PoolStatsSnapshot} kept per thread-pool together with the
+ * {@link LatencyHistogram.Snapshot} it is filled through, both are refilled on every collection,
+ * so no run state info is created for the metrics.
  */
 public class DynamicThreadPoolMicrometerMonitorHandler extends AbstractDynamicThreadPoolMonitor {
 
@@ -42,37 +49,85 @@ public class DynamicThreadPoolMicrometerMonitorHandler extends AbstractDynamicTh
 
     private static final String APPLICATION_NAME_TAG = "application.name";
 
-    private final Map<String, ThreadPoolRunStateInfo> runStateCache = new ConcurrentHashMap<>();
+    private final Map<String, PoolGauges> gaugesCache = new ConcurrentHashMap<>();
 
     public DynamicThreadPoolMicrometerMonitorHandler(ThreadPoolRunStateHandler handler) {
         super(handler);
     }
 
+    @Override
+    public void collect() {
+        for (String each : ThreadPoolExecutorRegistry.listThreadPoolExecutorId()) {
+            collect(each, ThreadPoolExecutorRegistry.getHolder(each).getExecutor());
+        }
+    }
+
     @Override
     protected void execute(ThreadPoolRunStateInfo poolRunStateInfo) {
-        ThreadPoolRunStateInfo stateInfo = runStateCache.get(poolRunStateInfo.getTpId());
-        if (stateInfo != null) {
-            BeanUtil.convert(poolRunStateInfo, stateInfo);
-        } else {
-            runStateCache.put(poolRunStateInfo.getTpId(), poolRunStateInfo);
+        String threadPoolId = poolRunStateInfo.getTpId();
+        collect(threadPoolId, ThreadPoolExecutorRegistry.getHolder(threadPoolId).getExecutor());
+    }
+
+    private void collect(String threadPoolId, ThreadPoolExecutor executor) {
+        PoolGauges gauges = gaugesCache.computeIfAbsent(threadPoolId, this::newPoolGauges);
+        PoolStatsSnapshot snapshot = getThreadPoolRunStateHandler().snapshot(executor, gauges.snapshot, gauges.latency);
+        if (!gauges.registered) {
+            registerGauges(gauges);
+            gauges.registered = true;
         }
+        // the optional gauges are registered once the plugins providing them are present
+        if (!gauges.executeTimeRegistered && snapshot.getExecuteTimeMax() != PoolStatsSnapshot.ABSENT) {
+            Metrics.gauge(metricName("execute.time.p50"), gauges.tags, snapshot, each -> optionalValue(each.getExecuteTimeP50()));
+            Metrics.gauge(metricName("execute.time.p90"), gauges.tags, snapshot, each -> optionalValue(each.getExecuteTimeP90()));
+            Metrics.gauge(metricName("execute.time.p99"), gauges.tags, snapshot, each -> optionalValue(each.getExecuteTimeP99()));
+            Metrics.gauge(metricName("execute.time.p999"), gauges.tags, snapshot, each -> optionalValue(each.getExecuteTimeP999()));
+            Metrics.gauge(metricName("execute.time.max"), gauges.tags, snapshot, each -> optionalValue(each.getExecuteTimeMax()));
+            gauges.executeTimeRegistered = true;
+        }
+        if (!gauges.queueWaitTimeRegistered && snapshot.getQueueWaitTimeMax() != PoolStatsSnapshot.ABSENT) {
+            Metrics.gauge(metricName("queue.wait.time.p50"), gauges.tags, snapshot, each -> optionalValue(each.getQueueWaitTimeP50()));
+            Metrics.gauge(metricName("queue.wait.time.p90"), gauges.tags, snapshot, each -> optionalValue(each.getQueueWaitTimeP90()));
+            Metrics.gauge(metricName("queue.wait.time.p99"), gauges.tags, snapshot, each -> optionalValue(each.getQueueWaitTimeP99()));
+            Metrics.gauge(metricName("queue.wait.time.p999"), gauges.tags, snapshot, each -> optionalValue(each.getQueueWaitTimeP999()));
+            Metrics.gauge(metricName("queue.wait.time.max"), gauges.tags, snapshot, each -> optionalValue(each.getQueueWaitTimeMax()));
+            gauges.queueWaitTimeRegistered = true;
+        }
+        if (!gauges.shedCountRegistered && snapshot.getShedCount() != PoolStatsSnapshot.ABSENT) {
+            Metrics.gauge(metricName("shed.count"), gauges.tags, snapshot, each -> optionalValue(each.getShedCount()));
+            gauges.shedCountRegistered = true;
+        }
+    }
+
+    private PoolGauges newPoolGauges(String threadPoolId) {
         Environment environment = ApplicationContextHolder.getInstance().getEnvironment();
         String applicationName = environment.getProperty("spring.application.name", "application");
-        Iterable<Tag> tags = CollectionUtil.newArrayList(
-                Tag.of(DYNAMIC_THREAD_POOL_ID_TAG, poolRunStateInfo.getTpId()),
-                Tag.of(APPLICATION_NAME_TAG, applicationName));
-        Metrics.gauge(metricName("current.load"), tags, poolRunStateInfo, ThreadPoolRunStateInfo::getSimpleCurrentLoad);
-        Metrics.gauge(metricName("peak.load"), tags, poolRunStateInfo, ThreadPoolRunStateInfo::getSimplePeakLoad);
-        Metrics.gauge(metricName("core.size"), tags, poolRunStateInfo, ThreadPoolRunStateInfo::getCoreSize);
-        Metrics.gauge(metricName("maximum.size"), tags, poolRunStateInfo, ThreadPoolRunStateInfo::getMaximumSize);
-        Metrics.gauge(metricName("current.size"), tags, poolRunStateInfo, ThreadPoolRunStateInfo::getPoolSize);
-        Metrics.gauge(metricName("largest.size"), tags, poolRunStateInfo, ThreadPoolRunStateInfo::getLargestPoolSize);
-        Metrics.gauge(metricName("active.size"), tags, poolRunStateInfo, ThreadPoolRunStateInfo::getActiveSize);
-        Metrics.gauge(metricName("queue.size"), tags, poolRunStateInfo, ThreadPoolRunStateInfo::getQueueSize);
-        Metrics.gauge(metricName("queue.capacity"), tags, poolRunStateInfo, ThreadPoolRunStateInfo::getQueueCapacity);
-        Metrics.gauge(metricName("queue.remaining.capacity"), tags, poolRunStateInfo, ThreadPoolRunStateInfo::getQueueRemainingCapacity);
-        Metrics.gauge(metricName("completed.task.count"), tags, poolRunStateInfo, ThreadPoolRunStateInfo::getCompletedTaskCount);
-        Metrics.gauge(metricName("reject.count"), tags, poolRunStateInfo, ThreadPoolRunStateInfo::getRejectCount);
+        return new PoolGauges(CollectionUtil.newArrayList(
+                Tag.of(DYNAMIC_THREAD_POOL_ID_TAG, threadPoolId),
+                Tag.of(APPLICATION_NAME_TAG, applicationName)));
+    }
+
+    private void registerGauges(PoolGauges gauges) {
+        Iterable<Tag> tags = gauges.tags;
+        PoolStatsSnapshot snapshot = gauges.snapshot;
+        Metrics.gauge(metricName("current.load"), tags, snapshot, PoolStatsSnapshot::getCurrentLoad);
+        Metrics.gauge(metricName("peak.load"), tags, snapshot, PoolStatsSnapshot::getPeakLoad);
+        Metrics.gauge(metricName("core.size"), tags, snapshot, PoolStatsSnapshot::getCorePoolSize);
+        Metrics.gauge(metricName("maximum.size"), tags, snapshot, PoolStatsSnapshot::getMaximumPoolSize);
+        Metrics.gauge(metricName("current.size"), tags, snapshot, PoolStatsSnapshot::getPoolSize);
+        Metrics.gauge(metricName("largest.size"), tags, snapshot, PoolStatsSnapshot::getLargestPoolSize);
+        Metrics.gauge(metricName("active.size"), tags, snapshot, PoolStatsSnapshot::getActiveCount);
+        Metrics.gauge(metricName("queue.size"), tags, snapshot, PoolStatsSnapshot::getQueueSize);
+        Metrics.gauge(metricName("queue.capacity"), tags, snapshot, PoolStatsSnapshot::getQueueCapacity);
+        Metrics.gauge(metricName("queue.remaining.capacity"), tags, snapshot, PoolStatsSnapshot::getQueueRemainingCapacity);
+        Metrics.gauge(metricName("completed.task.count"), tags, snapshot, PoolStatsSnapshot::getCompletedTaskCount);
+        Metrics.gauge(metricName("reject.count"), tags, snapshot, PoolStatsSnapshot::getRejectCount);
+    }
+
+    /**
+     * Optional values become {@link Double#NaN} once the plugin providing them is removed, so they are not reported as real values.
+     */
+    private static double optionalValue(long value) {
+        return value == PoolStatsSnapshot.ABSENT ? Double.NaN : value;
     }
 
     private String metricName(String name) {
@@ -83,4 +138,28 @@ public class DynamicThreadPoolMicrometerMonitorHandler extends AbstractDynamicTh
     public String getType() {
         return MonitorTypeEnum.MICROMETER.name().toLowerCase();
     }
+
+    /**
+     * Snapshot of a thread-pool and the state of its gauges.
+     */
+    private static class PoolGauges {
+
+        private final PoolStatsSnapshot snapshot = new PoolStatsSnapshot();
+
+        private final LatencyHistogram.Snapshot latency = new LatencyHistogram.Snapshot();
+
+        private final Iterable<Tag> tags;
+
+        private boolean registered;
+
+        private boolean executeTimeRegistered;
+
+        private boolean queueWaitTimeRegistered;
+
+        private boolean shedCountRegistered;
+
+        PoolGauges(Iterable<Tag> tags) {
+            this.tags = tags;
+        }
+    }
 }
@@ -18,6 +18,7 @@
 package cn.hippo4j.rpc.client;
 
 import cn.hippo4j.rpc.connection.ClientConnection;
+import cn.hippo4j.rpc.connection.MultiplexClientConnection;
 import cn.hippo4j.rpc.connection.SimpleClientConnection;
 import cn.hippo4j.rpc.exception.OperationException;
 import cn.hippo4j.rpc.handler.ErrorClientHandler;
@@ -38,6 +39,7 @@ import java.net.InetSocketAddress;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
@@ -65,6 +67,11 @@ public final class ClientSupport {
      */
     private static final Map<InetSocketAddress, Client> CLIENT_MAP = new ConcurrentHashMap<>();
 
+    /**
+     * the cache for client that multiplexes requests on persistent channels
+     */
+    private static final Map<InetSocketAddress, Client> MULTIPLEX_CLIENT_MAP = new ConcurrentHashMap<>();
+
     /**
      * Obtain the client connected to the server through the server address. If the client does not exist, create one
      *
@@ -96,6 +103,31 @@ public final class ClientSupport {
         return getClient(address, new ClientPoolHandler());
     }
 
+    /**
+     * Obtain the client that multiplexes requests on persistent channels to the server. If the client does not exist, create one
+     *
+     * @param address the address
+     * @return Client
+     * @see MultiplexClientConnection
+     */
+    public static Client getMultiplexClient(InetSocketAddress address) {
+        return MULTIPLEX_CLIENT_MAP.computeIfAbsent(address, a -> new RPCClient(new MultiplexClientConnection(a)));
+    }
+
+    /**
+     * Send a request to the server through the multiplexed client without waiting for the response
+     *
+     * @param address     address
+     * @param handlerName The handler that can handle this request
+     * @param param       parameter
+     * @return future of the result
+     */
+    public static <R> CompletableFuture<R> clientSendAsync(String address, String handlerName, Object[] param) {
+        InetSocketAddress socketAddress = AddressUtil.getInetAddress(address);
+        Client client = getMultiplexClient(socketAddress);
+        return client.connectAsync(new DefaultRequest(UUID.randomUUID().toString(), handlerName, param));
+    }
+
     /**
      * Find a suitable client and send a request to the server
      *
@@ -139,7 +171,19 @@ public final class ClientSupport {
      * @param address the address
      */
     public static void closeClient(InetSocketAddress address) {
-        Client client = CLIENT_MAP.remove(address);
+        closeClient(CLIENT_MAP.remove(address));
+    }
+
+    /**
+     * Close the multiplexed client connected to a server address. The client may have been closed
+     *
+     * @param address the address
+     */
+    public static void closeMultiplexClient(InetSocketAddress address) {
+        closeClient(MULTIPLEX_CLIENT_MAP.remove(address));
+    }
+
+    private static void closeClient(Client client) {
         Optional.ofNullable(client)
                 .ifPresent(c -> {
                     try {
@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.rpc.coder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectStreamClass;
+import java.io.StreamCorruptedException;
+
+/**
+ * object InputStream, reads the stream written by {@link CompactObjectOutputStream}
+ *
+ * @since 2.0.0
+ */
+public class CompactObjectInputStream extends ObjectInputStream {
+
+    private final ClassLoader classLoader;
+
+    public CompactObjectInputStream(InputStream in) throws IOException {
+        super(in);
+        this.classLoader = CompactObjectInputStream.class.getClassLoader();
+    }
+
+    @Override
+    protected void readStreamHeader() throws IOException {
+        int version = readByte() & 0xFF;
+        if (version != STREAM_VERSION) {
+            throw new StreamCorruptedException("Unsupported version: " + version);
+        }
+    }
+
+    @Override
+    protected ObjectStreamClass readClassDescriptor() throws IOException, ClassNotFoundException {
+        int type = read();
+        if (type < 0) {
+            throw new StreamCorruptedException("Unexpected end of stream");
+        }
+        switch (type) {
+            case CompactObjectOutputStream.TYPE_FAT_DESCRIPTOR:
+                return super.readClassDescriptor();
+            case CompactObjectOutputStream.TYPE_THIN_DESCRIPTOR:
+                String className = readUTF();
+                return ObjectStreamClass.lookupAny(Class.forName(className, false, classLoader));
+            default:
+                throw new StreamCorruptedException("Unexpected class descriptor type: " + type);
+        }
+    }
+
+    @Override
+    protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+        try {
+            return Class.forName(desc.getName(), false, classLoader);
+        } catch (ClassNotFoundException ignored) {
+            return super.resolveClass(desc);
+        }
+    }
+}
@@ -0,0 +1,580 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.rpc.coder;
+
+import cn.hippo4j.rpc.exception.CoderException;
+import cn.hippo4j.rpc.model.DefaultRequest;
+import cn.hippo4j.rpc.model.DefaultResponse;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+
+import java.io.Externalizable;
+import java.io.Serializable;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Compact binary serializer without schema<br>
+ * Every value is written with a one byte tag, integers are written as zigzag varints and strings as UTF-8.
+ * A class of bean is defined once in a frame by its name and a fingerprint of its fields, the following objects
+ * of the class only refer to the definition, and every object writes the values of fields in order. Like the thin
+ * class descriptors of {@link JdkSerializer}, field names are not written, and a class whose fields differ on
+ * the two sides is rejected by the fingerprint instead of being misread.
+ * {@link DefaultRequest} and {@link DefaultResponse} are written field by field, including their transient parameters and result.
+ * <p>
+ * Beans follow the rules of JDK serialization: only the non-static, non-transient fields of the {@link Serializable}
+ * classes in the hierarchy are written, and a no-arg constructor is required. Objects that cannot be written in the same
+ * way as JDK serialization, e.g. classes with a custom writeObject, are rejected, and the frame is written by {@link JdkSerializer}.
+ * Shared references are written as copies, and cyclic references are rejected.
+ *
+ * @since 2.0.0
+ */
+public class CompactSerializer implements Serializer {
+
+    public static final byte ID = 1;
+
+    public static final String NAME = "compact";
+
+    static final byte NULL = 0;
+    static final byte TRUE = 1;
+    static final byte FALSE = 2;
+    static final byte INT = 3;
+    static final byte LONG = 4;
+    static final byte DOUBLE = 5;
+    static final byte FLOAT = 6;
+    static final byte SHORT = 7;
+    static final byte BYTE = 8;
+    static final byte CHAR = 9;
+    static final byte STRING = 10;
+    static final byte BYTES = 11;
+    static final byte ARRAY = 12;
+    static final byte COLLECTION = 13;
+    static final byte MAP = 14;
+    static final byte ENUM = 15;
+    static final byte DATE = 16;
+    static final byte BIG_DECIMAL = 17;
+    static final byte REQUEST = 18;
+    static final byte RESPONSE = 19;
+    static final byte CLASS_DEF = 20;
+    static final byte OBJECT = 21;
+
+    /**
+     * The maximum depth of nested objects, deeper objects are probably cyclic references
+     */
+    private static final int MAX_DEPTH = 64;
+
+    /**
+     * Collections are read as the same class, the index is written
+     */
+    private static final List<Class<?>> COLLECTION_TYPES = Arrays.asList(
+            ArrayList.class, LinkedList.class, HashSet.class, LinkedHashSet.class, CopyOnWriteArrayList.class);
+
+    /**
+     * Maps are read as the same class, the index is written
+     */
+    private static final List<Class<?>> MAP_TYPES = Arrays.asList(
+            HashMap.class, LinkedHashMap.class, ConcurrentHashMap.class);
+
+    private static final Map<Class<?>, ClassInfo> CLASS_INFOS = new ConcurrentHashMap<>();
+
+    private static final Map<String, Class<?>> CLASSES = new ConcurrentHashMap<>();
+
+    @Override
+    public byte getId() {
+        return ID;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void serialize(Object obj, ByteBuf out) {
+        new Writer(out).write(obj, 0);
+    }
+
+    @Override
+    public Object deserialize(ByteBuf in) {
+        try {
+            return new Reader(in).read(0);
+        } catch (CoderException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new CoderException("The decoding is abnormal, the class of the transfer object may not match", e);
+        }
+    }
+
+    private static ClassInfo getClassInfo(Class<?> cls) {
+        ClassInfo info = CLASS_INFOS.computeIfAbsent(cls, ClassInfo::new);
+        if (info.unsupported != null) {
+            throw new CoderException(cls.getName() + " is not supported, " + info.unsupported);
+        }
+        return info;
+    }
+
+    private static Class<?> loadClass(String name) {
+        Class<?> cls = CLASSES.get(name);
+        if (cls != null) {
+            return cls;
+        }
+        try {
+            cls = Class.forName(name, false, CompactSerializer.class.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            throw new CoderException("The class of the transfer object does not exist: " + name, e);
+        }
+        CLASSES.put(name, cls);
+        return cls;
+    }
+
+    /**
+     * Write a frame
+     */
+    private static class Writer {
+
+        final ByteBuf out;
+
+        Map<Class<?>, Integer> classIds;
+
+        Writer(ByteBuf out) {
+            this.out = out;
+        }
+
+        void write(Object value, int depth) {
+            if (value == null) {
+                out.writeByte(NULL);
+                return;
+            }
+            if (depth > MAX_DEPTH) {
+                throw new CoderException("The transfer object is nested too deep, it may contain cyclic references");
+            }
+            Class<?> cls = value.getClass();
+            if (cls == String.class) {
+                out.writeByte(STRING);
+                writeString((String) value);
+            } else if (cls == Integer.class) {
+                out.writeByte(INT);
+                writeVarInt(zigzag((Integer) value));
+            } else if (cls == Long.class) {
+                out.writeByte(LONG);
+                writeVarLong(zigzag((Long) value));
+            } else if (cls == Boolean.class) {
+                out.writeByte((Boolean) value ? TRUE : FALSE);
+            } else if (cls == Double.class) {
+                out.writeByte(DOUBLE);
+                out.writeDouble((Double) value);
+            } else if (cls == Float.class) {
+                out.writeByte(FLOAT);
+                out.writeFloat((Float) value);
+            } else if (cls == Short.class) {
+                out.writeByte(SHORT);
+                out.writeShort((Short) value);
+            } else if (cls == Byte.class) {
+                out.writeByte(BYTE);
+                out.writeByte((Byte) value);
+            } else if (cls == Character.class) {
+                out.writeByte(CHAR);
+                out.writeChar((Character) value);
+            } else if (cls == byte[].class) {
+                byte[] bytes = (byte[]) value;
+                out.writeByte(BYTES);
+                writeVarInt(bytes.length);
+                out.writeBytes(bytes);
+            } else if (cls.isArray()) {
+                int length = Array.getLength(value);
+                out.writeByte(ARRAY);
+                writeString(cls.getName());
+                writeVarInt(length);
+                for (int i = 0; i < length; i++) {
+                    write(Array.get(value, i), depth + 1);
+                }
+            } else if (value instanceof Enum) {
+                out.writeByte(ENUM);
+                writeString(((Enum<?>) value).getDeclaringClass().getName());
+                writeString(((Enum<?>) value).name());
+            } else if (cls == Date.class) {
+                out.writeByte(DATE);
+                out.writeLong(((Date) value).getTime());
+            } else if (cls == BigDecimal.class) {
+                out.writeByte(BIG_DECIMAL);
+                writeString(value.toString());
+            } else if (cls == DefaultRequest.class) {
+                DefaultRequest request = (DefaultRequest) value;
+                Object[] parameters = request.getParameters();
+                out.writeByte(REQUEST);
+                write(request.getRID(), depth + 1);
+                write(request.getKey(), depth + 1);
+                writeVarInt(parameters == null ? 0 : parameters.length);
+                if (parameters != null) {
+                    for (Object parameter : parameters) {
+                        write(parameter, depth + 1);
+                    }
+                }
+            } else if (cls == DefaultResponse.class) {
+                DefaultResponse response = (DefaultResponse) value;
+                out.writeByte(RESPONSE);
+                write(response.getRID(), depth + 1);
+                write(response.getErrMsg(), depth + 1);
+                write(response.isErr() ? null : response.getObj(), depth + 1);
+            } else if (value instanceof Collection) {
+                int type = COLLECTION_TYPES.indexOf(cls);
+                if (type < 0) {
+                    throw new CoderException(cls.getName() + " is not supported");
+                }
+                Collection<?> collection = (Collection<?>) value;
+                out.writeByte(COLLECTION);
+                out.writeByte(type);
+                writeVarInt(collection.size());
+                for (Object each : collection) {
+                    write(each, depth + 1);
+                }
+            } else if (value instanceof Map) {
+                int type = MAP_TYPES.indexOf(cls);
+                if (type < 0) {
+                    throw new CoderException(cls.getName() + " is not supported");
+                }
+                Map<?, ?> map = (Map<?, ?>) value;
+                out.writeByte(MAP);
+                out.writeByte(type);
+                writeVarInt(map.size());
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    write(entry.getKey(), depth + 1);
+                    write(entry.getValue(), depth + 1);
+                }
+            } else {
+                writeObject(value, cls, depth);
+            }
+        }
+
+        void writeObject(Object value, Class<?> cls, int depth) {
+            ClassInfo info = getClassInfo(cls);
+            if (classIds == null) {
+                classIds = new HashMap<>();
+            }
+            Integer classId = classIds.get(cls);
+            if (classId == null) {
+                classIds.put(cls, classIds.size());
+                out.writeByte(CLASS_DEF);
+                writeString(cls.getName());
+                out.writeLong(info.fingerprint);
+            } else {
+                out.writeByte(OBJECT);
+                writeVarInt(classId);
+            }
+            try {
+                for (Field field : info.fields) {
+                    write(field.get(value), depth + 1);
+                }
+            } catch (IllegalAccessException e) {
+                throw new CoderException(e);
+            }
+        }
+
+        void writeString(String value) {
+            int length = ByteBufUtil.utf8Bytes(value);
+            writeVarInt(length);
+            ByteBufUtil.reserveAndWriteUtf8(out, value, length);
+        }
+
+        void writeVarInt(int value) {
+            while ((value & ~0x7F) != 0) {
+                out.writeByte((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            out.writeByte(value);
+        }
+
+        void writeVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                out.writeByte((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            out.writeByte((int) value);
+        }
+
+        static int zigzag(int value) {
+            return (value << 1) ^ (value >> 31);
+        }
+
+        static long zigzag(long value) {
+            return (value << 1) ^ (value >> 63);
+        }
+    }
+
+    /**
+     * Read a frame
+     */
+    private static class Reader {
+
+        final ByteBuf in;
+
+        List<ClassInfo> classDefs;
+
+        Reader(ByteBuf in) {
+            this.in = in;
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Object read(int depth) throws Exception {
+            if (depth > MAX_DEPTH) {
+                throw new CoderException("The transfer object is nested too deep");
+            }
+            byte tag = in.readByte();
+            switch (tag) {
+                case NULL:
+                    return null;
+                case TRUE:
+                    return Boolean.TRUE;
+                case FALSE:
+                    return Boolean.FALSE;
+                case INT:
+                    int zigzagInt = readVarInt();
+                    return (zigzagInt >>> 1) ^ -(zigzagInt & 1);
+                case LONG:
+                    long zigzagLong = readVarLong();
+                    return (zigzagLong >>> 1) ^ -(zigzagLong & 1);
+                case DOUBLE:
+                    return in.readDouble();
+                case FLOAT:
+                    return in.readFloat();
+                case SHORT:
+                    return in.readShort();
+                case BYTE:
+                    return in.readByte();
+                case CHAR:
+                    return in.readChar();
+                case STRING:
+                    return readString();
+                case BYTES:
+                    byte[] bytes = new byte[readLength()];
+                    in.readBytes(bytes);
+                    return bytes;
+                case ARRAY:
+                    Class<?> arrayCls = loadClass(readString());
+                    int length = readLength();
+                    Object array = Array.newInstance(arrayCls.getComponentType(), length);
+                    for (int i = 0; i < length; i++) {
+                        Array.set(array, i, read(depth + 1));
+                    }
+                    return array;
+                case ENUM:
+                    Class enumCls = loadClass(readString());
+                    return Enum.valueOf(enumCls, readString());
+                case DATE:
+                    return new Date(in.readLong());
+                case BIG_DECIMAL:
+                    return new BigDecimal(readString());
+                case REQUEST:
+                    String rid = (String) read(depth + 1);
+                    String key = (String) read(depth + 1);
+                    Object[] parameters = new Object[readLength()];
+                    for (int i = 0; i < parameters.length; i++) {
+                        parameters[i] = read(depth + 1);
+                    }
+                    return new DefaultRequest(rid, key, parameters);
+                case RESPONSE:
+                    String responseRid = (String) read(depth + 1);
+                    String errMsg = (String) read(depth + 1);
+                    return new DefaultResponse(responseRid, read(depth + 1), errMsg);
+                case COLLECTION:
+                    Class<?> collectionCls = COLLECTION_TYPES.get(in.readByte());
+                    int size = readLength();
+                    Collection collection = (Collection) collectionCls.newInstance();
+                    for (int i = 0; i < size; i++) {
+                        collection.add(read(depth + 1));
+                    }
+                    return collection;
+                case MAP:
+                    Class<?> mapCls = MAP_TYPES.get(in.readByte());
+                    int entries = readLength();
+                    Map map = (Map) mapCls.newInstance();
+                    for (int i = 0; i < entries; i++) {
+                        map.put(read(depth + 1), read(depth + 1));
+                    }
+                    return map;
+                case CLASS_DEF:
+                    Class<?> cls = loadClass(readString());
+                    ClassInfo info = getClassInfo(cls);
+                    if (in.readLong() != info.fingerprint) {
+                        throw new CoderException("The fields of " + cls.getName() + " do not match the other side, the versions may be different");
+                    }
+                    if (classDefs == null) {
+                        classDefs = new ArrayList<>();
+                    }
+                    classDefs.add(info);
+                    return readObject(info, depth);
+                case OBJECT:
+                    int classId = readVarInt();
+                    if (classDefs == null || classId < 0 || classId >= classDefs.size()) {
+                        throw new CoderException("Undefined class of transfer object: " + classId);
+                    }
+                    return readObject(classDefs.get(classId), depth);
+                default:
+                    throw new CoderException("Unexpected tag of transfer object: " + tag);
+            }
+        }
+
+        Object readObject(ClassInfo info, int depth) throws Exception {
+            Object obj = info.constructor.newInstance();
+            for (Field field : info.fields) {
+                Object value = read(depth + 1);
+                if (value != null || !field.getType().isPrimitive()) {
+                    field.set(obj, value);
+                }
+            }
+            return obj;
+        }
+
+        String readString() {
+            int length = readLength();
+            String value = in.toString(in.readerIndex(), length, StandardCharsets.UTF_8);
+            in.skipBytes(length);
+            return value;
+        }
+
+        /**
+         * Read the length of elements or bytes, each of which takes at least a byte
+         */
+        int readLength() {
+            int length = readVarInt();
+            if (length < 0 || length > in.readableBytes()) {
+                throw new CoderException("Invalid length of transfer object: " + length);
+            }
+            return length;
+        }
+
+        int readVarInt() {
+            int value = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                byte b = in.readByte();
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new CoderException("Malformed varint of transfer object");
+        }
+
+        long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = in.readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new CoderException("Malformed varint of transfer object");
+        }
+    }
+
+    /**
+     * Fields and constructor of a bean class, or the reason why it is not supported
+     */
+    private static class ClassInfo {
+
+        private static final String[] SERIALIZATION_METHODS = {"writeObject", "readObject", "readObjectNoData", "writeReplace", "readResolve"};
+
+        Constructor<?> constructor;
+
+        Field[] fields;
+
+        /**
+         * FNV-1a hash of the names and types of fields in order
+         */
+        long fingerprint = 0xcbf29ce484222325L;
+
+        String unsupported;
+
+        ClassInfo(Class<?> cls) {
+            if (!Serializable.class.isAssignableFrom(cls) || Externalizable.class.isAssignableFrom(cls)) {
+                unsupported = "it is not serializable or it is externalizable";
+                return;
+            }
+            if (cls.isAnonymousClass() || cls.isLocalClass() || (cls.isMemberClass() && !Modifier.isStatic(cls.getModifiers()))) {
+                unsupported = "it is an inner class";
+                return;
+            }
+            try {
+                constructor = cls.getDeclaredConstructor();
+                constructor.setAccessible(true);
+            } catch (Exception e) {
+                unsupported = "it does not have an accessible no-arg constructor";
+                return;
+            }
+            List<Field> fieldList = new ArrayList<>();
+            Set<String> fieldNames = new HashSet<>();
+            for (Class<?> c = cls; c != null && Serializable.class.isAssignableFrom(c); c = c.getSuperclass()) {
+                for (Method method : c.getDeclaredMethods()) {
+                    if (Arrays.asList(SERIALIZATION_METHODS).contains(method.getName())) {
+                        unsupported = "it customizes the serialization";
+                        return;
+                    }
+                }
+                for (Field field : c.getDeclaredFields()) {
+                    int modifiers = field.getModifiers();
+                    if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers)) {
+                        continue;
+                    }
+                    if (!fieldNames.add(field.getName())) {
+                        unsupported = "it has fields with the same name " + field.getName();
+                        return;
+                    }
+                    try {
+                        field.setAccessible(true);
+                    } catch (Exception e) {
+                        unsupported = "its field " + field.getName() + " is not accessible";
+                        return;
+                    }
+                    fieldList.add(field);
+                    hash(field.getName());
+                    hash(field.getType().getName());
+                }
+            }
+            fields = fieldList.toArray(new Field[0]);
+        }
+
+        private void hash(String value) {
+            for (int i = 0; i < value.length(); i++) {
+                fingerprint ^= value.charAt(i);
+                fingerprint *= 0x100000001b3L;
+            }
+            fingerprint ^= ';';
+            fingerprint *= 0x100000001b3L;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.rpc.coder;
+
+import cn.hippo4j.rpc.exception.CoderException;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
+
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamConstants;
+
+/**
+ * Serializer with JDK serialization, the default serializer before negotiation<br>
+ * Its id is the version of the java object stream, so the frames are the same as the ones
+ * of the netty {@link io.netty.handler.codec.serialization.ObjectEncoder}, and can be read by the peers that only know it.
+ *
+ * @since 2.0.0
+ */
+public class JdkSerializer implements Serializer {
+
+    public static final byte ID = (byte) ObjectStreamConstants.STREAM_VERSION;
+
+    public static final String NAME = "jdk";
+
+    @Override
+    public byte getId() {
+        return ID;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void serialize(Object obj, ByteBuf out) {
+        try (ObjectOutputStream outputStream = new CompactObjectOutputStream(new ByteBufOutputStream(out)) {
+
+            @Override
+            protected void writeStreamHeader() {
+                // the version of stream is written as the id
+            }
+        }) {
+            outputStream.writeObject(obj);
+            outputStream.flush();
+        } catch (Exception e) {
+            throw new CoderException("The encoding is abnormal, which may be caused by the transfer object being unable to be serialized", e);
+        }
+    }
+
+    @Override
+    public Object deserialize(ByteBuf in) {
+        try (ObjectInputStream inputStream = new CompactObjectInputStream(new ByteBufInputStream(in)) {
+
+            @Override
+            protected void readStreamHeader() {
+                // the version of stream is read as the id
+            }
+        }) {
+            return inputStream.readObject();
+        } catch (Exception e) {
+            throw new CoderException("The decoding is abnormal, the class of the transfer object may not exist", e);
+        }
+    }
+}
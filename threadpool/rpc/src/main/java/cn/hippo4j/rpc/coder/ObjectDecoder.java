@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.rpc.coder;
+
+import cn.hippo4j.rpc.exception.CoderException;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
+
+/**
+ * this is a decoder, reads the frames written by {@link ObjectEncoder}<br>
+ * The frames of all the registered serializers can be read whatever serializer is negotiated,
+ * including the frames of {@link io.netty.handler.codec.serialization.ObjectEncoder}.
+ *
+ * @since 2.0.0
+ */
+public class ObjectDecoder extends LengthFieldBasedFrameDecoder {
+
+    private static final int BYTE_LENGTH = 4;
+
+    public ObjectDecoder(int maxObjectSize) {
+        super(maxObjectSize, 0, BYTE_LENGTH, 0, BYTE_LENGTH);
+    }
+
+    public ObjectDecoder() {
+        this(Integer.MAX_VALUE);
+    }
+
+    @Override
+    protected Object decode(ChannelHandlerContext ctx, ByteBuf in) throws Exception {
+        ByteBuf frame = (ByteBuf) super.decode(ctx, in);
+        if (frame == null) {
+            return null;
+        }
+        try {
+            byte id = frame.readByte();
+            Serializer serializer = SerializerRegistry.get(id);
+            if (serializer == null) {
+                throw new CoderException("No serializer is registered with id " + id);
+            }
+            return serializer.deserialize(frame);
+        } finally {
+            frame.release();
+        }
+    }
+
+    @Override
+    protected ByteBuf extractFrame(ChannelHandlerContext ctx, ByteBuf buffer, int index, int length) {
+        // the frame is released as soon as it's decoded, so it's not necessary to copy
+        return buffer.retainedSlice(index, length);
+    }
+}
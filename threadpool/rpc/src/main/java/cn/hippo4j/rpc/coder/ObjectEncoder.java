@@ -17,37 +17,46 @@
 
 package cn.hippo4j.rpc.coder;
 
-import cn.hippo4j.rpc.exception.CoderException;
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.ByteBufOutputStream;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.MessageToByteEncoder;
+import lombok.extern.slf4j.Slf4j;
 
-import java.io.ObjectOutputStream;
 import java.io.Serializable;
 
 /**
  * this is a encoder, For custom gluing and unpacking<br>
- * {@link io.netty.handler.codec.serialization.ObjectEncoder}
+ * The frame is the length, the id of {@link Serializer} and the bytes written by it. The serializer
+ * negotiated on the channel is used, and the frame is written by {@link JdkSerializer} if the serializer fails,
+ * so the frames of {@link JdkSerializer} are the same as {@link io.netty.handler.codec.serialization.ObjectEncoder}
  *
+ * @see ObjectDecoder
  * @since 2.0.0
  */
+@Slf4j
 public class ObjectEncoder extends MessageToByteEncoder<Serializable> {
 
     private static final int BYTE_LENGTH = 4;
-    private static final byte[] BYTE = new byte[BYTE_LENGTH];
 
     @Override
     protected void encode(ChannelHandlerContext ctx, Serializable msg, ByteBuf out) {
         int startIndex = out.writerIndex();
-        try (ByteBufOutputStream outPut = new ByteBufOutputStream(out)) {
-            outPut.write(BYTE);
-            try (ObjectOutputStream outputStream = new CompactObjectOutputStream(outPut)) {
-                outputStream.writeObject(msg);
-                outputStream.flush();
+        out.writeInt(0);
+        Serializer serializer = SerializerRegistry.of(ctx.channel());
+        try {
+            out.writeByte(serializer.getId());
+            serializer.serialize(msg, out);
+        } catch (RuntimeException e) {
+            Serializer defaultSerializer = SerializerRegistry.getDefault();
+            if (serializer == defaultSerializer) {
+                throw e;
             }
-        } catch (Exception e) {
-            throw new CoderException("The encoding is abnormal, which may be caused by the transfer object being unable to be serialized");
+            if (log.isDebugEnabled()) {
+                log.debug("{} is written by {} instead of {}: {}", msg.getClass().getName(), defaultSerializer.getName(), serializer.getName(), e.getMessage());
+            }
+            out.writerIndex(startIndex + BYTE_LENGTH);
+            out.writeByte(defaultSerializer.getId());
+            defaultSerializer.serialize(msg, out);
         }
         int endIndex = out.writerIndex();
         out.setInt(startIndex, endIndex - startIndex - BYTE_LENGTH);
@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.rpc.coder;
+
+import cn.hippo4j.common.extension.spi.SingletonSPI;
+import io.netty.buffer.ByteBuf;
+
+/**
+ * <h3>SERIALIZER</h3>
+ * Turns the objects sent between client and server into bytes. Every frame carries the id of its serializer,
+ * so a channel can decode the frames of any registered serializer, and the serializer used to encode is
+ * negotiated when the channel is connected, see {@link SerializerRegistry}.<br>
+ * Serializers are loaded by SPI, the id and name must be unique, ids of the built-in serializers are reserved:
+ * <ul>
+ *     <li>{@link CompactSerializer}</li>
+ *     <li>{@link JdkSerializer}</li>
+ * </ul>
+ * A serializer that cannot write an object should throw {@link cn.hippo4j.rpc.exception.CoderException},
+ * then the object is written by {@link JdkSerializer} instead.
+ *
+ * @since 2.0.0
+ */
+@SingletonSPI
+public interface Serializer {
+
+    /**
+     * The id written before the bytes of every frame
+     *
+     * @return id
+     */
+    byte getId();
+
+    /**
+     * The name used when negotiating the serializer
+     *
+     * @return name
+     */
+    String getName();
+
+    /**
+     * Write the object to the buffer
+     *
+     * @param obj the object
+     * @param out the buffer
+     */
+    void serialize(Object obj, ByteBuf out);
+
+    /**
+     * Read an object from the buffer, which contains exactly the bytes of a frame after the id
+     *
+     * @param in the buffer
+     * @return the object
+     */
+    Object deserialize(ByteBuf in);
+}
@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.rpc.coder;
+
+import cn.hippo4j.common.extension.spi.ServiceLoaderRegistry;
+import io.netty.channel.Channel;
+import io.netty.util.Attribute;
+import io.netty.util.AttributeKey;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The registered {@link Serializer}s, and the serializer negotiated on each channel<br>
+ * The serializers loaded by SPI are preferred to {@link CompactSerializer}, and {@link JdkSerializer} is the last one,
+ * which is used on a channel before the negotiation, or when the peer does not support negotiation.
+ *
+ * @since 2.0.0
+ */
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class SerializerRegistry {
+
+    /**
+     * The serializer negotiated on the channel
+     */
+    public static final AttributeKey<Serializer> SERIALIZER = AttributeKey.valueOf("hippo4j.rpc.serializer");
+
+    private static final Serializer[] SERIALIZERS_BY_ID = new Serializer[256];
+
+    private static final Map<String, Serializer> SERIALIZERS_BY_NAME = new ConcurrentHashMap<>();
+
+    /**
+     * Names of serializers in the order of preference
+     */
+    private static final List<String> NAMES = new ArrayList<>();
+
+    private static final Serializer DEFAULT_SERIALIZER = new JdkSerializer();
+
+    static {
+        ServiceLoaderRegistry.register(Serializer.class);
+        ServiceLoaderRegistry.getSingletonServiceInstances(Serializer.class).forEach(SerializerRegistry::register);
+        register(new CompactSerializer());
+        register(DEFAULT_SERIALIZER);
+    }
+
+    private static synchronized void register(Serializer serializer) {
+        int index = serializer.getId() & 0xFF;
+        if (SERIALIZERS_BY_ID[index] != null || SERIALIZERS_BY_NAME.containsKey(serializer.getName())) {
+            log.warn("Serializer {} is ignored, because its id {} or name {} is already registered",
+                    serializer.getClass().getName(), serializer.getId(), serializer.getName());
+            return;
+        }
+        SERIALIZERS_BY_ID[index] = serializer;
+        SERIALIZERS_BY_NAME.put(serializer.getName(), serializer);
+        NAMES.add(serializer.getName());
+    }
+
+    /**
+     * Get the serializer of the id written in the frame
+     *
+     * @param id id
+     * @return the serializer, or null if it's not registered
+     */
+    public static Serializer get(byte id) {
+        return SERIALIZERS_BY_ID[id & 0xFF];
+    }
+
+    /**
+     * Get the serializer by name
+     *
+     * @param name name
+     * @return the serializer, or null if it's not registered
+     */
+    public static Serializer get(String name) {
+        return name == null ? null : SERIALIZERS_BY_NAME.get(name);
+    }
+
+    /**
+     * Get the names of serializers in the order of preference, which are sent by client when negotiating
+     *
+     * @return names
+     */
+    public static String[] getNames() {
+        return NAMES.toArray(new String[0]);
+    }
+
+    /**
+     * Get the serializer used before negotiation
+     *
+     * @return {@link JdkSerializer}
+     */
+    public static Serializer getDefault() {
+        return DEFAULT_SERIALIZER;
+    }
+
+    /**
+     * Get the serializer negotiated on the channel
+     *
+     * @param channel channel
+     * @return the negotiated serializer, or the default one
+     */
+    public static Serializer of(Channel channel) {
+        Serializer serializer = channel.attr(SERIALIZER).get();
+        return serializer == null ? DEFAULT_SERIALIZER : serializer;
+    }
+
+    /**
+     * Use the serializer to encode on the channel
+     *
+     * @param channel    channel
+     * @param serializer serializer
+     */
+    public static void use(Channel channel, Serializer serializer) {
+        Attribute<Serializer> attribute = channel.attr(SERIALIZER);
+        attribute.set(serializer);
+    }
+}
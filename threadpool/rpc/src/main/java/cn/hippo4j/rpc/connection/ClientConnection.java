@@ -20,6 +20,7 @@ package cn.hippo4j.rpc.connection;
 import cn.hippo4j.rpc.model.Request;
 
 import java.io.Closeable;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Applicable to client connections<br>
@@ -41,6 +42,23 @@ public interface ClientConnection extends Closeable {
      */
     <R> R connect(Request request);
 
+    /**
+     * Send the request and get the response asynchronously<br>
+     * The connection that can not multiplex requests completes it on the calling thread
+     *
+     * @param request Request information
+     * @return future of the response
+     */
+    default <R> CompletableFuture<R> connectAsync(Request request) {
+        CompletableFuture<R> future = new CompletableFuture<>();
+        try {
+            future.complete(connect(request));
+        } catch (Exception e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
     /**
      * Get timeout, ms
      */
@@ -0,0 +1,235 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.rpc.connection;
+
+import cn.hippo4j.rpc.coder.ObjectDecoder;
+import cn.hippo4j.rpc.coder.ObjectEncoder;
+import cn.hippo4j.rpc.exception.ConnectionException;
+import cn.hippo4j.rpc.exception.TimeOutException;
+import cn.hippo4j.rpc.handler.MultiplexClientHandler;
+import cn.hippo4j.rpc.model.DefaultRequest;
+import cn.hippo4j.rpc.model.Request;
+import cn.hippo4j.rpc.support.PendingRequestTable;
+import cn.hippo4j.rpc.handler.ClientHandshakeHandler;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.flush.FlushConsolidationHandler;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Client connection that multiplexes concurrent requests on a few persistent channels<br>
+ * Unlike {@link SimpleClientConnection}, a channel is not held by a request until its response is received,
+ * every request gets a numeric correlation id and is written to the channel right away, the response completes
+ * the future of the request through the {@link PendingRequestTable} of the channel. So no thread is blocked
+ * by an asynchronous call, and the flushes of the requests written at the same time are consolidated.
+ *
+ * @since 2.0.0
+ */
+@Slf4j
+public class MultiplexClientConnection implements ClientConnection {
+
+    /**
+     * Default number of channels, the requests are distributed over them in turn
+     */
+    public static final int DEFAULT_CHANNELS = 2;
+
+    static final String CLOSED_MSG = "The connection is closed";
+
+    private static final ChannelHandler HANDSHAKE_HANDLER = new ClientHandshakeHandler();
+
+    InetSocketAddress address;
+    /**
+     * Obtain the connection timeout period. The default value is 30s
+     */
+    long timeout = 30000L;
+    EventLoopGroup worker = new NioEventLoopGroup();
+    Bootstrap bootstrap;
+    final ChannelFuture[] channels;
+    final AtomicLong idGenerator = new AtomicLong();
+    final AtomicLong selector = new AtomicLong();
+    volatile boolean closed;
+
+    public MultiplexClientConnection(InetSocketAddress address, int channels) {
+        if (channels <= 0) {
+            throw new IllegalArgumentException("the number of channels must be greater than 0");
+        }
+        this.address = address;
+        this.channels = new ChannelFuture[channels];
+        this.bootstrap = new Bootstrap()
+                .group(worker)
+                .channel(NioSocketChannel.class)
+                .option(ChannelOption.TCP_NODELAY, true)
+                .remoteAddress(address)
+                .handler(new ChannelInitializer<SocketChannel>() {
+
+                    @Override
+                    protected void initChannel(SocketChannel ch) {
+                        ChannelPipeline pipeline = ch.pipeline();
+                        pipeline.addLast(new FlushConsolidationHandler(FlushConsolidationHandler.DEFAULT_EXPLICIT_FLUSH_AFTER_FLUSHES, true));
+                        pipeline.addLast(new ObjectEncoder());
+                        pipeline.addLast(new ObjectDecoder());
+                        pipeline.addLast(HANDSHAKE_HANDLER);
+                        pipeline.addLast(new MultiplexClientHandler());
+                    }
+                });
+    }
+
+    public MultiplexClientConnection(InetSocketAddress address) {
+        this(address, DEFAULT_CHANNELS);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <R> R connect(Request request) {
+        CompletableFuture<R> future = connectAsync(request);
+        try {
+            // the pending request times out by itself, this is the last resort
+            return future.get(timeout << 1, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new ConnectionException(cause);
+        } catch (TimeoutException e) {
+            throw new TimeOutException(SimpleClientConnection.TIME_OUT_MSG, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConnectionException(e);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <R> CompletableFuture<R> connectAsync(Request request) {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        if (closed) {
+            future.completeExceptionally(new ConnectionException(CLOSED_MSG));
+            return (CompletableFuture<R>) future;
+        }
+        long id = idGenerator.incrementAndGet();
+        Request multiplexed = new DefaultRequest(Long.toString(id), request.getKey(), request.getParameters());
+        ChannelFuture channelFuture = obtainChannel();
+        if (channelFuture.isDone()) {
+            send(channelFuture, id, multiplexed, future);
+        } else {
+            channelFuture.addListener(f -> send(channelFuture, id, multiplexed, future));
+        }
+        return (CompletableFuture<R>) future;
+    }
+
+    private void send(ChannelFuture channelFuture, long id, Request request, CompletableFuture<Object> future) {
+        if (!channelFuture.isSuccess()) {
+            future.completeExceptionally(new ConnectionException("Failed to get the connection", channelFuture.cause()));
+            return;
+        }
+        Channel channel = channelFuture.channel();
+        MultiplexClientHandler handler = channel.pipeline().get(MultiplexClientHandler.class);
+        if (handler == null) {
+            future.completeExceptionally(new ConnectionException(CLOSED_MSG));
+            return;
+        }
+        PendingRequestTable pendingRequests = handler.getPendingRequests();
+        pendingRequests.register(id, future, timeout);
+        channel.writeAndFlush(request).addListener(f -> {
+            if (!f.isSuccess()) {
+                pendingRequests.fail(id, new ConnectionException("Failed to send the request", f.cause()));
+            }
+        });
+        if (log.isDebugEnabled()) {
+            log.debug("Call successful, target address is {}:{}, request key is {}", address.getHostName(), address.getPort(), id);
+        }
+    }
+
+    /**
+     * Get a channel in turn, the channel is reconnected if it's broken
+     *
+     * @return future of the channel
+     */
+    private ChannelFuture obtainChannel() {
+        int index = (int) (selector.getAndIncrement() % channels.length);
+        ChannelFuture channelFuture = channels[index];
+        if (channelFuture != null && (!channelFuture.isDone() || channelFuture.channel().isActive())) {
+            return channelFuture;
+        }
+        synchronized (channels) {
+            channelFuture = channels[index];
+            if (channelFuture == null || (channelFuture.isDone() && !channelFuture.channel().isActive())) {
+                channelFuture = bootstrap.connect();
+                channels[index] = channelFuture;
+            }
+            return channelFuture;
+        }
+    }
+
+    /**
+     * Get the number of requests waiting for response on all the channels
+     *
+     * @return the number of requests
+     */
+    public int pendingRequests() {
+        int count = 0;
+        for (ChannelFuture channelFuture : channels) {
+            MultiplexClientHandler handler = channelFuture == null ? null : channelFuture.channel().pipeline().get(MultiplexClientHandler.class);
+            if (handler != null) {
+                count += handler.getPendingRequests().size();
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public long timeout() {
+        return timeout;
+    }
+
+    @Override
+    public void setTimeout(long timeout) {
+        this.timeout = timeout;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        synchronized (channels) {
+            for (ChannelFuture channelFuture : channels) {
+                if (channelFuture != null) {
+                    channelFuture.channel().close();
+                }
+            }
+        }
+        worker.shutdownGracefully();
+    }
+
+}
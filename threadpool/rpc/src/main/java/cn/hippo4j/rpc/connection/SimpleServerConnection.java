@@ -17,10 +17,12 @@
 
 package cn.hippo4j.rpc.connection;
 
+import cn.hippo4j.rpc.coder.ObjectDecoder;
 import cn.hippo4j.rpc.coder.ObjectEncoder;
 import cn.hippo4j.rpc.discovery.ServerPort;
 import cn.hippo4j.rpc.exception.ConnectionException;
 import cn.hippo4j.rpc.handler.AbstractHandlerManager;
+import cn.hippo4j.rpc.handler.ServerHandshakeHandler;
 import io.netty.bootstrap.ServerBootstrap;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
@@ -33,8 +35,6 @@ import io.netty.channel.ServerChannel;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.channel.socket.nio.NioServerSocketChannel;
-import io.netty.handler.codec.serialization.ClassResolvers;
-import io.netty.handler.codec.serialization.ObjectDecoder;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.Arrays;
@@ -56,6 +56,7 @@ public class SimpleServerConnection extends AbstractHandlerManager implements Se
     ChannelFuture future;
     Channel channel;
     private static final int MAX_PORT_NUM = 65535;
+    private static final ChannelHandler HANDSHAKE_HANDLER = new ServerHandshakeHandler();
 
     public SimpleServerConnection(EventLoopGroup leader, EventLoopGroup worker, List<ChannelHandler> handlers) {
         super(handlers);
@@ -91,7 +92,8 @@ public class SimpleServerConnection extends AbstractHandlerManager implements Se
                     protected void initChannel(SocketChannel ch) {
                         ChannelPipeline pipeline = ch.pipeline();
                         pipeline.addLast(new ObjectEncoder());
-                        pipeline.addLast(new ObjectDecoder(Integer.MAX_VALUE, ClassResolvers.cacheDisabled(null)));
+                        pipeline.addLast(new ObjectDecoder());
+                        pipeline.addLast(HANDSHAKE_HANDLER);
                         handlerEntities.stream()
                                 .sorted()
                                 .forEach(h -> {
@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.rpc.handler;
+
+import cn.hippo4j.rpc.coder.Serializer;
+import cn.hippo4j.rpc.coder.SerializerRegistry;
+import cn.hippo4j.rpc.model.DefaultRequest;
+import cn.hippo4j.rpc.model.Response;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Negotiate the serializer when the channel is connected<br>
+ * The client sends the names of its serializers in the order of preference, and the server replies with
+ * the first one it supports, then both sides encode with it. Requests sent before the reply are encoded by
+ * the default serializer, which can be decoded by either side. A server that does not know the handshake replies
+ * with an error or nothing, and the default serializer is kept.
+ *
+ * @see ServerHandshakeHandler
+ * @since 2.0.0
+ */
+@Slf4j
+@ChannelHandler.Sharable
+public class ClientHandshakeHandler extends ChannelInboundHandlerAdapter {
+
+    static final String HANDSHAKE_KEY = "hippo4j.rpc.serializer.handshake";
+
+    static final String HANDSHAKE_RID = "serializer-handshake";
+
+    @Override
+    public void channelActive(ChannelHandlerContext ctx) throws Exception {
+        Object[] parameters = {SerializerRegistry.getNames()};
+        ctx.writeAndFlush(new DefaultRequest(HANDSHAKE_RID, HANDSHAKE_KEY, parameters));
+        super.channelActive(ctx);
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+        if (!(msg instanceof Response) || !HANDSHAKE_RID.equals(((Response) msg).getRID())) {
+            super.channelRead(ctx, msg);
+            return;
+        }
+        Response response = (Response) msg;
+        Serializer serializer = response.isErr() ? null : SerializerRegistry.get((String) response.getObj());
+        if (serializer != null) {
+            SerializerRegistry.use(ctx.channel(), serializer);
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("The serializer of {} is {}", ctx.channel().remoteAddress(), SerializerRegistry.of(ctx.channel()).getName());
+        }
+    }
+}
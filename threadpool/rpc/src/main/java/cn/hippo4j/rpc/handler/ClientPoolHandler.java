@@ -17,6 +17,7 @@
 
 package cn.hippo4j.rpc.handler;
 
+import cn.hippo4j.rpc.coder.ObjectDecoder;
 import cn.hippo4j.rpc.coder.ObjectEncoder;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
@@ -24,8 +25,6 @@ import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.pool.ChannelPoolHandler;
 import io.netty.channel.socket.nio.NioSocketChannel;
-import io.netty.handler.codec.serialization.ClassResolvers;
-import io.netty.handler.codec.serialization.ObjectDecoder;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.List;
@@ -38,6 +37,8 @@ import java.util.List;
 @Slf4j
 public class ClientPoolHandler extends AbstractHandlerManager implements ChannelPoolHandler {
 
+    private static final ChannelHandler HANDSHAKE_HANDLER = new ClientHandshakeHandler();
+
     public ClientPoolHandler(List<ChannelHandler> handlers) {
         super(handlers);
     }
@@ -82,7 +83,8 @@ public class ClientPoolHandler extends AbstractHandlerManager implements Channel
                 .setTcpNoDelay(false);
         ChannelPipeline pipeline = ch.pipeline();
         pipeline.addLast(new ObjectEncoder());
-        pipeline.addLast(new ObjectDecoder(Integer.MAX_VALUE, ClassResolvers.cacheDisabled(null)));
+        pipeline.addLast(new ObjectDecoder());
+        pipeline.addLast(HANDSHAKE_HANDLER);
         this.handlerEntities.stream()
                 .sorted()
                 .forEach(h -> {
@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.rpc.handler;
+
+import cn.hippo4j.rpc.exception.ConnectionException;
+import cn.hippo4j.rpc.model.Response;
+import cn.hippo4j.rpc.support.PendingRequestTable;
+import io.netty.channel.ChannelHandlerContext;
+
+/**
+ * Complete the requests multiplexed on a channel with their responses<br>
+ * Each channel has its own handler and {@link PendingRequestTable}, so the requests are failed
+ * as soon as their channel is closed, instead of waiting for the timeout.
+ *
+ * @since 2.0.0
+ */
+public class MultiplexClientHandler extends AbstractTakeHandler {
+
+    private static final String CLOSED_MSG = "The connection is closed before the response is received";
+
+    private final PendingRequestTable pendingRequests = new PendingRequestTable();
+
+    public PendingRequestTable getPendingRequests() {
+        return pendingRequests;
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+        if (msg instanceof Response) {
+            handler((Response) msg);
+        } else {
+            ctx.fireChannelRead(msg);
+        }
+    }
+
+    @Override
+    public void handler(Response response) {
+        pendingRequests.complete(response);
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        pendingRequests.failAll(new ConnectionException(CLOSED_MSG));
+        super.channelInactive(ctx);
+    }
+
+}
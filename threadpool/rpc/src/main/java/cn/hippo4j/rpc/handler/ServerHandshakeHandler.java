@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.rpc.handler;
+
+import cn.hippo4j.rpc.coder.Serializer;
+import cn.hippo4j.rpc.coder.SerializerRegistry;
+import cn.hippo4j.rpc.model.DefaultRequest;
+import cn.hippo4j.rpc.model.DefaultResponse;
+import cn.hippo4j.rpc.model.Request;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+
+import java.util.Objects;
+
+/**
+ * Reply the serializer negotiated with the client, see {@link ClientHandshakeHandler}<br>
+ * The reply is encoded by the default serializer, and the negotiated serializer is used since the next response.
+ *
+ * @since 2.0.0
+ */
+@ChannelHandler.Sharable
+public class ServerHandshakeHandler extends ChannelInboundHandlerAdapter {
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+        if (!(msg instanceof DefaultRequest) || !Objects.equals(((Request) msg).getKey(), ClientHandshakeHandler.HANDSHAKE_KEY)) {
+            super.channelRead(ctx, msg);
+            return;
+        }
+        Request request = (Request) msg;
+        Serializer chosen = SerializerRegistry.getDefault();
+        Object[] parameters = request.getParameters();
+        // no serializer is offered by the client without parameters, the default serializer is kept
+        if (parameters != null && parameters.length == 1 && parameters[0] instanceof String[]) {
+            for (String name : (String[]) parameters[0]) {
+                Serializer serializer = SerializerRegistry.get(name);
+                if (serializer != null) {
+                    chosen = serializer;
+                    break;
+                }
+            }
+        }
+        // the reply is encoded right now on the event loop, before the serializer is changed
+        ctx.writeAndFlush(new DefaultResponse(request.getRID(), (Object) chosen.getName()));
+        SerializerRegistry.use(ctx.channel(), chosen);
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.rpc.support;
+
+import cn.hippo4j.common.executor.ThreadFactoryBuilder;
+import cn.hippo4j.rpc.exception.ConnectionException;
+import cn.hippo4j.rpc.exception.TimeOutException;
+import cn.hippo4j.rpc.model.Response;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import io.netty.util.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The requests waiting for response on a channel, by their numeric correlation id<br>
+ * Unlike {@link ResultHolder}, no thread waits for the result, the future of the request is completed
+ * when the response is received, the request times out, or the channel is closed.
+ * The timeouts of all the tables share a {@link HashedWheelTimer}, so a timeout costs neither a thread nor a scheduled task.
+ *
+ * @since 2.0.0
+ */
+@Slf4j
+public class PendingRequestTable {
+
+    static final String TIME_OUT_MSG = "Timeout waiting for server-side response";
+
+    /**
+     * Precision of the timeout is 10ms, which is enough for the timeout of remote calls
+     */
+    private static final Timer TIMER = new HashedWheelTimer(
+            ThreadFactoryBuilder.builder().daemon(true).prefix("hippo4j-rpc-timeout").build(),
+            10, TimeUnit.MILLISECONDS);
+
+    private final Map<Long, PendingRequest> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Register a request that is going to be sent
+     *
+     * @param id            the correlation id of request
+     * @param future        the future to complete with the result
+     * @param timeoutMillis timeout, ms
+     */
+    public void register(long id, CompletableFuture<Object> future, long timeoutMillis) {
+        PendingRequest request = new PendingRequest(future);
+        pending.put(id, request);
+        request.timeout = TIMER.newTimeout(t -> fail(id, new TimeOutException(TIME_OUT_MSG)), timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Complete the request of the response, responses of the requests that already timed out are ignored
+     *
+     * @param response response
+     */
+    public void complete(Response response) {
+        long id;
+        try {
+            id = Long.parseLong(response.getRID());
+        } catch (NumberFormatException e) {
+            log.warn("Received a response with invalid id {}", response.getRID());
+            return;
+        }
+        PendingRequest request = pending.remove(id);
+        if (request == null) {
+            if (log.isDebugEnabled()) {
+                log.debug("Received the response of a request that is no longer waiting, request key is {}", id);
+            }
+            return;
+        }
+        if (request.timeout != null) {
+            request.timeout.cancel();
+        }
+        if (response.isErr()) {
+            request.future.completeExceptionally(new ConnectionException(response.getErrMsg()));
+        } else {
+            request.future.complete(response.getObj());
+        }
+    }
+
+    /**
+     * Fail a request, e.g. it timed out or failed to be sent
+     *
+     * @param id    the correlation id of request
+     * @param cause the cause
+     */
+    public void fail(long id, Throwable cause) {
+        PendingRequest request = pending.remove(id);
+        if (request != null) {
+            if (request.timeout != null) {
+                request.timeout.cancel();
+            }
+            request.future.completeExceptionally(cause);
+        }
+    }
+
+    /**
+     * Fail all the requests, it's called when the channel is closed
+     *
+     * @param cause the cause
+     */
+    public void failAll(Throwable cause) {
+        pending.keySet().forEach(id -> fail(id, cause));
+    }
+
+    /**
+     * Get the number of requests waiting for response
+     *
+     * @return the number of requests
+     */
+    public int size() {
+        return pending.size();
+    }
+
+    /**
+     * Request waiting for response
+     */
+    private static class PendingRequest {
+
+        final CompletableFuture<Object> future;
+
+        volatile Timeout timeout;
+
+        PendingRequest(CompletableFuture<Object> future) {
+            this.future = future;
+        }
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.rpc.coder;
+
+import cn.hippo4j.common.model.ManyThreadPoolRunStateInfo;
+import cn.hippo4j.common.model.ThreadPoolParameterInfo;
+import cn.hippo4j.rpc.exception.CoderException;
+import cn.hippo4j.rpc.model.DefaultRequest;
+import cn.hippo4j.rpc.model.DefaultResponse;
+import cn.hippo4j.rpc.model.Request;
+import cn.hippo4j.rpc.model.Response;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+public class CompactSerializerTest {
+
+    Serializer serializer = new CompactSerializer();
+
+    @Test
+    public void primitiveTest() {
+        Object[] values = {null, true, false, 0, -1, Integer.MAX_VALUE, Integer.MIN_VALUE, 0L, Long.MIN_VALUE, 1.5D, 2.5F,
+                (short) 3, (byte) 4, 'c', "", "hippo4j 动态线程池", new byte[]{1, 2, 3}, TimeUnit.SECONDS, new Date(),
+                new BigDecimal("3.1415926")};
+        for (Object value : values) {
+            Object result = roundTrip(value);
+            if (value instanceof byte[]) {
+                Assert.assertArrayEquals((byte[]) value, (byte[]) result);
+            } else {
+                Assert.assertEquals(value, result);
+            }
+        }
+    }
+
+    @Test
+    public void containerTest() {
+        List<Object> list = new ArrayList<>(Arrays.asList(1, "a", null, 2L));
+        Assert.assertEquals(list, roundTrip(list));
+        LinkedHashSet<String> set = new LinkedHashSet<>(Arrays.asList("b", "a"));
+        Object setResult = roundTrip(set);
+        Assert.assertEquals(LinkedHashSet.class, setResult.getClass());
+        Assert.assertEquals(new ArrayList<>(set), new ArrayList<>((LinkedHashSet<?>) setResult));
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("a", 1);
+        Map<String, Object> nested = new HashMap<>();
+        nested.put("c", "d");
+        map.put("b", nested);
+        map.put("e", list);
+        Assert.assertEquals(map, roundTrip(map));
+        Object[] array = {1, "a", new String[]{"b"}};
+        Object[] arrayResult = (Object[]) roundTrip(array);
+        Assert.assertEquals(1, arrayResult[0]);
+        Assert.assertArrayEquals(new String[]{"b"}, (String[]) arrayResult[2]);
+        Assert.assertEquals(String[].class, roundTrip(new String[]{"x"}).getClass());
+    }
+
+    @Test
+    public void beanTest() {
+        ThreadPoolParameterInfo info = new ThreadPoolParameterInfo()
+                .setTenantId("prescription")
+                .setItemId("dynamic-threadpool-example")
+                .setTpId("message-consume")
+                .setCorePoolSize(5)
+                .setMaximumPoolSize(10)
+                .setQueueType(9)
+                .setCapacity(1024)
+                .setKeepAliveTime(10000L)
+                .setAllowCoreThreadTimeOut(1);
+        Assert.assertEquals(info, roundTrip(info));
+        // class definitions are written once per frame
+        List<ThreadPoolParameterInfo> list = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            list.add(new ThreadPoolParameterInfo().setTpId("tp-" + i).setCorePoolSize(i));
+        }
+        Assert.assertEquals(list, roundTrip(list));
+        ManyThreadPoolRunStateInfo runState = new ManyThreadPoolRunStateInfo();
+        runState.setIdentify("127.0.0.1:8080_abc");
+        runState.setActive("DEV");
+        runState.setState("Running");
+        runState.setTpId("message-produce");
+        runState.setActiveCount(3);
+        runState.setCompletedTaskCount(100L);
+        ManyThreadPoolRunStateInfo result = (ManyThreadPoolRunStateInfo) roundTrip(runState);
+        Assert.assertEquals(runState.getIdentify(), result.getIdentify());
+        Assert.assertEquals(runState.getActive(), result.getActive());
+        Assert.assertEquals(runState.getTpId(), result.getTpId());
+        Assert.assertEquals(runState.getActiveCount(), result.getActiveCount());
+        Assert.assertEquals(runState.getCompletedTaskCount(), result.getCompletedTaskCount());
+    }
+
+    @Test
+    public void requestResponseTest() {
+        Request request = new DefaultRequest("1", "key", new Object[]{1, "a", new ThreadPoolParameterInfo().setTpId("tp")});
+        Request requestResult = (Request) roundTrip(request);
+        Assert.assertEquals(request, requestResult);
+        Assert.assertArrayEquals(request.getParameters(), requestResult.getParameters());
+        Response response = new DefaultResponse("1", (Object) new ArrayList<>(Arrays.asList("a", "b")));
+        Response responseResult = (Response) roundTrip(response);
+        Assert.assertEquals(response.getRID(), responseResult.getRID());
+        Assert.assertEquals(response.getObj(), responseResult.getObj());
+        Assert.assertFalse(responseResult.isErr());
+        Response error = new DefaultResponse("2", "error");
+        Response errorResult = (Response) roundTrip(error);
+        Assert.assertTrue(errorResult.isErr());
+        Assert.assertEquals("error", errorResult.getErrMsg());
+    }
+
+    @Test
+    public void sizeTest() {
+        ThreadPoolParameterInfo info = new ThreadPoolParameterInfo().setTpId("message-consume").setCorePoolSize(5).setMaximumPoolSize(10);
+        ByteBuf compact = Unpooled.buffer();
+        ByteBuf jdk = Unpooled.buffer();
+        try {
+            serializer.serialize(info, compact);
+            new JdkSerializer().serialize(info, jdk);
+            Assert.assertTrue(compact.readableBytes() < jdk.readableBytes());
+        } finally {
+            compact.release();
+            jdk.release();
+        }
+    }
+
+    @Test(expected = CoderException.class)
+    public void unsupportedCollectionTest() {
+        roundTrip(Collections.singletonList("a"));
+    }
+
+    @Test(expected = CoderException.class)
+    public void notSerializableTest() {
+        roundTrip(new Object());
+    }
+
+    @Test(expected = CoderException.class)
+    public void customSerializationTest() {
+        roundTrip(new CustomBean());
+    }
+
+    @Test(expected = CoderException.class)
+    public void cyclicReferenceTest() {
+        List<Object> list = new ArrayList<>();
+        list.add(list);
+        roundTrip(list);
+    }
+
+    @Test(expected = CoderException.class)
+    public void unknownClassTest() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("a", new Bean());
+        ByteBuf buf = Unpooled.buffer();
+        try {
+            serializer.serialize(map, buf);
+            // corrupt the class name
+            int index = buf.indexOf(0, buf.writerIndex(), (byte) 'B');
+            buf.setByte(index, 'X');
+            serializer.deserialize(buf);
+        } finally {
+            buf.release();
+        }
+    }
+
+    private Object roundTrip(Object value) {
+        ByteBuf buf = Unpooled.buffer();
+        try {
+            serializer.serialize(value, buf);
+            Object result = serializer.deserialize(buf);
+            Assert.assertEquals(0, buf.readableBytes());
+            return result;
+        } finally {
+            buf.release();
+        }
+    }
+
+    static class Bean implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        int value = 1;
+    }
+
+    static class CustomBean implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private void writeObject(java.io.ObjectOutputStream out) {
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.rpc.coder;
+
+import cn.hippo4j.common.model.ThreadPoolParameterInfo;
+import cn.hippo4j.rpc.exception.CoderException;
+import cn.hippo4j.rpc.model.DefaultRequest;
+import cn.hippo4j.rpc.model.Request;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.DecoderException;
+import io.netty.handler.codec.serialization.ClassResolvers;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.List;
+
+public class ObjectCoderTest {
+
+    @Test
+    public void jdkTest() {
+        EmbeddedChannel channel = new EmbeddedChannel(new ObjectEncoder(), new ObjectDecoder());
+        Assert.assertSame(SerializerRegistry.getDefault(), SerializerRegistry.of(channel));
+        assertRoundTrip(channel, JdkSerializer.ID);
+    }
+
+    @Test
+    public void compactTest() {
+        EmbeddedChannel channel = new EmbeddedChannel(new ObjectEncoder(), new ObjectDecoder());
+        SerializerRegistry.use(channel, SerializerRegistry.get(CompactSerializer.NAME));
+        assertRoundTrip(channel, CompactSerializer.ID);
+    }
+
+    /**
+     * The object that is not supported by the negotiated serializer is written by the default serializer
+     */
+    @Test
+    public void fallbackTest() {
+        EmbeddedChannel channel = new EmbeddedChannel(new ObjectEncoder(), new ObjectDecoder());
+        SerializerRegistry.use(channel, SerializerRegistry.get(CompactSerializer.NAME));
+        List<Integer> list = Arrays.asList(1, 2);
+        Assert.assertTrue(channel.writeOutbound(list));
+        ByteBuf frame = channel.readOutbound();
+        Assert.assertEquals(JdkSerializer.ID, frame.getByte(4));
+        Assert.assertTrue(channel.writeInbound(frame));
+        Assert.assertEquals(list, channel.readInbound());
+        Assert.assertFalse(channel.finish());
+    }
+
+    /**
+     * The frames of the default serializer are compatible with the codec of netty
+     */
+    @Test
+    public void compatibleTest() {
+        EmbeddedChannel channel = new EmbeddedChannel(new ObjectEncoder(),
+                new io.netty.handler.codec.serialization.ObjectDecoder(Integer.MAX_VALUE, ClassResolvers.cacheDisabled(null)));
+        ThreadPoolParameterInfo info = new ThreadPoolParameterInfo().setTpId("tp").setCorePoolSize(1);
+        Assert.assertTrue(channel.writeOutbound(info));
+        Assert.assertTrue(channel.writeInbound((Object) channel.readOutbound()));
+        Assert.assertEquals(info, channel.readInbound());
+
+        EmbeddedChannel legacy = new EmbeddedChannel(new io.netty.handler.codec.serialization.ObjectEncoder(), new ObjectDecoder());
+        Assert.assertTrue(legacy.writeOutbound(info));
+        Assert.assertTrue(legacy.writeInbound((Object) legacy.readOutbound()));
+        Assert.assertEquals(info, legacy.readInbound());
+        Assert.assertFalse(channel.finish());
+        Assert.assertFalse(legacy.finish());
+    }
+
+    @Test
+    public void unknownSerializerTest() {
+        EmbeddedChannel channel = new EmbeddedChannel(new ObjectEncoder(), new ObjectDecoder());
+        Assert.assertTrue(channel.writeOutbound((Serializable) "a"));
+        ByteBuf frame = channel.readOutbound();
+        frame.setByte(4, 127);
+        try {
+            channel.writeInbound(frame);
+            Assert.fail();
+        } catch (DecoderException e) {
+            Assert.assertTrue(e.getCause() instanceof CoderException);
+        }
+        channel.finishAndReleaseAll();
+    }
+
+    private static void assertRoundTrip(EmbeddedChannel channel, byte id) {
+        Request request = new DefaultRequest("1", "key", new Object[]{new ThreadPoolParameterInfo().setTpId("tp").setCorePoolSize(1)});
+        Assert.assertTrue(channel.writeOutbound(request, request));
+        ByteBuf first = channel.readOutbound();
+        ByteBuf second = channel.readOutbound();
+        Assert.assertEquals(id, first.getByte(4));
+        // frames arrive in pieces and together
+        ByteBuf merged = channel.alloc().buffer().writeBytes(first).writeBytes(second);
+        first.release();
+        second.release();
+        Assert.assertFalse(channel.writeInbound(merged.readRetainedSlice(3)));
+        Assert.assertTrue(channel.writeInbound(merged));
+        Request result = channel.readInbound();
+        Assert.assertEquals(request, result);
+        Assert.assertArrayEquals(request.getParameters(), result.getParameters());
+        Assert.assertEquals(request, channel.readInbound());
+        Assert.assertFalse(channel.finish());
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.rpc.connection;
+
+import cn.hippo4j.rpc.client.CallManager;
+import cn.hippo4j.rpc.client.RandomPort;
+import cn.hippo4j.rpc.discovery.ServerPort;
+import cn.hippo4j.rpc.exception.ConnectionException;
+import cn.hippo4j.rpc.exception.TimeOutException;
+import cn.hippo4j.rpc.handler.ServerBareTakeHandler;
+import cn.hippo4j.rpc.handler.ServerTakeHandler;
+import cn.hippo4j.rpc.model.DefaultRequest;
+import cn.hippo4j.rpc.model.Request;
+import cn.hippo4j.rpc.server.RPCServer;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+@Slf4j
+public class MultiplexClientConnectionTest {
+
+    static final String addressStr = "localhost";
+    static final String take = "take";
+    static final String bareTake = "bareTake";
+    static final String error = "error";
+    static final String drop = "drop";
+    static ServerPort port;
+    static RPCServer rpcServer;
+
+    @BeforeClass
+    public static void startServer() {
+        int safePort = RandomPort.getSafeRandomPort();
+        port = () -> safePort;
+        CallManager manager = new CallManager();
+        ServerTakeHandler<Integer, Integer> takeHandler = new ServerTakeHandler<>(take, manager::call);
+        ServerBareTakeHandler<Integer> bareTakeHandler = new ServerBareTakeHandler<>(bareTake, manager::call);
+        ServerTakeHandler<Integer, Integer> errorHandler = new ServerTakeHandler<>(error, a -> {
+            throw new IllegalStateException("error " + a);
+        });
+        ServerConnection connection = new SimpleServerConnection(takeHandler, bareTakeHandler, errorHandler, new DropHandler());
+        rpcServer = new RPCServer(connection, port);
+        rpcServer.bind();
+        while (!rpcServer.isActive()) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1L));
+        }
+    }
+
+    @AfterClass
+    public static void stopServer() throws IOException {
+        if (rpcServer.isActive()) {
+            rpcServer.close();
+        }
+    }
+
+    @Test
+    public void connectTest() {
+        try (MultiplexClientConnection connection = new MultiplexClientConnection(new InetSocketAddress(addressStr, port.getPort()))) {
+            Integer bare = connection.connect(new DefaultRequest(UUID.randomUUID().toString(), bareTake));
+            Assert.assertEquals(1, bare.intValue());
+            Integer result = connection.connect(newRequest(take, 5));
+            Assert.assertEquals(5, result.intValue());
+            Assert.assertEquals(0, connection.pendingRequests());
+        }
+    }
+
+    @Test
+    public void errorTest() {
+        try (MultiplexClientConnection connection = new MultiplexClientConnection(new InetSocketAddress(addressStr, port.getPort()))) {
+            CompletableFuture<Integer> future = connection.connectAsync(newRequest(error, 1));
+            try {
+                future.get(5, TimeUnit.SECONDS);
+                Assert.fail();
+            } catch (ExecutionException e) {
+                Assert.assertTrue(e.getCause() instanceof ConnectionException);
+                Assert.assertEquals("error 1", e.getCause().getMessage());
+            } catch (Exception e) {
+                Assert.fail(e.getMessage());
+            }
+            // the channel is still usable
+            Integer result = connection.connect(newRequest(take, 2));
+            Assert.assertEquals(2, result.intValue());
+        }
+    }
+
+    @Test(expected = TimeOutException.class)
+    public void timeoutTest() {
+        try (MultiplexClientConnection connection = new MultiplexClientConnection(new InetSocketAddress(addressStr, port.getPort()), 1)) {
+            connection.setTimeout(200L);
+            connection.connect(newRequest(drop, 1));
+        }
+    }
+
+    @Test
+    public void closeTest() throws Exception {
+        MultiplexClientConnection connection = new MultiplexClientConnection(new InetSocketAddress(addressStr, port.getPort()), 1);
+        CompletableFuture<Integer> future = connection.connectAsync(newRequest(drop, 1));
+        long deadline = System.currentTimeMillis() + 5000L;
+        while (connection.pendingRequests() == 0 && System.currentTimeMillis() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1L));
+        }
+        connection.close();
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            Assert.fail();
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof ConnectionException);
+        }
+        CompletableFuture<Integer> closed = connection.connectAsync(newRequest(take, 1));
+        Assert.assertTrue(closed.isCompletedExceptionally());
+    }
+
+    /**
+     * Many requests are in flight on a channel at the same time, and each gets its own response
+     */
+    @Test
+    public void throughputTest() throws Exception {
+        int count = 20000;
+        try (MultiplexClientConnection connection = new MultiplexClientConnection(new InetSocketAddress(addressStr, port.getPort()))) {
+            // warm up the channels
+            connection.connect(newRequest(take, 0));
+            connection.connect(newRequest(take, 0));
+            long start = System.nanoTime();
+            List<CompletableFuture<Integer>> futures = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                futures.add(connection.connectAsync(newRequest(take, i)));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(60, TimeUnit.SECONDS);
+            long elapsedMillis = Math.max(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), 1L);
+            for (int i = 0; i < count; i++) {
+                Assert.assertEquals(i, futures.get(i).get().intValue());
+            }
+            Assert.assertEquals(0, connection.pendingRequests());
+            log.info("{} requests multiplexed in {}ms, {} requests/s", count, elapsedMillis, count * 1000L / elapsedMillis);
+        }
+    }
+
+    private static Request newRequest(String key, Integer param) {
+        return new DefaultRequest(UUID.randomUUID().toString(), key, new Object[]{param});
+    }
+
+    /**
+     * Swallow the requests that are never responded
+     */
+    @ChannelHandler.Sharable
+    static class DropHandler extends ChannelInboundHandlerAdapter {
+
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) {
+            if (msg instanceof Request && drop.equals(((Request) msg).getKey())) {
+                return;
+            }
+            ctx.fireChannelRead(msg);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.rpc.handler;
+
+import cn.hippo4j.rpc.coder.CompactSerializer;
+import cn.hippo4j.rpc.coder.JdkSerializer;
+import cn.hippo4j.rpc.coder.ObjectDecoder;
+import cn.hippo4j.rpc.coder.ObjectEncoder;
+import cn.hippo4j.rpc.coder.SerializerRegistry;
+import cn.hippo4j.rpc.model.DefaultRequest;
+import cn.hippo4j.rpc.model.DefaultResponse;
+import cn.hippo4j.rpc.model.Request;
+import cn.hippo4j.rpc.model.Response;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+
+public class HandshakeHandlerTest {
+
+    @Test
+    public void handshakeTest() {
+        EmbeddedChannel client = new EmbeddedChannel(new ObjectEncoder(), new ObjectDecoder(), new ClientHandshakeHandler());
+        EmbeddedChannel server = new EmbeddedChannel(new ObjectEncoder(), new ObjectDecoder(), new ServerHandshakeHandler());
+        Assert.assertSame(SerializerRegistry.getDefault(), SerializerRegistry.of(client));
+        transfer(client, server);
+        Assert.assertNull(server.readInbound());
+        Assert.assertEquals(CompactSerializer.NAME, SerializerRegistry.of(server).getName());
+        // the reply is still written by the default serializer
+        ByteBuf reply = server.readOutbound();
+        Assert.assertEquals(JdkSerializer.ID, reply.getByte(4));
+        Assert.assertTrue(client.writeInbound(reply) || client.inboundMessages().isEmpty());
+        Assert.assertNull(client.readInbound());
+        Assert.assertEquals(CompactSerializer.NAME, SerializerRegistry.of(client).getName());
+        // the requests after the handshake are passed through
+        Request request = new DefaultRequest("1", "key");
+        client.writeOutbound(request);
+        ByteBuf frame = client.readOutbound();
+        Assert.assertEquals(CompactSerializer.ID, frame.getByte(4));
+        server.writeInbound(frame);
+        Assert.assertEquals(request, server.readInbound());
+        client.finishAndReleaseAll();
+        server.finishAndReleaseAll();
+    }
+
+    /**
+     * A server without {@link ServerHandshakeHandler} replies an error, and the default serializer is kept
+     */
+    @Test
+    public void legacyServerTest() {
+        EmbeddedChannel client = new EmbeddedChannel(new ObjectEncoder(), new ObjectDecoder(), new ClientHandshakeHandler());
+        EmbeddedChannel server = new EmbeddedChannel(new ObjectEncoder(), new ObjectDecoder(), new ChannelInboundHandlerAdapter() {
+
+            @Override
+            public void channelRead(ChannelHandlerContext ctx, Object msg) {
+                ctx.writeAndFlush(new DefaultResponse(((Request) msg).getRID(), "unknown key"));
+            }
+        });
+        transfer(client, server);
+        transfer(server, client);
+        Assert.assertNull(client.readInbound());
+        Assert.assertSame(SerializerRegistry.getDefault(), SerializerRegistry.of(client));
+        Response response = new DefaultResponse("2", (Object) "a");
+        client.writeInbound(encode(server, response));
+        Assert.assertEquals("a", ((Response) client.readInbound()).getObj());
+        client.finishAndReleaseAll();
+        server.finishAndReleaseAll();
+    }
+
+    /**
+     * A handshake without parameters falls back to the default serializer
+     */
+    @Test
+    public void handshakeWithoutParametersTest() throws ReflectiveOperationException {
+        EmbeddedChannel server = new EmbeddedChannel(new ObjectEncoder(), new ServerHandshakeHandler());
+        DefaultRequest request = new DefaultRequest("1", ClientHandshakeHandler.HANDSHAKE_KEY);
+        Field parameters = DefaultRequest.class.getDeclaredField("parameters");
+        parameters.setAccessible(true);
+        parameters.set(request, null);
+        server.writeInbound(request);
+        Assert.assertNull(server.readInbound());
+        Assert.assertSame(SerializerRegistry.getDefault(), SerializerRegistry.of(server));
+        EmbeddedChannel client = new EmbeddedChannel(new ObjectDecoder());
+        client.writeInbound((ByteBuf) server.readOutbound());
+        Assert.assertEquals(SerializerRegistry.getDefault().getName(), ((Response) client.readInbound()).getObj());
+        client.finishAndReleaseAll();
+        server.finishAndReleaseAll();
+    }
+
+    private static ByteBuf encode(EmbeddedChannel channel, Object msg) {
+        channel.writeOutbound(msg);
+        return channel.readOutbound();
+    }
+
+    private static void transfer(EmbeddedChannel from, EmbeddedChannel to) {
+        ByteBuf buf;
+        while ((buf = from.readOutbound()) != null) {
+            to.writeInbound(buf);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.rpc.support;
+
+import cn.hippo4j.rpc.exception.ConnectionException;
+import cn.hippo4j.rpc.exception.TimeOutException;
+import cn.hippo4j.rpc.model.DefaultResponse;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+public class PendingRequestTableTest {
+
+    @Test
+    public void complete() throws Exception {
+        PendingRequestTable table = new PendingRequestTable();
+        CompletableFuture<Object> first = new CompletableFuture<>();
+        CompletableFuture<Object> second = new CompletableFuture<>();
+        table.register(1L, first, 10000L);
+        table.register(2L, second, 10000L);
+        Assert.assertEquals(2, table.size());
+        // responses complete their own requests whatever the order
+        table.complete(new DefaultResponse("2", (Object) "b"));
+        table.complete(new DefaultResponse("1", (Object) "a"));
+        Assert.assertEquals("a", first.get());
+        Assert.assertEquals("b", second.get());
+        Assert.assertEquals(0, table.size());
+        // unknown and invalid ids are ignored
+        table.complete(new DefaultResponse("1", (Object) "c"));
+        table.complete(new DefaultResponse("abc", (Object) "c"));
+        Assert.assertEquals("a", first.get());
+    }
+
+    @Test
+    public void completeErr() throws Exception {
+        PendingRequestTable table = new PendingRequestTable();
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        table.register(1L, future, 10000L);
+        table.complete(new DefaultResponse("1", null, "err"));
+        try {
+            future.get();
+            Assert.fail();
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof ConnectionException);
+            Assert.assertEquals("err", e.getCause().getMessage());
+        }
+    }
+
+    @Test
+    public void timeout() throws Exception {
+        PendingRequestTable table = new PendingRequestTable();
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        table.register(1L, future, 50L);
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            Assert.fail();
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof TimeOutException);
+        }
+        Assert.assertEquals(0, table.size());
+    }
+
+    @Test
+    public void failAll() {
+        PendingRequestTable table = new PendingRequestTable();
+        CompletableFuture<Object> first = new CompletableFuture<>();
+        CompletableFuture<Object> second = new CompletableFuture<>();
+        table.register(1L, first, 10000L);
+        table.register(2L, second, 10000L);
+        table.failAll(new ConnectionException("closed"));
+        Assert.assertTrue(first.isCompletedExceptionally());
+        Assert.assertTrue(second.isCompletedExceptionally());
+        Assert.assertEquals(0, table.size());
+    }
+}
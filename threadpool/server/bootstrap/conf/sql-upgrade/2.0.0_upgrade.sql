@@ -0,0 +1 @@
+ALTER TABLE config Add queue_lane_weights varchar(128) DEFAULT NULL COMMENT '队列通道权重' AFTER capacity;
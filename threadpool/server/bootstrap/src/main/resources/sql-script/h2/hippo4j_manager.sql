@@ -33,6 +33,7 @@ CREATE TABLE IF NOT EXISTS `config` (
     `max_size`                   int(11) DEFAULT NULL COMMENT '最大线程数',
     `queue_type`                 int(11) DEFAULT NULL COMMENT '队列类型...',
     `capacity`                   int(11) DEFAULT NULL COMMENT '队列大小',
+    `queue_lane_weights`         varchar(128) DEFAULT NULL COMMENT '队列通道权重',
     `rejected_type`              int(11) DEFAULT NULL COMMENT '拒绝策略',
     `keep_alive_time`            int(11) DEFAULT NULL COMMENT '线程存活时间（秒）',
     `execute_time_out`            int(11) DEFAULT NULL COMMENT '执行超时时间（毫秒）',
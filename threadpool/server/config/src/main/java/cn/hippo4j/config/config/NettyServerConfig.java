@@ -18,18 +18,19 @@
 package cn.hippo4j.config.config;
 
 import cn.hippo4j.config.netty.MonitorNettyServer;
+import cn.hippo4j.config.service.ConfigPushService;
 import cn.hippo4j.config.service.biz.HisRunDataService;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.nio.NioEventLoopGroup;
-import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 /**
- * Netty server config.
+ * Netty server config, the netty server is started for netty monitor report or config push.
  */
 @Configuration
-@ConditionalOnProperty(name = "hippo4j.core.monitor.report-type", havingValue = "netty")
+@ConditionalOnExpression("'${hippo4j.core.monitor.report-type:}' == 'netty' or ${hippo4j.core.config-push-enable:false}")
 public class NettyServerConfig {
 
     @Bean
@@ -46,8 +47,9 @@ public class NettyServerConfig {
     @SuppressWarnings("all")
     public MonitorNettyServer monitorNettyServer(ServerBootstrapProperties serverBootstrapProperties,
                                                  HisRunDataService hisRunDataService,
+                                                 ConfigPushService configPushService,
                                                  EventLoopGroup bossGroup,
                                                  EventLoopGroup workGroup) {
-        return new MonitorNettyServer(serverBootstrapProperties, hisRunDataService, bossGroup, workGroup);
+        return new MonitorNettyServer(serverBootstrapProperties, hisRunDataService, configPushService, bossGroup, workGroup);
     }
 }
@@ -49,4 +49,29 @@ public class ServerBootstrapProperties {
      * Netty server port.
      */
     private String nettyServerPort = "8899";
+
+    /**
+     * Whether to push config changes to clients through the netty server port, clients without the channel still use long polling.
+     */
+    private Boolean configPushEnable = Boolean.FALSE;
+
+    /**
+     * Max number of thread pool history data rows waiting to be written. rows beyond it are dropped by {@link #hisRunDataDropPolicy}.
+     */
+    private Integer hisRunDataBufferCapacity = 8192;
+
+    /**
+     * Max number of thread pool history data rows written in one insert statement.
+     */
+    private Integer hisRunDataBatchSize = 500;
+
+    /**
+     * Interval to write buffered thread pool history data. unit: millisecond.
+     */
+    private Long hisRunDataFlushInterval = 1000L;
+
+    /**
+     * Policy when the thread pool history data buffer is full, discard_oldest or discard_newest.
+     */
+    private String hisRunDataDropPolicy = "discard_oldest";
 }
@@ -18,6 +18,8 @@
 package cn.hippo4j.config.controller;
 
 import java.net.URLDecoder;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 import javax.servlet.http.HttpServletRequest;
@@ -27,6 +29,7 @@ import cn.hippo4j.common.constant.ConfigModifyTypeConstants;
 import cn.hippo4j.common.constant.Constants;
 import cn.hippo4j.common.model.register.DynamicThreadPoolRegisterWrapper;
 import cn.hippo4j.common.toolkit.BeanUtil;
+import cn.hippo4j.common.toolkit.ContentUtil;
 import cn.hippo4j.common.toolkit.StringUtil;
 import cn.hippo4j.common.toolkit.UserContext;
 import cn.hippo4j.common.model.Result;
@@ -91,6 +94,26 @@ public class ConfigController {
         return Results.success(true);
     }
 
+    /**
+     * Get the config of thread-pools changed in a long polling at once, served from {@link ConfigCacheService}.
+     *
+     * @param groupKeys  tpId, itemId and tenantId of thread-pools, in the same separators as the long polling probe
+     * @param instanceId client instance unique identifier
+     * @return pool content of the thread-pools, the same content as the md5 is calculated from
+     */
+    @PostMapping("/batch")
+    public Result<List<String>> batchConfig(@RequestParam("groupKeys") String groupKeys,
+                                            @RequestParam("instanceId") String instanceId) {
+        List<String> groupKeyList = new ArrayList<>();
+        for (String each : groupKeys.split(Constants.LINE_SEPARATOR)) {
+            String[] keys = each.split(Constants.WORD_SEPARATOR);
+            if (keys.length == Constants.DATA_GROUP_TENANT_SIZE) {
+                groupKeyList.add(ContentUtil.getGroupKey(keys));
+            }
+        }
+        return Results.success(ConfigCacheService.getPoolContents(groupKeyList, instanceId));
+    }
+
     @SneakyThrows
     @PostMapping("/listener")
     public void listener(HttpServletRequest request, HttpServletResponse response) {
@@ -20,6 +20,7 @@ package cn.hippo4j.config.mapper;
 import cn.hippo4j.config.model.HisRunDataInfo;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import lombok.Data;
+import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
@@ -64,6 +65,25 @@ public interface HisRunDataMapper extends BaseMapper<HisRunDataInfo> {
             + "limit 4")
     List<ThreadPoolTaskRanking> queryThreadPoolMaxRanking(@Param("startTime") Long startTime, @Param("endTime") Long endTime);
 
+    /**
+     * Insert rows in one multi-row insert statement.
+     *
+     * @param hisRunDataInfos
+     * @return
+     */
+    @Insert("<script>"
+            + "INSERT INTO his_run_data "
+            + "(tenant_id, item_id, tp_id, instance_id, current_load, peak_load, pool_size, active_size, queue_capacity, "
+            + "queue_size, queue_remaining_capacity, completed_task_count, reject_count, timestamp, gmt_create, gmt_modified) "
+            + "VALUES "
+            + "<foreach collection='list' item='item' separator=','>"
+            + "(#{item.tenantId}, #{item.itemId}, #{item.tpId}, #{item.instanceId}, #{item.currentLoad}, #{item.peakLoad}, "
+            + "#{item.poolSize}, #{item.activeSize}, #{item.queueCapacity}, #{item.queueSize}, #{item.queueRemainingCapacity}, "
+            + "#{item.completedTaskCount}, #{item.rejectCount}, #{item.timestamp}, #{item.gmtCreate}, #{item.gmtModified})"
+            + "</foreach>"
+            + "</script>")
+    int insertBatch(@Param("list") List<HisRunDataInfo> hisRunDataInfos);
+
     /**
      * Thread Pool Task Ranking
      */
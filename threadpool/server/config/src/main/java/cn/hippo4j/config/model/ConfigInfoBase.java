@@ -78,6 +78,11 @@ public class ConfigInfoBase implements Serializable {
      */
     private Integer capacity;
 
+    /**
+     * queueLaneWeights
+     */
+    private String queueLaneWeights;
+
     /**
      * keepAliveTime
      */
@@ -85,6 +85,11 @@ public class ConfigModifySaveReqDTO {
      */
     private Integer capacity;
 
+    /**
+     * Queue lane weights
+     */
+    private String queueLaneWeights;
+
     /**
      * Keep alive time
      */
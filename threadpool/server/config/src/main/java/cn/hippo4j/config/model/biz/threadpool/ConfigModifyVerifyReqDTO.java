@@ -97,6 +97,11 @@ public class ConfigModifyVerifyReqDTO {
      */
     private Integer capacity;
 
+    /**
+     * Queue lane weights
+     */
+    private String queueLaneWeights;
+
     /**
      * Keep alive time
      */
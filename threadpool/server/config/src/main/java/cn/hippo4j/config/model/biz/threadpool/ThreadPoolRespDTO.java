@@ -73,6 +73,11 @@ public class ThreadPoolRespDTO {
      */
     private Integer capacity;
 
+    /**
+     * Queue lane weights
+     */
+    private String queueLaneWeights;
+
     /**
      * Keep alive time
      */
@@ -65,6 +65,11 @@ public class ThreadPoolSaveOrUpdateReqDTO {
      */
     private Integer capacity;
 
+    /**
+     * Queue lane weights
+     */
+    private String queueLaneWeights;
+
     /**
      * Keep alive time
      */
@@ -0,0 +1,305 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.config.monitor;
+
+import cn.hippo4j.common.executor.ExecutorFactory;
+import cn.hippo4j.common.toolkit.Assert;
+import cn.hippo4j.config.config.ServerBootstrapProperties;
+import cn.hippo4j.config.mapper.HisRunDataMapper;
+import cn.hippo4j.config.model.HisRunDataInfo;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import static cn.hippo4j.common.constant.Constants.DEFAULT_GROUP;
+
+/**
+ * <p>Coalesce thread pool history data reported by all clients and write them in batches. <br />
+ * Rows are put into a bounded buffer, and written by one multi-row insert when
+ * the buffer reaches {@code hisRunDataBatchSize} rows of {@link ServerBootstrapProperties}
+ * or every {@code hisRunDataFlushInterval} milliseconds, instead of one transaction for each report.
+ *
+ * <p>When the database can not keep up, the buffer is full and rows are dropped by {@link DropPolicy},
+ * the reporting side is never blocked. The rows dropped or failed to be written are logged after the flush
+ * in which the counters change, with the other counters of the writer.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HisRunDataBatchWriter implements InitializingBean, DisposableBean {
+
+    @NonNull
+    private final ServerBootstrapProperties properties;
+
+    @NonNull
+    private final HisRunDataMapper hisRunDataMapper;
+
+    /**
+     * Rows offered to the buffer
+     */
+    private final LongAdder offeredCount = new LongAdder();
+
+    /**
+     * Rows dropped because the buffer is full
+     */
+    private final LongAdder droppedCount = new LongAdder();
+
+    /**
+     * Rows written to the database
+     */
+    private final LongAdder writtenCount = new LongAdder();
+
+    /**
+     * Rows failed to be written to the database
+     */
+    private final LongAdder failedCount = new LongAdder();
+
+    /**
+     * Insert statements executed
+     */
+    private final LongAdder flushCount = new LongAdder();
+
+    /**
+     * Whether a flush triggered by buffer size is waiting to run
+     */
+    private final AtomicBoolean flushPending = new AtomicBoolean(false);
+
+    /**
+     * Dropped rows in the last report, only accessed by the flush thread and on destroy
+     */
+    private long reportedDroppedCount;
+
+    /**
+     * Failed rows in the last report, only accessed by the flush thread and on destroy
+     */
+    private long reportedFailedCount;
+
+    private BlockingQueue<HisRunDataInfo> buffer;
+
+    @Getter
+    private DropPolicy dropPolicy;
+
+    @Getter
+    private int batchSize;
+
+    private ScheduledExecutorService flushExecutor;
+
+    @Override
+    public void afterPropertiesSet() {
+        Integer bufferCapacity = properties.getHisRunDataBufferCapacity();
+        Integer hisRunDataBatchSize = properties.getHisRunDataBatchSize();
+        Long flushInterval = properties.getHisRunDataFlushInterval();
+        Assert.isTrue(bufferCapacity != null && bufferCapacity > 0, "The hippo4j.core.his-run-data-buffer-capacity must be greater than 0.");
+        Assert.isTrue(hisRunDataBatchSize != null && hisRunDataBatchSize > 0, "The hippo4j.core.his-run-data-batch-size must be greater than 0.");
+        Assert.isTrue(flushInterval != null && flushInterval > 0, "The hippo4j.core.his-run-data-flush-interval must be greater than 0.");
+        buffer = new ArrayBlockingQueue<>(bufferCapacity);
+        batchSize = hisRunDataBatchSize;
+        dropPolicy = DropPolicy.of(properties.getHisRunDataDropPolicy());
+        flushExecutor = ExecutorFactory.Managed
+                .newSingleScheduledExecutorService(DEFAULT_GROUP, r -> new Thread(r, "his-run-data-writer"));
+        flushExecutor.scheduleWithFixedDelay(() -> {
+            flush();
+            report();
+        }, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Put rows into the buffer, they will be written asynchronously.
+     *
+     * @param hisRunDataInfos rows
+     */
+    public void offer(List<HisRunDataInfo> hisRunDataInfos) {
+        for (HisRunDataInfo each : hisRunDataInfos) {
+            offeredCount.increment();
+            if (!buffer.offer(each)) {
+                dropPolicy.drop(buffer, each, droppedCount);
+            }
+        }
+        if (buffer.size() >= batchSize && flushPending.compareAndSet(false, true)) {
+            try {
+                flushExecutor.execute(() -> {
+                    flushPending.set(false);
+                    flush();
+                });
+            } catch (RejectedExecutionException ex) {
+                flushPending.set(false);
+            }
+        }
+    }
+
+    /**
+     * Write all buffered rows, at most {@link #batchSize} rows in one insert statement.
+     */
+    public void flush() {
+        List<HisRunDataInfo> batch = new ArrayList<>(batchSize);
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<HisRunDataInfo> batch) {
+        Date now = new Date();
+        batch.forEach(each -> {
+            each.setGmtCreate(now);
+            each.setGmtModified(now);
+        });
+        try {
+            hisRunDataMapper.insertBatch(batch);
+            writtenCount.add(batch.size());
+        } catch (Exception ex) {
+            failedCount.add(batch.size());
+            log.error("Failed to write {} rows of thread pool history data.", batch.size(), ex);
+        } finally {
+            flushCount.increment();
+        }
+    }
+
+    /**
+     * Log the rows dropped or failed since the last report, nothing is logged while all rows are written.
+     */
+    private void report() {
+        long dropped = droppedCount.sum();
+        long failed = failedCount.sum();
+        if (dropped == reportedDroppedCount && failed == reportedFailedCount) {
+            return;
+        }
+        log.warn("Thread pool history data writer dropped {} rows and failed to write {} rows since the last report. "
+                + "offered: {}, written: {}, dropped: {}, failed: {}, flushes: {}, buffered: {}.",
+                dropped - reportedDroppedCount, failed - reportedFailedCount,
+                offeredCount.sum(), writtenCount.sum(), dropped, failed, flushCount.sum(), buffer.size());
+        reportedDroppedCount = dropped;
+        reportedFailedCount = failed;
+    }
+
+    /**
+     * Get the number of rows waiting to be written.
+     *
+     * @return rows in the buffer
+     */
+    public int getBufferSize() {
+        return buffer.size();
+    }
+
+    /**
+     * Get the remaining capacity of the buffer.
+     *
+     * @return remaining capacity
+     */
+    public int getBufferRemainingCapacity() {
+        return buffer.remainingCapacity();
+    }
+
+    public long getOfferedCount() {
+        return offeredCount.sum();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    public long getWrittenCount() {
+        return writtenCount.sum();
+    }
+
+    public long getFailedCount() {
+        return failedCount.sum();
+    }
+
+    public long getFlushCount() {
+        return flushCount.sum();
+    }
+
+    @Override
+    public void destroy() {
+        if (flushExecutor != null) {
+            flushExecutor.shutdown();
+            try {
+                flushExecutor.awaitTermination(properties.getHisRunDataFlushInterval(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flush();
+        report();
+    }
+
+    /**
+     * Policy when the buffer is full.
+     */
+    public enum DropPolicy {
+
+        /**
+         * Drop the oldest row in the buffer to keep the latest data
+         */
+        DISCARD_OLDEST {
+
+            @Override
+            void drop(BlockingQueue<HisRunDataInfo> buffer, HisRunDataInfo row, LongAdder droppedCount) {
+                while (!buffer.offer(row)) {
+                    if (buffer.poll() != null) {
+                        droppedCount.increment();
+                    }
+                }
+            }
+        },
+
+        /**
+         * Drop the row being offered
+         */
+        DISCARD_NEWEST {
+
+            @Override
+            void drop(BlockingQueue<HisRunDataInfo> buffer, HisRunDataInfo row, LongAdder droppedCount) {
+                droppedCount.increment();
+            }
+        };
+
+        abstract void drop(BlockingQueue<HisRunDataInfo> buffer, HisRunDataInfo row, LongAdder droppedCount);
+
+        /**
+         * Get drop policy by name, ignore case.
+         *
+         * @param name name of policy
+         * @return drop policy, {@link #DISCARD_OLDEST} if no policy matches
+         */
+        public static DropPolicy of(String name) {
+            for (DropPolicy each : values()) {
+                if (each.name().equalsIgnoreCase(name)) {
+                    return each;
+                }
+            }
+            return DISCARD_OLDEST;
+        }
+    }
+}
@@ -41,6 +41,6 @@ public class RuntimeDataResolver extends AbstractMonitorDataExecuteStrategy<Runt
 
     @Override
     public void execute(RuntimeMessage message) {
-        hisRunDataService.save(message);
+        hisRunDataService.saveAsync(message);
     }
 }
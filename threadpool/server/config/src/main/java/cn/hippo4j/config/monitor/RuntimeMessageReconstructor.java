@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.config.monitor;
+
+import cn.hippo4j.common.monitor.RuntimeMessage;
+import cn.hippo4j.common.monitor.RuntimeMessageDelta;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Reconstruct the full row of delta reported {@link RuntimeMessage} from the last full row of the same group key.
+ *
+ * <p>The last full rows are kept in the memory of each server node, so delta report requires every client
+ * to report to the same node, a single server or a load balancer with sticky routing. The client turns delta
+ * report off when it's configured with more than one server address.
+ *
+ * @see RuntimeMessageDelta
+ */
+@Slf4j
+@Component
+public class RuntimeMessageReconstructor {
+
+    private static final int GROUP_KEY_MAXIMUM_SIZE = 65536;
+
+    private static final long EXPIRE_MINUTES = 10L;
+
+    /**
+     * Last full row of each group key, entries of offline instances are expired
+     */
+    private final Cache<String, RuntimeMessage> lastRows = Caffeine.newBuilder()
+            .maximumSize(GROUP_KEY_MAXIMUM_SIZE)
+            .expireAfterAccess(EXPIRE_MINUTES, TimeUnit.MINUTES)
+            .build();
+
+    /**
+     * Get the full row of reported row.
+     *
+     * @param row reported row
+     * @return full row, or null if it's a delta row without any full row of the same group key before,
+     * such as the server just restarted, the row can be persisted after the next keyframe of client
+     */
+    public RuntimeMessage reconstruct(RuntimeMessage row) {
+        String groupKey = row.getGroupKey();
+        RuntimeMessage[] result = new RuntimeMessage[1];
+        lastRows.asMap().compute(groupKey, (key, last) -> {
+            if (!Boolean.TRUE.equals(row.getDelta())) {
+                result[0] = row;
+                return isAfter(row, last) ? row : last;
+            }
+            if (last == null) {
+                return null;
+            }
+            result[0] = RuntimeMessageDelta.merge(last, row);
+            return isAfter(row, last) ? result[0] : last;
+        });
+        if (result[0] == null) {
+            log.debug("Discard delta runtime data without keyframe, groupKey: {}", groupKey);
+        }
+        return result[0];
+    }
+
+    private static boolean isAfter(RuntimeMessage row, RuntimeMessage last) {
+        return last == null || row.getTimestamp() == null || last.getTimestamp() == null || row.getTimestamp() >= last.getTimestamp();
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.config.netty;
+
+import cn.hippo4j.common.monitor.RuntimeMessageCodec;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.TooLongFrameException;
+import io.netty.handler.codec.serialization.ClassResolver;
+import io.netty.handler.codec.serialization.ObjectDecoder;
+
+/**
+ * <p>Decoder of monitor report, accepts both java serialized {@link cn.hippo4j.common.monitor.MessageWrapper}
+ * and {@link RuntimeMessageCodec binary} runtime message batch. <br />
+ * Both are prefixed by a 4-byte length, the codec is chosen by the first byte of each frame,
+ * so clients can switch the codec without any change of the server.
+ */
+public class MonitorMessageDecoder extends ObjectDecoder {
+
+    private static final int LENGTH_FIELD_LENGTH = 4;
+
+    private final int maxFrameLength;
+
+    public MonitorMessageDecoder(int maxFrameLength, ClassResolver classResolver) {
+        super(maxFrameLength, classResolver);
+        this.maxFrameLength = maxFrameLength;
+    }
+
+    @Override
+    protected Object decode(ChannelHandlerContext ctx, ByteBuf in) throws Exception {
+        if (in.readableBytes() <= LENGTH_FIELD_LENGTH) {
+            return null;
+        }
+        int readerIndex = in.readerIndex();
+        if (in.getByte(readerIndex + LENGTH_FIELD_LENGTH) != RuntimeMessageCodec.MAGIC) {
+            return super.decode(ctx, in);
+        }
+        int frameLength = in.getInt(readerIndex);
+        if (frameLength < 0 || frameLength > maxFrameLength) {
+            in.skipBytes(in.readableBytes());
+            throw new TooLongFrameException("Monitor message frame length exceeds " + maxFrameLength + ": " + frameLength);
+        }
+        if (in.readableBytes() < LENGTH_FIELD_LENGTH + frameLength) {
+            return null;
+        }
+        in.skipBytes(LENGTH_FIELD_LENGTH);
+        ByteBuf frame = in.readSlice(frameLength);
+        return RuntimeMessageCodec.decode(frame.nioBuffer());
+    }
+}
@@ -18,6 +18,7 @@
 package cn.hippo4j.config.netty;
 
 import cn.hippo4j.config.config.ServerBootstrapProperties;
+import cn.hippo4j.config.service.ConfigPushService;
 import cn.hippo4j.config.service.biz.HisRunDataService;
 import io.netty.bootstrap.ServerBootstrap;
 import io.netty.channel.ChannelFuture;
@@ -27,7 +28,6 @@ import io.netty.channel.EventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.handler.codec.serialization.ClassResolvers;
-import io.netty.handler.codec.serialization.ObjectDecoder;
 import io.netty.handler.codec.serialization.ObjectEncoder;
 import io.netty.handler.logging.LogLevel;
 import io.netty.handler.logging.LoggingHandler;
@@ -38,7 +38,7 @@ import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 
 /**
- * Netty monitor netty server.
+ * Netty monitor netty server, it also serves the config push channel.
  */
 @Slf4j
 @AllArgsConstructor
@@ -48,6 +48,8 @@ public class MonitorNettyServer {
 
     private HisRunDataService hisRunDataService;
 
+    private ConfigPushService configPushService;
+
     private EventLoopGroup bossGroup;
 
     private EventLoopGroup workGroup;
@@ -68,9 +70,9 @@ public class MonitorNettyServer {
                             protected void initChannel(SocketChannel ch) throws Exception {
                                 ChannelPipeline pipeline = ch.pipeline();
                                 pipeline.addLast(new ObjectEncoder());
-                                pipeline.addLast(new ObjectDecoder(Integer.MAX_VALUE,
+                                pipeline.addLast(new MonitorMessageDecoder(Integer.MAX_VALUE,
                                         ClassResolvers.cacheDisabled(null)));
-                                pipeline.addLast(new ServerHandler(hisRunDataService));
+                                pipeline.addLast(new ServerHandler(hisRunDataService, configPushService));
                             }
                         });
                 ChannelFuture channelFuture = serverBootstrap.bind(Integer.parseInt(serverBootstrapProperties.getNettyServerPort())).sync();
@@ -17,7 +17,11 @@
 
 package cn.hippo4j.config.netty;
 
+import cn.hippo4j.common.monitor.Message;
 import cn.hippo4j.common.monitor.MessageWrapper;
+import cn.hippo4j.common.push.ConfigAckMessage;
+import cn.hippo4j.common.push.ConfigSubscribeMessage;
+import cn.hippo4j.config.service.ConfigPushService;
 import cn.hippo4j.config.service.biz.HisRunDataService;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
@@ -25,16 +29,32 @@ import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 /**
- * Server handler.
+ * Server handler, handles monitor report and messages of the config push channel.
  */
 @Slf4j
 @AllArgsConstructor
-public class ServerHandler extends SimpleChannelInboundHandler<MessageWrapper> {
+public class ServerHandler extends SimpleChannelInboundHandler<Object> {
 
     private HisRunDataService hisRunDataService;
 
+    private ConfigPushService configPushService;
+
+    @Override
+    protected void channelRead0(ChannelHandlerContext ctx, Object msg) throws Exception {
+        if (msg instanceof MessageWrapper) {
+            hisRunDataService.dataCollect((MessageWrapper) msg);
+        } else if (msg instanceof Message) {
+            hisRunDataService.dataCollect((Message) msg);
+        } else if (msg instanceof ConfigSubscribeMessage) {
+            configPushService.subscribe(ctx.channel(), (ConfigSubscribeMessage) msg);
+        } else if (msg instanceof ConfigAckMessage) {
+            configPushService.ack(ctx.channel(), (ConfigAckMessage) msg);
+        }
+    }
+
     @Override
-    protected void channelRead0(ChannelHandlerContext ctx, MessageWrapper msg) throws Exception {
-        hisRunDataService.dataCollect(msg);
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        configPushService.unsubscribe(ctx.channel());
+        super.channelInactive(ctx);
     }
 }
@@ -23,9 +23,9 @@ import cn.hippo4j.common.extension.design.AbstractSubjectCenter;
 import cn.hippo4j.common.extension.design.Observer;
 import cn.hippo4j.common.extension.design.ObserverMessage;
 import cn.hippo4j.common.toolkit.CollectionUtil;
+import cn.hippo4j.common.toolkit.ContentUtil;
 import cn.hippo4j.common.toolkit.JSONUtil;
 import cn.hippo4j.common.toolkit.Joiner;
-import cn.hippo4j.common.toolkit.MapUtil;
 import cn.hippo4j.common.toolkit.Md5Util;
 import cn.hippo4j.common.toolkit.StringUtil;
 import cn.hippo4j.config.event.LocalDataChangeEvent;
@@ -33,29 +33,34 @@ import cn.hippo4j.config.model.CacheItem;
 import cn.hippo4j.config.model.ConfigAllInfo;
 import cn.hippo4j.config.notify.NotifyCenter;
 import cn.hippo4j.config.service.biz.ConfigService;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.util.StringUtils;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static cn.hippo4j.common.constant.Constants.GROUP_KEY_DELIMITER;
 import static cn.hippo4j.common.constant.Constants.GROUP_KEY_DELIMITER_TRANSLATION;
-import static cn.hippo4j.common.constant.MagicNumberConstants.INDEX_3;
 
 /**
- * Config cache service.
+ * <p>Config cache service. <br />
+ * All the caches are concurrent maps updated with compute semantics, so operations on different keys never block each other,
+ * the cache of a key and its indexes are only modified in the compute of the key.
+ * The cached config is indexed by thread-pool (tpId+itemId+tenantId) and by instance identify,
+ * so lookups from the dashboard and long polling never scan the whole cache.
  */
 @Slf4j
 public class ConfigCacheService {
 
-    private static ConfigService configService;
+    private static volatile ConfigService configService;
 
     static {
         AbstractSubjectCenter.register(AbstractSubjectCenter.SubjectType.CLEAR_CONFIG_CACHE, new ClearConfigCache());
@@ -67,7 +72,35 @@ public class ConfigCacheService {
      * key: 192.168.20.227:8088_xxx
      * val:  {@link CacheItem}
      */
-    private static final ConcurrentHashMap<String, Map<String, CacheItem>> CLIENT_CONFIG_CACHE = new ConcurrentHashMap();
+    private static final ConcurrentHashMap<String, Map<String, CacheItem>> CLIENT_CONFIG_CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * key: message-produce+dynamic-threadpool-example+prescription
+     * val: keys of {@link #CLIENT_CONFIG_CACHE}
+     */
+    private static final ConcurrentHashMap<String, Set<String>> GROUP_INDEX = new ConcurrentHashMap<>();
+
+    /**
+     * key: 192.168.20.227:8088_xxx
+     * val: keys of {@link #CLIENT_CONFIG_CACHE}
+     */
+    private static final ConcurrentHashMap<String, Set<String>> IDENTIFY_INDEX = new ConcurrentHashMap<>();
+
+    /**
+     * Recent config and its md5 loaded from database, invalidated whenever the config of thread-pool is written.
+     * key: message-produce+dynamic-threadpool-example+prescription
+     * val:
+     * key: 192.168.20.227:8088_xxx, empty if the key has no identify
+     * val: {@link ConfigContent}
+     */
+    private static final ConcurrentHashMap<String, Map<String, ConfigContent>> CONFIG_CONTENT_CACHE = new ConcurrentHashMap<>();
+
+    private static final ConfigContent ABSENT_CONFIG_CONTENT = new ConfigContent(null, null, Constants.NULL);
+
+    /**
+     * Number of {@link CacheItem}
+     */
+    private static final AtomicInteger TOTAL = new AtomicInteger();
 
     public static boolean isUpdateData(String groupKey, String md5, String clientIdentify) {
         String contentMd5 = ConfigCacheService.getContentMd5IsNullPut(groupKey, clientIdentify);
@@ -83,12 +116,9 @@ public class ConfigCacheService {
      * @return
      */
     public static boolean checkTpId(String groupKey, String tpId, String clientIdentify) {
-        Map<String, CacheItem> cacheItemMap = Optional.ofNullable(CLIENT_CONFIG_CACHE.get(groupKey)).orElse(new HashMap<>());
-        if (CollectionUtil.isNotEmpty(cacheItemMap)) {
-            CacheItem cacheItem = cacheItemMap.get(clientIdentify);
-            if (cacheItem != null) {
-                return Objects.equals(tpId, cacheItem.getConfigAllInfo().getTpId());
-            }
+        CacheItem cacheItem = getCacheItem(groupKey, clientIdentify);
+        if (cacheItem != null) {
+            return Objects.equals(tpId, cacheItem.getConfigAllInfo().getTpId());
         }
         return Boolean.FALSE;
     }
@@ -100,92 +130,120 @@ public class ConfigCacheService {
      * @param clientIdentify
      * @return
      */
-    private static synchronized String getContentMd5IsNullPut(String groupKey, String clientIdentify) {
-        Map<String, CacheItem> cacheItemMap = Optional.ofNullable(CLIENT_CONFIG_CACHE.get(groupKey)).orElse(new HashMap<>());
-        CacheItem cacheItem = null;
-        if (CollectionUtil.isNotEmpty(cacheItemMap)) {
-            cacheItem = cacheItemMap.get(clientIdentify);
-            if (cacheItem != null) {
-                return cacheItem.getMd5();
-            }
-        }
-        if (configService == null) {
-            configService = ApplicationContextHolder.getBean(ConfigService.class);
+    private static String getContentMd5IsNullPut(String groupKey, String clientIdentify) {
+        CacheItem cacheItem = getCacheItem(groupKey, clientIdentify);
+        if (cacheItem != null) {
+            return cacheItem.getMd5();
         }
-        String[] params = groupKey.split(GROUP_KEY_DELIMITER_TRANSLATION);
-        ConfigAllInfo config = configService.findConfigRecentInfo(params);
+        ConfigAllInfo config = getConfigContent(groupKey).getConfig();
         if (config != null && StringUtil.isNotBlank(config.getTpId())) {
-            cacheItem = new CacheItem(groupKey, config);
-            cacheItemMap.put(clientIdentify, cacheItem);
-            CLIENT_CONFIG_CACHE.put(groupKey, cacheItemMap);
+            cacheItem = putIfAbsent(groupKey, clientIdentify, new CacheItem(groupKey, config));
         }
         return (cacheItem != null) ? cacheItem.getMd5() : Constants.NULL;
     }
 
     public static String getContentMd5(String groupKey) {
-        if (configService == null) {
-            configService = ApplicationContextHolder.getBean(ConfigService.class);
-        }
-        String[] params = groupKey.split(GROUP_KEY_DELIMITER_TRANSLATION);
-        ConfigAllInfo config = configService.findConfigRecentInfo(params);
-        if (config == null || StringUtils.isEmpty(config.getTpId())) {
+        ConfigContent content = getConfigContent(groupKey);
+        ConfigAllInfo config = content.getConfig();
+        if (config == null || StringUtil.isBlank(config.getTpId())) {
+            String[] params = groupKey.split(GROUP_KEY_DELIMITER_TRANSLATION);
             String errorMessage = String.format("config is null. tpId: %s, itemId: %s, tenantId: %s", params[0], params[1], params[2]);
             throw new RuntimeException(errorMessage);
         }
-        return Md5Util.getTpContentMd5(config);
+        return content.getMd5();
+    }
+
+    /**
+     * Get the recent config of the thread-pool on the instance, it's loaded from database only if it's not cached.
+     *
+     * @param groupKey tpId+itemId+tenantId+identify
+     * @return recent config, or null if the thread-pool does not exist
+     */
+    public static ConfigAllInfo getConfig(String groupKey) {
+        return getConfigContent(groupKey).getConfig();
+    }
+
+    /**
+     * Get the pool content of thread-pools on the instance, the same content as the md5 is calculated from.
+     * They're loaded from database only if they're not cached, usually they're cached by the md5 check of long polling.
+     *
+     * @param groupKeys tpId+itemId+tenantId of thread-pools
+     * @param identify  client instance unique identifier
+     * @return pool content of the thread-pools that exist
+     */
+    public static List<String> getPoolContents(List<String> groupKeys, String identify) {
+        List<String> poolContents = new ArrayList<>(groupKeys.size());
+        for (String groupKey : groupKeys) {
+            String poolContent = getConfigContent(groupKey + GROUP_KEY_DELIMITER + identify).getPoolContent();
+            if (poolContent != null) {
+                poolContents.add(poolContent);
+            }
+        }
+        return poolContents;
     }
 
     public static void updateMd5(String groupKey, String identify, String md5) {
         CacheItem cache = makeSure(groupKey, identify);
         if (cache.getMd5() == null || !cache.getMd5().equals(md5)) {
             cache.setMd5(md5);
-            String[] params = groupKey.split(GROUP_KEY_DELIMITER_TRANSLATION);
-            ConfigAllInfo config = configService.findConfigRecentInfo(params);
-            cache.setConfigAllInfo(config);
+            cache.setConfigAllInfo(getConfigContent(groupKey).getConfig());
             cache.setLastModifiedTs(System.currentTimeMillis());
             NotifyCenter.publishEvent(new LocalDataChangeEvent(identify, groupKey));
         }
     }
 
-    public static synchronized CacheItem makeSure(String groupKey, String ip) {
-        Map<String, CacheItem> ipCacheItemMap = CLIENT_CONFIG_CACHE.get(groupKey);
-        if (ipCacheItemMap != null) {
-            CacheItem item = ipCacheItemMap.get(ip);
-            if (item != null) {
-                return item;
-            }
+    public static CacheItem makeSure(String groupKey, String ip) {
+        CacheItem item = getCacheItem(groupKey, ip);
+        if (item != null) {
+            return item;
         }
-        CacheItem tmp = new CacheItem(groupKey);
-        Map<String, CacheItem> cacheItemMap = new HashMap<>();
-        cacheItemMap.put(ip, tmp);
-        CLIENT_CONFIG_CACHE.putIfAbsent(groupKey, cacheItemMap);
-        return tmp;
+        return putIfAbsent(groupKey, ip, new CacheItem(groupKey));
     }
 
-    public static Map<String, CacheItem> getContent(String identification) {
-        List<String> identificationList = MapUtil.parseMapForFilter(CLIENT_CONFIG_CACHE, identification);
-        Map<String, CacheItem> returnStrCacheItemMap = new HashMap<>();
-        identificationList.forEach(each -> returnStrCacheItemMap.putAll(CLIENT_CONFIG_CACHE.get(each)));
-        return returnStrCacheItemMap;
+    /**
+     * Invalidate the cached config of thread-pool, must be called after the config is published.
+     *
+     * @param groupKey tpId+itemId+tenantId
+     */
+    public static void invalidateConfigContent(String groupKey) {
+        CONFIG_CONTENT_CACHE.remove(groupKey);
     }
 
-    public static synchronized Integer getTotal() {
-        AtomicInteger total = new AtomicInteger();
-        CLIENT_CONFIG_CACHE.forEach((key, val) -> total.addAndGet(val.values().size()));
-        return total.get();
+    /**
+     * Get cache items of all instances of the thread-pool.
+     *
+     * @param groupKey tpId+itemId+tenantId
+     * @return key: instance identify, val: cache item
+     */
+    public static Map<String, CacheItem> getContentByGroupKey(String groupKey) {
+        return collectContent(GROUP_INDEX.get(groupKey));
+    }
+
+    /**
+     * Get cache items of all thread-pools of the instance.
+     *
+     * @param identify instance identify
+     * @return key: instance identify, val: cache item
+     */
+    public static Map<String, CacheItem> getContentByIdentify(String identify) {
+        return collectContent(IDENTIFY_INDEX.get(identify));
+    }
+
+    public static Integer getTotal() {
+        return TOTAL.get();
     }
 
     public static List<String> getIdentifyList(String tenantId, String itemId, String threadPoolId) {
-        List<String> identifyList = null;
         String buildKey = Joiner.on(GROUP_KEY_DELIMITER).join(CollectionUtil.newArrayList(threadPoolId, itemId, tenantId));
-        List<String> keys = MapUtil.parseMapForFilter(CLIENT_CONFIG_CACHE, buildKey);
-        if (CollectionUtil.isNotEmpty(keys)) {
-            identifyList = new ArrayList<>(keys.size());
-            for (String each : keys) {
-                String[] keyArray = each.split(GROUP_KEY_DELIMITER_TRANSLATION);
-                if (keyArray.length > 2) {
-                    identifyList.add(keyArray[INDEX_3]);
-                }
+        Set<String> keys = GROUP_INDEX.get(buildKey);
+        if (CollectionUtil.isEmpty(keys)) {
+            return null;
+        }
+        List<String> identifyList = new ArrayList<>(keys.size());
+        for (String each : keys) {
+            String identify = parseIdentify(each);
+            if (StringUtil.isNotBlank(identify)) {
+                identifyList.add(identify);
             }
         }
         return identifyList;
@@ -200,13 +258,155 @@ public class ConfigCacheService {
         coarseRemove(groupKey);
     }
 
-    private static synchronized void coarseRemove(String coarse) {
-        // fuzzy search
-        List<String> identificationList = MapUtil.parseMapForFilter(CLIENT_CONFIG_CACHE, coarse);
-        for (String cacheMapKey : identificationList) {
-            Map<String, CacheItem> removeCacheItem = CLIENT_CONFIG_CACHE.remove(cacheMapKey);
-            log.info("Remove invalidated config cache. config info: {}", JSONUtil.toJSONString(removeCacheItem));
+    /**
+     * Remove the config cache of the keys containing the coarse key,
+     * the last part of the coarse key must be the instance identify.
+     *
+     * @param coarse instance identify, or a suffix of the key that ends with instance identify
+     */
+    private static void coarseRemove(String coarse) {
+        int index = coarse.lastIndexOf(GROUP_KEY_DELIMITER);
+        String identify = index < 0 ? coarse : coarse.substring(index + 1);
+        Set<String> keys = IDENTIFY_INDEX.get(identify);
+        if (keys == null) {
+            return;
+        }
+        for (String cacheMapKey : keys.toArray(new String[0])) {
+            if (!cacheMapKey.contains(coarse)) {
+                continue;
+            }
+            Map<String, CacheItem> removeCacheItem = remove(cacheMapKey);
+            if (removeCacheItem != null) {
+                log.info("Remove invalidated config cache. config info: {}", JSONUtil.toJSONString(removeCacheItem));
+            }
+        }
+    }
+
+    private static CacheItem getCacheItem(String groupKey, String clientIdentify) {
+        Map<String, CacheItem> cacheItemMap = CLIENT_CONFIG_CACHE.get(groupKey);
+        return cacheItemMap == null ? null : cacheItemMap.get(clientIdentify);
+    }
+
+    private static CacheItem putIfAbsent(String groupKey, String clientIdentify, CacheItem cacheItem) {
+        CacheItem[] result = new CacheItem[1];
+        CLIENT_CONFIG_CACHE.compute(groupKey, (key, cacheItemMap) -> {
+            if (cacheItemMap == null) {
+                cacheItemMap = new ConcurrentHashMap<>();
+                addIndex(GROUP_INDEX, parseGroup(key), key);
+                addIndex(IDENTIFY_INDEX, parseIdentify(key), key);
+            }
+            result[0] = cacheItemMap.putIfAbsent(clientIdentify, cacheItem);
+            if (result[0] == null) {
+                result[0] = cacheItem;
+                TOTAL.incrementAndGet();
+            }
+            return cacheItemMap;
+        });
+        return result[0];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, CacheItem> remove(String groupKey) {
+        Object[] result = new Object[1];
+        CLIENT_CONFIG_CACHE.computeIfPresent(groupKey, (key, cacheItemMap) -> {
+            result[0] = cacheItemMap;
+            TOTAL.addAndGet(-cacheItemMap.size());
+            String group = parseGroup(key);
+            String identify = parseIdentify(key);
+            removeIndex(GROUP_INDEX, group, key);
+            removeIndex(IDENTIFY_INDEX, identify, key);
+            CONFIG_CONTENT_CACHE.computeIfPresent(group, (each, contents) -> {
+                contents.remove(identify);
+                return contents.isEmpty() ? null : contents;
+            });
+            return null;
+        });
+        return (Map<String, CacheItem>) result[0];
+    }
+
+    private static Map<String, CacheItem> collectContent(Set<String> keys) {
+        if (keys == null) {
+            return Collections.emptyMap();
         }
+        Map<String, CacheItem> returnStrCacheItemMap = new HashMap<>();
+        for (String each : keys) {
+            Map<String, CacheItem> cacheItemMap = CLIENT_CONFIG_CACHE.get(each);
+            if (cacheItemMap != null) {
+                returnStrCacheItemMap.putAll(cacheItemMap);
+            }
+        }
+        return returnStrCacheItemMap;
+    }
+
+    /**
+     * Get the recent config from cache, load it from database if absent.
+     *
+     * @param groupKey tpId+itemId+tenantId+identify
+     * @return recent config
+     */
+    private static ConfigContent getConfigContent(String groupKey) {
+        String group = parseGroup(groupKey);
+        String identify = parseIdentify(groupKey);
+        Map<String, ConfigContent> contents = CONFIG_CONTENT_CACHE.computeIfAbsent(group, key -> new ConcurrentHashMap<>());
+        // concurrent loads of the same config wait for the first one, instead of all querying the database,
+        // a missing config is not cached, so it is found as soon as it is registered
+        ConfigContent content = contents.computeIfAbsent(identify, key -> {
+            String[] params = groupKey.split(GROUP_KEY_DELIMITER_TRANSLATION);
+            ConfigAllInfo config = getConfigService().findConfigRecentInfo(params);
+            if (config == null) {
+                return null;
+            }
+            String poolContent = ContentUtil.getPoolContent(config);
+            return new ConfigContent(config, poolContent, Md5Util.md5Hex(poolContent, Constants.ENCODE));
+        });
+        return content != null ? content : ABSENT_CONFIG_CONTENT;
+    }
+
+    private static ConfigService getConfigService() {
+        if (configService == null) {
+            configService = ApplicationContextHolder.getBean(ConfigService.class);
+        }
+        return configService;
+    }
+
+    private static String parseGroup(String groupKey) {
+        return LongPollingSubscriberIndex.parseGroup(groupKey);
+    }
+
+    private static String parseIdentify(String groupKey) {
+        String group = parseGroup(groupKey);
+        return group.length() < groupKey.length() ? groupKey.substring(group.length() + 1) : Constants.NULL;
+    }
+
+    private static void addIndex(ConcurrentHashMap<String, Set<String>> index, String indexKey, String groupKey) {
+        index.compute(indexKey, (key, groupKeys) -> {
+            if (groupKeys == null) {
+                groupKeys = ConcurrentHashMap.newKeySet();
+            }
+            groupKeys.add(groupKey);
+            return groupKeys;
+        });
+    }
+
+    private static void removeIndex(ConcurrentHashMap<String, Set<String>> index, String indexKey, String groupKey) {
+        index.computeIfPresent(indexKey, (key, groupKeys) -> {
+            groupKeys.remove(groupKey);
+            return groupKeys.isEmpty() ? null : groupKeys;
+        });
+    }
+
+    /**
+     * Recent config of thread-pool, its pool content and md5.
+     */
+    @Getter
+    @AllArgsConstructor
+    private static class ConfigContent {
+
+        private final ConfigAllInfo config;
+
+        private final String poolContent;
+
+        private final String md5;
     }
 
     /**
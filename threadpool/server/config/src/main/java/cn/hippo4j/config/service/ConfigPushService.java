@@ -0,0 +1,244 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.config.service;
+
+import cn.hippo4j.common.push.ConfigAckMessage;
+import cn.hippo4j.common.push.ConfigPushMessage;
+import cn.hippo4j.common.push.ConfigSubscribeAckMessage;
+import cn.hippo4j.common.push.ConfigSubscribeMessage;
+import cn.hippo4j.common.toolkit.JSONUtil;
+import cn.hippo4j.common.toolkit.StringUtil;
+import cn.hippo4j.config.event.AbstractEvent;
+import cn.hippo4j.config.event.LocalDataChangeEvent;
+import cn.hippo4j.config.model.ConfigAllInfo;
+import cn.hippo4j.config.notify.NotifyCenter;
+import cn.hippo4j.config.notify.listener.AbstractSubscriber;
+import cn.hippo4j.config.toolkit.ConfigExecutor;
+import cn.hippo4j.config.toolkit.Md5ConfigUtil;
+import io.netty.channel.Channel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static cn.hippo4j.common.constant.Constants.GROUP_KEY_DELIMITER;
+
+/**
+ * <p>Config push service. <br />
+ * Clients that connect to the netty server port can listen on their thread-pools through a persistent channel,
+ * the changed config is pushed to them directly instead of answering a long polling request and being queried again.
+ * Subscribers are indexed by {@link LongPollingSubscriberIndex} in the same way as long polling clients,
+ * and the pushed config is read from {@link ConfigCacheService}, so a change published to thousands of clients
+ * loads the config from database once.
+ *
+ * <p>A subscription is accepted only if its access token passes the {@link AccessTokenValidator},
+ * otherwise the channel is closed. An accepted subscription is answered with {@link ConfigSubscribeAckMessage},
+ * the client keeps long polling until then. Acks are bound to the subscription of their channel.
+ *
+ * <p>All the work with config is done by {@link ConfigExecutor}, never on the netty event loop.
+ */
+@Slf4j
+@Service
+public class ConfigPushService {
+
+    /**
+     * key: channel
+     * val: subscriber
+     */
+    private final Map<Channel, PushSubscriber> subscribers = new ConcurrentHashMap<>();
+
+    /**
+     * Index of {@link #subscribers} by the keys they listen on.
+     */
+    private final LongPollingSubscriberIndex<PushSubscriber> subscriberIndex = new LongPollingSubscriberIndex<>();
+
+    private final AccessTokenValidator accessTokenValidator;
+
+    public ConfigPushService(AccessTokenValidator accessTokenValidator) {
+        this.accessTokenValidator = accessTokenValidator;
+        NotifyCenter.registerToPublisher(LocalDataChangeEvent.class, NotifyCenter.RING_BUFFER_SIZE);
+        NotifyCenter.registerSubscriber(new AbstractSubscriber() {
+
+            @Override
+            public void onEvent(AbstractEvent event) {
+                if (event instanceof LocalDataChangeEvent && !subscribers.isEmpty()) {
+                    LocalDataChangeEvent evt = (LocalDataChangeEvent) event;
+                    ConfigExecutor.executeLongPolling(() -> dataChange(evt.getIdentify(), evt.getGroupKey()));
+                }
+            }
+
+            @Override
+            public Class<? extends AbstractEvent> subscribeType() {
+                return LocalDataChangeEvent.class;
+            }
+        });
+    }
+
+    /**
+     * Listen on the thread-pools of the message, push the config of which the md5 differs from the client, then ack the subscription.
+     * The channel is closed if the access token is rejected, or the identify differs from the former subscription of the channel.
+     *
+     * @param channel channel
+     * @param message subscribe message
+     */
+    public void subscribe(Channel channel, ConfigSubscribeMessage message) {
+        ConfigExecutor.executeLongPolling(() -> {
+            if (!channel.isActive()) {
+                return;
+            }
+            if (!accessTokenValidator.validate(message.getAccessToken())) {
+                log.warn("[{}] Config push channel rejected, invalid access token. remote: {}", message.getIdentify(), channel.remoteAddress());
+                channel.close();
+                return;
+            }
+            PushSubscriber subscriber = subscribers.computeIfAbsent(channel, each -> new PushSubscriber(each, message.getIdentify()));
+            if (!Objects.equals(subscriber.identify, message.getIdentify())) {
+                log.warn("[{}] Config push channel rejected, subscribed as {}. remote: {}", message.getIdentify(), subscriber.identify, channel.remoteAddress());
+                channel.close();
+                return;
+            }
+            List<String> addedKeys = new ArrayList<>();
+            for (ConfigSubscribeMessage.Item item : message.getItems()) {
+                String key = Md5ConfigUtil.getKey(item.getThreadPoolId(), item.getItemId(), item.getTenantId(), subscriber.identify);
+                if (subscriber.items.put(key, item) == null) {
+                    addedKeys.add(key);
+                }
+                try {
+                    if (!ConfigCacheService.isUpdateData(key, item.getMd5(), subscriber.identify)) {
+                        push(subscriber, key);
+                    }
+                } catch (Exception ex) {
+                    log.error("Failed to resync config. key: {}", key, ex);
+                }
+            }
+            subscriberIndex.add(subscriber, addedKeys);
+            channel.writeAndFlush(new ConfigSubscribeAckMessage(subscriber.identify, subscriber.items.size()));
+            log.info("[{}] Config push channel subscribed, thread pool count: {}", subscriber.identify, subscriber.items.size());
+        });
+    }
+
+    /**
+     * Record the md5 of config applied on the client. The ack is ignored unless the channel subscribed to the config,
+     * and the channel is closed if it has not subscribed or the identify differs from its subscription.
+     *
+     * @param channel channel
+     * @param message ack message
+     */
+    public void ack(Channel channel, ConfigAckMessage message) {
+        ConfigExecutor.executeLongPolling(() -> {
+            PushSubscriber subscriber = subscribers.get(channel);
+            if (subscriber == null || !Objects.equals(subscriber.identify, message.getIdentify())) {
+                log.warn("[{}] Config push channel rejected, ack without subscription. remote: {}", message.getIdentify(), channel.remoteAddress());
+                channel.close();
+                return;
+            }
+            String key = Md5ConfigUtil.getKey(message.getThreadPoolId(), message.getItemId(), message.getTenantId(), subscriber.identify);
+            if (!subscriber.items.containsKey(key)) {
+                log.warn("[{}] Config push ack ignored, not subscribed. key: {}", subscriber.identify, key);
+                return;
+            }
+            ConfigCacheService.updateMd5(key, subscriber.identify, message.getMd5());
+        });
+    }
+
+    /**
+     * Remove the subscriber of the channel, it must be called when the channel is closed.
+     *
+     * @param channel channel
+     */
+    public void unsubscribe(Channel channel) {
+        ConfigExecutor.executeLongPolling(() -> {
+            PushSubscriber subscriber = subscribers.remove(channel);
+            if (subscriber != null) {
+                subscriberIndex.remove(subscriber, subscriber.items.keySet());
+                log.info("[{}] Config push channel closed.", subscriber.identify);
+            }
+        });
+    }
+
+    /**
+     * Get number of subscribers.
+     *
+     * @return number of subscribers
+     */
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Push the changed config to the subscribers listening on it.
+     *
+     * @param identify client instance unique identifier, all clients if blank
+     * @param groupKey tpId+itemId+tenantId
+     */
+    private void dataChange(String identify, String groupKey) {
+        boolean allClients = StringUtil.isBlank(identify);
+        String identity = groupKey + GROUP_KEY_DELIMITER + identify;
+        Collection<PushSubscriber> clientSubs = allClients ? subscriberIndex.getByGroup(groupKey) : subscriberIndex.getByKey(identity);
+        for (PushSubscriber subscriber : clientSubs.toArray(new PushSubscriber[0])) {
+            try {
+                if (!allClients) {
+                    push(subscriber, identity);
+                    continue;
+                }
+                for (String key : subscriber.items.keySet()) {
+                    if (Objects.equals(groupKey, LongPollingSubscriberIndex.parseGroup(key))) {
+                        push(subscriber, key);
+                    }
+                }
+            } catch (Exception ex) {
+                log.error("Config push error: {}", ex.getMessage(), ex);
+            }
+        }
+    }
+
+    private void push(PushSubscriber subscriber, String key) {
+        ConfigSubscribeMessage.Item item = subscriber.items.get(key);
+        ConfigAllInfo config = ConfigCacheService.getConfig(key);
+        if (item == null || config == null || !subscriber.channel.isActive()) {
+            return;
+        }
+        subscriber.channel.writeAndFlush(new ConfigPushMessage(item.getThreadPoolId(), item.getItemId(), item.getTenantId(), JSONUtil.toJSONString(config)));
+    }
+
+    /**
+     * Client listening on the config through a channel.
+     */
+    private static class PushSubscriber {
+
+        final Channel channel;
+
+        final String identify;
+
+        /**
+         * key: tpId+itemId+tenantId+identify
+         * val: listened thread-pool
+         */
+        final Map<String, ConfigSubscribeMessage.Item> items = new ConcurrentHashMap<>();
+
+        PushSubscriber(Channel channel, String identify) {
+            this.channel = channel;
+            this.identify = identify;
+        }
+    }
+}
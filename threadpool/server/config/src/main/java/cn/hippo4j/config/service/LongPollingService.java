@@ -19,7 +19,6 @@ package cn.hippo4j.config.service;
 
 import cn.hippo4j.common.toolkit.CollectionUtil;
 import cn.hippo4j.common.toolkit.JSONUtil;
-import cn.hippo4j.common.toolkit.MapUtil;
 import cn.hippo4j.common.toolkit.Md5Util;
 import cn.hippo4j.common.toolkit.StringUtil;
 import cn.hippo4j.config.event.AbstractEvent;
@@ -38,13 +37,14 @@ import org.springframework.stereotype.Service;
 import javax.servlet.AsyncContext;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Queue;
+import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
@@ -77,7 +77,8 @@ public class LongPollingService {
     private static final int DEFAULT_DELAY_TIME = 500;
 
     public LongPollingService() {
-        allSubs = new ConcurrentLinkedQueue<>();
+        allSubs = ConcurrentHashMap.newKeySet();
+        subscriberIndex = new LongPollingSubscriberIndex<>();
         ConfigExecutor.scheduleLongPolling(new StatTask(), 0L, SCHEDULE_PERIOD, TimeUnit.SECONDS);
         NotifyCenter.registerToPublisher(LocalDataChangeEvent.class, NotifyCenter.RING_BUFFER_SIZE);
         NotifyCenter.registerSubscriber(new AbstractSubscriber() {
@@ -108,7 +109,12 @@ public class LongPollingService {
         }
     }
 
-    final Queue<ClientLongPolling> allSubs;
+    final Set<ClientLongPolling> allSubs;
+
+    /**
+     * Index of {@link #allSubs} by the keys they listen on.
+     */
+    final LongPollingSubscriberIndex<ClientLongPolling> subscriberIndex;
 
     /**
      * Data change task.
@@ -127,21 +133,25 @@ public class LongPollingService {
         @Override
         public void run() {
             try {
-                for (Iterator<ClientLongPolling> iterator = allSubs.iterator(); iterator.hasNext();) {
-                    ClientLongPolling clientSub = iterator.next();
-                    String identity = groupKey + GROUP_KEY_DELIMITER + identify;
-                    List<String> parseMapForFilter = CollectionUtil.newArrayList(identity);
-                    if (StringUtil.isBlank(identify)) {
-                        parseMapForFilter = MapUtil.parseMapForFilter(clientSub.clientMd5Map, groupKey);
+                boolean allClients = StringUtil.isBlank(identify);
+                String identity = groupKey + GROUP_KEY_DELIMITER + identify;
+                Collection<ClientLongPolling> clientSubs = allClients ? subscriberIndex.getByGroup(groupKey) : subscriberIndex.getByKey(identity);
+                // copy before responding, responded clients are removed from the index
+                for (ClientLongPolling clientSub : clientSubs.toArray(new ClientLongPolling[0])) {
+                    if (!removeSubscriber(clientSub)) {
+                        // already responded by timeout or another change
+                        continue;
+                    }
+                    try {
+                        getRetainIps().put(clientSub.clientIdentify, System.currentTimeMillis());
+                        List<String> changedKeys = allClients ? clientSub.getKeysOfGroup(groupKey) : Collections.singletonList(identity);
+                        changedKeys.forEach(each -> ConfigCacheService.updateMd5(each, clientSub.clientIdentify, ConfigCacheService.getContentMd5(each)));
+                    } catch (Exception ex) {
+                        log.error("Data change error: {}", ex.getMessage(), ex);
+                    } finally {
+                        // the client is no longer in the index, it must be responded here
+                        clientSub.sendResponse(Collections.singletonList(groupKey));
                     }
-                    parseMapForFilter.forEach(each -> {
-                        if (clientSub.clientMd5Map.containsKey(each)) {
-                            getRetainIps().put(clientSub.clientIdentify, System.currentTimeMillis());
-                            ConfigCacheService.updateMd5(each, clientSub.clientIdentify, ConfigCacheService.getContentMd5(each));
-                            iterator.remove();
-                            clientSub.sendResponse(Collections.singletonList(groupKey));
-                        }
-                    });
                 }
             } catch (Exception ex) {
                 log.error("Data change error: {}", ex.getMessage(), ex);
@@ -149,6 +159,20 @@ public class LongPollingService {
         }
     }
 
+    /**
+     * Remove the subscriber, only the caller who removes it successfully can respond to it.
+     *
+     * @param clientSub subscriber
+     * @return whether the subscriber is removed by this call
+     */
+    private boolean removeSubscriber(ClientLongPolling clientSub) {
+        if (!allSubs.remove(clientSub)) {
+            return false;
+        }
+        subscriberIndex.remove(clientSub, clientSub.clientMd5Map.keySet());
+        return true;
+    }
+
     /**
      * Add long polling client.
      *
@@ -226,8 +250,10 @@ public class LongPollingService {
         public void run() {
             asyncTimeoutFuture = ConfigExecutor.scheduleLongPolling(() -> {
                 try {
+                    if (!removeSubscriber(ClientLongPolling.this)) {
+                        return;
+                    }
                     getRetainIps().put(ClientLongPolling.this.clientIdentify, System.currentTimeMillis());
-                    allSubs.remove(ClientLongPolling.this);
                     if (isFixedPolling()) {
                         List<String> changedGroups = Md5ConfigUtil.compareMd5((HttpServletRequest) asyncContext.getRequest(), clientMd5Map);
                         if (!changedGroups.isEmpty()) {
@@ -243,6 +269,23 @@ public class LongPollingService {
                 }
             }, timeoutTime, TimeUnit.MILLISECONDS);
             allSubs.add(this);
+            subscriberIndex.add(this, clientMd5Map.keySet());
+        }
+
+        /**
+         * Get the keys listened by this client in the group.
+         *
+         * @param groupKey tpId+itemId+tenantId
+         * @return keys in the group
+         */
+        List<String> getKeysOfGroup(String groupKey) {
+            List<String> keys = new ArrayList<>();
+            clientMd5Map.keySet().forEach(each -> {
+                if (Objects.equals(groupKey, LongPollingSubscriberIndex.parseGroup(each))) {
+                    keys.add(each);
+                }
+            });
+            return keys;
         }
 
         /**
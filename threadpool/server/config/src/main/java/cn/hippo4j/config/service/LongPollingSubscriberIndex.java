@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.config.service;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static cn.hippo4j.common.constant.Constants.GROUP_KEY_DELIMITER;
+
+/**
+ * <p>Index of long polling subscribers by the config keys they listen on,
+ * so that a config change only visits the affected subscribers instead of all of them. <br />
+ * Each subscriber is indexed twice:
+ * <ul>
+ *     <li>by key: tpId+itemId+tenantId+identify, for the change of a config on a specified client;</li>
+ *     <li>by group: tpId+itemId+tenantId, for the change of a config on all clients.</li>
+ * </ul>
+ * Subscribers are compared by identity, the index must be updated when they hang and complete.
+ *
+ * @param <T> type of subscriber
+ */
+public class LongPollingSubscriberIndex<T> {
+
+    /**
+     * Number of delimiters in the group part of a key
+     */
+    private static final int GROUP_DELIMITER_COUNT = 3;
+
+    /**
+     * key: tpId+itemId+tenantId+identify
+     * val: subscribers
+     */
+    private final Map<String, Set<T>> keyIndex = new ConcurrentHashMap<>();
+
+    /**
+     * key: tpId+itemId+tenantId
+     * val: subscribers
+     */
+    private final Map<String, Set<T>> groupIndex = new ConcurrentHashMap<>();
+
+    /**
+     * Add subscriber to the index.
+     *
+     * @param subscriber subscriber
+     * @param keys       keys listened by subscriber
+     */
+    public void add(T subscriber, Collection<String> keys) {
+        for (String key : keys) {
+            addTo(keyIndex, key, subscriber);
+            addTo(groupIndex, parseGroup(key), subscriber);
+        }
+    }
+
+    /**
+     * Remove subscriber from the index.
+     *
+     * @param subscriber subscriber
+     * @param keys       keys listened by subscriber, same as the keys when it's added
+     */
+    public void remove(T subscriber, Collection<String> keys) {
+        for (String key : keys) {
+            removeFrom(keyIndex, key, subscriber);
+            removeFrom(groupIndex, parseGroup(key), subscriber);
+        }
+    }
+
+    /**
+     * Get subscribers listened on the key.
+     *
+     * @param key tpId+itemId+tenantId+identify
+     * @return subscribers, weakly consistent view
+     */
+    public Collection<T> getByKey(String key) {
+        return keyIndex.getOrDefault(key, Collections.emptySet());
+    }
+
+    /**
+     * Get subscribers listened on any key of the group.
+     *
+     * @param groupKey tpId+itemId+tenantId
+     * @return subscribers, weakly consistent view
+     */
+    public Collection<T> getByGroup(String groupKey) {
+        return groupIndex.getOrDefault(groupKey, Collections.emptySet());
+    }
+
+    /**
+     * Get number of indexed keys.
+     *
+     * @return number of indexed keys
+     */
+    public int keySize() {
+        return keyIndex.size();
+    }
+
+    /**
+     * Parse the group part of the key, the key itself is returned if it has no identify part.
+     *
+     * @param key tpId+itemId+tenantId+identify
+     * @return tpId+itemId+tenantId
+     */
+    public static String parseGroup(String key) {
+        int index = -1;
+        for (int i = 0; i < GROUP_DELIMITER_COUNT; i++) {
+            index = key.indexOf(GROUP_KEY_DELIMITER, index + 1);
+            if (index < 0) {
+                return key;
+            }
+        }
+        return key.substring(0, index);
+    }
+
+    private void addTo(Map<String, Set<T>> index, String key, T subscriber) {
+        index.compute(key, (k, subscribers) -> {
+            if (subscribers == null) {
+                subscribers = ConcurrentHashMap.newKeySet();
+            }
+            subscribers.add(subscriber);
+            return subscribers;
+        });
+    }
+
+    private void removeFrom(Map<String, Set<T>> index, String key, T subscriber) {
+        index.computeIfPresent(key, (k, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+}
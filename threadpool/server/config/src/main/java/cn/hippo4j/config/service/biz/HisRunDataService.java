@@ -64,10 +64,24 @@ public interface HisRunDataService extends IService<HisRunDataInfo> {
      */
     void save(Message message);
 
+    /**
+     * Save asynchronously, rows are buffered and written in batches.
+     *
+     * @param message
+     */
+    void saveAsync(Message message);
+
     /**
      * dataCollect.
      *
      * @param messageWrapper
      */
     Result<Void> dataCollect(MessageWrapper messageWrapper);
+
+    /**
+     * dataCollect of message which has been decoded, such as the binary report of netty.
+     *
+     * @param message
+     */
+    void dataCollect(Message message);
 }
@@ -76,8 +76,10 @@ import static cn.hippo4j.common.executor.support.BlockingQueueTypeEnum.LINKED_BL
 import static cn.hippo4j.common.executor.support.BlockingQueueTypeEnum.LINKED_BLOCKING_QUEUE;
 import static cn.hippo4j.common.executor.support.BlockingQueueTypeEnum.LINKED_TRANSFER_QUEUE;
 import static cn.hippo4j.common.executor.support.BlockingQueueTypeEnum.PRIORITY_BLOCKING_QUEUE;
+import static cn.hippo4j.common.executor.support.BlockingQueueTypeEnum.PRIORITY_LANE_BLOCKING_QUEUE;
+import static cn.hippo4j.common.executor.support.BlockingQueueTypeEnum.RESIZABLE_ARRAY_BLOCKING_QUEUE;
 import static cn.hippo4j.common.executor.support.BlockingQueueTypeEnum.RESIZABLE_LINKED_BLOCKING_QUEUE;
-import static cn.hippo4j.config.service.ConfigCacheService.getContent;
+import static cn.hippo4j.common.executor.support.BlockingQueueTypeEnum.WORK_STEALING_BLOCKING_QUEUE;
 
 /**
  * Config service impl.
@@ -220,7 +222,7 @@ public class ConfigServiceImpl implements ConfigService {
 
     private void verification(String identify) {
         if (StringUtil.isNotBlank(identify)) {
-            Map content = getContent(identify);
+            Map content = ConfigCacheService.getContentByIdentify(identify);
             Assert.isTrue(CollectionUtil.isNotEmpty(content), "线程池实例不存在, 请尝试页面刷新");
         }
     }
@@ -245,6 +247,7 @@ public class ConfigServiceImpl implements ConfigService {
             log.error("[db-error] message: {}", ex.getMessage(), ex);
             throw ex;
         }
+        ConfigCacheService.invalidateConfigContent(ContentUtil.getGroupKey(config));
         return configId;
     }
 
@@ -280,6 +283,7 @@ public class ConfigServiceImpl implements ConfigService {
             log.error("[db-error] message: {}", ex.getMessage(), ex);
             throw ex;
         }
+        ConfigCacheService.invalidateConfigContent(ContentUtil.getGroupKey(config));
     }
 
     private void recordOperationLog(ConfigAllInfo requestParam) {
@@ -316,7 +320,10 @@ public class ConfigServiceImpl implements ConfigService {
                 LINKED_BLOCKING_QUEUE.getType(),
                 LINKED_BLOCKING_DEQUE.getType(),
                 PRIORITY_BLOCKING_QUEUE.getType(),
-                RESIZABLE_LINKED_BLOCKING_QUEUE.getType()).collect(Collectors.toList());
+                RESIZABLE_LINKED_BLOCKING_QUEUE.getType(),
+                RESIZABLE_ARRAY_BLOCKING_QUEUE.getType(),
+                PRIORITY_LANE_BLOCKING_QUEUE.getType(),
+                WORK_STEALING_BLOCKING_QUEUE.getType()).collect(Collectors.toList());
         boolean setDefaultFlag = queueTypes.contains(config.getQueueType()) && (config.getCapacity() == null || Objects.equals(config.getCapacity(), 0));
         if (setDefaultFlag) {
             queueCapacity = DEFAULT_QUEUE_CAPACITY;
@@ -30,7 +30,9 @@ import cn.hippo4j.config.model.HisRunDataInfo;
 import cn.hippo4j.config.model.biz.monitor.MonitorActiveRespDTO;
 import cn.hippo4j.config.model.biz.monitor.MonitorQueryReqDTO;
 import cn.hippo4j.config.model.biz.monitor.MonitorRespDTO;
+import cn.hippo4j.config.monitor.HisRunDataBatchWriter;
 import cn.hippo4j.config.monitor.QueryMonitorExecuteChoose;
+import cn.hippo4j.config.monitor.RuntimeMessageReconstructor;
 import cn.hippo4j.config.service.ConfigCacheService;
 import cn.hippo4j.config.service.biz.HisRunDataService;
 import cn.hippo4j.common.toolkit.BeanUtil;
@@ -66,6 +68,10 @@ public class HisRunDataServiceImpl extends ServiceImpl<HisRunDataMapper, HisRunD
 
     private final ThreadPoolTaskExecutor monitorThreadPoolTaskExecutor;
 
+    private final HisRunDataBatchWriter hisRunDataBatchWriter;
+
+    private final RuntimeMessageReconstructor runtimeMessageReconstructor;
+
     @Override
     public List<MonitorRespDTO> query(MonitorQueryReqDTO reqDTO) {
         LocalDateTime currentDate = LocalDateTime.now();
@@ -150,9 +156,22 @@ public class HisRunDataServiceImpl extends ServiceImpl<HisRunDataMapper, HisRunD
     @Override
     @Transactional(rollbackFor = Exception.class)
     public void save(Message message) {
+        this.saveBatch(convert(message));
+    }
+
+    @Override
+    public void saveAsync(Message message) {
+        hisRunDataBatchWriter.offer(convert(message));
+    }
+
+    private List<HisRunDataInfo> convert(Message message) {
         List<RuntimeMessage> runtimeMessages = message.getMessages();
-        List<HisRunDataInfo> hisRunDataInfos = new ArrayList<>();
-        runtimeMessages.forEach(each -> {
+        List<HisRunDataInfo> hisRunDataInfos = new ArrayList<>(runtimeMessages.size());
+        runtimeMessages.forEach(row -> {
+            RuntimeMessage each = runtimeMessageReconstructor.reconstruct(row);
+            if (each == null) {
+                return;
+            }
             HisRunDataInfo hisRunDataInfo = BeanUtil.convert(each, HisRunDataInfo.class);
             String[] parseKey = GroupKey.parseKey(each.getGroupKey());
             boolean checkFlag = ConfigCacheService.checkTpId(each.getGroupKey(), parseKey[INDEX_0], parseKey[INDEX_3]);
@@ -164,20 +183,28 @@ public class HisRunDataServiceImpl extends ServiceImpl<HisRunDataMapper, HisRunD
                 hisRunDataInfos.add(hisRunDataInfo);
             }
         });
-        this.saveBatch(hisRunDataInfos);
+        return hisRunDataInfos;
     }
 
     @Override
     public Result<Void> dataCollect(MessageWrapper messageWrapper) {
-        Runnable task = () -> {
+        execute(() -> {
             Message message = MessageConvert.convert(messageWrapper);
             queryMonitorExecuteChoose.chooseAndExecute(message);
-        };
+        });
+        return Results.success();
+    }
+
+    @Override
+    public void dataCollect(Message message) {
+        execute(() -> queryMonitorExecuteChoose.chooseAndExecute(message));
+    }
+
+    private void execute(Runnable task) {
         try {
             monitorThreadPoolTaskExecutor.execute(task);
         } catch (Exception ex) {
             log.error("Monitoring data insertion database task overflow.", ex);
         }
-        return Results.success();
     }
 }
@@ -21,6 +21,7 @@ import cn.hippo4j.common.constant.ConfigModifyTypeConstants;
 import cn.hippo4j.common.extension.enums.DelEnum;
 import cn.hippo4j.common.toolkit.BeanUtil;
 import cn.hippo4j.common.toolkit.CollectionUtil;
+import cn.hippo4j.common.toolkit.ContentUtil;
 import cn.hippo4j.common.toolkit.JSONUtil;
 import cn.hippo4j.common.toolkit.UserContext;
 import cn.hippo4j.config.mapper.ConfigInfoMapper;
@@ -31,6 +32,7 @@ import cn.hippo4j.config.model.biz.threadpool.ThreadPoolDelReqDTO;
 import cn.hippo4j.config.model.biz.threadpool.ThreadPoolQueryReqDTO;
 import cn.hippo4j.config.model.biz.threadpool.ThreadPoolRespDTO;
 import cn.hippo4j.config.model.biz.threadpool.ThreadPoolSaveOrUpdateReqDTO;
+import cn.hippo4j.config.service.ConfigCacheService;
 import cn.hippo4j.config.service.biz.ConfigService;
 import cn.hippo4j.config.service.biz.OperationLogService;
 import cn.hippo4j.config.service.biz.ThreadPoolService;
@@ -110,6 +112,7 @@ public class ThreadPoolServiceImpl implements ThreadPoolService {
                         .eq(ConfigAllInfo::getTenantId, requestParam.getTenantId())
                         .eq(ConfigAllInfo::getItemId, requestParam.getItemId())
                         .eq(ConfigAllInfo::getTpId, requestParam.getTpId()));
+        ConfigCacheService.invalidateConfigContent(ContentUtil.getGroupKey(requestParam.getTpId(), requestParam.getItemId(), requestParam.getTenantId()));
         recordOperationLog(requestParam);
     }
 
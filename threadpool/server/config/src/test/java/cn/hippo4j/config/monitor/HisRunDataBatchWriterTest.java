@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.config.monitor;
+
+import cn.hippo4j.config.config.ServerBootstrapProperties;
+import cn.hippo4j.config.mapper.HisRunDataMapper;
+import cn.hippo4j.config.model.HisRunDataInfo;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * test for {@link HisRunDataBatchWriter}
+ */
+public class HisRunDataBatchWriterTest {
+
+    private final List<List<HisRunDataInfo>> batches = new CopyOnWriteArrayList<>();
+
+    private HisRunDataBatchWriter writer;
+
+    @After
+    public void tearDown() {
+        if (writer != null) {
+            writer.destroy();
+        }
+    }
+
+    @Test
+    public void testFlushBySize() throws InterruptedException {
+        writer = newWriter(16, 4, 60000L, "discard_oldest");
+        writer.offer(rows(0, 10));
+        waitFor(() -> writer.getWrittenCount() == 10);
+        Assert.assertEquals(10, writer.getOfferedCount());
+        Assert.assertEquals(0, writer.getBufferSize());
+        Assert.assertTrue(batches.stream().allMatch(each -> each.size() <= 4));
+        Assert.assertEquals(batches.size(), writer.getFlushCount());
+    }
+
+    @Test
+    public void testFlushByInterval() throws InterruptedException {
+        writer = newWriter(16, 8, 50L, "discard_oldest");
+        writer.offer(rows(0, 3));
+        waitFor(() -> writer.getWrittenCount() == 3);
+        Assert.assertEquals(1, batches.size());
+        Assert.assertNotNull(batches.get(0).get(0).getGmtCreate());
+    }
+
+    @Test
+    public void testDiscardOldest() {
+        writer = newWriter(4, 100, 60000L, "discard_oldest");
+        writer.offer(rows(0, 6));
+        Assert.assertEquals(2, writer.getDroppedCount());
+        Assert.assertEquals(0, writer.getBufferRemainingCapacity());
+        writer.flush();
+        Assert.assertEquals(LongStream.range(2, 6).boxed().collect(Collectors.toList()), timestamps());
+    }
+
+    @Test
+    public void testDiscardNewest() {
+        writer = newWriter(4, 100, 60000L, "DISCARD_NEWEST");
+        writer.offer(rows(0, 6));
+        Assert.assertEquals(HisRunDataBatchWriter.DropPolicy.DISCARD_NEWEST, writer.getDropPolicy());
+        Assert.assertEquals(2, writer.getDroppedCount());
+        writer.flush();
+        Assert.assertEquals(LongStream.range(0, 4).boxed().collect(Collectors.toList()), timestamps());
+    }
+
+    @Test
+    public void testWriteFailed() {
+        HisRunDataMapper mapper = Mockito.mock(HisRunDataMapper.class);
+        Mockito.when(mapper.insertBatch(Mockito.anyList())).thenThrow(new IllegalStateException("db down"));
+        writer = newWriter(16, 100, 60000L, "discard_oldest", mapper);
+        writer.offer(rows(0, 3));
+        writer.flush();
+        Assert.assertEquals(3, writer.getFailedCount());
+        Assert.assertEquals(0, writer.getWrittenCount());
+        Assert.assertEquals(0, writer.getBufferSize());
+    }
+
+    @Test
+    public void testFlushOnDestroy() {
+        writer = newWriter(16, 100, 60000L, "discard_oldest");
+        writer.offer(rows(0, 3));
+        writer.destroy();
+        Assert.assertEquals(3, writer.getWrittenCount());
+        writer = null;
+    }
+
+    @Test
+    public void testValidateProperties() {
+        Assert.assertThrows(IllegalArgumentException.class, () -> newWriter(0, 1, 1000L, "discard_oldest"));
+        Assert.assertThrows(IllegalArgumentException.class, () -> newWriter(16, 0, 1000L, "discard_oldest"));
+        Assert.assertThrows(IllegalArgumentException.class, () -> newWriter(16, 4, 0L, "discard_oldest"));
+    }
+
+    private HisRunDataBatchWriter newWriter(int capacity, int batchSize, long flushInterval, String dropPolicy) {
+        HisRunDataMapper mapper = Mockito.mock(HisRunDataMapper.class);
+        Mockito.when(mapper.insertBatch(Mockito.anyList())).thenAnswer(invocation -> {
+            List<HisRunDataInfo> batch = invocation.getArgument(0);
+            batches.add(new ArrayList<>(batch));
+            return batch.size();
+        });
+        return newWriter(capacity, batchSize, flushInterval, dropPolicy, mapper);
+    }
+
+    private HisRunDataBatchWriter newWriter(int capacity, int batchSize, long flushInterval, String dropPolicy, HisRunDataMapper mapper) {
+        ServerBootstrapProperties properties = new ServerBootstrapProperties();
+        properties.setHisRunDataBufferCapacity(capacity);
+        properties.setHisRunDataBatchSize(batchSize);
+        properties.setHisRunDataFlushInterval(flushInterval);
+        properties.setHisRunDataDropPolicy(dropPolicy);
+        HisRunDataBatchWriter batchWriter = new HisRunDataBatchWriter(properties, mapper);
+        batchWriter.afterPropertiesSet();
+        return batchWriter;
+    }
+
+    private List<Long> timestamps() {
+        return batches.stream().flatMap(List::stream).map(HisRunDataInfo::getTimestamp).collect(Collectors.toList());
+    }
+
+    private static List<HisRunDataInfo> rows(long from, long to) {
+        return LongStream.range(from, to).mapToObj(i -> {
+            HisRunDataInfo row = new HisRunDataInfo();
+            row.setTimestamp(i);
+            return row;
+        }).collect(Collectors.toList());
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10L);
+        }
+        Assert.assertTrue(condition.getAsBoolean());
+    }
+}
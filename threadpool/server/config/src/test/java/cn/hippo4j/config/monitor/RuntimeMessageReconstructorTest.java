@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.config.monitor;
+
+import cn.hippo4j.common.monitor.RuntimeMessage;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * test for {@link RuntimeMessageReconstructor}
+ */
+public class RuntimeMessageReconstructorTest {
+
+    private static final String GROUP_KEY = "tp+item+tenant+127.0.0.1:8080_1";
+
+    private final RuntimeMessageReconstructor reconstructor = new RuntimeMessageReconstructor();
+
+    @Test
+    public void testDeltaWithoutKeyframe() {
+        Assert.assertNull(reconstructor.reconstruct(newRow(1L, null, 10L, true)));
+    }
+
+    @Test
+    public void testReconstruct() {
+        RuntimeMessage keyframe = newRow(1L, 5, 10L, false);
+        Assert.assertSame(keyframe, reconstructor.reconstruct(keyframe));
+
+        RuntimeMessage row = reconstructor.reconstruct(newRow(2L, null, 20L, true));
+        Assert.assertEquals(Integer.valueOf(5), row.getPoolSize());
+        Assert.assertEquals(Long.valueOf(20L), row.getCompletedTaskCount());
+        Assert.assertEquals(Long.valueOf(2L), row.getTimestamp());
+        Assert.assertNull(row.getDelta());
+
+        row = reconstructor.reconstruct(newRow(3L, 6, null, true));
+        Assert.assertEquals(Integer.valueOf(6), row.getPoolSize());
+        Assert.assertEquals(Long.valueOf(20L), row.getCompletedTaskCount());
+    }
+
+    @Test
+    public void testOutOfOrderDelta() {
+        reconstructor.reconstruct(newRow(1L, 5, 10L, false));
+        reconstructor.reconstruct(newRow(3L, null, 30L, true));
+        RuntimeMessage late = reconstructor.reconstruct(newRow(2L, 6, null, true));
+        Assert.assertEquals(Integer.valueOf(6), late.getPoolSize());
+        Assert.assertEquals(Long.valueOf(30L), late.getCompletedTaskCount());
+        // the late row does not overwrite the latest state
+        RuntimeMessage row = reconstructor.reconstruct(newRow(4L, null, null, true));
+        Assert.assertEquals(Integer.valueOf(5), row.getPoolSize());
+        Assert.assertEquals(Long.valueOf(30L), row.getCompletedTaskCount());
+    }
+
+    private static RuntimeMessage newRow(Long timestamp, Integer poolSize, Long completedTaskCount, boolean delta) {
+        RuntimeMessage row = new RuntimeMessage();
+        row.setGroupKey(GROUP_KEY);
+        row.setTimestamp(timestamp);
+        row.setPoolSize(poolSize);
+        row.setCompletedTaskCount(completedTaskCount);
+        if (delta) {
+            row.setDelta(Boolean.TRUE);
+        }
+        return row;
+    }
+}
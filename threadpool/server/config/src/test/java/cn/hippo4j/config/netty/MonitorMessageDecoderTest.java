@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.config.netty;
+
+import cn.hippo4j.common.monitor.Message;
+import cn.hippo4j.common.monitor.MessageTypeEnum;
+import cn.hippo4j.common.monitor.MessageWrapper;
+import cn.hippo4j.common.monitor.RuntimeMessage;
+import cn.hippo4j.common.monitor.RuntimeMessageCodec;
+import cn.hippo4j.common.toolkit.MessageConvert;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.serialization.ClassResolvers;
+import io.netty.handler.codec.serialization.ObjectEncoder;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+
+/**
+ * test for {@link MonitorMessageDecoder}
+ */
+public class MonitorMessageDecoderTest {
+
+    @Test
+    public void testDecodeJavaSerialization() {
+        EmbeddedChannel encoder = new EmbeddedChannel(new ObjectEncoder());
+        encoder.writeOutbound(MessageConvert.convert(newMessage()));
+        ByteBuf bytes = encoder.readOutbound();
+        EmbeddedChannel channel = newChannel();
+        Assert.assertTrue(channel.writeInbound(bytes));
+        Object decoded = channel.readInbound();
+        Assert.assertTrue(decoded instanceof MessageWrapper);
+        Assert.assertEquals(MessageTypeEnum.RUNTIME, ((MessageWrapper) decoded).getMessageType());
+    }
+
+    @Test
+    public void testDecodeBinaryInFragments() {
+        byte[] body = RuntimeMessageCodec.encode(newMessage());
+        ByteBuf bytes = Unpooled.buffer().writeInt(body.length).writeBytes(body);
+        EmbeddedChannel channel = newChannel();
+        Assert.assertFalse(channel.writeInbound(bytes.readRetainedSlice(3)));
+        Assert.assertFalse(channel.writeInbound(bytes.readRetainedSlice(10)));
+        Assert.assertTrue(channel.writeInbound(bytes.readRetainedSlice(bytes.readableBytes())));
+        bytes.release();
+        Message decoded = channel.readInbound();
+        Assert.assertEquals(newMessage().getMessages(), decoded.getMessages());
+    }
+
+    private static EmbeddedChannel newChannel() {
+        return new EmbeddedChannel(new MonitorMessageDecoder(Integer.MAX_VALUE, ClassResolvers.cacheDisabled(null)));
+    }
+
+    private static Message newMessage() {
+        RuntimeMessage row = new RuntimeMessage();
+        row.setMessageType(MessageTypeEnum.RUNTIME);
+        row.setGroupKey("message-consume+dynamic-threadpool-example+prescription+127.0.0.1:8088_1");
+        row.setPoolSize(5);
+        row.setCompletedTaskCount(100L);
+        row.setTimestamp(1700000000000L);
+        RuntimeMessage message = new RuntimeMessage();
+        message.setMessageType(MessageTypeEnum.RUNTIME);
+        message.setMessages(Collections.singletonList(row));
+        return message;
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.config.service;
+
+import cn.hippo4j.common.executor.support.BlockingQueueTypeEnum;
+import cn.hippo4j.common.executor.support.RejectedPolicyTypeEnum;
+import cn.hippo4j.common.model.register.DynamicThreadPoolRegisterParameter;
+import cn.hippo4j.common.model.register.DynamicThreadPoolRegisterWrapper;
+import cn.hippo4j.common.toolkit.ContentUtil;
+import cn.hippo4j.common.toolkit.Md5Util;
+import cn.hippo4j.config.mapper.ConfigInfoMapper;
+import cn.hippo4j.config.mapper.ConfigInstanceMapper;
+import cn.hippo4j.config.model.CacheItem;
+import cn.hippo4j.config.model.ConfigAllInfo;
+import cn.hippo4j.config.model.biz.item.ItemRespDTO;
+import cn.hippo4j.config.model.biz.tenant.TenantRespDTO;
+import cn.hippo4j.config.service.biz.ConfigService;
+import cn.hippo4j.config.service.biz.ItemService;
+import cn.hippo4j.config.service.biz.NotifyService;
+import cn.hippo4j.config.service.biz.OperationLogService;
+import cn.hippo4j.config.service.biz.TenantService;
+import cn.hippo4j.config.service.biz.impl.ConfigServiceImpl;
+import cn.hippo4j.core.config.ApplicationContextHolder;
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.springframework.context.ApplicationContext;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * test for {@link ConfigCacheService}
+ */
+public class ConfigCacheServiceTest {
+
+    private static final String GROUP_KEY = "test-cache-tp+test-cache-item+test-cache-tenant";
+
+    private static final String IDENTIFY_1 = "127.0.0.1:8080_1";
+
+    private static final String IDENTIFY_2 = "127.0.0.1:8080_2";
+
+    /**
+     * {@link ConfigCacheService} keeps the first {@link ConfigService} it gets
+     */
+    private static final ConfigService configService = Mockito.mock(ConfigService.class);
+
+    @Before
+    public void setUp() {
+        Mockito.reset(configService);
+        ApplicationContext context = Mockito.mock(ApplicationContext.class);
+        Mockito.when(context.getBean(ConfigService.class)).thenReturn(configService);
+        Mockito.when(configService.findConfigRecentInfo(Mockito.any())).thenAnswer(invocation -> newConfig(1));
+        new ApplicationContextHolder().setApplicationContext(context);
+        ConfigCacheService.invalidateConfigContent(GROUP_KEY);
+    }
+
+    @After
+    public void tearDown() {
+        ConfigCacheService.removeConfigCache(IDENTIFY_1);
+        ConfigCacheService.removeConfigCache(IDENTIFY_2);
+    }
+
+    @Test
+    public void testIsUpdateData() {
+        String md5 = ConfigCacheService.getContentMd5(GROUP_KEY + "+" + IDENTIFY_1);
+        Assert.assertTrue(ConfigCacheService.isUpdateData(GROUP_KEY + "+" + IDENTIFY_1, md5, IDENTIFY_1));
+        Assert.assertFalse(ConfigCacheService.isUpdateData(GROUP_KEY + "+" + IDENTIFY_2, "other", IDENTIFY_2));
+        Assert.assertTrue(ConfigCacheService.checkTpId(GROUP_KEY + "+" + IDENTIFY_1, "test-cache-tp", IDENTIFY_1));
+        Assert.assertFalse(ConfigCacheService.checkTpId(GROUP_KEY + "+" + IDENTIFY_1, "other", IDENTIFY_1));
+    }
+
+    @Test
+    public void testIndex() {
+        int total = ConfigCacheService.getTotal();
+        ConfigCacheService.makeSure(GROUP_KEY + "+" + IDENTIFY_1, IDENTIFY_1);
+        ConfigCacheService.makeSure(GROUP_KEY + "+" + IDENTIFY_2, IDENTIFY_2);
+        ConfigCacheService.makeSure("test-cache-tp2+test-cache-item+test-cache-tenant+" + IDENTIFY_1, IDENTIFY_1);
+        Assert.assertEquals(total + 3, ConfigCacheService.getTotal().intValue());
+
+        Map<String, CacheItem> content = ConfigCacheService.getContentByGroupKey(GROUP_KEY);
+        Assert.assertEquals(2, content.size());
+        Assert.assertTrue(content.containsKey(IDENTIFY_1));
+        Assert.assertTrue(content.containsKey(IDENTIFY_2));
+        Assert.assertEquals(1, ConfigCacheService.getContentByIdentify(IDENTIFY_2).size());
+        Assert.assertTrue(ConfigCacheService.getContentByGroupKey("test-cache-tp").isEmpty());
+
+        List<String> identifyList = ConfigCacheService.getIdentifyList("test-cache-tenant", "test-cache-item", "test-cache-tp");
+        Assert.assertEquals(2, identifyList.size());
+        Assert.assertTrue(identifyList.containsAll(Arrays.asList(IDENTIFY_1, IDENTIFY_2)));
+
+        // remove by suffix of key, as the client close hook does
+        ConfigCacheService.removeConfigCache("test-cache-item+test-cache-tenant+" + IDENTIFY_2);
+        Assert.assertEquals(total + 2, ConfigCacheService.getTotal().intValue());
+        Assert.assertEquals(1, ConfigCacheService.getContentByGroupKey(GROUP_KEY).size());
+        Assert.assertTrue(ConfigCacheService.getContentByIdentify(IDENTIFY_2).isEmpty());
+
+        // remove by identify, as the instance is evicted
+        ConfigCacheService.removeConfigCache(IDENTIFY_1);
+        Assert.assertEquals(total, ConfigCacheService.getTotal().intValue());
+        Assert.assertTrue(ConfigCacheService.getContentByGroupKey(GROUP_KEY).isEmpty());
+        Assert.assertNull(ConfigCacheService.getIdentifyList("test-cache-tenant", "test-cache-item", "test-cache-tp"));
+    }
+
+    @Test
+    public void testContentMd5Cache() {
+        String md5 = ConfigCacheService.getContentMd5(GROUP_KEY + "+" + IDENTIFY_1);
+        Assert.assertEquals(md5, ConfigCacheService.getContentMd5(GROUP_KEY + "+" + IDENTIFY_1));
+        Mockito.verify(configService, Mockito.times(1)).findConfigRecentInfo(Mockito.any());
+
+        Mockito.when(configService.findConfigRecentInfo(Mockito.any())).thenAnswer(invocation -> newConfig(2));
+        Assert.assertEquals(md5, ConfigCacheService.getContentMd5(GROUP_KEY + "+" + IDENTIFY_1));
+        ConfigCacheService.invalidateConfigContent(GROUP_KEY);
+        Assert.assertNotEquals(md5, ConfigCacheService.getContentMd5(GROUP_KEY + "+" + IDENTIFY_1));
+        Mockito.verify(configService, Mockito.times(2)).findConfigRecentInfo(Mockito.any());
+    }
+
+    @Test
+    public void testGetPoolContents() {
+        String md5 = ConfigCacheService.getContentMd5(GROUP_KEY + "+" + IDENTIFY_1);
+        List<String> poolContents = ConfigCacheService.getPoolContents(Arrays.asList(GROUP_KEY, GROUP_KEY), IDENTIFY_1);
+        Assert.assertEquals(2, poolContents.size());
+        Assert.assertEquals(ContentUtil.getPoolContent(newConfig(1)), poolContents.get(0));
+        Assert.assertEquals(md5, Md5Util.md5Hex(poolContents.get(0), "UTF-8"));
+        // served from the cache loaded by the md5 check
+        Mockito.verify(configService, Mockito.times(1)).findConfigRecentInfo(Mockito.any());
+
+        Mockito.when(configService.findConfigRecentInfo(Mockito.any())).thenReturn(null);
+        Assert.assertTrue(ConfigCacheService.getPoolContents(Collections.singletonList("test-cache-tp3+test-cache-item+test-cache-tenant"), IDENTIFY_1).isEmpty());
+        ConfigCacheService.invalidateConfigContent("test-cache-tp3+test-cache-item+test-cache-tenant");
+    }
+
+    @Test
+    public void testRegisterAfterLookup() {
+        ConfigInfoMapper configInfoMapper = Mockito.mock(ConfigInfoMapper.class);
+        ConfigServiceImpl configServiceImpl = newConfigServiceImpl(configInfoMapper);
+        Mockito.when(configService.findConfigRecentInfo(Mockito.any())).thenReturn(null);
+        Assert.assertNull(ConfigCacheService.getConfig(GROUP_KEY + "+" + IDENTIFY_1));
+
+        Mockito.when(configInfoMapper.insert(Mockito.any(ConfigAllInfo.class))).thenReturn(1);
+        configServiceImpl.register(newRegisterWrapper(1));
+        Mockito.when(configService.findConfigRecentInfo(Mockito.any())).thenAnswer(invocation -> newConfig(1));
+        Assert.assertEquals(1, ConfigCacheService.getConfig(GROUP_KEY + "+" + IDENTIFY_1).getCoreSize().intValue());
+
+        Mockito.when(configInfoMapper.selectOne(Mockito.any())).thenReturn(newConfig(1));
+        configServiceImpl.register(newRegisterWrapper(2));
+        Mockito.when(configService.findConfigRecentInfo(Mockito.any())).thenAnswer(invocation -> newConfig(2));
+        Assert.assertEquals(2, ConfigCacheService.getConfig(GROUP_KEY + "+" + IDENTIFY_1).getCoreSize().intValue());
+    }
+
+    private static ConfigServiceImpl newConfigServiceImpl(ConfigInfoMapper configInfoMapper) {
+        TableInfoHelper.initTableInfo(new MapperBuilderAssistant(new MybatisConfiguration(), ""), ConfigAllInfo.class);
+        ConfigServiceImpl configServiceImpl = new ConfigServiceImpl(configInfoMapper, Mockito.mock(ConfigInstanceMapper.class),
+                Mockito.mock(OperationLogService.class), Mockito.mock(NotifyService.class));
+        TenantService tenantService = Mockito.mock(TenantService.class);
+        ItemService itemService = Mockito.mock(ItemService.class);
+        Mockito.when(tenantService.getTenantByTenantId(Mockito.any())).thenReturn(new TenantRespDTO());
+        Mockito.when(itemService.queryItemById(Mockito.any(), Mockito.any())).thenReturn(new ItemRespDTO());
+        ApplicationContext context = Mockito.mock(ApplicationContext.class);
+        Mockito.when(context.getBean(ConfigService.class)).thenReturn(configService);
+        Mockito.when(context.getBean(TenantService.class)).thenReturn(tenantService);
+        Mockito.when(context.getBean(ItemService.class)).thenReturn(itemService);
+        Mockito.when(context.getBean(ConfigServiceImpl.class)).thenReturn(configServiceImpl);
+        new ApplicationContextHolder().setApplicationContext(context);
+        return configServiceImpl;
+    }
+
+    private static DynamicThreadPoolRegisterWrapper newRegisterWrapper(int coreSize) {
+        DynamicThreadPoolRegisterParameter parameter = DynamicThreadPoolRegisterParameter.builder()
+                .threadPoolId("test-cache-tp")
+                .corePoolSize(coreSize)
+                .maximumPoolSize(coreSize)
+                .blockingQueueType(BlockingQueueTypeEnum.LINKED_BLOCKING_QUEUE)
+                .capacity(1024)
+                .rejectedPolicyType(RejectedPolicyTypeEnum.ABORT_POLICY)
+                .isAlarm(false)
+                .allowCoreThreadTimeOut(false)
+                .build();
+        return DynamicThreadPoolRegisterWrapper.builder()
+                .parameter(parameter)
+                .tenantId("test-cache-tenant")
+                .itemId("test-cache-item")
+                .updateIfExists(true)
+                .build();
+    }
+
+    private static ConfigAllInfo newConfig(int coreSize) {
+        ConfigAllInfo config = new ConfigAllInfo();
+        config.setTpId("test-cache-tp");
+        config.setItemId("test-cache-item");
+        config.setTenantId("test-cache-tenant");
+        config.setCoreSize(coreSize);
+        config.setMaxSize(coreSize);
+        return config;
+    }
+}
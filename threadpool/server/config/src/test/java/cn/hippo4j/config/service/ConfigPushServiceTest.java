@@ -0,0 +1,205 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.config.service;
+
+import cn.hippo4j.common.push.ConfigAckMessage;
+import cn.hippo4j.common.push.ConfigPushMessage;
+import cn.hippo4j.common.push.ConfigSubscribeAckMessage;
+import cn.hippo4j.common.push.ConfigSubscribeMessage;
+import cn.hippo4j.common.toolkit.JSONUtil;
+import cn.hippo4j.common.toolkit.ReflectUtil;
+import cn.hippo4j.config.event.LocalDataChangeEvent;
+import cn.hippo4j.config.model.ConfigAllInfo;
+import cn.hippo4j.config.notify.NotifyCenter;
+import cn.hippo4j.config.service.biz.ConfigService;
+import io.netty.channel.Channel;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.util.Collections;
+
+/**
+ * test for {@link ConfigPushService}
+ */
+public class ConfigPushServiceTest {
+
+    private static final String GROUP_KEY = "test-push-tp+test-push-item+test-push-tenant";
+
+    private static final String IDENTIFY = "127.0.0.1:8080_push";
+
+    private static final String ACCESS_TOKEN = "test-push-token";
+
+    private static final long TIMEOUT_MILLIS = 3000L;
+
+    private final ConfigService configService = Mockito.mock(ConfigService.class);
+
+    private final ConfigPushService configPushService = new ConfigPushService(ACCESS_TOKEN::equals);
+
+    private Channel channel;
+
+    @Before
+    public void setUp() {
+        // ConfigCacheService keeps the first ConfigService it gets, replace it for this test only
+        ReflectUtil.setFieldValue(ConfigCacheService.class, "configService", configService);
+        Mockito.when(configService.findConfigRecentInfo(Mockito.any())).thenAnswer(invocation -> newConfig(1));
+        ConfigCacheService.invalidateConfigContent(GROUP_KEY);
+        channel = Mockito.mock(Channel.class);
+        Mockito.when(channel.isActive()).thenReturn(true);
+    }
+
+    @After
+    public void tearDown() {
+        configPushService.unsubscribe(channel);
+        ConfigCacheService.removeConfigCache(IDENTIFY);
+        ConfigCacheService.invalidateConfigContent(GROUP_KEY);
+        ReflectUtil.setFieldValue(ConfigCacheService.class, "configService", null);
+    }
+
+    @Test
+    public void testResyncOnSubscribe() {
+        String md5 = ConfigCacheService.getContentMd5(GROUP_KEY + "+" + IDENTIFY);
+        configPushService.subscribe(channel, newSubscribe(md5));
+        awaitSubscriberCount(1);
+        Mockito.verify(channel, Mockito.timeout(TIMEOUT_MILLIS)).writeAndFlush(Mockito.isA(ConfigSubscribeAckMessage.class));
+        Mockito.verify(channel, Mockito.after(200L).never()).writeAndFlush(Mockito.isA(ConfigPushMessage.class));
+
+        // the client reconnects with an outdated md5
+        Channel reconnected = Mockito.mock(Channel.class);
+        Mockito.when(reconnected.isActive()).thenReturn(true);
+        configPushService.unsubscribe(channel);
+        configPushService.subscribe(reconnected, newSubscribe("outdated"));
+        ConfigPushMessage message = capturePush(reconnected);
+        Assert.assertEquals("test-push-tp", message.getThreadPoolId());
+        Assert.assertEquals(1, JSONUtil.parseObject(message.getContent(), ConfigAllInfo.class).getCoreSize().intValue());
+        configPushService.unsubscribe(reconnected);
+        awaitSubscriberCount(0);
+    }
+
+    @Test
+    public void testPushOnDataChange() {
+        String md5 = ConfigCacheService.getContentMd5(GROUP_KEY + "+" + IDENTIFY);
+        configPushService.subscribe(channel, newSubscribe(md5));
+        awaitSubscriberCount(1);
+
+        Mockito.when(configService.findConfigRecentInfo(Mockito.any())).thenAnswer(invocation -> newConfig(2));
+        ConfigCacheService.invalidateConfigContent(GROUP_KEY);
+        NotifyCenter.publishEvent(new LocalDataChangeEvent(null, GROUP_KEY));
+        ConfigPushMessage message = capturePush(channel);
+        Assert.assertEquals(2, JSONUtil.parseObject(message.getContent(), ConfigAllInfo.class).getCoreSize().intValue());
+
+        String newMd5 = ConfigCacheService.getContentMd5(GROUP_KEY + "+" + IDENTIFY);
+        Assert.assertNotEquals(md5, newMd5);
+        configPushService.ack(channel, new ConfigAckMessage(IDENTIFY, "test-push-tp", "test-push-item", "test-push-tenant", newMd5));
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!ConfigCacheService.isUpdateData(GROUP_KEY + "+" + IDENTIFY, newMd5, IDENTIFY) && System.currentTimeMillis() < deadline) {
+            Thread.yield();
+        }
+        Assert.assertTrue(ConfigCacheService.isUpdateData(GROUP_KEY + "+" + IDENTIFY, newMd5, IDENTIFY));
+    }
+
+    @Test
+    public void testUnsubscribe() {
+        configPushService.subscribe(channel, newSubscribe("outdated"));
+        capturePush(channel);
+        configPushService.unsubscribe(channel);
+        awaitSubscriberCount(0);
+
+        Mockito.clearInvocations(channel);
+        ConfigCacheService.invalidateConfigContent(GROUP_KEY);
+        NotifyCenter.publishEvent(new LocalDataChangeEvent(null, GROUP_KEY));
+        Mockito.verify(channel, Mockito.after(200L).never()).writeAndFlush(Mockito.isA(ConfigPushMessage.class));
+    }
+
+    @Test
+    public void testRejectInvalidAccessToken() {
+        ConfigSubscribeMessage message = newSubscribe("outdated");
+        message.setAccessToken("invalid");
+        configPushService.subscribe(channel, message);
+        Mockito.verify(channel, Mockito.timeout(TIMEOUT_MILLIS)).close();
+        awaitSubscriberCount(0);
+        Mockito.verify(channel, Mockito.never()).writeAndFlush(Mockito.any());
+
+        Channel anonymous = Mockito.mock(Channel.class);
+        Mockito.when(anonymous.isActive()).thenReturn(true);
+        message.setAccessToken(null);
+        configPushService.subscribe(anonymous, message);
+        Mockito.verify(anonymous, Mockito.timeout(TIMEOUT_MILLIS)).close();
+        awaitSubscriberCount(0);
+    }
+
+    @Test
+    public void testRejectAckWithoutSubscription() {
+        String md5 = ConfigCacheService.getContentMd5(GROUP_KEY + "+" + IDENTIFY);
+        configPushService.ack(channel, new ConfigAckMessage(IDENTIFY, "test-push-tp", "test-push-item", "test-push-tenant", "forged"));
+        Mockito.verify(channel, Mockito.timeout(TIMEOUT_MILLIS)).close();
+
+        // a subscribed channel can not ack for another client
+        Channel subscribed = Mockito.mock(Channel.class);
+        Mockito.when(subscribed.isActive()).thenReturn(true);
+        configPushService.subscribe(subscribed, newSubscribe(md5));
+        awaitSubscriberCount(1);
+        configPushService.ack(subscribed, new ConfigAckMessage("127.0.0.1:8081_other", "test-push-tp", "test-push-item", "test-push-tenant", "forged"));
+        Mockito.verify(subscribed, Mockito.timeout(TIMEOUT_MILLIS)).close();
+
+        // nor ack the config it does not listen on
+        Mockito.clearInvocations(subscribed);
+        configPushService.ack(subscribed, new ConfigAckMessage(IDENTIFY, "other-tp", "test-push-item", "test-push-tenant", "forged"));
+        configPushService.unsubscribe(subscribed);
+        awaitSubscriberCount(0);
+        Mockito.verify(subscribed, Mockito.never()).close();
+        Assert.assertTrue(ConfigCacheService.isUpdateData(GROUP_KEY + "+" + IDENTIFY, md5, IDENTIFY));
+    }
+
+    private ConfigPushMessage capturePush(Channel target) {
+        Mockito.verify(target, Mockito.timeout(TIMEOUT_MILLIS)).writeAndFlush(Mockito.isA(ConfigPushMessage.class));
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        Mockito.verify(target, Mockito.atLeastOnce()).writeAndFlush(captor.capture());
+        return captor.getAllValues().stream()
+                .filter(ConfigPushMessage.class::isInstance)
+                .map(ConfigPushMessage.class::cast)
+                .reduce((first, second) -> second)
+                .orElseThrow(AssertionError::new);
+    }
+
+    private void awaitSubscriberCount(int count) {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (configPushService.getSubscriberCount() != count && System.currentTimeMillis() < deadline) {
+            Thread.yield();
+        }
+        Assert.assertEquals(count, configPushService.getSubscriberCount());
+    }
+
+    private static ConfigSubscribeMessage newSubscribe(String md5) {
+        ConfigSubscribeMessage.Item item = new ConfigSubscribeMessage.Item("test-push-tp", "test-push-item", "test-push-tenant", md5);
+        return new ConfigSubscribeMessage(IDENTIFY, "1.0", Collections.singletonList(item), ACCESS_TOKEN);
+    }
+
+    private static ConfigAllInfo newConfig(int coreSize) {
+        ConfigAllInfo config = new ConfigAllInfo();
+        config.setTpId("test-push-tp");
+        config.setItemId("test-push-item");
+        config.setTenantId("test-push-tenant");
+        config.setCoreSize(coreSize);
+        config.setMaxSize(coreSize);
+        return config;
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.config.service;
+
+import cn.hippo4j.common.toolkit.MapUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * benchmark test for finding the long polling clients affected by config changes,
+ * through a linear scan of all hung clients and through {@link LongPollingSubscriberIndex}.
+ * Simulates 10k hung clients listening on 5 of 200 thread-pools each, and 1k config changes,
+ * half of them target a specified client and the others target all clients.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class LongPollingSubscriberIndexBenchmarkTest {
+
+    private static final int CLIENT_COUNT = 10000;
+
+    private static final int THREAD_POOL_COUNT = 200;
+
+    private static final int THREAD_POOL_PER_CLIENT = 5;
+
+    private static final int CHANGE_COUNT = 1000;
+
+    private final List<Client> clients = new ArrayList<>(CLIENT_COUNT);
+
+    private final LongPollingSubscriberIndex<Client> index = new LongPollingSubscriberIndex<>();
+
+    private final String[] changedGroupKeys = new String[CHANGE_COUNT];
+
+    private final String[] changedIdentifies = new String[CHANGE_COUNT];
+
+    @Setup
+    public void setup() {
+        Random random = new Random(0L);
+        for (int i = 0; i < CLIENT_COUNT; i++) {
+            Client client = new Client("127.0.0.1:8080_" + i);
+            for (int j = 0; j < THREAD_POOL_PER_CLIENT; j++) {
+                client.clientMd5Map.put(groupKey(random.nextInt(THREAD_POOL_COUNT)) + "+" + client.identify, "md5");
+            }
+            clients.add(client);
+            index.add(client, client.clientMd5Map.keySet());
+        }
+        for (int i = 0; i < CHANGE_COUNT; i++) {
+            Client client = clients.get(random.nextInt(CLIENT_COUNT));
+            List<String> keys = new ArrayList<>(client.clientMd5Map.keySet());
+            changedGroupKeys[i] = LongPollingSubscriberIndex.parseGroup(keys.get(random.nextInt(keys.size())));
+            changedIdentifies[i] = (i & 1) == 0 ? client.identify : "";
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHANGE_COUNT)
+    public void linear_scan(Blackhole blackhole) {
+        for (int i = 0; i < CHANGE_COUNT; i++) {
+            String groupKey = changedGroupKeys[i];
+            String identify = changedIdentifies[i];
+            for (Client client : clients) {
+                List<String> keys = identify.isEmpty()
+                        ? MapUtil.parseMapForFilter(client.clientMd5Map, groupKey)
+                        : Collections.singletonList(groupKey + "+" + identify);
+                for (String key : keys) {
+                    if (client.clientMd5Map.containsKey(key)) {
+                        blackhole.consume(client);
+                        blackhole.consume(key);
+                    }
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHANGE_COUNT)
+    public void subscriber_index(Blackhole blackhole) {
+        for (int i = 0; i < CHANGE_COUNT; i++) {
+            String groupKey = changedGroupKeys[i];
+            String identify = changedIdentifies[i];
+            if (identify.isEmpty()) {
+                for (Client client : index.getByGroup(groupKey)) {
+                    for (String key : client.clientMd5Map.keySet()) {
+                        if (groupKey.equals(LongPollingSubscriberIndex.parseGroup(key))) {
+                            blackhole.consume(client);
+                            blackhole.consume(key);
+                        }
+                    }
+                }
+            } else {
+                String key = groupKey + "+" + identify;
+                for (Client client : index.getByKey(key)) {
+                    blackhole.consume(client);
+                    blackhole.consume(key);
+                }
+            }
+        }
+    }
+
+    private static String groupKey(int threadPool) {
+        return "message-produce-" + threadPool + "+dynamic-threadpool-example+prescription";
+    }
+
+    private static class Client {
+
+        private final String identify;
+
+        private final Map<String, String> clientMd5Map = new HashMap<>();
+
+        Client(String identify) {
+            this.identify = identify;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options opts = new OptionsBuilder()
+                .include(LongPollingSubscriberIndexBenchmarkTest.class.getSimpleName())
+                .resultFormat(ResultFormatType.JSON)
+                .build();
+        new Runner(opts).run();
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.config.service;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * test for {@link LongPollingSubscriberIndex}
+ */
+public class LongPollingSubscriberIndexTest {
+
+    @Test
+    public void testParseGroup() {
+        Assert.assertEquals("tp+item+tenant", LongPollingSubscriberIndex.parseGroup("tp+item+tenant+127.0.0.1:8080_1"));
+        Assert.assertEquals("tp+item+tenant", LongPollingSubscriberIndex.parseGroup("tp+item+tenant"));
+        Assert.assertEquals("tp+item", LongPollingSubscriberIndex.parseGroup("tp+item"));
+        Assert.assertEquals("tp", LongPollingSubscriberIndex.parseGroup("tp"));
+    }
+
+    @Test
+    public void testAddAndGet() {
+        LongPollingSubscriberIndex<String> index = new LongPollingSubscriberIndex<>();
+        index.add("client1", Arrays.asList("tp1+item+tenant+client1", "tp2+item+tenant+client1"));
+        index.add("client2", Collections.singletonList("tp1+item+tenant+client2"));
+
+        Assert.assertEquals(Collections.singleton("client1"), index.getByKey("tp1+item+tenant+client1"));
+        Assert.assertEquals(Collections.singleton("client2"), index.getByKey("tp1+item+tenant+client2"));
+        Assert.assertTrue(index.getByKey("tp1+item+tenant+client3").isEmpty());
+
+        Assert.assertEquals(2, index.getByGroup("tp1+item+tenant").size());
+        Assert.assertEquals(Collections.singleton("client1"), index.getByGroup("tp2+item+tenant"));
+        Assert.assertTrue(index.getByGroup("tp1+item").isEmpty());
+        Assert.assertTrue(index.getByGroup("tp+item+tenant").isEmpty());
+    }
+
+    @Test
+    public void testRemove() {
+        LongPollingSubscriberIndex<String> index = new LongPollingSubscriberIndex<>();
+        List<String> keys1 = Arrays.asList("tp1+item+tenant+client1", "tp2+item+tenant+client1");
+        List<String> keys2 = Collections.singletonList("tp1+item+tenant+client2");
+        index.add("client1", keys1);
+        index.add("client2", keys2);
+        Assert.assertEquals(3, index.keySize());
+
+        index.remove("client1", keys1);
+        Assert.assertEquals(1, index.keySize());
+        Assert.assertTrue(index.getByKey("tp1+item+tenant+client1").isEmpty());
+        Assert.assertTrue(index.getByGroup("tp2+item+tenant").isEmpty());
+        Assert.assertEquals(Collections.singleton("client2"), index.getByGroup("tp1+item+tenant"));
+
+        index.remove("client2", keys2);
+        Assert.assertEquals(0, index.keySize());
+        Assert.assertTrue(index.getByGroup("tp1+item+tenant").isEmpty());
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.console.config;
+
+import cn.hippo4j.auth.security.JwtTokenManager;
+import cn.hippo4j.auth.toolkit.AuthUtil;
+import cn.hippo4j.common.toolkit.StringUtil;
+import cn.hippo4j.config.service.AccessTokenValidator;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Jwt access token validator, accepts the same access token as {@link cn.hippo4j.auth.filter.JWTAuthorizationFilter},
+ * and accepts any token if the authentication is disabled.
+ */
+@Component
+@AllArgsConstructor
+public class JwtAccessTokenValidator implements AccessTokenValidator {
+
+    private final JwtTokenManager tokenManager;
+
+    @Override
+    public boolean validate(String accessToken) {
+        if (!AuthUtil.isEnableAuthentication()) {
+            return true;
+        }
+        if (StringUtil.isBlank(accessToken)) {
+            return false;
+        }
+        try {
+            tokenManager.validateToken(accessToken);
+            return true;
+        } catch (Exception ignored) {
+            return false;
+        }
+    }
+}
@@ -105,7 +105,7 @@ public class ThreadPoolController {
         InstanceInfo holder = first.getHolder();
         String itemTenantKey = holder.getGroupKey();
         String groupKey = getGroupKey(reqDTO.getTpId(), itemTenantKey);
-        Map<String, CacheItem> content = ConfigCacheService.getContent(groupKey);
+        Map<String, CacheItem> content = ConfigCacheService.getContentByGroupKey(groupKey);
         if (!content.isEmpty()) {
             return Results.failure(ErrorCodeEnum.SERVICE_ERROR.getCode(), "this thread pool has instances running");
         }
@@ -204,7 +204,7 @@ public class ThreadPoolController {
         InstanceInfo holder = first.getHolder();
         String itemTenantKey = holder.getGroupKey();
         String groupKey = getGroupKey(tpId, itemTenantKey);
-        Map<String, CacheItem> content = ConfigCacheService.getContent(groupKey);
+        Map<String, CacheItem> content = ConfigCacheService.getContentByGroupKey(groupKey);
         Map<String, String> activeMap =
                 leases.stream().map(each -> each.getHolder()).filter(each -> StringUtil.isNotBlank(each.getActive()))
                         .collect(Collectors.toMap(InstanceInfo::getIdentify, InstanceInfo::getActive));
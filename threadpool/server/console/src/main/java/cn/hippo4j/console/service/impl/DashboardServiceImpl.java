@@ -183,7 +183,7 @@ public class DashboardServiceImpl implements DashboardService {
                 InstanceInfo holder = first.getHolder();
                 String itemTenantKey = holder.getGroupKey();
                 String groupKey = getGroupKey(each.getTpId(), itemTenantKey);
-                Map<String, CacheItem> content = ConfigCacheService.getContent(groupKey);
+                Map<String, CacheItem> content = ConfigCacheService.getContentByGroupKey(groupKey);
                 rankingChartInfo.setInst(content.keySet().size());
             }
             String keyTenant = GroupKey.getKeyTenant(each.getTenantId(), each.getItemId(), each.getTpId());